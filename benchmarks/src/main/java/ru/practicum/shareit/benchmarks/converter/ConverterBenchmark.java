@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmarks.converter;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmarks.support.EntityFixtures;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.mapper.BookingConverter;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.mapper.ItemConverter;
+import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.server.request.entity.ItemRequest;
+import ru.practicum.shareit.server.request.mapper.ItemRequestConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование списков сущностей в ответы конвертерами MapStruct.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    private final ItemConverter itemConverter = Mappers.getMapper(ItemConverter.class);
+    private final BookingConverter bookingConverter = Mappers.getMapper(BookingConverter.class);
+    private final ItemRequestConverter itemRequestConverter = Mappers.getMapper(ItemRequestConverter.class);
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<ItemRequest> itemRequests;
+
+    @Setup
+    public void setUp() {
+        items = EntityFixtures.items(size);
+        bookings = EntityFixtures.bookings(size);
+        itemRequests = EntityFixtures.itemRequests(size);
+    }
+
+    /**
+     * Вещи глазами владельца: в ответ попадают и ближайшие бронирования.
+     */
+    @Benchmark
+    public List<ItemResponse> itemsForOwner() {
+        return itemConverter.convert(items, EntityFixtures.OWNER_ID);
+    }
+
+    /**
+     * Вещи глазами другого пользователя: ближайшие бронирования пропускаются.
+     */
+    @Benchmark
+    public List<ItemResponse> itemsForOtherUser() {
+        return itemConverter.convert(items, EntityFixtures.OWNER_ID + 1);
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookings() {
+        return bookingConverter.convert(bookings);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponse> itemRequests() {
+        return itemRequestConverter.convert(itemRequests);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmarks.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.benchmarks.support.CannedResponseRequestFactory;
+import ru.practicum.shareit.benchmarks.support.EntityFixtures;
+import ru.practicum.shareit.gateway.booking.client.BookingClient;
+import ru.practicum.shareit.server.booking.entity.StateFilter;
+import ru.practicum.shareit.server.booking.mapper.BookingConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обработка шлюзом ответа сервера на GET /bookings: прямая передача байтов ответа
+ * против разбора JSON в коллекции и повторной сериализации, как до включения режима прямой передачи.
+ * Сервер заменен фабрикой запросов с готовым ответом, поэтому измеряется только работа шлюза.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayPassThroughBenchmark {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    @Param({"1000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private BookingClient passThroughClient;
+    private BookingClient parsingClient;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        byte[] body = objectMapper.writeValueAsBytes(Mappers.getMapper(BookingConverter.class)
+                .convert(EntityFixtures.bookings(size)));
+        CannedResponseRequestFactory requestFactory = new CannedResponseRequestFactory(body);
+        passThroughClient = new BookingClient(SERVER_URL, new RestTemplateBuilder(), requestFactory, true, null);
+        parsingClient = new BookingClient(SERVER_URL, new RestTemplateBuilder(), requestFactory, false, null);
+    }
+
+    @Benchmark
+    public byte[] passThrough() {
+        return (byte[]) passThroughClient.getByBookerId(EntityFixtures.OWNER_ID + 1, StateFilter.ALL, 0, size)
+                .getBody();
+    }
+
+    @Benchmark
+    public byte[] parseAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(parsingClient
+                .getByBookerId(EntityFixtures.OWNER_ID + 1, StateFilter.ALL, 0, size).getBody());
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmarks.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.benchmarks.support.EntityFixtures;
+import ru.practicum.shareit.server.booking.dto.BookingResponse;
+import ru.practicum.shareit.server.booking.mapper.BookingConverter;
+import ru.practicum.shareit.server.item.dto.ItemResponse;
+import ru.practicum.shareit.server.item.mapper.ItemConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация ответов со списками вещей и бронирований в JSON.
+ * ObjectMapper настраивается так же, как его настраивает Spring Boot по умолчанию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    int size;
+
+    private ObjectWriter writer;
+    private List<ItemResponse> items;
+    private List<BookingResponse> bookings;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        items = Mappers.getMapper(ItemConverter.class).convert(EntityFixtures.items(size), EntityFixtures.OWNER_ID);
+        bookings = Mappers.getMapper(BookingConverter.class).convert(EntityFixtures.bookings(size));
+    }
+
+    @Benchmark
+    public byte[] items() throws JsonProcessingException {
+        return writer.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] bookings() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookings);
+    }
+}
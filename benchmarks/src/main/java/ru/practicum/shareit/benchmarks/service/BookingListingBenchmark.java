@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmarks.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.StateFilter;
+import ru.practicum.shareit.server.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Списки бронирований арендатора и владельца вещей по каждому фильтру состояния
+ * с постраничной выборкой по смещению и по курсору.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingListingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Без перечисления значений JMH перебирает все значения перечисления.
+     */
+    @Param
+    StateFilter state;
+
+    private BookingService bookingService;
+    private long ownerId;
+    private long bookerId;
+
+    @Setup
+    public void setUp(SeededServer server) {
+        bookingService = server.getBean(BookingService.class);
+        ownerId = server.getOwnerId();
+        bookerId = server.getBookerId();
+    }
+
+    @Benchmark
+    public List<Booking> findByBookerId() {
+        return bookingService.findByBookerId(bookerId, state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findByBookerIdWithCursor() {
+        return bookingService.findByBookerId(bookerId, state, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Booking> findByItemOwner() {
+        return bookingService.findByItemOwner(ownerId, state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Slice<Booking> findByItemOwnerWithCursor() {
+        return bookingService.findByItemOwner(ownerId, state, null, PAGE_SIZE);
+    }
+}
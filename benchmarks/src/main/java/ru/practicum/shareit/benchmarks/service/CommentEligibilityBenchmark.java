@@ -0,0 +1,129 @@
+package ru.practicum.shareit.benchmarks.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка права арендатора оставить отзыв в зависимости от количества его прошлых бронирований.
+ * Запрос exists по индексу (booker_id, item_id, status, start_time) сравнивается с прежней загрузкой
+ * всех прошлых подтвержденных бронирований арендатора и поиском вещи среди них.
+ * <p>
+ * Проверяемая вещь забронирована арендатором один раз, раньше всех остальных его бронирований,
+ * остальные бронирования распределены по другим вещам владельца по кругу.
+ * Вторая проверяемая вещь арендатором не бронировалась.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommentEligibilityBenchmark {
+
+    private static final String PAST_APPROVED_BOOKINGS = "select b from Booking b " +
+            "where b.booker.id = :bookerId and b.start < :currentTime and b.status = :status order by b.start desc";
+
+    @Param({"10", "100", "1000", "10000"})
+    int historySize;
+
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private long bookerId;
+    private long bookedItemId;
+    private long notBookedItemId;
+
+    @Setup
+    public void setUp(SeededServer server) {
+        bookingRepository = server.getBean(BookingRepository.class);
+        entityManager = server.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(server.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        UserRepository userRepository = server.getBean(UserRepository.class);
+        ItemRepository itemRepository = server.getBean(ItemRepository.class);
+        User booker = new User();
+        booker.setName("history booker");
+        booker.setEmail("history_booker@mail.com");
+        booker = userRepository.save(booker);
+        bookerId = booker.getId();
+
+        List<Item> items = itemRepository.getByOwnerIdOrderByIdAsc(server.getOwnerId(),
+                PageRequest.of(0, SeededServer.ITEMS_PER_OWNER)).getContent();
+        bookedItemId = items.get(0).getId();
+        notBookedItemId = items.get(items.size() - 1).getId();
+
+        LocalDateTime start = LocalDateTime.now().minusDays(historySize + 1L);
+        List<Booking> bookings = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            Booking booking = new Booking();
+            booking.setItem(i == 0 ? items.get(0) : items.get(1 + i % (items.size() - 2)));
+            booking.setBooker(booker);
+            booking.setStart(start.plusDays(i));
+            booking.setEnd(start.plusDays(i).plusHours(1));
+            booking.setStatus(Status.APPROVED);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @Benchmark
+    public Boolean existsWhenBooked() {
+        return transactionTemplate.execute(status -> exists(bookedItemId));
+    }
+
+    @Benchmark
+    public Boolean existsWhenNotBooked() {
+        return transactionTemplate.execute(status -> exists(notBookedItemId));
+    }
+
+    @Benchmark
+    public Boolean loadAndFilterWhenBooked() {
+        return transactionTemplate.execute(status -> loadAndFilter(bookedItemId));
+    }
+
+    @Benchmark
+    public Boolean loadAndFilterWhenNotBooked() {
+        return transactionTemplate.execute(status -> loadAndFilter(notBookedItemId));
+    }
+
+    private boolean exists(long itemId) {
+        return bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(bookerId, itemId,
+                Status.APPROVED, LocalDateTime.now());
+    }
+
+    private boolean loadAndFilter(long itemId) {
+        return entityManager.createQuery(PAST_APPROVED_BOOKINGS, Booking.class)
+                .setParameter("bookerId", bookerId)
+                .setParameter("currentTime", LocalDateTime.now())
+                .setParameter("status", Status.APPROVED)
+                .getResultList()
+                .stream()
+                .anyMatch(booking -> booking.getItem().getId().equals(itemId));
+    }
+}
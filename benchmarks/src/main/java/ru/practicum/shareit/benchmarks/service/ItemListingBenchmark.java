@@ -0,0 +1,48 @@
+package ru.practicum.shareit.benchmarks.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Список вещей владельца с комментариями, последним и следующим бронированием.
+ * Кэши второго уровня и ближайших бронирований после прогрева заполнены, как на работающем сервере.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemListingBenchmark {
+
+    @Param({"20", "100"})
+    int size;
+
+    private ItemService itemService;
+    private long ownerId;
+
+    @Setup
+    public void setUp(SeededServer server) {
+        itemService = server.getBean(ItemService.class);
+        ownerId = server.getOwnerId();
+    }
+
+    @Benchmark
+    public List<Item> getByUserId() {
+        return itemService.getByUserId(ownerId, 0, size);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmarks.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Загрузка последнего и следующего подтвержденных бронирований страницы вещей при промахе кэша временных шкал.
+ * Один запрос findLastAndNextBookings с разбиением по вещи и моменту времени сравнивается с прежними
+ * двумя запросами: отдельно последних и отдельно следующих бронирований.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LastAndNextBookingsBenchmark {
+
+    private static final String LAST_BOOKINGS = "select t1.* " +
+            "from (" +
+            "    select b.*, row_number() over(partition by item_id order by start_time desc) non_field_counter " +
+            "    from booking b" +
+            "    where b.item_id in :itemIds and b.start_time < :currentDateTime and b.status = :status" +
+            ") as t1 " +
+            "WHERE t1.non_field_counter = 1";
+
+    private static final String NEXT_BOOKINGS = "select t1.* " +
+            "from (" +
+            "    select b.*, row_number() over(partition by item_id order by start_time asc) non_field_counter " +
+            "    from booking b" +
+            "    where b.item_id in :itemIds and b.start_time >= :currentDateTime and b.status = :status" +
+            ") as t1 " +
+            "WHERE t1.non_field_counter = 1";
+
+    @Param({"10", "100", "1000"})
+    int items;
+
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> itemIds;
+
+    @Setup
+    public void setUp(SeededServer server) {
+        bookingRepository = server.getBean(BookingRepository.class);
+        entityManager = server.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(server.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        itemIds = server.getBean(ItemRepository.class).findAll(PageRequest.of(0, items, Sort.by("id"))).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Booking> oneQuery() {
+        return transactionTemplate.execute(status -> bookingRepository.findLastAndNextBookings(itemIds,
+                Status.APPROVED.name(), LocalDateTime.now()));
+    }
+
+    @Benchmark
+    public List<Booking> twoQueries() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime currentTime = LocalDateTime.now();
+            List<Booking> bookings = new ArrayList<>(bookings(LAST_BOOKINGS, currentTime));
+            bookings.addAll(bookings(NEXT_BOOKINGS, currentTime));
+            return bookings;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Booking> bookings(String sql, LocalDateTime currentTime) {
+        return entityManager.createNativeQuery(sql, Booking.class)
+                .setParameter("itemIds", itemIds)
+                .setParameter("currentDateTime", currentTime)
+                .setParameter("status", Status.APPROVED.name())
+                .getResultList();
+    }
+}
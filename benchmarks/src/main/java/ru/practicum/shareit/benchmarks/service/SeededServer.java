@@ -0,0 +1,162 @@
+package ru.practicum.shareit.benchmarks.service;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.ShareItApp;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.item.entity.Comment;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Контекст сервера на базе H2 в памяти, заполненный пользователями, вещами, бронированиями и комментариями.
+ * Поднимается один раз на форк JMH. Настройки сервера совпадают с профилем ci, кроме трассировки SQL,
+ * которая добавляет к каждому запросу накладные расходы прокси.
+ * <p>
+ * У каждого владельца {@link #ITEMS_PER_OWNER} вещей, у каждой вещи {@link #BOOKINGS_PER_ITEM} бронирований
+ * подряд: половина в прошлом, одно текущее, остальные в будущем. Статусы чередуются: на три подтвержденных
+ * приходится одно ожидающее и одно отклоненное. Бронирования распределены между арендаторами поровну.
+ */
+@State(Scope.Benchmark)
+public class SeededServer {
+
+    public static final int OWNERS = 20;
+    public static final int BOOKERS = 20;
+    public static final int ITEMS_PER_OWNER = 100;
+    public static final int BOOKINGS_PER_ITEM = 10;
+    public static final int COMMENTS_PER_ITEM = 2;
+
+    private static final Status[] STATUSES = {Status.APPROVED, Status.WAITING, Status.APPROVED, Status.REJECTED,
+            Status.APPROVED};
+
+    private ConfigurableApplicationContext context;
+    private long ownerId;
+    private long bookerId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("ci")
+                .run("--spring.main.web-application-type=none",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmarks",
+                        "--shareit.sql-trace.enabled=false",
+                        "--logging.level.root=WARN");
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Владелец, для которого выполняются запросы к спискам вещей и бронирований владельца.
+     */
+    public long getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * Арендатор, для которого выполняются запросы к спискам бронирований арендатора.
+     */
+    public long getBookerId() {
+        return bookerId;
+    }
+
+    private void seed() {
+        UserRepository userRepository = getBean(UserRepository.class);
+        ItemRepository itemRepository = getBean(ItemRepository.class);
+        BookingRepository bookingRepository = getBean(BookingRepository.class);
+        CommentRepository commentRepository = getBean(CommentRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(getBean(PlatformTransactionManager.class));
+
+        List<User> owners = userRepository.saveAll(users("owner", OWNERS));
+        List<User> bookers = userRepository.saveAll(users("booker", BOOKERS));
+        ownerId = owners.get(0).getId();
+        bookerId = bookers.get(0).getId();
+
+        LocalDateTime now = LocalDateTime.now();
+        int sequence = 0;
+        for (User owner : owners) {
+            List<Item> items = new ArrayList<>(ITEMS_PER_OWNER);
+            List<Booking> bookings = new ArrayList<>(ITEMS_PER_OWNER * BOOKINGS_PER_ITEM);
+            List<Comment> comments = new ArrayList<>(ITEMS_PER_OWNER * COMMENTS_PER_ITEM);
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                Item item = item(owner, i);
+                items.add(item);
+                for (int j = 0; j < BOOKINGS_PER_ITEM; j++, sequence++) {
+                    LocalDateTime start = now.minusHours(1).plusDays(3L * (j - BOOKINGS_PER_ITEM / 2));
+                    bookings.add(booking(item, bookers.get(sequence % BOOKERS), start,
+                            STATUSES[sequence % STATUSES.length]));
+                }
+                for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                    comments.add(comment(item, bookers.get((i + j) % BOOKERS)));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.saveAll(items);
+                bookingRepository.saveAll(bookings);
+                commentRepository.saveAll(comments);
+            });
+        }
+    }
+
+    private static List<User> users(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setName(prefix + " " + i);
+            user.setEmail(prefix + "_" + i + "@mail.com");
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static Item item(User owner, int index) {
+        Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Вещь " + index);
+        item.setDescription("Описание вещи " + index + " владельца " + owner.getId());
+        item.setAvailable(true);
+        return item;
+    }
+
+    private static Booking booking(Item item, User booker, LocalDateTime start, Status status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(2));
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static Comment comment(Item item, User author) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText("Отличная вещь");
+        return comment;
+    }
+}
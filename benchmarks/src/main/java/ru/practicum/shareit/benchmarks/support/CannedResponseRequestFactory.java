@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmarks.support;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Фабрика запросов, которая вместо обращения к серверу возвращает заранее подготовленный ответ 200 с телом JSON.
+ * Позволяет измерить обработку ответа шлюзом без сетевого ввода-вывода.
+ */
+public class CannedResponseRequestFactory implements ClientHttpRequestFactory {
+
+    private final byte[] body;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    public CannedResponseRequestFactory(byte[] body) {
+        this.body = body;
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new AbstractClientHttpRequest() {
+
+            @Override
+            public String getMethodValue() {
+                return httpMethod.name();
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+
+            @Override
+            protected OutputStream getBodyInternal(HttpHeaders requestHeaders) {
+                return StreamUtils.nonClosing(OutputStream.nullOutputStream());
+            }
+
+            @Override
+            protected ClientHttpResponse executeInternal(HttpHeaders requestHeaders) {
+                return new CannedResponse();
+            }
+        };
+    }
+
+    private class CannedResponse implements ClientHttpResponse {
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.benchmarks.support;
+
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.item.entity.Comment;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.timeline.TimelineBooking;
+import ru.practicum.shareit.server.request.entity.ItemRequest;
+import ru.practicum.shareit.server.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Графы сущностей в памяти для бенчмарков конвертеров и сериализации ответов.
+ * Заполнены все поля, которые попадают в ответы, включая комментарии и ближайшие бронирования вещей.
+ */
+public final class EntityFixtures {
+
+    public static final long OWNER_ID = 1L;
+
+    private static final int COMMENTS_PER_ITEM = 3;
+    private static final int ITEMS_PER_REQUEST = 2;
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 9, 1, 12, 0);
+
+    private EntityFixtures() {
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setVersion(0L);
+        user.setName("Пользователь " + id);
+        user.setEmail("user_" + id + "@mail.com");
+        return user;
+    }
+
+    /**
+     * Вещи владельца {@link #OWNER_ID} с комментариями, последним и следующим бронированием.
+     */
+    public static List<Item> items(int count) {
+        User owner = user(OWNER_ID);
+        User booker = user(OWNER_ID + 1);
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Item item = item(id, owner);
+            item.setLastBooking(TimelineBooking.of(booking(id * 2, item, booker, NOW.minusDays(2))));
+            item.setNextBooking(TimelineBooking.of(booking(id * 2 + 1, item, booker, NOW.plusDays(2))));
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * Бронирования разных вещей одного арендатора, как в списке бронирований пользователя.
+     */
+    public static List<Booking> bookings(int count) {
+        User owner = user(OWNER_ID);
+        User booker = user(OWNER_ID + 1);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            bookings.add(booking(id, item(id, owner), booker, NOW.plusHours(id)));
+        }
+        return bookings;
+    }
+
+    /**
+     * Запросы вещей, на каждый из которых откликнулись несколькими вещами.
+     */
+    public static List<ItemRequest> itemRequests(int count) {
+        User owner = user(OWNER_ID);
+        User author = user(OWNER_ID + 1);
+        List<ItemRequest> itemRequests = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            ItemRequest itemRequest = new ItemRequest();
+            itemRequest.setId(id);
+            itemRequest.setVersion(0L);
+            itemRequest.setAuthor(author);
+            itemRequest.setDescription("Нужна вещь " + id);
+            itemRequest.setCreated(NOW.minusHours(id));
+            Set<Item> items = new HashSet<>();
+            for (long i = 0; i < ITEMS_PER_REQUEST; i++) {
+                Item item = item(id * ITEMS_PER_REQUEST + i, owner);
+                item.setRequestId(id);
+                items.add(item);
+            }
+            itemRequest.setItems(items);
+            itemRequests.add(itemRequest);
+        }
+        return itemRequests;
+    }
+
+    private static Item item(long id, User owner) {
+        Item item = new Item();
+        item.setId(id);
+        item.setVersion(0L);
+        item.setOwner(owner);
+        item.setName("Вещь " + id);
+        item.setDescription("Описание вещи " + id);
+        item.setAvailable(true);
+        Set<Comment> comments = new HashSet<>();
+        for (long i = 0; i < COMMENTS_PER_ITEM; i++) {
+            comments.add(comment(id * COMMENTS_PER_ITEM + i, item, user(OWNER_ID + 1)));
+        }
+        item.setComments(comments);
+        return item;
+    }
+
+    private static Comment comment(long id, Item item, User author) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setVersion(0L);
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText("Комментарий " + id);
+        comment.setCreated(NOW.minusDays(1));
+        return comment;
+    }
+
+    private static Booking booking(long id, Item item, User booker, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setVersion(0L);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        return booking;
+    }
+}
@@ -2,28 +2,37 @@ package ru.practicum.shareit.gateway.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.common.client.BaseClient;
+import ru.practicum.shareit.gateway.common.client.ConditionalResponseCache;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         @Value("${shareit-server.pass-through:true}") boolean passThrough,
+                         ConditionalResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passThrough,
+                responseCache
         );
     }
 
@@ -31,6 +40,10 @@ public class BookingClient extends BaseClient {
         return post("", userId, bookingCreateRequest);
     }
 
+    public ResponseEntity<Object> createAll(long userId, List<BookingCreateRequest> bookingCreateRequests) {
+        return post("/batch", userId, bookingCreateRequests);
+    }
+
     public ResponseEntity<Object> approve(long userId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "bookingId", bookingId,
@@ -39,8 +52,8 @@ public class BookingClient extends BaseClient {
         return patch("/{bookingId}?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getById(long userId, long bookingId) {
-        return get("/{bookingId}", userId, Map.of("bookingId", bookingId));
+    public ResponseEntity<Object> getById(long userId, long bookingId, String ifNoneMatch) {
+        return getConditional("/{bookingId}", userId, Map.of("bookingId", bookingId), ifNoneMatch);
     }
 
     public ResponseEntity<Object> getByBookerId(long userId,
@@ -66,4 +79,28 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getByBookerId(long userId,
+                                                StateFilter stateFilter,
+                                                String cursor,
+                                                int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", stateFilter.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getByOwner(long userId,
+                                             StateFilter stateFilter,
+                                             String cursor,
+                                             int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", stateFilter.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.gateway.booking.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.common.client.ReactiveBaseClient;
+import ru.practicum.shareit.server.booking.entity.StateFilter;
+import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class BookingReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public BookingReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId, BookingCreateRequest bookingCreateRequest) {
+        return post("", userId, bookingCreateRequest);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(long userId,
+                                                           List<BookingCreateRequest> bookingCreateRequests) {
+        return post("/batch", userId, bookingCreateRequests);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approve(long userId, long bookingId, boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "bookingId", bookingId,
+                "approved", approved
+        );
+        return patch("/{bookingId}?approved={approved}", userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(long userId, long bookingId, String ifNoneMatch) {
+        return getConditional("/{bookingId}", userId, Map.of("bookingId", bookingId), ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByBookerId(long userId,
+                                                                StateFilter stateFilter,
+                                                                long from,
+                                                                int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", stateFilter.name(),
+                "from", from,
+                "size", size
+        );
+        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByOwner(long userId,
+                                                             StateFilter stateFilter,
+                                                             long from,
+                                                             int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", stateFilter.name(),
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByBookerId(long userId,
+                                                                StateFilter stateFilter,
+                                                                String cursor,
+                                                                int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", stateFilter.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByOwner(long userId,
+                                                             StateFilter stateFilter,
+                                                             String cursor,
+                                                             int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", stateFilter.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+}
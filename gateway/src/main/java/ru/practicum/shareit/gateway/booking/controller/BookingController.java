@@ -3,26 +3,32 @@ package ru.practicum.shareit.gateway.booking.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.gateway.config.RequestConstants.DEFAULT_PAGE_SIZE;
+import static ru.practicum.shareit.gateway.config.RequestConstants.MAX_BATCH_SIZE;
 import static ru.practicum.shareit.gateway.config.RequestConstants.USER_ID_HEADER;
 
 /**
  * Контроллер для {@link Booking}.
+ *
+ * @param <T> тип ответа: {@code ResponseEntity} для сервлетного режима шлюза, {@code Mono} для реактивного.
  */
 @Validated
 @RequestMapping(path = "/bookings")
 @Tag(name = "Bookings", description = "Управление бронированиями")
-public interface BookingController {
+public interface BookingController<T> {
 
     /**
      * Создание бронирования.
@@ -33,9 +39,23 @@ public interface BookingController {
      */
     @PostMapping
     @Operation(summary = "Создание бронирования")
-    ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) long userId,
+    T create(@RequestHeader(USER_ID_HEADER) long userId,
                                   @Validated @RequestBody BookingCreateRequest bookingCreateRequest);
 
+    /**
+     * Пакетное создание бронирований. Создаются все бронирования пакета или ни одного.
+     *
+     * @param userId                идентификатор пользователя.
+     * @param bookingCreateRequests параметры для создания бронирований.
+     * @return созданные бронирования в порядке запроса.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Пакетное создание бронирований")
+    T createAll(@RequestHeader(USER_ID_HEADER) long userId,
+                @RequestBody
+                @Size(min = 1, max = MAX_BATCH_SIZE, message = "Размер пакета должен быть от {min} до {max}.")
+                List<@Valid BookingCreateRequest> bookingCreateRequests);
+
     /**
      * Подтверждение или отклонение бронирования
      *
@@ -46,7 +66,7 @@ public interface BookingController {
      */
     @PatchMapping("/{bookingId}")
     @Operation(summary = "Подтверждение или отклонение бронирования")
-    ResponseEntity<Object> approve(@RequestHeader(USER_ID_HEADER) long userId,
+    T approve(@RequestHeader(USER_ID_HEADER) long userId,
                                    @PathVariable long bookingId,
                                    @RequestParam boolean approved);
 
@@ -54,47 +74,53 @@ public interface BookingController {
      * Получение бронирования по идентификатору.
      *
      * @param userId    идентификатор пользователя.
-     * @param bookingId идентификатор бронирования.
-     * @return найденное бронирование.
+     * @param bookingId   идентификатор бронирования.
+     * @param ifNoneMatch ETag ранее полученного бронирования.
+     * @return найденное бронирование или 304, если бронирование не изменилось.
      */
     @GetMapping("/{bookingId}")
     @Operation(summary = "Получение бронирования по идентификатору")
-    ResponseEntity<Object> getById(@RequestHeader(USER_ID_HEADER) long userId,
-                                   @PathVariable long bookingId);
+    T getById(@RequestHeader(USER_ID_HEADER) long userId,
+              @PathVariable long bookingId,
+              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Получение всех бронирований пользователя.
      *
      * @param userId      идентификатор пользователя.
      * @param stateFilter фильтр отбора.
-     * @param from        индекс первого элемента.
+     * @param from        индекс первого элемента, игнорируется при указании курсора.
      * @param size        количество элементов для отображения.
+     * @param cursor      курсор из заголовка X-Next-Cursor предыдущей страницы.
      * @return найденные бронирования.
      */
     @GetMapping
     @Operation(summary = "Получение всех бронирований пользователя")
-    ResponseEntity<Object> getByBookerId(@RequestHeader(USER_ID_HEADER) long userId,
+    T getByBookerId(@RequestHeader(USER_ID_HEADER) long userId,
                                          @RequestParam(value = "state", defaultValue = "ALL") StateFilter stateFilter,
                                          @RequestParam(defaultValue = "0") @PositiveOrZero long from,
-                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size);
+                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size,
+                                         @RequestParam(required = false) String cursor);
 
     /**
      * Получение всех бронирований вещей владельца.
      *
      * @param userId      идентификатор пользователя.
      * @param stateFilter фильтр отбора.
-     * @param from        индекс первого элемента.
+     * @param from        индекс первого элемента, игнорируется при указании курсора.
      * @param size        количество элементов для отображения.
+     * @param cursor      курсор из заголовка X-Next-Cursor предыдущей страницы.
      * @return найденные бронирования.
      */
     @GetMapping("/owner")
     @Operation(summary = "Получение всех бронирований вещей владельца")
-    ResponseEntity<Object> getByOwner(@RequestHeader(USER_ID_HEADER) long userId,
+    T getByOwner(@RequestHeader(USER_ID_HEADER) long userId,
                                       @Parameter(name = "фильтр отбора",
                                               description = "Возможные значения " +
                                                       "ALL, CURRENT, PAST, FUTURE, " +
                                                       "WAITING, APPROVED, REJECTED")
                                       @RequestParam(value = "state", defaultValue = "ALL") StateFilter stateFilter,
                                       @RequestParam(defaultValue = "0") @PositiveOrZero long from,
-                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size);
+                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size,
+                                      @RequestParam(required = false) String cursor);
 }
@@ -2,16 +2,20 @@ package ru.practicum.shareit.gateway.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.booking.client.BookingClient;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
 
+import java.util.List;
+
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
-public class BookingControllerImpl implements BookingController {
+public class BookingControllerImpl implements BookingController<ResponseEntity<Object>> {
 
     private final BookingClient bookingClient;
 
@@ -21,6 +25,13 @@ public class BookingControllerImpl implements BookingController {
         return bookingClient.create(userId, bookingCreateRequest);
     }
 
+    @Override
+    public ResponseEntity<Object> createAll(long userId, List<BookingCreateRequest> bookingCreateRequests) {
+        log.debug("Пакетное создание бронирований. ИД пользователя: {}. Количество: {}.", userId,
+                bookingCreateRequests.size());
+        return bookingClient.createAll(userId, bookingCreateRequests);
+    }
+
     @Override
     public ResponseEntity<Object> approve(long userId, long bookingId, boolean approved) {
         log.debug("Утверждение / отмена бронирования. ИД пользователя: {}. ИД бронирования: {}. Подтверждение: {}.",
@@ -29,16 +40,22 @@ public class BookingControllerImpl implements BookingController {
     }
 
     @Override
-    public ResponseEntity<Object> getById(long userId, long bookingId) {
+    public ResponseEntity<Object> getById(long userId, long bookingId, String ifNoneMatch) {
         log.debug("Получение бронирования. ИД пользователя: {}. ИД бронирования: {}", userId, bookingId);
-        return bookingClient.getById(userId, bookingId);
+        return bookingClient.getById(userId, bookingId, ifNoneMatch);
     }
 
     @Override
     public ResponseEntity<Object> getByBookerId(long userId,
                                                 StateFilter stateFilter,
                                                 long from,
-                                                int size) {
+                                                int size,
+                                                String cursor) {
+        if (cursor != null) {
+            log.debug("Получение своего списка бронирований. ИД пользователя: {}. Статус: {}. Курсор: {}. " +
+                    "Количество: {}.", userId, stateFilter, cursor, size);
+            return bookingClient.getByBookerId(userId, stateFilter, cursor, size);
+        }
         log.debug("Получение своего списка бронирований. ИД пользователя: {}. Статус: {}. Записи с {} по {}.",
                 userId, stateFilter, from, size);
         return bookingClient.getByBookerId(userId, stateFilter, from, size);
@@ -48,7 +65,13 @@ public class BookingControllerImpl implements BookingController {
     public ResponseEntity<Object> getByOwner(long userId,
                                              StateFilter stateFilter,
                                              long from,
-                                             int size) {
+                                             int size,
+                                             String cursor) {
+        if (cursor != null) {
+            log.debug("Получение списка бронирований веще владельца. ИД пользователя: {}. Статус: {}. Курсор: {}. " +
+                    "Количество: {}.", userId, stateFilter, cursor, size);
+            return bookingClient.getByOwner(userId, stateFilter, cursor, size);
+        }
         log.debug("Получение списка бронирований веще владельца. ИД пользователя: {}. Статус: {}. Записи с {} по {}.",
                 userId, stateFilter, from, size);
         return bookingClient.getByOwner(userId, stateFilter, from, size);
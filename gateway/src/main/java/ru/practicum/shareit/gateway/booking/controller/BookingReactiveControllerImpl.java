@@ -0,0 +1,83 @@
+package ru.practicum.shareit.gateway.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.booking.client.BookingReactiveClient;
+import ru.practicum.shareit.server.booking.entity.StateFilter;
+import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class BookingReactiveControllerImpl implements BookingController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+
+    private final BookingReactiveClient bookingReactiveClient;
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId, BookingCreateRequest bookingCreateRequest) {
+        log.debug("Создание бронирования. ИД пользователя: {}.", userId);
+        return bookingReactiveClient.create(userId, bookingCreateRequest);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(long userId,
+                                                           List<BookingCreateRequest> bookingCreateRequests) {
+        log.debug("Пакетное создание бронирований. ИД пользователя: {}. Количество: {}.", userId,
+                bookingCreateRequests.size());
+        return bookingReactiveClient.createAll(userId, bookingCreateRequests);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approve(long userId, long bookingId, boolean approved) {
+        log.debug("Утверждение / отмена бронирования. ИД пользователя: {}. ИД бронирования: {}. Подтверждение: {}.",
+                userId, bookingId, approved);
+        return bookingReactiveClient.approve(userId, bookingId, approved);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(long userId, long bookingId, String ifNoneMatch) {
+        log.debug("Получение бронирования. ИД пользователя: {}. ИД бронирования: {}", userId, bookingId);
+        return bookingReactiveClient.getById(userId, bookingId, ifNoneMatch);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByBookerId(long userId,
+                                                                StateFilter stateFilter,
+                                                                long from,
+                                                                int size,
+                                                                String cursor) {
+        if (cursor != null) {
+            log.debug("Получение своего списка бронирований. ИД пользователя: {}. Статус: {}. Курсор: {}. " +
+                    "Количество: {}.", userId, stateFilter, cursor, size);
+            return bookingReactiveClient.getByBookerId(userId, stateFilter, cursor, size);
+        }
+        log.debug("Получение своего списка бронирований. ИД пользователя: {}. Статус: {}. Записи с {} по {}.",
+                userId, stateFilter, from, size);
+        return bookingReactiveClient.getByBookerId(userId, stateFilter, from, size);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByOwner(long userId,
+                                                             StateFilter stateFilter,
+                                                             long from,
+                                                             int size,
+                                                             String cursor) {
+        if (cursor != null) {
+            log.debug("Получение списка бронирований веще владельца. ИД пользователя: {}. Статус: {}. Курсор: {}. " +
+                    "Количество: {}.", userId, stateFilter, cursor, size);
+            return bookingReactiveClient.getByOwner(userId, stateFilter, cursor, size);
+        }
+        log.debug("Получение списка бронирований веще владельца. ИД пользователя: {}. Статус: {}. Записи с {} по {}.",
+                userId, stateFilter, from, size);
+        return bookingReactiveClient.getByOwner(userId, stateFilter, from, size);
+    }
+}
@@ -1,20 +1,44 @@
 package ru.practicum.shareit.gateway.common.client;
 
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static ru.practicum.shareit.gateway.config.RequestConstants.USER_ID_HEADER;
 
+/**
+ * Блокирующий клиент сервера.
+ * В режиме прямой передачи тело ответа сервера не разбирается, а передается клиенту шлюза массивом байтов
+ * вместе со статусом и заголовками ответа.
+ * Тело запроса буферизуется фабрикой запросов, чтобы JSON отправлялся с Content-Length, а {@link Resource}
+ * передается серверу потоком через отдельный клиент с небуферизующей фабрикой.
+ */
 public class BaseClient {
     protected final RestTemplate rest;
+    private final boolean passThrough;
+    @Nullable
+    private final ConditionalResponseCache responseCache;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, boolean passThrough) {
+        this(rest, passThrough, null);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passThrough, @Nullable ConditionalResponseCache responseCache) {
         this.rest = rest;
+        this.passThrough = passThrough;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -29,6 +53,74 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Условное получение ответа сервера: валидатор клиента шлюза передается серверу вместе с ETag ответа,
+     * сохраненного шлюзом. Если сервер подтвердил (304) ETag сохраненного ответа, клиенту шлюза
+     * отдается сохраненный ответ без передачи тела сервером. Кэшируются только ответы в режиме прямой передачи.
+     *
+     * @param ifNoneMatch значение заголовка If-None-Match клиента шлюза.
+     */
+    protected ResponseEntity<Object> getConditional(String path, long userId, Map<String, Object> parameters,
+                                                    @Nullable String ifNoneMatch) {
+        if (!passThrough || responseCache == null) {
+            return makeAndSendRequest(rest, HttpMethod.GET, path, userId, parameters, null, MediaType.APPLICATION_JSON,
+                    ifNoneMatchTags(ifNoneMatch));
+        }
+
+        String key = userId + " " + rest.getUriTemplateHandler().expand(path, parameters);
+        ConditionalResponseCache.Entry cached = responseCache.get(key);
+        List<String> clientTags = ifNoneMatchTags(ifNoneMatch);
+        List<String> tags = new ArrayList<>(clientTags);
+        if (cached != null && !tags.contains(cached.getETag())) {
+            tags.add(cached.getETag());
+        }
+
+        ResponseEntity<Object> response = makeAndSendRequest(rest, HttpMethod.GET, path, userId, parameters, null,
+                MediaType.APPLICATION_JSON, tags);
+        String eTag = response.getHeaders().getETag();
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            if (cached != null && cached.getETag().equals(eTag) && !matches(clientTags, eTag)) {
+                return ResponseEntity.ok().headers(cached.getHeaders()).body(cached.getBody());
+            }
+            return response;
+        }
+        if (response.getStatusCode() == HttpStatus.OK && eTag != null && response.getBody() instanceof byte[]) {
+            responseCache.put(key, eTag, response.getHeaders(), (byte[]) response.getBody());
+        } else {
+            responseCache.evict(key);
+        }
+        return response;
+    }
+
+    /**
+     * Получение ответа сервера потоком: тело успешного ответа не читается в память шлюза,
+     * а копируется клиенту шлюза по мере получения. Соединение освобождается после закрытия потока тела.
+     */
+    protected ResponseEntity<Object> getStream(String path) {
+        ClientHttpResponse response = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                    .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(MediaType.ALL));
+            response = request.execute();
+
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode())
+                    .headers(GatewayHeaders.endToEnd(response.getHeaders()));
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                response.close();
+                return responseBuilder.body(body);
+            }
+            return responseBuilder.body(new InputStreamResource(response.getBody()));
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw new ResourceAccessException("Ошибка обращения к серверу: " + e.getMessage(), e);
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -41,6 +133,16 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
+    /**
+     * Отправка тела запроса потоком, без чтения в память шлюза.
+     *
+     * @param streamingRest клиент с фабрикой запросов, не буферизующей тело запроса.
+     */
+    protected ResponseEntity<Object> postStream(RestTemplate streamingRest, String path, long userId,
+                                                MediaType contentType, Resource body) {
+        return makeAndSendRequest(streamingRest, HttpMethod.POST, path, userId, null, body, contentType, List.of());
+    }
+
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
@@ -78,24 +180,53 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body, MediaType.APPLICATION_JSON);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          MediaType contentType) {
+        return makeAndSendRequest(rest, method, path, userId, parameters, body, contentType, List.of());
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> makeAndSendRequest(RestTemplate template, HttpMethod method, String path,
+                                                          Long userId, @Nullable Map<String, Object> parameters,
+                                                          @Nullable T body, MediaType contentType,
+                                                          List<String> ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId, contentType);
+        if (!ifNoneMatch.isEmpty()) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        Class<?> responseType = passThrough ? byte[].class : Object.class;
+
+        ResponseEntity<?> shareitServerResponse;
         try {
             if (parameters != null && !parameters.isEmpty()) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = template.exchange(path, method, requestEntity, responseType, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = template.exchange(path, method, requestEntity, responseType);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(e.getStatusCode());
+            if (passThrough && e.getResponseHeaders() != null) {
+                responseBuilder.headers(GatewayHeaders.endToEnd(e.getResponseHeaders()));
+            }
+            return responseBuilder.body(e.getResponseBodyAsByteArray());
+        }
+
+        if (passThrough) {
+            return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                    .headers(GatewayHeaders.endToEnd(shareitServerResponse.getHeaders()))
+                    .body(shareitServerResponse.getBody());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, MediaType contentType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(contentType);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set(USER_ID_HEADER, String.valueOf(userId));
@@ -103,9 +234,28 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    private static List<String> ifNoneMatchTags(@Nullable String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return List.of();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return headers.getIfNoneMatch();
+    }
+
+    private static boolean matches(List<String> tags, @Nullable String eTag) {
+        return tags.contains("*") || tags.contains(eTag);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            return (ResponseEntity<Object>) response;
+        }
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(GatewayHeaders.endToEnd(response.getHeaders()))
+                    .build();
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
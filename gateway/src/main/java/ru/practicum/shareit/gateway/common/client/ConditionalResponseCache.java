@@ -0,0 +1,81 @@
+package ru.practicum.shareit.gateway.common.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кэш ответов сервера с ETag для условных запросов шлюза.
+ * Сохраненный ответ отдается клиенту шлюза только после подтверждения сервером (304), что ETag не изменился,
+ * поэтому сервер по-прежнему проверяет доступ пользователя, а шлюз не передает и не читает тело повторно.
+ * Размер кэша ограничен, при переполнении вытесняются давно не использованные записи.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConditionalResponseCache {
+
+    private final Map<String, Entry> entries;
+    private final int maxBodySize;
+
+    public ConditionalResponseCache(@Value("${shareit-server.response-cache.max-entries:10000}") int maxEntries,
+                                    @Value("${shareit-server.response-cache.max-body-size:65536}") int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Entry get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Сохранение ответа. Ответы с телом больше допустимого размера не сохраняются, а прежняя запись удаляется.
+     */
+    public void put(String key, String eTag, HttpHeaders headers, byte[] body) {
+        if (body.length > maxBodySize) {
+            evict(key);
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(eTag, headers, body));
+        }
+    }
+
+    public void evict(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Сохраненный ответ сервера.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static class Entry {
+        String eTag;
+        HttpHeaders headers;
+        byte[] body;
+    }
+}
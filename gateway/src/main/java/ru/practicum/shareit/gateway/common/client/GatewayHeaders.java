@@ -0,0 +1,24 @@
+package ru.practicum.shareit.gateway.common.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+@UtilityClass
+class GatewayHeaders {
+
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE);
+
+    /**
+     * @param serverHeaders заголовки ответа сервера.
+     * @return заголовки ответа сервера без заголовков, относящихся к соединению между шлюзом и сервером.
+     */
+    static HttpHeaders endToEnd(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(serverHeaders);
+        HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        return headers;
+    }
+}
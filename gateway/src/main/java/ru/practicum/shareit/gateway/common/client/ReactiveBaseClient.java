@@ -0,0 +1,130 @@
+package ru.practicum.shareit.gateway.common.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.gateway.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Неблокирующий клиент сервера для реактивного режима шлюза.
+ * Тело ответа сервера передается клиенту шлюза потоком байтов без разбора, статус и заголовки сохраняются,
+ * в том числе для ответов с ошибкой.
+ */
+public class ReactiveBaseClient {
+
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Long userId,
+                                                        @Nullable Map<String, Object> parameters) {
+        return exchange(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    /**
+     * Условное получение ответа: валидатор клиента шлюза передается серверу, ответ 304 возвращается без тела.
+     */
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> getConditional(String path, long userId,
+                                                                   Map<String, Object> parameters,
+                                                                   @Nullable String ifNoneMatch) {
+        return exchange(HttpMethod.GET, path, userId, parameters, null, MediaType.APPLICATION_JSON, ifNoneMatch);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, Long userId,
+                                                             @Nullable Map<String, Object> parameters, T body) {
+        return exchange(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    /**
+     * Отправка тела запроса потоком, без чтения в память шлюза.
+     */
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> postStream(String path, long userId, MediaType contentType,
+                                                              Flux<DataBuffer> body) {
+        return exchange(HttpMethod.POST, path, userId, null, BodyInserters.fromDataBuffers(body), contentType, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Long userId,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable T body) {
+        return exchange(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path, Long userId,
+                                                           @Nullable Map<String, Object> parameters) {
+        return exchange(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> exchange(HttpMethod method, String path, Long userId,
+                                                               @Nullable Map<String, Object> parameters,
+                                                               @Nullable T body) {
+        return exchange(method, path, userId, parameters, body == null ? null : BodyInserters.fromValue(body),
+                MediaType.APPLICATION_JSON, null);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> exchange(HttpMethod method, String path, Long userId,
+                                                           @Nullable Map<String, Object> parameters,
+                                                           @Nullable BodyInserter<?, ? super ClientHttpRequest> body,
+                                                           MediaType contentType, @Nullable String ifNoneMatch) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters == null ? Map.of() : parameters)
+                .headers(headers -> {
+                    defaultHeaders(headers, userId, contentType);
+                    if (ifNoneMatch != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+                    }
+                });
+
+        WebClient.RequestHeadersSpec<?> requestWithBody = body == null ? request : request.body(body);
+
+        return requestWithBody.retrieve()
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId, MediaType contentType) {
+        headers.setContentType(contentType);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set(USER_ID_HEADER, String.valueOf(userId));
+        }
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(GatewayHeaders.endToEnd(response.getHeaders()))
+                .body(response.getBody());
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
@@ -43,6 +45,35 @@ public class RestExceptionHandler {
         return new RestException(message, ex.getCause(), HttpStatus.BAD_REQUEST);
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = WebExchangeBindException.class)
+    public RestException handleWebExchangeBindException(WebExchangeBindException ex) {
+
+        String message = ex.getFieldErrors()
+                .stream()
+                .findFirst()
+                .map(FieldError::getDefaultMessage)
+                .orElse("Неизвестная ошибка при обработке параметра.");
+
+        log.info(message);
+        return new RestException(message, ex.getCause(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = ServerWebInputException.class)
+    public RestException handleServerWebInputException(ServerWebInputException ex) {
+        String message;
+        Throwable cause = ex.getMostSpecificCause();
+        if (cause != ex) {
+            message = cause.getMessage();
+        } else {
+            message = ex.getReason();
+            cause = null;
+        }
+        log.info(message);
+        return new RestException(message, cause, HttpStatus.BAD_REQUEST);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(value = ConversionFailedException.class)
     public RestException handeConversionFailedException(ConversionFailedException ex) {
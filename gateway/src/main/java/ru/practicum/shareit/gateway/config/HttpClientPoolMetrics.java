@@ -0,0 +1,39 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Метрики заполнения пула HTTP соединений с сервером.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class HttpClientPoolMetrics implements MeterBinder {
+
+    private static final String PREFIX = "shareit.gateway.http.pool.";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "leased", "Соединения, выданные запросам", PoolStats::getLeased);
+        gauge(registry, "available", "Свободные соединения в пуле", PoolStats::getAvailable);
+        gauge(registry, "pending", "Запросы, ожидающие соединения", PoolStats::getPending);
+        gauge(registry, "max", "Максимальное количество соединений", PoolStats::getMax);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(PREFIX + name, connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.gateway.config;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки пула HTTP соединений шлюза с сервером.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Максимальное количество соединений в пуле.
+     */
+    int maxTotal = 200;
+
+    /**
+     * Максимальное количество соединений к одному адресу.
+     */
+    int maxPerRoute = 200;
+
+    /**
+     * Время ожидания установки соединения.
+     */
+    Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время ожидания данных от сервера.
+     */
+    Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Время ожидания свободного соединения из пула.
+     */
+    Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время жизни простаивающего соединения, если сервер не передал заголовок Keep-Alive.
+     */
+    Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Время простоя, после которого соединение закрывается фоновой очисткой пула.
+     */
+    Duration idleEvictionTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Время простоя, после которого соединение проверяется перед выдачей из пула.
+     */
+    Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -1,58 +1,101 @@
 package ru.practicum.shareit.gateway.item.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.common.client.BaseClient;
+import ru.practicum.shareit.gateway.common.client.ConditionalResponseCache;
+import ru.practicum.shareit.gateway.config.HttpClientConfig;
 import ru.practicum.shareit.server.item.dto.CommentCreateRequest;
 import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
 import ru.practicum.shareit.server.item.dto.ItemUpdateRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final RestTemplate streamingRest;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Qualifier(HttpClientConfig.STREAMING_REQUEST_FACTORY)
+                      ClientHttpRequestFactory streamingRequestFactory,
+                      @Value("${shareit-server.pass-through:true}") boolean passThrough,
+                      ConditionalResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passThrough,
+                responseCache
         );
+        this.streamingRest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(() -> streamingRequestFactory)
+                .build();
     }
 
     public ResponseEntity<Object> getByUserId(long userId, long from, int size) {
         return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
-    public ResponseEntity<Object> getById(long userId, long id) {
-        return get("/{id}", userId, Map.of("id", id));
+    public ResponseEntity<Object> getById(long userId, long id, String ifNoneMatch) {
+        return getConditional("/{id}", userId, Map.of("id", id), ifNoneMatch);
     }
 
     public ResponseEntity<Object> create(long userId, ItemCreateRequest itemCreateRequest) {
         return post("", userId, itemCreateRequest);
     }
 
+    public ResponseEntity<Object> createAll(long userId, List<ItemCreateRequest> itemCreateRequests) {
+        return post("/batch", userId, itemCreateRequests);
+    }
+
+    public ResponseEntity<Object> importItems(long userId, InputStreamResource body) {
+        return postStream(streamingRest, "/import", userId, MediaType.APPLICATION_NDJSON, body);
+    }
+
     public ResponseEntity<Object> update(long userId, long id, ItemUpdateRequest itemUpdateRequest) {
         return patch("/{id}", userId, Map.of("id", id), itemUpdateRequest);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, long from, int size) {
-        return get("/search?text={text}&from={from}&size={size}",
-                userId,
-                Map.of("text", text,
-                       "from", from,
-                       "size", size));
+    public ResponseEntity<Object> search(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                         long from, int size) {
+        StringBuilder path = new StringBuilder("/search?text={text}&from={from}&size={size}");
+        Map<String, Object> parameters = new HashMap<>(Map.of("text", text, "from", from, "size", size));
+        if (start != null) {
+            path.append("&start={start}");
+            parameters.put("start", start);
+        }
+        if (end != null) {
+            path.append("&end={end}");
+            parameters.put("end", end);
+        }
+        return get(path.toString(), userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentCreateRequest commentCreateRequest) {
         return post("/{itemId}/comment", userId, Map.of("itemId", itemId), commentCreateRequest);
     }
+
+    public ResponseEntity<Object> getAvailability(long userId, long id, LocalDateTime from, LocalDateTime to) {
+        return get("/{id}/availability?from={from}&to={to}", userId, Map.of("id", id, "from", from, "to", to));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.gateway.item.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.common.client.ReactiveBaseClient;
+import ru.practicum.shareit.server.item.dto.CommentCreateRequest;
+import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
+import ru.practicum.shareit.server.item.dto.ItemUpdateRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ItemReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ItemReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByUserId(long userId, long from, int size) {
+        return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(long userId, long id, String ifNoneMatch) {
+        return getConditional("/{id}", userId, Map.of("id", id), ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId, ItemCreateRequest itemCreateRequest) {
+        return post("", userId, itemCreateRequest);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(long userId, List<ItemCreateRequest> itemCreateRequests) {
+        return post("/batch", userId, itemCreateRequests);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(long userId, Flux<DataBuffer> body) {
+        return postStream("/import", userId, MediaType.APPLICATION_NDJSON, body);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(long userId, long id,
+                                                         ItemUpdateRequest itemUpdateRequest) {
+        return patch("/{id}", userId, Map.of("id", id), itemUpdateRequest);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(long userId, String text, LocalDateTime start,
+                                                         LocalDateTime end, long from, int size) {
+        StringBuilder path = new StringBuilder("/search?text={text}&from={from}&size={size}");
+        Map<String, Object> parameters = new HashMap<>(Map.of("text", text, "from", from, "size", size));
+        if (start != null) {
+            path.append("&start={start}");
+            parameters.put("start", start);
+        }
+        if (end != null) {
+            path.append("&end={end}");
+            parameters.put("end", end);
+        }
+        return get(path.toString(), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addComment(long userId, long itemId,
+                                                             CommentCreateRequest commentCreateRequest) {
+        return post("/{itemId}/comment", userId, Map.of("itemId", itemId), commentCreateRequest);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(long userId, long id, LocalDateTime from,
+                                                                  LocalDateTime to) {
+        return get("/{id}/availability?from={from}&to={to}", userId, Map.of("id", id, "from", from, "to", to));
+    }
+}
\ No newline at end of file
@@ -2,7 +2,9 @@ package ru.practicum.shareit.gateway.item.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.item.dto.CommentCreateRequest;
@@ -10,19 +12,28 @@ import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
 import ru.practicum.shareit.server.item.dto.ItemUpdateRequest;
 import ru.practicum.shareit.server.item.entity.Item;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static ru.practicum.shareit.gateway.config.RequestConstants.DEFAULT_PAGE_SIZE;
+import static ru.practicum.shareit.gateway.config.RequestConstants.MAX_BATCH_SIZE;
 import static ru.practicum.shareit.gateway.config.RequestConstants.USER_ID_HEADER;
 
 /**
  * Контроллер для {@link Item}.
+ *
+ * @param <T> тип ответа: {@code ResponseEntity} для сервлетного режима шлюза, {@code Mono} для реактивного.
+ * @param <B> тип потокового тела запроса: {@code InputStreamResource} для сервлетного режима шлюза,
+ *            {@code Flux<DataBuffer>} для реактивного.
  */
 @Validated
 @RequestMapping("/items")
 @Tag(name = "Items", description = "Управление вещами")
-public interface ItemController {
+public interface ItemController<T, B> {
 
     /**
      * Получение списка вещей пользователя (владельца).
@@ -34,7 +45,7 @@ public interface ItemController {
      */
     @GetMapping
     @Operation(summary = "Получение списка вещей пользователя")
-    ResponseEntity<Object> getByUserId(@RequestHeader(USER_ID_HEADER) long userId,
+    T getByUserId(@RequestHeader(USER_ID_HEADER) long userId,
                                        @RequestParam(defaultValue = "0") @PositiveOrZero long from,
                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size);
 
@@ -42,12 +53,14 @@ public interface ItemController {
      * Получение вещи по идентификатору.
      *
      * @param userId идентификатор пользователя (не владельца).
-     * @param id     идентификатор вещи.
-     * @return вещь.
+     * @param id          идентификатор вещи.
+     * @param ifNoneMatch ETag ранее полученной вещи.
+     * @return вещь или 304, если вещь не изменилась.
      */
     @GetMapping("/{id}")
     @Operation(summary = "Получение вещи по идентификатору")
-    ResponseEntity<Object> getById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long id);
+    T getById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long id,
+              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Создание вещи.
@@ -58,9 +71,35 @@ public interface ItemController {
      */
     @PostMapping
     @Operation(summary = "Публикация вещи")
-    ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) long userId,
+    T create(@RequestHeader(USER_ID_HEADER) long userId,
                                   @Validated @RequestBody ItemCreateRequest itemCreateRequest);
 
+    /**
+     * Пакетное создание вещей. Создаются все вещи пакета или ни одной.
+     *
+     * @param userId             идентификатор пользователя.
+     * @param itemCreateRequests параметры вещей.
+     * @return созданные вещи в порядке запроса.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Пакетная публикация вещей")
+    T createAll(@RequestHeader(USER_ID_HEADER) long userId,
+                @RequestBody
+                @Size(min = 1, max = MAX_BATCH_SIZE, message = "Размер пакета должен быть от {min} до {max}.")
+                List<@Valid ItemCreateRequest> itemCreateRequests);
+
+    /**
+     * Импорт вещей из потока JSON-строк, по одной вещи в строке. Тело передается серверу потоком без разбора,
+     * строки проверяет сервер.
+     *
+     * @param userId идентификатор пользователя.
+     * @param body   строки с параметрами вещей.
+     * @return количество импортированных вещей и ошибки по номерам строк.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Импорт вещей из NDJSON")
+    T importItems(@RequestHeader(USER_ID_HEADER) long userId, @RequestBody B body);
+
     /**
      * Обновление вещи.
      *
@@ -71,7 +110,7 @@ public interface ItemController {
      */
     @PatchMapping("/{id}")
     @Operation(summary = "Обновление вещи")
-    ResponseEntity<Object> update(@RequestHeader(USER_ID_HEADER) long userId,
+    T update(@RequestHeader(USER_ID_HEADER) long userId,
                                   @PathVariable long id,
                                   @Validated @RequestBody ItemUpdateRequest itemUpdateRequest);
 
@@ -80,14 +119,20 @@ public interface ItemController {
      *
      * @param userId идентификатор пользователя.
      * @param text   подстрока для регистронезависимого поиска.
+     * @param start  начало периода, на который вещь должна быть свободна (необязательно).
+     * @param end    окончание периода (не включительно), задается вместе с началом.
      * @param from   индекс первого элемента.
      * @param size   количество элементов для отображения.
-     * @return список найденных доступных вещей.
+     * @return список найденных доступных вещей без подтвержденных бронирований на период.
      */
     @GetMapping("/search")
     @Operation(summary = "Поиск доступных вещей по наименованию или описанию")
-    ResponseEntity<Object> search(@RequestHeader(USER_ID_HEADER) long userId,
+    T search(@RequestHeader(USER_ID_HEADER) long userId,
                                   @RequestParam String text,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                  LocalDateTime start,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                  LocalDateTime end,
                                   @RequestParam(defaultValue = "0") @PositiveOrZero long from,
                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size);
 
@@ -101,7 +146,23 @@ public interface ItemController {
      */
     @PostMapping("/{itemId}/comment")
     @Operation(summary = "Добавление комментария к вещи")
-    ResponseEntity<Object> addComment(@RequestHeader(USER_ID_HEADER) long userId,
+    T addComment(@RequestHeader(USER_ID_HEADER) long userId,
                                       @PathVariable long itemId,
                                       @Validated @RequestBody CommentCreateRequest commentCreateRequest);
-}
\ No newline at end of file
+
+    /**
+     * Получение занятости вещи: объединенных периодов бронирований и свободных промежутков в окне.
+     *
+     * @param userId идентификатор пользователя.
+     * @param id     идентификатор вещи.
+     * @param from   начало окна.
+     * @param to     окончание окна (не включительно).
+     * @return занятость вещи в окне.
+     */
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Получение занятости вещи в окне")
+    T getAvailability(@RequestHeader(USER_ID_HEADER) long userId,
+                      @PathVariable long id,
+                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to);
+}
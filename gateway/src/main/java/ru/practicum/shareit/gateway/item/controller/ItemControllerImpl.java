@@ -2,6 +2,8 @@ package ru.practicum.shareit.gateway.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.item.client.ItemClient;
@@ -10,13 +12,17 @@ import ru.practicum.shareit.server.item.dto.CommentCreateRequest;
 import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
 import ru.practicum.shareit.server.item.dto.ItemUpdateRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Имплементация контроллера для {@link Item}.
  */
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
-public class ItemControllerImpl implements ItemController {
+public class ItemControllerImpl implements ItemController<ResponseEntity<Object>, InputStreamResource> {
 
     private final ItemClient itemClient;
 
@@ -34,9 +40,9 @@ public class ItemControllerImpl implements ItemController {
      * {@inheritDoc}
      */
     @Override
-    public ResponseEntity<Object> getById(long userId, long id) {
+    public ResponseEntity<Object> getById(long userId, long id, String ifNoneMatch) {
         log.debug("Получение вещи по идентификатору. ИД пользователя: {}. ИД вещий: {}", userId, id);
-        return itemClient.getById(userId, id);
+        return itemClient.getById(userId, id, ifNoneMatch);
     }
 
     /**
@@ -48,6 +54,24 @@ public class ItemControllerImpl implements ItemController {
         return itemClient.create(userId, itemCreateRequest);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<Object> createAll(long userId, List<ItemCreateRequest> itemCreateRequests) {
+        log.debug("Пакетное создание вещей. ИД пользователя: {}. Количество: {}.", userId, itemCreateRequests.size());
+        return itemClient.createAll(userId, itemCreateRequests);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<Object> importItems(long userId, InputStreamResource body) {
+        log.debug("Импорт вещей. ИД пользователя: {}.", userId);
+        return itemClient.importItems(userId, body);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -61,10 +85,12 @@ public class ItemControllerImpl implements ItemController {
      * {@inheritDoc}
      */
     @Override
-    public ResponseEntity<Object> search(long userId, String text, long from, int size) {
+    public ResponseEntity<Object> search(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                         long from, int size) {
         log.debug("Поиск доступных вещей по наименованию или описанию. ИД пользователя: {}. " +
-                "Строка для поиска: \"{}\".Записи с {} по {}.", text, userId, from, size);
-        return itemClient.search(userId, text, from, size);
+                "Строка для поиска: \"{}\". Свободные с {} по {}. Записи с {} по {}.",
+                userId, text, start, end, from, size);
+        return itemClient.search(userId, text, start, end, from, size);
     }
 
     /**
@@ -75,4 +101,14 @@ public class ItemControllerImpl implements ItemController {
         log.debug("Добавление комментария к вещи. ИД пользователя: {}. ИД вещи: {}", userId, itemId);
         return itemClient.addComment(userId, itemId, commentCreateRequest);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<Object> getAvailability(long userId, long id, LocalDateTime from, LocalDateTime to) {
+        log.debug("Получение занятости вещи. ИД пользователя: {}. ИД вещи: {}. Окно с {} по {}.",
+                userId, id, from, to);
+        return itemClient.getAvailability(userId, id, from, to);
+    }
 }
\ No newline at end of file
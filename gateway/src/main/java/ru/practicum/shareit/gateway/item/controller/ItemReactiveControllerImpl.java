@@ -0,0 +1,119 @@
+package ru.practicum.shareit.gateway.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.item.client.ItemReactiveClient;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.dto.CommentCreateRequest;
+import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
+import ru.practicum.shareit.server.item.dto.ItemUpdateRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Имплементация контроллера для {@link Item}.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ItemReactiveControllerImpl
+        implements ItemController<Mono<ResponseEntity<Flux<DataBuffer>>>, Flux<DataBuffer>> {
+
+    private final ItemReactiveClient itemReactiveClient;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByUserId(long userId, long from, int size) {
+        log.debug("Получение вещей пользователя. ИД пользователя: {}. Записи с {} по {}.",
+                userId, from, size);
+        return itemReactiveClient.getByUserId(userId, from, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(long userId, long id, String ifNoneMatch) {
+        log.debug("Получение вещи по идентификатору. ИД пользователя: {}. ИД вещий: {}", userId, id);
+        return itemReactiveClient.getById(userId, id, ifNoneMatch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId, ItemCreateRequest itemCreateRequest) {
+        log.debug("Создание вещи. ИД пользователя: {}.", userId);
+        return itemReactiveClient.create(userId, itemCreateRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(long userId, List<ItemCreateRequest> itemCreateRequests) {
+        log.debug("Пакетное создание вещей. ИД пользователя: {}. Количество: {}.", userId, itemCreateRequests.size());
+        return itemReactiveClient.createAll(userId, itemCreateRequests);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(long userId, Flux<DataBuffer> body) {
+        log.debug("Импорт вещей. ИД пользователя: {}.", userId);
+        return itemReactiveClient.importItems(userId, body);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(long userId, long id, ItemUpdateRequest itemUpdateRequest) {
+        log.debug("Обновление вещи. ИД пользователя: {}. ИД обновляемой вещи: {}.", userId, id);
+        return itemReactiveClient.update(userId, id, itemUpdateRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(long userId, String text, LocalDateTime start,
+                                                         LocalDateTime end, long from, int size) {
+        log.debug("Поиск доступных вещей по наименованию или описанию. ИД пользователя: {}. " +
+                "Строка для поиска: \"{}\". Свободные с {} по {}. Записи с {} по {}.",
+                userId, text, start, end, from, size);
+        return itemReactiveClient.search(userId, text, start, end, from, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addComment(long userId, long itemId,
+                                                             CommentCreateRequest commentCreateRequest) {
+        log.debug("Добавление комментария к вещи. ИД пользователя: {}. ИД вещи: {}", userId, itemId);
+        return itemReactiveClient.addComment(userId, itemId, commentCreateRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(long userId, long id, LocalDateTime from,
+                                                                  LocalDateTime to) {
+        log.debug("Получение занятости вещи. ИД пользователя: {}. ИД вещи: {}. Окно с {} по {}.",
+                userId, id, from, to);
+        return itemReactiveClient.getAvailability(userId, id, from, to);
+    }
+}
\ No newline at end of file
@@ -2,27 +2,35 @@ package ru.practicum.shareit.gateway.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.common.client.BaseClient;
+import ru.practicum.shareit.gateway.common.client.ConditionalResponseCache;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory,
+                             @Value("${shareit-server.pass-through:true}") boolean passThrough,
+                             ConditionalResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passThrough,
+                responseCache
         );
     }
 
@@ -38,7 +46,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
-    public ResponseEntity<Object> getByRequestId(long userId, long id) {
-        return get("/{requestId}", userId, Map.of("requestId", id));
+    public ResponseEntity<Object> getByRequestId(long userId, long id, String ifNoneMatch) {
+        return getConditional("/{requestId}", userId, Map.of("requestId", id), ifNoneMatch);
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.gateway.request.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.common.client.ReactiveBaseClient;
+import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ItemRequestReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ItemRequestReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId,
+                                                         ItemRequestCreateRequest itemRequestCreateRequest) {
+        return post("", userId, itemRequestCreateRequest);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllMyRequests(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllNotMyRequests(long userId, long from, int size) {
+        return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByRequestId(long userId, long id, String ifNoneMatch) {
+        return getConditional("/{requestId}", userId, Map.of("requestId", id), ifNoneMatch);
+    }
+}
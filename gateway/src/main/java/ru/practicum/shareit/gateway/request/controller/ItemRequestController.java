@@ -2,7 +2,7 @@ package ru.practicum.shareit.gateway.request.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
@@ -16,11 +16,13 @@ import static ru.practicum.shareit.gateway.config.RequestConstants.USER_ID_HEADE
 
 /**
  * Контроллер для {@link ItemRequest}
+ *
+ * @param <T> тип ответа: {@code ResponseEntity} для сервлетного режима шлюза, {@code Mono} для реактивного.
  */
 @Validated
 @RequestMapping(path = "/requests")
 @Tag(name = "Requests", description = "Управление запросами на вещи")
-public interface ItemRequestController {
+public interface ItemRequestController<T> {
 
     /**
      * Создание запроса на вещь.
@@ -31,7 +33,7 @@ public interface ItemRequestController {
      */
     @PostMapping
     @Operation(summary = "Публикация запроса на вещь")
-    ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) long userId,
+    T create(@RequestHeader(USER_ID_HEADER) long userId,
                                   @Validated @RequestBody ItemRequestCreateRequest itemRequestCreateRequest);
 
     /**
@@ -42,7 +44,7 @@ public interface ItemRequestController {
      */
     @Operation(description = "Получение списка запросов пользователя")
     @GetMapping
-    ResponseEntity<Object> getAllMyRequests(@RequestHeader(USER_ID_HEADER) long userId);
+    T getAllMyRequests(@RequestHeader(USER_ID_HEADER) long userId);
 
     /**
      * Получение всех запросов других пользователей
@@ -54,7 +56,7 @@ public interface ItemRequestController {
      */
     @Operation(description = "Получение всех запросов других пользователей")
     @GetMapping("/all")
-    ResponseEntity<Object> getAllNotMyRequests(@RequestHeader(USER_ID_HEADER) long userId,
+    T getAllNotMyRequests(@RequestHeader(USER_ID_HEADER) long userId,
                                                @RequestParam(defaultValue = "0") @PositiveOrZero long from,
                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
                                                @Positive int size);
@@ -63,11 +65,13 @@ public interface ItemRequestController {
      * Получение запроса по индентификатору.
      *
      * @param userId    идентификатор пользователя.
-     * @param requestId идентификатор запроса.
-     * @return запрос вещи.
+     * @param requestId   идентификатор запроса.
+     * @param ifNoneMatch ETag ранее полученного запроса.
+     * @return запрос вещи или 304, если запрос не изменился.
      */
     @GetMapping("/{requestId}")
     @Operation(description = "Получение запроса по индентификатору")
-    ResponseEntity<Object> getByRequestId(@RequestHeader(USER_ID_HEADER) long userId,
-                                          @PathVariable long requestId);
+    T getByRequestId(@RequestHeader(USER_ID_HEADER) long userId,
+                     @PathVariable long requestId,
+                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 }
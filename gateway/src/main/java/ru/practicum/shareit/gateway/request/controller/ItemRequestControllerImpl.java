@@ -2,6 +2,7 @@ package ru.practicum.shareit.gateway.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.request.client.ItemRequestClient;
@@ -13,8 +14,9 @@ import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
  */
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
-public class ItemRequestControllerImpl implements ItemRequestController {
+public class ItemRequestControllerImpl implements ItemRequestController<ResponseEntity<Object>> {
 
     private final ItemRequestClient itemRequestClient;
 
@@ -50,8 +52,8 @@ public class ItemRequestControllerImpl implements ItemRequestController {
      * {@inheritDoc}
      */
     @Override
-    public ResponseEntity<Object> getByRequestId(long userId, long requestId) {
+    public ResponseEntity<Object> getByRequestId(long userId, long requestId, String ifNoneMatch) {
         log.debug("Получение запроса по индентификатору. ИД пользователя: {}. ИД запроса: {}", userId, requestId);
-        return itemRequestClient.getByRequestId(userId, requestId);
+        return itemRequestClient.getByRequestId(userId, requestId, ifNoneMatch);
     }
 }
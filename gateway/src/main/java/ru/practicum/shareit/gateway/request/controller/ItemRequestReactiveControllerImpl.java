@@ -0,0 +1,64 @@
+package ru.practicum.shareit.gateway.request.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.request.client.ItemRequestReactiveClient;
+import ru.practicum.shareit.server.request.entity.ItemRequest;
+import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
+
+/**
+ * Имплементация контроллера для {@link ItemRequest}
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ItemRequestReactiveControllerImpl
+        implements ItemRequestController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+
+    private final ItemRequestReactiveClient itemRequestReactiveClient;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId,
+                                                         ItemRequestCreateRequest itemRequestCreateRequest) {
+        log.debug("Создание запроса. ИД пользователя: {}.", userId);
+        return itemRequestReactiveClient.create(userId, itemRequestCreateRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllMyRequests(long userId) {
+        log.debug("Получение списка запросов пользователя. ИД пользователя: {}.", userId);
+        return itemRequestReactiveClient.getAllMyRequests(userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllNotMyRequests(long userId, long from, int size) {
+        log.debug("Получение всех запросов других пользователей. ИД пользователя: {}. Записи с {} по {}.",
+                userId, from, size);
+        return itemRequestReactiveClient.getAllNotMyRequests(userId, from, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByRequestId(long userId, long requestId, String ifNoneMatch) {
+        log.debug("Получение запроса по индентификатору. ИД пользователя: {}. ИД запроса: {}", userId, requestId);
+        return itemRequestReactiveClient.getByRequestId(userId, requestId, ifNoneMatch);
+    }
+}
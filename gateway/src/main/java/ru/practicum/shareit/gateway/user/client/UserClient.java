@@ -2,9 +2,10 @@ package ru.practicum.shareit.gateway.user.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.common.client.BaseClient;
@@ -14,21 +15,33 @@ import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Value("${shareit-server.pass-through:true}") boolean passThrough) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passThrough
         );
     }
 
-    public ResponseEntity<Object> getAll() {
-        return get("");
+    public ResponseEntity<Object> getAll(long from, int size) {
+        return get("?from={from}&size={size}", null, Map.of("from", from, "size", size));
+    }
+
+    public ResponseEntity<Object> getAll(String cursor, int size) {
+        return get("?cursor={cursor}&size={size}", null, Map.of("cursor", cursor, "size", size));
+    }
+
+    public ResponseEntity<Object> streamAll() {
+        return getStream("/stream");
     }
 
     public ResponseEntity<Object> getById(long id) {
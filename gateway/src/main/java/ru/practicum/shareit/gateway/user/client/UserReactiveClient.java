@@ -0,0 +1,62 @@
+package ru.practicum.shareit.gateway.user.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.common.client.ReactiveBaseClient;
+import ru.practicum.shareit.server.user.dto.UserCreateRequest;
+import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public UserReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(long from, int size) {
+        return get("?from={from}&size={size}", null, Map.of("from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(String cursor, int size) {
+        return get("?cursor={cursor}&size={size}", null, Map.of("cursor", cursor, "size", size));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamAll() {
+        return get("/stream");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(long id) {
+        return get("/{id}", null, Map.of("id", Long.toString(id)));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(UserCreateRequest userCreateRequest) {
+        return post("", userCreateRequest);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(long id, UserUpdateRequest userUpdateRequest) {
+        return patch("/{id}", null, Map.of("id", Long.toString(id)), userUpdateRequest);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> delete(long id) {
+        return delete("/{id}", null, Map.of("id", Long.toString(id)));
+    }
+}
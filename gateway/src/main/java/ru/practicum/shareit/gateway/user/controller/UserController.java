@@ -2,29 +2,50 @@ package ru.practicum.shareit.gateway.user.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.user.dto.UserCreateRequest;
 import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 import ru.practicum.shareit.server.user.entity.User;
 
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+import static ru.practicum.shareit.gateway.config.RequestConstants.DEFAULT_PAGE_SIZE;
+
 /**
  * Контроллер для {@link User}.
+ *
+ * @param <T> тип ответа: {@code ResponseEntity} для сервлетного режима шлюза, {@code Mono} для реактивного.
  */
 @Validated
 @RequestMapping(path = "/users")
 @Tag(name = "Users", description = "Управление пользователями")
-public interface UserController {
+public interface UserController<T> {
 
     /**
-     * Получение всех пользователей.
+     * Получение пользователей в порядке возрастания идентификатора.
      *
-     * @return список пользователей.
+     * @param from   индекс первого элемента, игнорируется при указании курсора.
+     * @param size   количество элементов для отображения.
+     * @param cursor курсор из заголовка X-Next-Cursor предыдущей страницы.
+     * @return найденные пользователи.
      */
     @GetMapping
-    @Operation(summary = "Получение всех пользователей")
-    ResponseEntity<Object> getAll();
+    @Operation(summary = "Получение пользователей")
+    T getAll(@RequestParam(defaultValue = "0") @PositiveOrZero long from,
+             @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size,
+             @RequestParam(required = false) String cursor);
+
+    /**
+     * Выгрузка всех пользователей в формате NDJSON, по одному пользователю в строке.
+     * Ответ сервера передается клиенту потоком без разбора и без чтения в память шлюза.
+     *
+     * @return все пользователи.
+     */
+    @GetMapping("/stream")
+    @Operation(summary = "Потоковая выгрузка всех пользователей")
+    T streamAll();
 
     /**
      * Получение пользователя по идентификатору.
@@ -34,7 +55,7 @@ public interface UserController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Получение пользователя по идентификатору")
-    ResponseEntity<Object> getById(@PathVariable long id);
+    T getById(@PathVariable long id);
 
     /**
      * Создание пользователя.
@@ -44,7 +65,7 @@ public interface UserController {
      */
     @PostMapping
     @Operation(summary = "Создание пользователя")
-    ResponseEntity<Object> create(@Validated @RequestBody UserCreateRequest userCreateRequest);
+    T create(@Validated @RequestBody UserCreateRequest userCreateRequest);
 
     /**
      * Обновление пользователя.
@@ -55,7 +76,7 @@ public interface UserController {
      */
     @PatchMapping("/{id}")
     @Operation(summary = "Обновление пользователя")
-    ResponseEntity<Object> update(@PathVariable long id, @Validated @RequestBody UserUpdateRequest userUpdateRequest);
+    T update(@PathVariable long id, @Validated @RequestBody UserUpdateRequest userUpdateRequest);
 
     /**
      * Удаление пользователя.
@@ -64,5 +85,5 @@ public interface UserController {
      */
     @DeleteMapping("/{id}")
     @Operation(summary = "Удаление пользователя")
-    ResponseEntity<Object> delete(@PathVariable long id);
+    T delete(@PathVariable long id);
 }
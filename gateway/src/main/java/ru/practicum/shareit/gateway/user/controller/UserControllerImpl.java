@@ -2,6 +2,7 @@ package ru.practicum.shareit.gateway.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.user.client.UserClient;
@@ -10,8 +11,9 @@ import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
-public class UserControllerImpl implements UserController {
+public class UserControllerImpl implements UserController<ResponseEntity<Object>> {
 
     private final UserClient userClient;
 
@@ -19,9 +21,22 @@ public class UserControllerImpl implements UserController {
      * {@inheritDoc}
      */
     @Override
-    public ResponseEntity<Object> getAll() {
-        log.debug("Получение всех пользователей.");
-        return userClient.getAll();
+    public ResponseEntity<Object> getAll(long from, int size, String cursor) {
+        if (cursor != null) {
+            log.debug("Получение пользователей. Курсор: {}. Количество: {}.", cursor, size);
+            return userClient.getAll(cursor, size);
+        }
+        log.debug("Получение пользователей. Записи с {} по {}.", from, size);
+        return userClient.getAll(from, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<Object> streamAll() {
+        log.debug("Потоковая выгрузка всех пользователей.");
+        return userClient.streamAll();
     }
 
     /**
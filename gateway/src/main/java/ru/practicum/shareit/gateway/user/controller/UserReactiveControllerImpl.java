@@ -0,0 +1,80 @@
+package ru.practicum.shareit.gateway.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.user.client.UserReactiveClient;
+import ru.practicum.shareit.server.user.dto.UserCreateRequest;
+import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class UserReactiveControllerImpl implements UserController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+
+    private final UserReactiveClient userReactiveClient;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(long from, int size, String cursor) {
+        if (cursor != null) {
+            log.debug("Получение пользователей. Курсор: {}. Количество: {}.", cursor, size);
+            return userReactiveClient.getAll(cursor, size);
+        }
+        log.debug("Получение пользователей. Записи с {} по {}.", from, size);
+        return userReactiveClient.getAll(from, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamAll() {
+        log.debug("Потоковая выгрузка всех пользователей.");
+        return userReactiveClient.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(long id) {
+        log.debug("Получение пользователя по идентфиикатору. ИД получаемого пользователя: {}.", id);
+        return userReactiveClient.getById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(UserCreateRequest userCreateRequest) {
+        log.debug("Создание пользователя.");
+        return userReactiveClient.create(userCreateRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(long id, UserUpdateRequest userUpdateRequest) {
+        log.debug("Обновление пользователя. ИД обновляемого пользователя: {}.", id);
+        return userReactiveClient.update(id, userUpdateRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> delete(long id) {
+        log.debug("Удаление пользователя. ИД удаляемого пользователя: {}.", id);
+        return userReactiveClient.delete(id);
+    }
+}
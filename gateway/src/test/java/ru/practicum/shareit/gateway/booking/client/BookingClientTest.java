@@ -4,13 +4,19 @@ import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.common.client.AbstractClientTest;
+import ru.practicum.shareit.gateway.common.client.ConditionalResponseCache;
 import ru.practicum.shareit.gateway.common.exception.RestException;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
 import ru.practicum.shareit.server.booking.dto.BookingResponse;
@@ -22,14 +28,23 @@ import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
 import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.user.dto.UserResponse;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,7 +65,8 @@ class BookingClientTest extends AbstractClientTest {
     void setUp() {
 
         init();
-        bookingClient = new BookingClient("http://localhost", restTemplateBuilder);
+        bookingClient = new BookingClient("http://localhost", restTemplateBuilder, requestFactory, false,
+                new ConditionalResponseCache(100, 1024));
 
         itemCreateRequest = objectGenerator.next(ItemCreateRequest.class);
         bookingCreateRequest = objectGenerator.next(BookingCreateRequest.class);
@@ -104,6 +120,20 @@ class BookingClientTest extends AbstractClientTest {
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
 
+    @Test
+    void createAll_whenCall_thenResponseOkReturned() {
+        long userId = 1L;
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok(List.of(bookingResponse));
+
+        when(restTemplate.exchange(eq("/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<Class<Object>>any()))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> response = bookingClient.createAll(userId, List.of(bookingCreateRequest));
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+    }
+
     @Test
     void create_whenCallCreateWithInvalidParameters_thenResponseBadRequestReturned() {
         long userId = 1L;
@@ -147,7 +177,7 @@ class BookingClientTest extends AbstractClientTest {
                 ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> response = bookingClient.getById(userId, bookingId);
+        ResponseEntity<Object> response = bookingClient.getById(userId, bookingId, null);
 
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
@@ -170,6 +200,25 @@ class BookingClientTest extends AbstractClientTest {
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
 
+    @Test
+    void getByBookerId_whenCallWithCursor_thenResponseOkReturned() {
+        long userId = 0L;
+        StateFilter stateFilter = StateFilter.APPROVED;
+        String cursor = "MjAyMy0wMS0wMVQwMDowMHwx";
+        int size = 50;
+
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok(List.of(bookingResponse));
+
+        when(restTemplate.exchange(eq("?state={state}&cursor={cursor}&size={size}"), any(HttpMethod.class),
+                any(HttpEntity.class), ArgumentMatchers.<Class<Object>>any(),
+                eq(Map.of("state", stateFilter.name(), "cursor", cursor, "size", size))))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> response = bookingClient.getByBookerId(userId, stateFilter, cursor, size);
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+    }
+
     @Test
     void getByOwner_whenCall_thenResponseOkReturned() {
         long userId = 0L;
@@ -187,4 +236,125 @@ class BookingClientTest extends AbstractClientTest {
 
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByBookerId_whenPassThrough_thenServerBodyAndHeadersForwarded() {
+        BookingClient passThroughClient = new BookingClient("http://localhost", restTemplateBuilder, requestFactory,
+                true, new ConditionalResponseCache(100, 1024));
+        byte[] body = IntStream.range(0, 1000)
+                .mapToObj(id -> "{\"id\":" + id + ",\"status\":\"APPROVED\"}")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.set("X-Next-Cursor", "cursor");
+
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class),
+                ArgumentMatchers.<Map<String, ?>>any()))
+                .thenReturn(new ResponseEntity<>(body, headers, HttpStatus.OK));
+
+        ResponseEntity<Object> response = passThroughClient.getByBookerId(1L, StateFilter.ALL, 0, 1000);
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        MatcherAssert.assertThat(response.getBody(), sameInstance(body));
+        MatcherAssert.assertThat(response.getHeaders().getContentType(), is(MediaType.APPLICATION_JSON));
+        MatcherAssert.assertThat(response.getHeaders().getFirst("X-Next-Cursor"), is("cursor"));
+        MatcherAssert.assertThat(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING), is(false));
+    }
+
+    @Test
+    void getById_whenPassThroughAndServerReturnsError_thenErrorBodyAndHeadersForwarded() {
+        BookingClient passThroughClient = new BookingClient("http://localhost", restTemplateBuilder, requestFactory,
+                true, new ConditionalResponseCache(100, 1024));
+        byte[] body = "{\"error\":\"Бронирование не найдено.\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class),
+                ArgumentMatchers.<Map<String, ?>>any()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", headers, body,
+                        StandardCharsets.UTF_8));
+
+        when(restTemplate.getUriTemplateHandler())
+                .thenReturn(new DefaultUriBuilderFactory("http://localhost/bookings"));
+
+        ResponseEntity<Object> response = passThroughClient.getById(1L, 1L, null);
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
+        MatcherAssert.assertThat(response.getBody(), is(body));
+        MatcherAssert.assertThat(response.getHeaders().getContentType(), is(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getById_whenServerConfirmsCachedETag_thenCachedBodyReturned() {
+        BookingClient passThroughClient = new BookingClient("http://localhost", restTemplateBuilder, requestFactory,
+                true, new ConditionalResponseCache(100, 1024));
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setETag("\"v1\"");
+
+        when(restTemplate.getUriTemplateHandler())
+                .thenReturn(new DefaultUriBuilderFactory("http://localhost/bookings"));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class),
+                ArgumentMatchers.<Map<String, ?>>any()))
+                .thenReturn(new ResponseEntity<>(body, headers, HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED));
+
+        passThroughClient.getById(1L, 1L, null);
+        ResponseEntity<Object> response = passThroughClient.getById(1L, 1L, null);
+
+        ArgumentCaptor<HttpEntity<?>> requestCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(anyString(), any(HttpMethod.class), requestCaptor.capture(),
+                eq(byte[].class), ArgumentMatchers.<Map<String, ?>>any());
+        MatcherAssert.assertThat(requestCaptor.getAllValues().get(0).getHeaders().getIfNoneMatch(), empty());
+        MatcherAssert.assertThat(requestCaptor.getAllValues().get(1).getHeaders().getIfNoneMatch(),
+                contains("\"v1\""));
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        MatcherAssert.assertThat(response.getBody(), sameInstance(body));
+        MatcherAssert.assertThat(response.getHeaders().getETag(), is("\"v1\""));
+    }
+
+    @Test
+    void getById_whenClientETagConfirmed_thenNotModifiedReturned() {
+        BookingClient passThroughClient = new BookingClient("http://localhost", restTemplateBuilder, requestFactory,
+                true, new ConditionalResponseCache(100, 1024));
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+
+        when(restTemplate.getUriTemplateHandler())
+                .thenReturn(new DefaultUriBuilderFactory("http://localhost/bookings"));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class),
+                ArgumentMatchers.<Map<String, ?>>any()))
+                .thenReturn(new ResponseEntity<>(body, headers, HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED));
+
+        passThroughClient.getById(1L, 1L, null);
+        ResponseEntity<Object> response = passThroughClient.getById(1L, 1L, "\"v1\"");
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+        MatcherAssert.assertThat(response.hasBody(), is(false));
+        MatcherAssert.assertThat(response.getHeaders().getETag(), is("\"v1\""));
+    }
+
+    @Test
+    void getById_whenNotModifiedWithoutPassThrough_thenETagForwarded() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any()))
+                .thenReturn(new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED));
+
+        ResponseEntity<Object> response = bookingClient.getById(1L, 1L, "\"v1\"");
+
+        ArgumentCaptor<HttpEntity<?>> requestCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(anyString(), any(HttpMethod.class), requestCaptor.capture(),
+                ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any());
+        MatcherAssert.assertThat(requestCaptor.getValue().getHeaders().getIfNoneMatch(), contains("\"v1\""));
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+        MatcherAssert.assertThat(response.getHeaders().getETag(), is("\"v1\""));
+    }
+}
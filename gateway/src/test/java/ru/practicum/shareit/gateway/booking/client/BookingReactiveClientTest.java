@@ -0,0 +1,70 @@
+package ru.practicum.shareit.gateway.booking.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import ru.practicum.shareit.gateway.common.client.AbstractReactiveClientTest;
+import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
+import ru.practicum.shareit.server.booking.entity.StateFilter;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class BookingReactiveClientTest extends AbstractReactiveClientTest {
+
+    private BookingReactiveClient bookingClient;
+
+    @BeforeEach
+    void setUp() {
+        bookingClient = new BookingReactiveClient("http://localhost", webClientBuilder(HttpStatus.OK, "[]"),
+                connector);
+    }
+
+    @Test
+    void create_whenCall_thenPostSentWithUserHeader() {
+        bookingClient.create(1L, objectGenerator.next(BookingCreateRequest.class)).block();
+
+        ClientRequest request = requests.get(0);
+        assertThat(request.method(), is(HttpMethod.POST));
+        assertThat(request.url().toString(), is("http://localhost/bookings"));
+        assertThat(request.headers().getFirst("X-Sharer-User-Id"), is("1"));
+    }
+
+    @Test
+    void createAll_whenCall_thenPostSentToBatchPath() {
+        bookingClient.createAll(1L, List.of(objectGenerator.next(BookingCreateRequest.class))).block();
+
+        ClientRequest request = requests.get(0);
+        assertThat(request.method(), is(HttpMethod.POST));
+        assertThat(request.url().toString(), is("http://localhost/bookings/batch"));
+        assertThat(request.headers().getFirst("X-Sharer-User-Id"), is("1"));
+    }
+
+    @Test
+    void approve_whenCall_thenPatchSentWithApprovedParameter() {
+        bookingClient.approve(1L, 2L, true).block();
+
+        assertThat(requests.get(0).method(), is(HttpMethod.PATCH));
+        assertThat(requests.get(0).url().toString(), is("http://localhost/bookings/2?approved=true"));
+    }
+
+    @Test
+    void getByBookerId_whenOffsetPassed_thenOffsetQuerySent() {
+        bookingClient.getByBookerId(1L, StateFilter.ALL, 10, 20).block();
+
+        assertThat(requests.get(0).url().toString(), is("http://localhost/bookings?state=ALL&from=10&size=20"));
+    }
+
+    @Test
+    void getByOwner_whenCursorPassed_thenCursorQuerySent() {
+        bookingClient.getByOwner(1L, StateFilter.FUTURE, "abc", 20).block();
+
+        assertThat(requests.get(0).url().toString(),
+                is("http://localhost/bookings/owner?state=FUTURE&cursor=abc&size=20"));
+        assertThat(requests.get(0).headers().getFirst("X-Sharer-User-Id"), is("1"));
+    }
+}
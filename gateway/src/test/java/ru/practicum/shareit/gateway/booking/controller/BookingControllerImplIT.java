@@ -35,6 +35,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -138,6 +140,67 @@ class BookingControllerImplIT {
     }
 
 
+    @SneakyThrows
+    @Test
+    void createAll_whenValidRequests_thenBookingResponsesReturned() {
+        long userId = 1L;
+        bookingCreateRequest.setStart(currentDateTime.plusDays(1));
+        bookingCreateRequest.setEnd(currentDateTime.plusDays(2));
+        bookingCreateRequest.setItemId(1L);
+
+        when(bookingClient.createAll(eq(userId), any()))
+                .thenReturn(ResponseEntity.ok(List.of(bookingResponse)));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(List.of(bookingCreateRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class));
+
+        verify(bookingClient).createAll(eq(userId), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void createAll_whenOneRequestInvalid_thenBadRequestReturned() {
+        long userId = 1L;
+        String errorMessage = "Идентификатор вещи не может быть пустым.";
+        bookingCreateRequest.setStart(currentDateTime.plusDays(1));
+        bookingCreateRequest.setEnd(currentDateTime.plusDays(2));
+        bookingCreateRequest.setItemId(null);
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(List.of(bookingCreateRequest))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", Matchers.containsString(errorMessage)));
+
+        verify(bookingClient, never()).createAll(anyLong(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void createAll_whenBatchEmpty_thenBadRequestReturned() {
+        long userId = 1L;
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", Matchers.containsString("Размер пакета")));
+
+        verify(bookingClient, never()).createAll(anyLong(), any());
+    }
+
     @SneakyThrows
     @Test
     void create_whenMissingUserIdInHeader_thenBadRequestReturned() {
@@ -306,7 +369,7 @@ class BookingControllerImplIT {
         long userId = 1L;
         long bookingId = 1L;
 
-        when(bookingClient.getById(userId, bookingId))
+        when(bookingClient.getById(userId, bookingId, null))
                 .thenReturn(ResponseEntity.ok(bookingResponse));
 
         mockMvc.perform(get("/bookings/{bookingId}", bookingId)
@@ -329,7 +392,7 @@ class BookingControllerImplIT {
                 .andExpect(jsonPath("$.start").hasJsonPath())
                 .andExpect(jsonPath("$.end").hasJsonPath());
 
-        verify(bookingClient).getById(userId, bookingId);
+        verify(bookingClient).getById(userId, bookingId, null);
     }
 
     @SneakyThrows
@@ -344,7 +407,7 @@ class BookingControllerImplIT {
                         .characterEncoding(StandardCharsets.UTF_8))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getById(userId, bookingId);
+        verify(bookingClient, never()).getById(userId, bookingId, null);
     }
 
     @SneakyThrows
@@ -568,4 +631,73 @@ class BookingControllerImplIT {
 
         verify(bookingClient, never()).getByOwner(anyLong(), any(), anyLong(), anyInt());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getByBookerId_whenCursorInParameter_thenCursorForwarded() {
+        long userId = 0L;
+        StateFilter stateFilter = StateFilter.ALL;
+        int size = 10;
+        String cursor = "MjAyMy0wMS0wMVQwMDowMHwx";
+
+        when(bookingClient.getByBookerId(userId, stateFilter, cursor, size))
+                .thenReturn(ResponseEntity.ok()
+                        .header("X-Next-Cursor", cursor)
+                        .body(List.of(bookingResponse)));
+
+        mockMvc.perform(get("/bookings")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", stateFilter.toString())
+                        .param("cursor", cursor)
+                        .param("size", Integer.toString(size))
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", cursor));
+
+        verify(bookingClient, never()).getByBookerId(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getByOwner_whenCursorInParameter_thenCursorForwarded() {
+        long userId = 0L;
+        StateFilter stateFilter = StateFilter.WAITING;
+        int size = 10;
+        String cursor = "MjAyMy0wMS0wMVQwMDowMHwx";
+
+        when(bookingClient.getByOwner(userId, stateFilter, cursor, size))
+                .thenReturn(ResponseEntity.ok(List.of(bookingResponse)));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", stateFilter.toString())
+                        .param("cursor", cursor)
+                        .param("size", Integer.toString(size))
+                )
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getByOwner(userId, stateFilter, cursor, size);
+        verify(bookingClient, never()).getByOwner(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getByBookerId_whenClientReturnsRawBody_thenBodyWrittenUnchanged() {
+        long userId = 1L;
+        byte[] body = objectMapper.writeValueAsBytes(List.of(bookingResponse));
+
+        when(bookingClient.getByBookerId(anyLong(), any(), anyLong(), anyInt()))
+                .thenReturn(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        mockMvc.perform(get("/bookings")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(body))
+                .andExpect(jsonPath("$[0].id", is(bookingResponse.getId()), Long.class));
+    }
+}
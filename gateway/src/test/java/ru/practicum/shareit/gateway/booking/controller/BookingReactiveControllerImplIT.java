@@ -0,0 +1,113 @@
+package ru.practicum.shareit.gateway.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.booking.client.BookingReactiveClient;
+import ru.practicum.shareit.server.booking.entity.StateFilter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(BookingReactiveControllerImpl.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingReactiveControllerImplIT {
+
+    private static final String CURSOR = "MjAyMy0wMS0wMVQwMDowMHwx";
+
+    private final WebTestClient webTestClient;
+
+    @MockBean
+    private BookingReactiveClient bookingClient;
+
+    @Test
+    void getByBookerId_whenOffsetPassed_thenServerBodyReturned() {
+        when(bookingClient.getByBookerId(1L, StateFilter.PAST, 10, 20))
+                .thenReturn(serverResponse(ResponseEntity.ok(), "[{\"id\":1}]"));
+
+        webTestClient.get().uri("/bookings?state=PAST&from=10&size=20")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1);
+
+        verify(bookingClient).getByBookerId(1L, StateFilter.PAST, 10, 20);
+    }
+
+    @Test
+    void getByOwner_whenCursorPassed_thenNextCursorHeaderReturned() {
+        when(bookingClient.getByOwner(1L, StateFilter.ALL, CURSOR, 50))
+                .thenReturn(serverResponse(ResponseEntity.ok().header("X-Next-Cursor", CURSOR), "[]"));
+
+        webTestClient.get().uri("/bookings/owner?cursor={cursor}", CURSOR)
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", CURSOR);
+
+        verify(bookingClient).getByOwner(1L, StateFilter.ALL, CURSOR, 50);
+    }
+
+    @Test
+    void getById_whenIfNoneMatchPassed_thenValidatorForwardedAndNotModifiedReturned() {
+        when(bookingClient.getById(1L, 1L, "\"v1\""))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v1\"")
+                        .body(Flux.<DataBuffer>empty())));
+
+        webTestClient.get().uri("/bookings/1")
+                .header("X-Sharer-User-Id", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1\"");
+
+        verify(bookingClient).getById(1L, 1L, "\"v1\"");
+    }
+
+    @Test
+    void getByBookerId_whenInvalidStateInParameter_thenBadRequestReturned() {
+        webTestClient.get().uri("/bookings?state=RANDOM")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").value(containsString("Unknown state"));
+
+        verify(bookingClient, never()).getByBookerId(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getByBookerId_whenNegativeFromInParameter_thenBadRequestReturned() {
+        webTestClient.get().uri("/bookings?from=-1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).getByBookerId(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    private static Mono<ResponseEntity<Flux<DataBuffer>>> serverResponse(ResponseEntity.BodyBuilder response,
+                                                                         String body) {
+        DataBuffer dataBuffer = DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8));
+        return Mono.just(response.contentType(MediaType.APPLICATION_JSON).body(Flux.just(dataBuffer)));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.common;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Метрики шлюза и их публикация в формате Prometheus.
+ * Порт управления совпадает с портом приложения, чтобы конечные точки Actuator были доступны через MockMvc.
+ */
+@SpringBootTest(properties = {"management.server.port=", "shareit-server.http-client.max-total=50"})
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class MetricsIT {
+
+    private final MockMvc mockMvc;
+
+    @SneakyThrows
+    @Test
+    void prometheus_whenRequested_thenHttpClientPoolMetricsPublished() {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "shareit_gateway_http_pool_max{application=\"shareit-gateway\",} 50.0")))
+                .andExpect(content().string(containsString("shareit_gateway_http_pool_leased")))
+                .andExpect(content().string(containsString("shareit_gateway_http_pool_available")))
+                .andExpect(content().string(containsString("shareit_gateway_http_pool_pending")));
+    }
+}
@@ -20,14 +20,24 @@ public abstract class AbstractClientTest {
     @Mock
     protected RestTemplateBuilder restTemplateBuilder;
 
+    @Mock
+    protected ClientHttpRequestFactory requestFactory;
+
     protected final ObjectGenerator objectGenerator = new ObjectGenerator();
 
     protected void init() {
+        init(restTemplate);
+    }
+
+    /**
+     * Построитель возвращает клиенты в порядке вызовов build().
+     */
+    protected void init(RestTemplate first, RestTemplate... next) {
         when(restTemplateBuilder.uriTemplateHandler(any()))
                 .thenReturn(restTemplateBuilder);
         when(restTemplateBuilder.requestFactory(ArgumentMatchers.<Supplier<ClientHttpRequestFactory>>any()))
                 .thenReturn(restTemplateBuilder);
         when(restTemplateBuilder.build())
-                .thenReturn(restTemplate);
+                .thenReturn(first, next);
     }
 }
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.gateway.common.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.helper.ObjectGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+public abstract class AbstractReactiveClientTest {
+
+    protected final ObjectGenerator objectGenerator = new ObjectGenerator();
+
+    protected final ClientHttpConnector connector = mock(ClientHttpConnector.class);
+
+    protected final List<ClientRequest> requests = new ArrayList<>();
+
+    /**
+     * @return построитель клиента, на каждый запрос отвечающий заданным статусом и телом.
+     */
+    protected WebClient.Builder webClientBuilder(HttpStatus status, String body) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                            .body(body)
+                            .build());
+                });
+    }
+
+    protected static String bodyOf(ResponseEntity<Flux<DataBuffer>> response) {
+        return DataBufferUtils.join(response.getBody())
+                .map(dataBuffer -> {
+                    String body = dataBuffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(dataBuffer);
+                    return body;
+                })
+                .block();
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class HttpClientConfigTest {
+
+    private final HttpClientConfig httpClientConfig = new HttpClientConfig();
+
+    private HttpClientProperties properties;
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HttpClientProperties();
+        properties.setMaxTotal(50);
+        properties.setMaxPerRoute(20);
+        connectionManager = httpClientConfig.connectionManager(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close();
+    }
+
+    @Test
+    void connectionManager_whenPropertiesSet_thenPoolLimitsApplied() {
+        assertThat(connectionManager.getMaxTotal(), equalTo(50));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), equalTo(20));
+    }
+
+    @Test
+    void bindTo_whenRegistryBound_thenPoolGaugesRegistered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new HttpClientPoolMetrics(connectionManager).bindTo(registry);
+
+        assertThat(registry.get("shareit.gateway.http.pool.max").gauge().value(), equalTo(50.0));
+        assertThat(registry.get("shareit.gateway.http.pool.leased").gauge().value(), equalTo(0.0));
+        assertThat(registry.get("shareit.gateway.http.pool.available").gauge().value(), equalTo(0.0));
+        assertThat(registry.get("shareit.gateway.http.pool.pending").gauge().value(), equalTo(0.0));
+    }
+}
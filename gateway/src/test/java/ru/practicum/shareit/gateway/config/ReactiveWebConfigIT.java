@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.gateway.user.controller.UserControllerImpl;
+import ru.practicum.shareit.gateway.user.controller.UserReactiveControllerImpl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReactiveWebConfigIT {
+
+    private final ReactiveWebServerApplicationContext context;
+
+    @Test
+    void context_whenReactiveProfileActive_thenReactiveControllersServedByNetty() {
+        assertThat(context.getWebServer(), instanceOf(NettyWebServer.class));
+        assertThat(context.getBeansOfType(UserReactiveControllerImpl.class).values(), not(empty()));
+        assertThat(context.getBeansOfType(UserControllerImpl.class).values(), empty());
+    }
+
+    @Test
+    void context_whenReactiveProfileActive_thenConnectionProviderMetricsReachApplicationRegistry() {
+        // Пул соединений Reactor Netty публикует метрики в глобальный реестр Micrometer.
+        assertThat(Metrics.globalRegistry.getRegistries(), hasItem(context.getBean(MeterRegistry.class)));
+    }
+}
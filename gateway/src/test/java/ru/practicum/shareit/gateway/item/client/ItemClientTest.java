@@ -4,16 +4,24 @@ import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.gateway.common.client.AbstractClientTest;
+import ru.practicum.shareit.gateway.common.client.ConditionalResponseCache;
 import ru.practicum.shareit.gateway.common.exception.RestException;
 import ru.practicum.shareit.server.item.dto.*;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -22,11 +30,19 @@ import java.util.Set;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ItemClientTest extends AbstractClientTest {
 
+    @Mock
+    private RestTemplate streamingRestTemplate;
+
+    @Mock
+    private ClientHttpRequestFactory streamingRequestFactory;
+
     private ItemClient itemClient;
 
     private ItemCreateRequest itemCreateRequest;
@@ -38,8 +54,9 @@ class ItemClientTest extends AbstractClientTest {
 
     @BeforeEach
     void setUp() {
-        init();
-        itemClient = new ItemClient("http://localhost", restTemplateBuilder);
+        init(restTemplate, streamingRestTemplate);
+        itemClient = new ItemClient("http://localhost", restTemplateBuilder, requestFactory, streamingRequestFactory,
+                false, new ConditionalResponseCache(100, 1024));
 
         itemCreateRequest = objectGenerator.next(ItemCreateRequest.class);
         itemUpdateRequest = objectGenerator.next(ItemUpdateRequest.class);
@@ -94,7 +111,7 @@ class ItemClientTest extends AbstractClientTest {
                 ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> response = itemClient.getById(userId, bookingId);
+        ResponseEntity<Object> response = itemClient.getById(userId, bookingId, null);
 
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
@@ -113,6 +130,39 @@ class ItemClientTest extends AbstractClientTest {
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
 
+    @Test
+    void createAll_whenCall_thenResponseOkReturned() {
+        long userId = 1L;
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok(List.of(itemResponse));
+
+        when(restTemplate.exchange(eq("/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<Class<Object>>any()))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> response = itemClient.createAll(userId, List.of(itemCreateRequest));
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importItems_whenCall_thenBodyPassedAsNdjsonStreamByStreamingClient() {
+        long userId = 1L;
+        InputStreamResource body = new InputStreamResource(new ByteArrayInputStream(new byte[0]));
+        ArgumentCaptor<HttpEntity<Object>> requestCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+
+        when(streamingRestTemplate.exchange(eq("/import"), eq(HttpMethod.POST), requestCaptor.capture(),
+                ArgumentMatchers.<Class<Object>>any()))
+                .thenReturn(ResponseEntity.ok().build());
+
+        ResponseEntity<Object> response = itemClient.importItems(userId, body);
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        MatcherAssert.assertThat(requestCaptor.getValue().getHeaders().getContentType(),
+                is(MediaType.APPLICATION_NDJSON));
+        MatcherAssert.assertThat(requestCaptor.getValue().getBody(), is(body));
+    }
+
     @Test
     void update_whenCall_thenResponseOkReturned() {
         long userId = 1L;
@@ -141,7 +191,7 @@ class ItemClientTest extends AbstractClientTest {
                 ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> response = itemClient.search(userId, substring, from, size);
+        ResponseEntity<Object> response = itemClient.search(userId, substring, null, null, from, size);
 
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
@@ -178,4 +228,43 @@ class ItemClientTest extends AbstractClientTest {
 
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_whenCall_thenResponseOkReturned() {
+        long userId = 1L;
+        long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 12, 0);
+        ItemAvailabilityResponse availabilityResponse = new ItemAvailabilityResponse();
+        availabilityResponse.setItemId(itemId);
+        availabilityResponse.setFrom(from);
+        availabilityResponse.setTo(from.plusDays(1));
+        availabilityResponse.setBusy(List.of());
+        availabilityResponse.setFree(List.of());
+
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any()))
+                .thenReturn(ResponseEntity.ok(availabilityResponse));
+
+        ResponseEntity<Object> response = itemClient.getAvailability(userId, itemId, from, from.plusDays(1));
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        MatcherAssert.assertThat(response.getBody(), is(availabilityResponse));
+    }
+
+    @Test
+    void search_whenPeriodSet_thenPeriodPassedToServer() {
+        long userId = 1L;
+        LocalDateTime start = LocalDateTime.of(2023, 6, 3, 0, 0);
+        LocalDateTime end = start.plusDays(2);
+
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any()))
+                .thenReturn(ResponseEntity.ok(List.of(itemResponse)));
+
+        itemClient.search(userId, "text", start, end, 0, 50);
+
+        verify(restTemplate).exchange(eq("/search?text={text}&from={from}&size={size}&start={start}&end={end}"),
+                eq(HttpMethod.GET), any(HttpEntity.class), ArgumentMatchers.<Class<Object>>any(),
+                eq(Map.of("text", "text", "from", 0L, "size", 50, "start", start, "end", end)));
+    }
+}
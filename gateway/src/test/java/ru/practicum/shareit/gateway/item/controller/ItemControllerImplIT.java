@@ -9,6 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,12 +23,14 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -178,7 +183,7 @@ class ItemControllerImplIT {
         long userId = 1L;
         long itemId = 1L;
 
-        when(itemClient.getById(userId, itemId))
+        when(itemClient.getById(userId, itemId, null))
                 .thenReturn(ResponseEntity.ok(itemResponse));
 
         mockMvc.perform(get("/items/{id}", itemId)
@@ -204,7 +209,26 @@ class ItemControllerImplIT {
                         equalTo(itemResponse.getLastBooking().getBookerId()), Long.class))
                 .andExpect(jsonPath("$.nextBooking", equalTo(itemResponse.getNextBooking())));
 
-        verify(itemClient).getById(userId, itemId);
+        verify(itemClient).getById(userId, itemId, null);
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenIfNoneMatchPassed_thenValidatorForwardedAndNotModifiedReturned() {
+        long userId = 1L;
+        long itemId = 1L;
+        String eTag = "\"v1\"";
+
+        when(itemClient.getById(userId, itemId, eTag))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build());
+
+        mockMvc.perform(get("/items/{id}", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        verify(itemClient).getById(userId, itemId, eTag);
     }
 
     @SneakyThrows
@@ -222,7 +246,7 @@ class ItemControllerImplIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(status().reason(containsString(errorMessage)));
 
-        verify(itemClient, never()).getById(userId, itemId);
+        verify(itemClient, never()).getById(userId, itemId, null);
     }
 
     @SneakyThrows
@@ -260,6 +284,66 @@ class ItemControllerImplIT {
         verify(itemClient).create(userId, itemCreateRequest);
     }
 
+    @SneakyThrows
+    @Test
+    void createAll_whenValidRequests_thenCreatedItemsReturned() {
+        long userId = 1L;
+
+        when(itemClient.createAll(userId, List.of(itemCreateRequest)))
+                .thenReturn(ResponseEntity.ok(List.of(itemResponse)));
+
+        mockMvc.perform(post("/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(List.of(itemCreateRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", equalTo(itemResponse.getId()), Long.class))
+                .andExpect(jsonPath("$[0].name", equalTo(itemResponse.getName())));
+
+        verify(itemClient).createAll(userId, List.of(itemCreateRequest));
+    }
+
+    @SneakyThrows
+    @Test
+    void createAll_whenOneRequestInvalid_thenBadRequestReturned() {
+        long userId = 1L;
+        itemCreateRequest.setName(null);
+
+        mockMvc.perform(post("/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(List.of(itemCreateRequest))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", equalTo("Наименование не может быть пустым.")));
+
+        verify(itemClient, never()).createAll(anyLong(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_whenNdjsonBody_thenBodyPassedToClientUnparsed() {
+        long userId = 1L;
+        String body = objectMapper.writeValueAsString(itemCreateRequest) + "\n{не json\n";
+
+        when(itemClient.importItems(eq(userId), any())).thenAnswer(invocation -> {
+            InputStreamResource resource = invocation.getArgument(1);
+            String received = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            return ResponseEntity.ok(Map.of("received", received));
+        });
+
+        mockMvc.perform(post("/items/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", equalTo(body)));
+    }
+
     @SneakyThrows
     @Test
     void create_whenMissingUserIdInHeader_thenBadRequestReturned() {
@@ -421,7 +505,7 @@ class ItemControllerImplIT {
         int size = 50;
         String substring = "text";
 
-        when(itemClient.search(userId, substring, from, size))
+        when(itemClient.search(userId, substring, null, null, from, size))
                 .thenReturn(ResponseEntity.ok(List.of(itemResponse)));
 
         mockMvc.perform(get("/items/search")
@@ -438,7 +522,7 @@ class ItemControllerImplIT {
                 .andExpect(jsonPath("$[0].description", equalTo(itemResponse.getDescription())))
                 .andExpect(jsonPath("$[0].available", equalTo(itemResponse.getAvailable())));
 
-        verify(itemClient).search(userId, substring, from, size);
+        verify(itemClient).search(userId, substring, null, null, from, size);
     }
 
     @SneakyThrows
@@ -461,7 +545,7 @@ class ItemControllerImplIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(status().reason(containsString(errorMessage)));
 
-        verify(itemClient, never()).search(userId, substring, from, size);
+        verify(itemClient, never()).search(userId, substring, null, null, from, size);
     }
 
     @SneakyThrows
@@ -484,7 +568,7 @@ class ItemControllerImplIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error", Matchers.containsString(errorMessage)));
 
-        verify(itemClient, never()).search(userId, substring, from, size);
+        verify(itemClient, never()).search(userId, substring, null, null, from, size);
     }
 
     @SneakyThrows
@@ -507,7 +591,7 @@ class ItemControllerImplIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error", Matchers.containsString(errorMessage)));
 
-        verify(itemClient, never()).search(userId, substring, from, size);
+        verify(itemClient, never()).search(userId, substring, null, null, from, size);
     }
 
     @SneakyThrows
@@ -592,4 +676,66 @@ class ItemControllerImplIT {
                 .andExpect(jsonPath("$.error", Matchers.containsString(errorMessage)));
         verify(itemClient, never()).addComment(anyLong(), anyLong(), any());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getAvailability_whenValidRequest_thenAvailabilityReturned() {
+        long userId = 1L;
+        long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 12, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityResponse availabilityResponse = new ItemAvailabilityResponse();
+        availabilityResponse.setItemId(itemId);
+
+        when(itemClient.getAvailability(userId, itemId, from, to))
+                .thenReturn(ResponseEntity.ok(availabilityResponse));
+
+        mockMvc.perform(get("/items/{id}/availability", itemId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "2023-06-01T12:00:00")
+                        .param("to", "2023-06-02T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", equalTo(itemId), Long.class));
+
+        verify(itemClient).getAvailability(userId, itemId, from, to);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAvailability_whenFromIsInvalid_thenBadRequestReturned() {
+        mockMvc.perform(get("/items/{id}/availability", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "tomorrow")
+                        .param("to", "2023-06-02T12:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(anyLong(), anyLong(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void search_whenPeriodSet_thenPeriodPassedToClient() {
+        long userId = 1L;
+        String substring = "text";
+        LocalDateTime start = LocalDateTime.of(2023, 6, 3, 0, 0);
+        LocalDateTime end = start.plusDays(2);
+
+        when(itemClient.search(userId, substring, start, end, 0, 50))
+                .thenReturn(ResponseEntity.ok(List.of(itemResponse)));
+
+        mockMvc.perform(get("/items/search")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("text", substring)
+                        .param("start", "2023-06-03T00:00:00")
+                        .param("end", "2023-06-05T00:00:00")
+                        .param("from", "0")
+                        .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", equalTo(itemResponse.getId()), Long.class));
+
+        verify(itemClient).search(userId, substring, start, end, 0, 50);
+    }
+}
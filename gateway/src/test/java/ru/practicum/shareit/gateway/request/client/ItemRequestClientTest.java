@@ -11,6 +11,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.gateway.common.client.AbstractClientTest;
+import ru.practicum.shareit.gateway.common.client.ConditionalResponseCache;
 import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
 import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
@@ -38,7 +39,8 @@ class ItemRequestClientTest extends AbstractClientTest {
     @BeforeEach
     void setUp() {
         init();
-        itemRequestClient = new ItemRequestClient("http://localhost", restTemplateBuilder);
+        itemRequestClient = new ItemRequestClient("http://localhost", restTemplateBuilder, requestFactory, false,
+                new ConditionalResponseCache(100, 1024));
 
         itemRequestCreateRequest = objectGenerator.next(ItemRequestCreateRequest.class);
         itemCreateRequest = objectGenerator.next(ItemCreateRequest.class);
@@ -115,7 +117,7 @@ class ItemRequestClientTest extends AbstractClientTest {
                 ArgumentMatchers.<Class<Object>>any(), ArgumentMatchers.<Map<String, ?>>any()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> response = itemRequestClient.getByRequestId(userId, requestId);
+        ResponseEntity<Object> response = itemRequestClient.getByRequestId(userId, requestId, null);
 
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
     }
@@ -274,7 +274,7 @@ class ItemRequestControllerImplIT {
         long userId = 1L;
         long itemRequestId = 1L;
 
-        when(itemRequestClient.getByRequestId(userId, itemRequestId))
+        when(itemRequestClient.getByRequestId(userId, itemRequestId, null))
                 .thenReturn(ResponseEntity.ok(itemRequestResponse));
 
         mockMvc.perform(get("/requests/{requestId}", itemRequestId)
@@ -286,7 +286,7 @@ class ItemRequestControllerImplIT {
                 .andExpect(jsonPath("$.id", equalTo(itemRequestResponse.getId()), Long.class))
                 .andExpect(jsonPath("$.description", equalTo(itemRequestCreateRequest.getDescription())));
 
-        verify(itemRequestClient).getByRequestId(userId, itemRequestId);
+        verify(itemRequestClient).getByRequestId(userId, itemRequestId, null);
     }
 
     @SneakyThrows
@@ -304,6 +304,6 @@ class ItemRequestControllerImplIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(status().reason(containsString(errorMessage)));
 
-        verify(itemRequestClient, never()).getByRequestId(userId, itemRequestId);
+        verify(itemRequestClient, never()).getByRequestId(userId, itemRequestId, null);
     }
 }
\ No newline at end of file
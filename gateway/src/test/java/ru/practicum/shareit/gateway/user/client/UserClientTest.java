@@ -1,26 +1,36 @@
 package ru.practicum.shareit.gateway.user.client;
 
+import lombok.SneakyThrows;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.common.client.AbstractClientTest;
 import ru.practicum.shareit.server.user.dto.UserCreateRequest;
 import ru.practicum.shareit.server.user.dto.UserResponse;
 import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +45,7 @@ class UserClientTest extends AbstractClientTest {
     @BeforeEach
     void setUp() {
         init();
-        userClient = new UserClient("http://localhost", restTemplateBuilder);
+        userClient = new UserClient("http://localhost", restTemplateBuilder, requestFactory, false);
 
         userCreateRequest = objectGenerator.next(UserCreateRequest.class);
         userUpdateRequest = objectGenerator.next(UserUpdateRequest.class);
@@ -50,13 +60,68 @@ class UserClientTest extends AbstractClientTest {
     void getAll_whenCall_thenResponseOkReturned() {
         ResponseEntity<Object> responseEntity = ResponseEntity.ok(List.of(userResponse));
 
-        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
-                ArgumentMatchers.<Class<Object>>any()))
+        when(restTemplate.exchange(eq("?from={from}&size={size}"), eq(HttpMethod.GET), any(HttpEntity.class),
+                ArgumentMatchers.<Class<Object>>any(), eq(Map.of("from", 0L, "size", 50))))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> response = userClient.getAll(0, 50);
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+    }
+
+    @Test
+    void getAll_whenCursorPassed_thenCursorSentToServer() {
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok(List.of(userResponse));
+
+        when(restTemplate.exchange(eq("?cursor={cursor}&size={size}"), eq(HttpMethod.GET), any(HttpEntity.class),
+                ArgumentMatchers.<Class<Object>>any(), eq(Map.of("cursor", "MQ", "size", 10))))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> response = userClient.getAll();
+        ResponseEntity<Object> response = userClient.getAll("MQ", 10);
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+    }
+
+    @Test
+    @SneakyThrows
+    void streamAll_whenServerRespondsOk_thenBodyReturnedAsStream() {
+        String body = "{\"id\":1}\n{\"id\":2}";
+        mockStreamResponse(HttpStatus.OK, body);
+
+        ResponseEntity<Object> response = userClient.streamAll();
 
         MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        MatcherAssert.assertThat(response.getHeaders().getContentType(), is(MediaType.APPLICATION_NDJSON));
+        InputStreamResource streamedBody = (InputStreamResource) response.getBody();
+        MatcherAssert.assertThat(StreamUtils.copyToString(streamedBody.getInputStream(), StandardCharsets.UTF_8),
+                is(body));
+    }
+
+    @Test
+    void streamAll_whenServerRespondsWithError_thenBodyReturnedAsBytes() {
+        String body = "{\"error\":\"Ошибка\"}";
+        mockStreamResponse(HttpStatus.INTERNAL_SERVER_ERROR, body);
+
+        ResponseEntity<Object> response = userClient.streamAll();
+
+        MatcherAssert.assertThat(response.getStatusCode(), is(HttpStatus.INTERNAL_SERVER_ERROR));
+        MatcherAssert.assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), is(body));
+    }
+
+    @SneakyThrows
+    private void mockStreamResponse(HttpStatus status, String body) {
+        MockClientHttpResponse serverResponse =
+                new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+        serverResponse.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        request.setResponse(serverResponse);
+
+        when(restTemplate.getUriTemplateHandler())
+                .thenReturn(new DefaultUriBuilderFactory("http://localhost/users"));
+        when(restTemplate.getRequestFactory())
+                .thenReturn(requestFactory);
+        when(requestFactory.createRequest(URI.create("http://localhost/users/stream"), HttpMethod.GET))
+                .thenReturn(request);
     }
 
     @Test
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.gateway.user.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.gateway.common.client.AbstractReactiveClientTest;
+import ru.practicum.shareit.server.user.dto.UserCreateRequest;
+import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class UserReactiveClientTest extends AbstractReactiveClientTest {
+
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.com\"}";
+
+    @Test
+    void getAll_whenCall_thenServerBodyPassedThrough() {
+        UserReactiveClient userClient = new UserReactiveClient("http://localhost",
+                webClientBuilder(HttpStatus.OK, "[" + USER_JSON + "]"), connector);
+
+        ResponseEntity<Flux<DataBuffer>> response = userClient.getAll(0, 50).block();
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(bodyOf(response), is("[" + USER_JSON + "]"));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.TRANSFER_ENCODING), nullValue());
+        assertThat(requests.get(0).method(), is(HttpMethod.GET));
+        assertThat(requests.get(0).url().toString(), is("http://localhost/users?from=0&size=50"));
+    }
+
+    @Test
+    void getAll_whenCursorPassed_thenCursorSentToServer() {
+        UserReactiveClient userClient = new UserReactiveClient("http://localhost",
+                webClientBuilder(HttpStatus.OK, "[" + USER_JSON + "]"), connector);
+
+        userClient.getAll("MQ", 10).block();
+
+        assertThat(requests.get(0).url().toString(), is("http://localhost/users?cursor=MQ&size=10"));
+    }
+
+    @Test
+    void streamAll_whenCall_thenServerBodyPassedThrough() {
+        UserReactiveClient userClient = new UserReactiveClient("http://localhost",
+                webClientBuilder(HttpStatus.OK, USER_JSON + "\n" + USER_JSON), connector);
+
+        ResponseEntity<Flux<DataBuffer>> response = userClient.streamAll().block();
+
+        assertThat(bodyOf(response), is(USER_JSON + "\n" + USER_JSON));
+        assertThat(requests.get(0).url().toString(), is("http://localhost/users/stream"));
+    }
+
+    @Test
+    void getById_whenServerReturnsNotFound_thenStatusAndBodyPassedThrough() {
+        String error = "{\"error\":\"Пользователь не найден.\"}";
+        UserReactiveClient userClient = new UserReactiveClient("http://localhost",
+                webClientBuilder(HttpStatus.NOT_FOUND, error), connector);
+
+        ResponseEntity<Flux<DataBuffer>> response = userClient.getById(1L).block();
+
+        assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
+        assertThat(bodyOf(response), is(error));
+        assertThat(requests.get(0).url().toString(), is("http://localhost/users/1"));
+    }
+
+    @Test
+    void create_whenCall_thenPostSentWithoutUserHeader() {
+        UserReactiveClient userClient = new UserReactiveClient("http://localhost",
+                webClientBuilder(HttpStatus.OK, USER_JSON), connector);
+
+        ResponseEntity<Flux<DataBuffer>> response = userClient.create(objectGenerator.next(UserCreateRequest.class))
+                .block();
+
+        ClientRequest request = requests.get(0);
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(request.method(), is(HttpMethod.POST));
+        assertThat(request.headers().getFirst("X-Sharer-User-Id"), nullValue());
+    }
+
+    @Test
+    void update_whenCall_thenPatchSentToUserPath() {
+        UserReactiveClient userClient = new UserReactiveClient("http://localhost",
+                webClientBuilder(HttpStatus.OK, USER_JSON), connector);
+
+        userClient.update(1L, objectGenerator.next(UserUpdateRequest.class)).block();
+
+        assertThat(requests.get(0).method(), is(HttpMethod.PATCH));
+        assertThat(requests.get(0).url().toString(), is("http://localhost/users/1"));
+    }
+
+    @Test
+    void delete_whenCall_thenDeleteSentToUserPath() {
+        UserReactiveClient userClient = new UserReactiveClient("http://localhost",
+                webClientBuilder(HttpStatus.OK, ""), connector);
+
+        ResponseEntity<Flux<DataBuffer>> response = userClient.delete(1L).block();
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(requests.get(0).method(), is(HttpMethod.DELETE));
+        assertThat(requests.get(0).url().toString(), is("http://localhost/users/1"));
+    }
+}
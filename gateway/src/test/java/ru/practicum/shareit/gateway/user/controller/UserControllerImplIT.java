@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,15 +19,19 @@ import ru.practicum.shareit.server.user.dto.UserCreateRequest;
 import ru.practicum.shareit.server.user.dto.UserResponse;
 import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -61,7 +66,7 @@ class UserControllerImplIT {
     @Test
     void getAll_whenUsersExist_thenListOfUsersReturned() {
 
-        when(userClient.getAll())
+        when(userClient.getAll(0, 50))
                 .thenReturn(ResponseEntity.ok(List.of(userResponse)));
 
         mockMvc.perform(get("/users")
@@ -75,7 +80,53 @@ class UserControllerImplIT {
                 .andExpect(jsonPath("$[0].email", is(userResponse.getEmail()))
                 );
 
-        verify(userClient).getAll();
+        verify(userClient).getAll(0, 50);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAll_whenCursorPassed_thenCursorPassedToClient() {
+        when(userClient.getAll("MQ", 10))
+                .thenReturn(ResponseEntity.ok().header("X-Next-Cursor", "Mg").body(List.of(userResponse)));
+
+        mockMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("cursor", "MQ")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "Mg"));
+
+        verify(userClient, never()).getAll(anyLong(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getAll_whenFromIsNegative_thenBadRequestReturned() {
+        mockMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userClient);
+    }
+
+    @SneakyThrows
+    @Test
+    void streamAll_whenServerStreams_thenBodyCopiedToClient() {
+        String line = objectMapper.writeValueAsString(userResponse);
+        String body = line + "\n" + line;
+        InputStreamResource serverBody =
+                new InputStreamResource(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        when(userClient.streamAll())
+                .thenReturn(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(serverBody));
+
+        mockMvc.perform(get("/users/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(body));
     }
 
     @SneakyThrows
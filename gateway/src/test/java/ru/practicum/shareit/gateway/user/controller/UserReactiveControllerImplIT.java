@@ -0,0 +1,133 @@
+package ru.practicum.shareit.gateway.user.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.helper.ObjectGenerator;
+import ru.practicum.shareit.gateway.user.client.UserReactiveClient;
+import ru.practicum.shareit.server.user.dto.UserCreateRequest;
+import ru.practicum.shareit.server.user.dto.UserResponse;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest({UserReactiveControllerImpl.class, ObjectGenerator.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserReactiveControllerImplIT {
+
+    private final WebTestClient webTestClient;
+    private final ObjectMapper objectMapper;
+    private final ObjectGenerator objectGenerator;
+
+    @MockBean
+    private UserReactiveClient userClient;
+
+    private UserCreateRequest userCreateRequest;
+    private UserResponse userResponse;
+
+    @BeforeEach
+    void setUp() {
+        userCreateRequest = objectGenerator.next(UserCreateRequest.class);
+
+        userResponse = new UserResponse();
+        userResponse.setId(1L);
+        userResponse.setName(userCreateRequest.getName());
+        userResponse.setEmail(userCreateRequest.getEmail());
+    }
+
+    @Test
+    void getAll_whenUsersExist_thenServerBodyReturned() {
+        when(userClient.getAll(0, 50))
+                .thenReturn(serverResponse(HttpStatus.OK, List.of(userResponse)));
+
+        webTestClient.get().uri("/users")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(userResponse.getId())
+                .jsonPath("$[0].email").isEqualTo(userResponse.getEmail());
+
+        verify(userClient).getAll(0, 50);
+    }
+
+    @Test
+    void getAll_whenSizeIsZero_thenBadRequestReturned() {
+        webTestClient.get().uri("/users?size=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userClient, never()).getAll(anyLong(), anyInt());
+    }
+
+    @Test
+    void getById_whenServerReturnsNotFound_thenNotFoundReturned() {
+        when(userClient.getById(1L))
+                .thenReturn(serverResponse(HttpStatus.NOT_FOUND, new byte[0]));
+
+        webTestClient.get().uri("/users/{id}", 1L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void create_whenValidUserCreateRequest_thenCreatedUserReturned() {
+        when(userClient.create(any()))
+                .thenReturn(serverResponse(HttpStatus.OK, userResponse));
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userCreateRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(userResponse.getId());
+
+        verify(userClient).create(any());
+    }
+
+    @Test
+    void create_whenEmailIsInvalid_thenBadRequestReturned() {
+        userCreateRequest.setEmail("invalid email");
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userCreateRequest)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").value(containsString("Электронная почта"));
+
+        verify(userClient, never()).create(any());
+    }
+
+    @SneakyThrows
+    private Mono<ResponseEntity<Flux<DataBuffer>>> serverResponse(HttpStatus status, Object body) {
+        byte[] bytes = body instanceof byte[] ? (byte[]) body : objectMapper.writeValueAsBytes(body);
+        DataBuffer dataBuffer = DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+        return Mono.just(ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.just(dataBuffer)));
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.loadtest.client.ShareItClient;
+import ru.practicum.shareit.loadtest.config.LoadTestProperties;
+import ru.practicum.shareit.loadtest.load.OpenModelLoadGenerator;
+import ru.practicum.shareit.loadtest.load.Operation;
+import ru.practicum.shareit.loadtest.load.OperationMix;
+import ru.practicum.shareit.loadtest.load.Workload;
+import ru.practicum.shareit.loadtest.report.EndpointStats;
+import ru.practicum.shareit.loadtest.report.LoadTestReport;
+import ru.practicum.shareit.loadtest.report.RunResult;
+import ru.practicum.shareit.loadtest.seed.DataSeeder;
+import ru.practicum.shareit.loadtest.seed.SeedData;
+import ru.practicum.shareit.loadtest.stack.LocalStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Нагрузочный тест: запуск сервисов, заполнение данных и замеры для каждой цели на каждой интенсивности.
+ * Данные заполняются через сервер напрямую, чтобы не зависеть от шлюза.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadTestRunner implements CommandLineRunner {
+
+    private final LoadTestProperties properties;
+    private final Function<String, ShareItClient> shareItClients;
+    private final DataSeeder dataSeeder;
+    private final LoadTestReport report;
+
+    @Override
+    public void run(String... args) throws Exception {
+        LoadTestProperties.Load load = properties.getLoad();
+        OperationMix mix = new OperationMix(load.getMix());
+        Random random = new Random();
+        List<RunResult> results = new ArrayList<>();
+
+        try (LocalStack stack = LocalStack.start(properties.getStack(), shareItClients)) {
+            SeedData data = dataSeeder.seed(stack.getServer());
+
+            for (LoadTestProperties.Target target : load.getTargets()) {
+                ShareItClient client = stack.client(target);
+                OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, new Workload(client, data),
+                        mix, load.getMaxInFlight(), load.getRequestTimeout(), random);
+                for (int rate : load.getRates()) {
+                    log.info("Прогрев {}: {} запросов в секунду в течение {}", target, rate, load.getWarmup());
+                    generator.run(rate, load.getWarmup());
+
+                    log.info("Замер {}: {} запросов в секунду в течение {}", target, rate, load.getDuration());
+                    Map<Operation, EndpointStats> stats = generator.run(rate, load.getDuration());
+                    stats.forEach((operation, operationStats) -> results.add(RunResult.of(target, rate, operation,
+                            operationStats, load.getDuration())));
+                }
+            }
+        }
+
+        report.write(results);
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.loadtest.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Клиент API ShareIt для заполнения данных и подачи нагрузки. Работает одинаково со шлюзом и с сервером.
+ */
+public class ShareItClient {
+
+    public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_JSON = "application/json";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    @Getter
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    public ShareItClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Асинхронная отправка запроса. Тело ответа читается полностью, как его прочитал бы настоящий клиент.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Проверка готовности сервиса: сервис отвечает на запрос списка пользователей.
+     */
+    public boolean isReady() {
+        try {
+            HttpResponse<Void> response = httpClient.send(request("/users?from=0&size=1").GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public long createUser(String name, String email) {
+        return execute(post("/users", null, Map.of("name", name, "email", email))).get("id").asLong();
+    }
+
+    public List<Long> createItems(long ownerId, List<Map<String, Object>> items) {
+        return ids(execute(post("/items/batch", ownerId, items)));
+    }
+
+    public List<Long> createBookings(long bookerId, List<Map<String, Object>> bookings) {
+        return ids(execute(post("/bookings/batch", bookerId, bookings)));
+    }
+
+    public void approve(long ownerId, long bookingId, boolean approved) {
+        execute(approveRequest(ownerId, bookingId, approved));
+    }
+
+    public HttpRequest ownerBookingsRequest(long ownerId, String state) {
+        return request("/bookings/owner?state=" + state)
+                .header(USER_ID_HEADER, String.valueOf(ownerId))
+                .GET()
+                .build();
+    }
+
+    public HttpRequest searchRequest(long userId, String text) {
+        return request("/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8))
+                .header(USER_ID_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    public HttpRequest createBookingRequest(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return post("/bookings", bookerId, booking(itemId, start, end));
+    }
+
+    public HttpRequest approveRequest(long ownerId, long bookingId, boolean approved) {
+        return request("/bookings/" + bookingId + "?approved=" + approved)
+                .header(USER_ID_HEADER, String.valueOf(ownerId))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * Идентификатор созданной сущности из тела ответа.
+     */
+    public long readId(byte[] body) throws IOException {
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    public static Map<String, Object> booking(long itemId, LocalDateTime start, LocalDateTime end) {
+        return Map.of("itemId", itemId, "start", start.toString(), "end", end.toString());
+    }
+
+    @SneakyThrows(InterruptedException.class)
+    private JsonNode execute(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException(String.format("%s %s: %d %s", request.method(), request.uri(),
+                        response.statusCode(), new String(response.body(), StandardCharsets.UTF_8)));
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("%s %s: %s", request.method(), request.uri(),
+                    e.getMessage()), e);
+        }
+    }
+
+    private HttpRequest post(String path, Long userId, Object body) {
+        HttpRequest.Builder builder = request(path)
+                .header(CONTENT_TYPE, APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)));
+        if (userId != null) {
+            builder.header(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return builder.build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout);
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static List<Long> ids(JsonNode entities) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        entities.forEach(entity -> ids.add(entity.get("id").asLong()));
+        return ids;
+    }
+}
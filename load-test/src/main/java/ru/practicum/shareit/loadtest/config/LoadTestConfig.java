@@ -0,0 +1,42 @@
+package ru.practicum.shareit.loadtest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.loadtest.client.ShareItClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * HTTP клиент генератора нагрузки и клиенты API сервисов.
+ */
+@Configuration
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfig {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Один HTTP клиент для всех целей нагрузки. Соединения переиспользуются, как у клиента с пулом соединений.
+     */
+    @Bean
+    public HttpClient httpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Клиенты API по адресу сервиса.
+     */
+    @Bean
+    public Function<String, ShareItClient> shareItClients(HttpClient httpClient, ObjectMapper objectMapper,
+                                                          LoadTestProperties properties) {
+        return baseUrl -> new ShareItClient(httpClient, objectMapper, baseUrl,
+                properties.getLoad().getRequestTimeout());
+    }
+}
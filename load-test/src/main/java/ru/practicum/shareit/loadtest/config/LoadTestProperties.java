@@ -0,0 +1,170 @@
+package ru.practicum.shareit.loadtest.config;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.practicum.shareit.loadtest.load.Operation;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Настройки нагрузочного теста: запуск сервера и шлюза, объем тестовых данных и профиль нагрузки.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    final Stack stack = new Stack();
+
+    final Seed seed = new Seed();
+
+    final Load load = new Load();
+
+    /**
+     * Файл с результатами в формате JSON для сравнения с предыдущими запусками.
+     */
+    Path reportFile = Path.of("load-test-report.json");
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Stack {
+
+        /**
+         * Запускать сервер и шлюз отдельными процессами. Если выключено, нагрузка подается на уже запущенные
+         * сервисы по адресам server-url и gateway-url.
+         */
+        boolean start = true;
+
+        /**
+         * Исполняемый jar сервера. Сервер запускается с профилем ci на базе H2 в памяти.
+         */
+        Path serverJar = Path.of("server/target/server-0.0.1-SNAPSHOT.jar");
+
+        /**
+         * Исполняемый jar шлюза.
+         */
+        Path gatewayJar = Path.of("gateway/target/gateway-0.0.1-SNAPSHOT.jar");
+
+        int serverPort = 19090;
+
+        int gatewayPort = 18080;
+
+        /**
+         * Адрес сервера, если сервисы не запускаются тестом.
+         */
+        String serverUrl = "http://localhost:9090";
+
+        /**
+         * Адрес шлюза, если сервисы не запускаются тестом.
+         */
+        String gatewayUrl = "http://localhost:8080";
+
+        /**
+         * Параметры JVM для процессов сервера и шлюза.
+         */
+        List<String> jvmArgs = new ArrayList<>(List.of("-Xmx1g"));
+
+        /**
+         * Дополнительные параметры приложения сервера.
+         */
+        List<String> serverArgs = new ArrayList<>();
+
+        /**
+         * Дополнительные параметры приложения шлюза.
+         */
+        List<String> gatewayArgs = new ArrayList<>();
+
+        /**
+         * Каталог для журналов запущенных процессов.
+         */
+        Path logDir = Path.of("load-test-logs");
+
+        /**
+         * Время ожидания готовности сервиса после запуска.
+         */
+        Duration startupTimeout = Duration.ofSeconds(120);
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Seed {
+
+        int owners = 50;
+
+        int bookers = 200;
+
+        int itemsPerOwner = 20;
+
+        /**
+         * Бронирований каждой вещи, созданных до подачи нагрузки.
+         */
+        int bookingsPerItem = 5;
+
+        /**
+         * Доля созданных бронирований, которые владельцы подтверждают до подачи нагрузки.
+         * Остальные ожидают подтверждения и попадают в ответы на запросы владельцев с state=WAITING.
+         */
+        double approvedShare = 0.5;
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Load {
+
+        /**
+         * Цели нагрузки. Сравнение результатов для шлюза и сервера показывает накладные расходы шлюза.
+         */
+        List<Target> targets = new ArrayList<>(List.of(Target.GATEWAY, Target.SERVER));
+
+        /**
+         * Интенсивности потока запросов в секунду. Каждая цель проверяется на каждой интенсивности по очереди.
+         */
+        List<Integer> rates = new ArrayList<>(List.of(50, 100, 200));
+
+        /**
+         * Прогрев перед каждым замером, его результаты не учитываются.
+         */
+        Duration warmup = Duration.ofSeconds(10);
+
+        /**
+         * Продолжительность каждого замера.
+         */
+        Duration duration = Duration.ofSeconds(30);
+
+        /**
+         * Максимальное количество запросов без ответа. Запросы сверх него не отправляются и учитываются
+         * как пропущенные, чтобы перегруженный сервис не исчерпал память генератора нагрузки.
+         */
+        int maxInFlight = 1000;
+
+        /**
+         * Время ожидания ответа на запрос.
+         */
+        Duration requestTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Относительные веса операций в потоке запросов.
+         */
+        Map<Operation, Integer> mix = new EnumMap<>(Map.of(
+                Operation.OWNER_WAITING_BOOKINGS, 50,
+                Operation.SEARCH, 25,
+                Operation.CREATE_BOOKING, 15,
+                Operation.APPROVE_BOOKING, 10));
+    }
+
+    public enum Target {
+        GATEWAY, SERVER
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.loadtest.client.ShareItClient;
+import ru.practicum.shareit.loadtest.report.EndpointStats;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Генератор нагрузки с открытой моделью: запросы поступают пуассоновским потоком заданной интенсивности
+ * независимо от того, ответил ли сервис на предыдущие. Так ведут себя множество независимых пользователей,
+ * и замедление сервиса приводит к росту очереди запросов, а не к снижению нагрузки.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OpenModelLoadGenerator {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ShareItClient client;
+    private final Workload workload;
+    private final OperationMix mix;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final Random random;
+
+    /**
+     * Подача нагрузки в течение заданного времени. Возвращает статистику по операциям
+     * после получения ответов на все отправленные запросы.
+     */
+    public Map<Operation, EndpointStats> run(int rate, Duration duration) throws InterruptedException {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double meanInterval = (double) NANOS_PER_SECOND / rate;
+        double next = start;
+        while (true) {
+            next += -Math.log(1 - random.nextDouble()) * meanInterval;
+            long scheduled = (long) next;
+            if (scheduled - end >= 0) {
+                break;
+            }
+            parkUntil(scheduled);
+
+            Operation operation = mix.next(random);
+            EndpointStats operationStats = stats.get(operation);
+            PlannedRequest planned = workload.next(operation, random);
+            if (planned == null) {
+                operationStats.recordSkipped();
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                operationStats.recordDropped();
+                continue;
+            }
+            client.sendAsync(planned.getRequest()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - scheduled;
+                boolean success = error == null && response.statusCode() / 100 == 2;
+                operationStats.recordCompleted(latency, success);
+                inFlight.release();
+                if (success) {
+                    planned.getOnSuccess().accept(response.body());
+                }
+            });
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            log.warn("Не дождались ответов на {} запросов", maxInFlight - inFlight.availablePermits());
+        }
+        return stats;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
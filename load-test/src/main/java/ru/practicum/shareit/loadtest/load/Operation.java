@@ -0,0 +1,34 @@
+package ru.practicum.shareit.loadtest.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Операции пользователей, из которых складывается поток запросов.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+
+    /**
+     * Владелец проверяет бронирования своих вещей, ожидающие подтверждения.
+     */
+    OWNER_WAITING_BOOKINGS("GET /bookings/owner?state=WAITING"),
+
+    /**
+     * Поиск доступных вещей по слову из наименования.
+     */
+    SEARCH("GET /items/search"),
+
+    /**
+     * Арендатор бронирует вещь на свободный интервал.
+     */
+    CREATE_BOOKING("POST /bookings"),
+
+    /**
+     * Владелец подтверждает или отклоняет бронирование, созданное ранее.
+     */
+    APPROVE_BOOKING("PATCH /bookings/{id}");
+
+    private final String endpoint;
+}
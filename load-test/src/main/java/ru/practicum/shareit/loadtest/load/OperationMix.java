@@ -0,0 +1,37 @@
+package ru.practicum.shareit.loadtest.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Случайный выбор операций в соответствии с их весами.
+ */
+public class OperationMix {
+
+    private final NavigableMap<Integer, Operation> operationsByCumulativeWeight = new TreeMap<>();
+    private final int totalWeight;
+
+    public OperationMix(Map<Operation, Integer> weights) {
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : new EnumMap<>(weights).entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Вес операции " + entry.getKey() + " не может быть отрицательным.");
+            }
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                operationsByCumulativeWeight.put(total, entry.getKey());
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Должна быть задана хотя бы одна операция с положительным весом.");
+        }
+        totalWeight = total;
+    }
+
+    public Operation next(Random random) {
+        return operationsByCumulativeWeight.higherEntry(random.nextInt(totalWeight)).getValue();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.loadtest.load;
+
+import lombok.Value;
+
+import java.net.http.HttpRequest;
+import java.util.function.Consumer;
+
+/**
+ * Запрос операции и обработка тела успешного ответа, если операция меняет состояние нагрузки.
+ */
+@Value
+public class PlannedRequest {
+
+    HttpRequest request;
+
+    Consumer<byte[]> onSuccess;
+
+    public static PlannedRequest of(HttpRequest request) {
+        return new PlannedRequest(request, body -> {
+        });
+    }
+}
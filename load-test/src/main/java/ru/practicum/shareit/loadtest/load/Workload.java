@@ -0,0 +1,75 @@
+package ru.practicum.shareit.loadtest.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.loadtest.client.ShareItClient;
+import ru.practicum.shareit.loadtest.seed.BookingCalendar;
+import ru.practicum.shareit.loadtest.seed.PendingApproval;
+import ru.practicum.shareit.loadtest.seed.SeedData;
+import ru.practicum.shareit.loadtest.seed.SeededItem;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Построение запросов операций по заполненным данным.
+ * Созданные под нагрузкой бронирования становятся ожидающими подтверждения и затем подтверждаются владельцами.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class Workload {
+
+    private static final String WAITING = "WAITING";
+
+    /**
+     * Один из стольких владельцев отклоняет бронирование вместо подтверждения.
+     */
+    private static final int REJECT_EVERY = 10;
+
+    private final ShareItClient client;
+    private final SeedData data;
+
+    /**
+     * Запрос операции или null, если для операции сейчас нет данных.
+     */
+    public PlannedRequest next(Operation operation, Random random) {
+        switch (operation) {
+            case OWNER_WAITING_BOOKINGS:
+                return PlannedRequest.of(client.ownerBookingsRequest(any(data.getOwnerIds(), random), WAITING));
+            case SEARCH:
+                return PlannedRequest.of(client.searchRequest(any(data.getBookerIds(), random),
+                        any(data.getSearchTerms(), random)));
+            case CREATE_BOOKING:
+                return createBooking(random);
+            case APPROVE_BOOKING:
+                PendingApproval approval = data.getPendingApprovals().poll();
+                if (approval == null) {
+                    return null;
+                }
+                return PlannedRequest.of(client.approveRequest(approval.getOwnerId(), approval.getBookingId(),
+                        random.nextInt(REJECT_EVERY) != 0));
+            default:
+                throw new IllegalArgumentException("Неизвестная операция " + operation);
+        }
+    }
+
+    private PlannedRequest createBooking(Random random) {
+        int itemIndex = random.nextInt(data.getItems().size());
+        SeededItem item = data.getItems().get(itemIndex);
+        LocalDateTime start = data.getCalendar().nextStart(itemIndex);
+        return new PlannedRequest(client.createBookingRequest(any(data.getBookerIds(), random), item.getId(), start,
+                BookingCalendar.end(start)), body -> {
+                    try {
+                        data.getPendingApprovals().add(new PendingApproval(item.getOwnerId(), client.readId(body)));
+                    } catch (IOException e) {
+                        log.warn("Не удалось прочитать идентификатор созданного бронирования: {}", e.getMessage());
+                    }
+                });
+    }
+
+    private static <T> T any(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
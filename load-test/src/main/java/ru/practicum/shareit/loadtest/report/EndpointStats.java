@@ -0,0 +1,78 @@
+package ru.practicum.shareit.loadtest.report;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки и счетчики запросов одной операции за один замер.
+ * Задержка отсчитывается от запланированного момента отправки, а не от фактического,
+ * поэтому отставание генератора нагрузки не скрывает задержки сервиса.
+ */
+public class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Завершенный запрос: получен ответ, ошибка или истекло время ожидания.
+     */
+    public void recordCompleted(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Запрос не отправлен, потому что достигнуто ограничение на количество запросов без ответа.
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Запрос не отправлен, потому что для операции нет данных, например нет бронирований для подтверждения.
+     */
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    public long getCompleted() {
+        return latencies.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Задержка в миллисекундах, которую не превышает указанный процент запросов.
+     */
+    public double getPercentileMillis(double percentile) {
+        return toMillis(latencies.getValueAtPercentile(percentile));
+    }
+
+    public double getMaxMillis() {
+        return toMillis(latencies.getMaxValue());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.loadtest.config.LoadTestProperties;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Вывод результатов в журнал таблицей и сохранение их в файл JSON.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadTestReport {
+
+    private static final String ROW_FORMAT = "%-8s %6s  %-34s %9s %7s %7s %7s %10s %9s %9s %9s %9s";
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public void write(List<RunResult> results) throws IOException {
+        StringBuilder table = new StringBuilder(String.format(ROW_FORMAT, "target", "rate", "endpoint", "completed",
+                "errors", "dropped", "skipped", "rps", "p50,ms", "p99,ms", "p99.9,ms", "max,ms"));
+        for (RunResult result : results) {
+            table.append(System.lineSeparator()).append(String.format(Locale.ROOT, ROW_FORMAT,
+                    result.getTarget(), result.getRate(), result.getEndpoint(), result.getCompleted(),
+                    result.getErrors(), result.getDropped(), result.getSkipped(), format(result.getThroughput()),
+                    format(result.getP50Millis()), format(result.getP99Millis()), format(result.getP999Millis()),
+                    format(result.getMaxMillis())));
+        }
+        log.info("Результаты нагрузочного теста:{}{}", System.lineSeparator(), table);
+
+        Path reportFile = properties.getReportFile();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), results);
+        log.info("Результаты сохранены в {}", reportFile.toAbsolutePath());
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
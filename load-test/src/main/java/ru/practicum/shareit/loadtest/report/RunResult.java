@@ -0,0 +1,52 @@
+package ru.practicum.shareit.loadtest.report;
+
+import lombok.Value;
+import ru.practicum.shareit.loadtest.config.LoadTestProperties;
+import ru.practicum.shareit.loadtest.load.Operation;
+
+import java.time.Duration;
+
+/**
+ * Результат замера одной операции на одной цели при заданной интенсивности потока запросов.
+ */
+@Value
+public class RunResult {
+
+    LoadTestProperties.Target target;
+
+    int rate;
+
+    Operation operation;
+
+    String endpoint;
+
+    long completed;
+
+    long errors;
+
+    long dropped;
+
+    long skipped;
+
+    /**
+     * Завершенных запросов в секунду.
+     */
+    double throughput;
+
+    double p50Millis;
+
+    double p99Millis;
+
+    double p999Millis;
+
+    double maxMillis;
+
+    public static RunResult of(LoadTestProperties.Target target, int rate, Operation operation, EndpointStats stats,
+                               Duration duration) {
+        return new RunResult(target, rate, operation, operation.getEndpoint(),
+                stats.getCompleted(), stats.getErrors(), stats.getDropped(), stats.getSkipped(),
+                stats.getCompleted() * 1000.0 / duration.toMillis(),
+                stats.getPercentileMillis(50), stats.getPercentileMillis(99), stats.getPercentileMillis(99.9),
+                stats.getMaxMillis());
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest.seed;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Выдача непересекающихся интервалов бронирования для каждой вещи, чтобы сервер не отклонял бронирования
+ * из-за пересечения с уже созданными. Интервалы длиной в час идут через час, начиная со следующих суток.
+ */
+public class BookingCalendar {
+
+    private static final long SLOT_HOURS = 2;
+
+    private final LocalDateTime firstSlot;
+    private final AtomicIntegerArray nextSlots;
+
+    public BookingCalendar(int items) {
+        firstSlot = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+        nextSlots = new AtomicIntegerArray(items);
+    }
+
+    /**
+     * Начало следующего свободного интервала вещи с указанным порядковым номером.
+     */
+    public LocalDateTime nextStart(int itemIndex) {
+        return firstSlot.plusHours(SLOT_HOURS * nextSlots.getAndIncrement(itemIndex));
+    }
+
+    public static LocalDateTime end(LocalDateTime start) {
+        return start.plusHours(SLOT_HOURS / 2);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.loadtest.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.loadtest.client.ShareItClient;
+import ru.practicum.shareit.loadtest.config.LoadTestProperties;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Заполнение сервиса пользователями, вещами и бронированиями через API.
+ * Адреса электронной почты содержат метку запуска, поэтому заполнять один и тот же сервис можно повторно.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataSeeder {
+
+    private static final List<String> SEARCH_TERMS = List.of("дрель", "перфоратор", "лестница", "палатка",
+            "велосипед", "пила", "шуруповерт", "проектор", "байдарка", "генератор");
+
+    /**
+     * Наибольший размер пакета, который принимают пакетные методы API.
+     */
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private final LoadTestProperties properties;
+
+    public SeedData seed(ShareItClient client) {
+        LoadTestProperties.Seed seed = properties.getSeed();
+        String runId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+        log.info("Заполнение данных: владельцев {}, арендаторов {}, вещей у владельца {}, бронирований вещи {}",
+                seed.getOwners(), seed.getBookers(), seed.getItemsPerOwner(), seed.getBookingsPerItem());
+
+        List<Long> ownerIds = createUsers(client, "owner", seed.getOwners(), runId);
+        List<Long> bookerIds = createUsers(client, "booker", seed.getBookers(), runId);
+        List<SeededItem> items = createItems(client, ownerIds, seed.getItemsPerOwner());
+        BookingCalendar calendar = new BookingCalendar(items.size());
+        Queue<PendingApproval> pendingApprovals = new ConcurrentLinkedQueue<>();
+        createBookings(client, items, bookerIds, calendar, seed, pendingApprovals);
+
+        log.info("Заполнение данных завершено: вещей {}, бронирований ожидают подтверждения {}",
+                items.size(), pendingApprovals.size());
+        return new SeedData(ownerIds, bookerIds, items, SEARCH_TERMS, calendar, pendingApprovals);
+    }
+
+    private static List<Long> createUsers(ShareItClient client, String role, int count, String runId) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(client.createUser(role + " " + i, String.format("%s_%d_%s@loadtest.ru", role, i, runId)));
+        }
+        return ids;
+    }
+
+    private static List<SeededItem> createItems(ShareItClient client, List<Long> ownerIds, int itemsPerOwner) {
+        List<SeededItem> items = new ArrayList<>(ownerIds.size() * itemsPerOwner);
+        if (itemsPerOwner == 0) {
+            return items;
+        }
+        for (long ownerId : ownerIds) {
+            List<Map<String, Object>> requests = new ArrayList<>(itemsPerOwner);
+            for (int i = 0; i < itemsPerOwner; i++) {
+                String term = SEARCH_TERMS.get((items.size() + i) % SEARCH_TERMS.size());
+                requests.add(Map.of("name", term + " " + (items.size() + i),
+                        "description", "Вещь для нагрузочного теста: " + term,
+                        "available", true));
+            }
+            for (List<Map<String, Object>> batch : batches(requests)) {
+                client.createItems(ownerId, batch).forEach(id -> items.add(new SeededItem(id, ownerId)));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Бронирования создаются пакетами по арендаторам. Владельцы равномерно подтверждают заданную долю бронирований,
+     * остальные остаются ожидающими.
+     */
+    private static void createBookings(ShareItClient client, List<SeededItem> items, List<Long> bookerIds,
+                                       BookingCalendar calendar, LoadTestProperties.Seed seed,
+                                       Queue<PendingApproval> pendingApprovals) {
+        if (bookerIds.isEmpty() || seed.getBookingsPerItem() == 0) {
+            return;
+        }
+        Map<Long, List<Map<String, Object>>> requestsByBooker = new LinkedHashMap<>();
+        Map<Long, List<SeededItem>> itemsByBooker = new LinkedHashMap<>();
+        int sequence = 0;
+        for (int i = 0; i < items.size(); i++) {
+            for (int j = 0; j < seed.getBookingsPerItem(); j++, sequence++) {
+                long bookerId = bookerIds.get(sequence % bookerIds.size());
+                LocalDateTime start = calendar.nextStart(i);
+                requestsByBooker.computeIfAbsent(bookerId, id -> new ArrayList<>())
+                        .add(ShareItClient.booking(items.get(i).getId(), start, BookingCalendar.end(start)));
+                itemsByBooker.computeIfAbsent(bookerId, id -> new ArrayList<>()).add(items.get(i));
+            }
+        }
+
+        double approved = 0;
+        for (Map.Entry<Long, List<Map<String, Object>>> entry : requestsByBooker.entrySet()) {
+            List<Long> bookingIds = new ArrayList<>(entry.getValue().size());
+            for (List<Map<String, Object>> batch : batches(entry.getValue())) {
+                bookingIds.addAll(client.createBookings(entry.getKey(), batch));
+            }
+            List<SeededItem> bookedItems = itemsByBooker.get(entry.getKey());
+            for (int i = 0; i < bookingIds.size(); i++) {
+                long ownerId = bookedItems.get(i).getOwnerId();
+                approved += seed.getApprovedShare();
+                if (approved >= 1) {
+                    approved -= 1;
+                    client.approve(ownerId, bookingIds.get(i), true);
+                } else {
+                    pendingApprovals.add(new PendingApproval(ownerId, bookingIds.get(i)));
+                }
+            }
+        }
+    }
+
+    private static <T> List<List<T>> batches(List<T> elements) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < elements.size(); from += MAX_BATCH_SIZE) {
+            batches.add(elements.subList(from, Math.min(from + MAX_BATCH_SIZE, elements.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.loadtest.seed;
+
+import lombok.Value;
+
+/**
+ * Бронирование, ожидающее решения владельца вещи.
+ */
+@Value
+public class PendingApproval {
+
+    long ownerId;
+
+    long bookingId;
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.loadtest.seed;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Созданные при заполнении пользователи и вещи, а также состояние, которое меняется под нагрузкой:
+ * занятые интервалы бронирования и бронирования, ожидающие подтверждения.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SeedData {
+
+    private final List<Long> ownerIds;
+
+    private final List<Long> bookerIds;
+
+    private final List<SeededItem> items;
+
+    /**
+     * Слова, из которых составлены наименования вещей, для поисковых запросов.
+     */
+    private final List<String> searchTerms;
+
+    private final BookingCalendar calendar;
+
+    private final Queue<PendingApproval> pendingApprovals;
+}
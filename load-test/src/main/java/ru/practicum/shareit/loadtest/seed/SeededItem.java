@@ -0,0 +1,14 @@
+package ru.practicum.shareit.loadtest.seed;
+
+import lombok.Value;
+
+/**
+ * Созданная вещь и ее владелец.
+ */
+@Value
+public class SeededItem {
+
+    long id;
+
+    long ownerId;
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.loadtest.stack;
+
+import lombok.Getter;
+import ru.practicum.shareit.loadtest.client.ShareItClient;
+import ru.practicum.shareit.loadtest.config.LoadTestProperties;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Сервер и шлюз, на которые подается нагрузка. Сервер запускается с профилем ci на базе H2 в памяти,
+ * без трассировки SQL, шлюз - с адресом запущенного сервера. Если запуск выключен,
+ * используются адреса уже работающих сервисов.
+ */
+public class LocalStack implements AutoCloseable {
+
+    private static final String LOCALHOST = "http://localhost:";
+
+    @Getter
+    private final ShareItClient server;
+    @Getter
+    private final ShareItClient gateway;
+    private final List<ServiceProcess> processes;
+
+    private LocalStack(ShareItClient server, ShareItClient gateway, List<ServiceProcess> processes) {
+        this.server = server;
+        this.gateway = gateway;
+        this.processes = processes;
+    }
+
+    public static LocalStack start(LoadTestProperties.Stack properties, Function<String, ShareItClient> clients)
+            throws IOException, InterruptedException {
+        if (!properties.isStart()) {
+            return new LocalStack(clients.apply(properties.getServerUrl()),
+                    clients.apply(properties.getGatewayUrl()), List.of());
+        }
+
+        List<ServiceProcess> processes = new ArrayList<>();
+        LocalStack stack = new LocalStack(clients.apply(LOCALHOST + properties.getServerPort()),
+                clients.apply(LOCALHOST + properties.getGatewayPort()), processes);
+        try {
+            List<String> serverArgs = new ArrayList<>(List.of(
+                    "--spring.profiles.active=ci",
+                    "--server.port=" + properties.getServerPort(),
+                    "--management.server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                    "--shareit.sql-trace.enabled=false"));
+            serverArgs.addAll(properties.getServerArgs());
+            ServiceProcess server = ServiceProcess.start("server", properties.getServerJar(),
+                    properties.getJvmArgs(), serverArgs, properties.getLogDir());
+            processes.add(server);
+            server.awaitReady(stack.server::isReady, properties.getStartupTimeout());
+
+            List<String> gatewayArgs = new ArrayList<>(List.of(
+                    "--server.port=" + properties.getGatewayPort(),
+                    "--shareit-server.url=" + stack.server.getBaseUrl()));
+            gatewayArgs.addAll(properties.getGatewayArgs());
+            ServiceProcess gateway = ServiceProcess.start("gateway", properties.getGatewayJar(),
+                    properties.getJvmArgs(), gatewayArgs, properties.getLogDir());
+            processes.add(gateway);
+            gateway.awaitReady(stack.gateway::isReady, properties.getStartupTimeout());
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+        return stack;
+    }
+
+    public ShareItClient client(LoadTestProperties.Target target) {
+        return target == LoadTestProperties.Target.GATEWAY ? gateway : server;
+    }
+
+    /**
+     * Остановка запущенных процессов в обратном порядке: сначала шлюз, затем сервер.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).close();
+        }
+    }
+}
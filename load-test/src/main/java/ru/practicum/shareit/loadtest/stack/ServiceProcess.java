@@ -0,0 +1,87 @@
+package ru.practicum.shareit.loadtest.stack;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Сервис, запущенный отдельным процессом JVM из исполняемого jar. Вывод процесса пишется в файл журнала.
+ */
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String name;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, Process process, Path logFile) {
+        this.name = name;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    public static ServiceProcess start(String name, Path jar, List<String> jvmArgs, List<String> args, Path logDir)
+            throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(String.format("Не найден jar %s: %s. Соберите проект командой "
+                    + "mvn package -DskipTests", name, jar.toAbsolutePath()));
+        }
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(args);
+
+        log.info("Запуск {}: {}", name, String.join(" ", command));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        return new ServiceProcess(name, process, logFile);
+    }
+
+    /**
+     * Ожидание, пока сервис не начнет отвечать на запросы.
+     */
+    public void awaitReady(BooleanSupplier probe, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!probe.getAsBoolean()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(String.format("Процесс %s завершился с кодом %d, журнал: %s",
+                        name, process.exitValue(), logFile.toAbsolutePath()));
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException(String.format("%s не запустился за %s, журнал: %s",
+                        name, timeout, logFile.toAbsolutePath()));
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        log.info("{} готов к работе", name);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (!process.isAlive()) {
+            return;
+        }
+        log.info("Остановка {}", name);
+        process.destroy();
+        if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.loadtest.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationMixTest {
+
+    @Test
+    void next_whenWeightsSet_thenOperationsChosenInProportion() {
+        OperationMix mix = new OperationMix(Map.of(Operation.OWNER_WAITING_BOOKINGS, 3, Operation.SEARCH, 1,
+                Operation.CREATE_BOOKING, 0));
+        Random random = new Random(42);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertThat(counts.size(), is(2));
+        assertThat(counts.get(Operation.OWNER_WAITING_BOOKINGS) / 100_000.0, closeTo(0.75, 0.01));
+        assertThat(counts.get(Operation.SEARCH) / 100_000.0, closeTo(0.25, 0.01));
+    }
+
+    @Test
+    void create_whenNoPositiveWeights_thenIllegalArgumentExceptionThrown() {
+        Map<Operation, Integer> weights = Map.of(Operation.SEARCH, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> new OperationMix(weights));
+    }
+
+    @Test
+    void create_whenNegativeWeight_thenIllegalArgumentExceptionThrown() {
+        Map<Operation, Integer> weights = Map.of(Operation.SEARCH, 1, Operation.CREATE_BOOKING, -1);
+
+        assertThrows(IllegalArgumentException.class, () -> new OperationMix(weights));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.loadtest.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+class EndpointStatsTest {
+
+    @Test
+    void getPercentileMillis_whenLatenciesRecorded_thenPercentilesInMillis() {
+        EndpointStats stats = new EndpointStats();
+
+        for (int i = 1; i <= 1000; i++) {
+            stats.recordCompleted(TimeUnit.MILLISECONDS.toNanos(i), i % 100 != 0);
+        }
+
+        assertThat(stats.getCompleted(), is(1000L));
+        assertThat(stats.getErrors(), is(10L));
+        assertThat(stats.getPercentileMillis(50), closeTo(500, 1));
+        assertThat(stats.getPercentileMillis(99), closeTo(990, 1));
+        assertThat(stats.getPercentileMillis(99.9), closeTo(999, 1));
+        assertThat(stats.getMaxMillis(), closeTo(1000, 1));
+    }
+
+    @Test
+    void recordDropped_whenRequestsNotSent_thenNotCountedAsCompleted() {
+        EndpointStats stats = new EndpointStats();
+
+        stats.recordDropped();
+        stats.recordSkipped();
+
+        assertThat(stats.getCompleted(), is(0L));
+        assertThat(stats.getDropped(), is(1L));
+        assertThat(stats.getSkipped(), is(1L));
+    }
+}
@@ -0,0 +1,208 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс занятости вещей в памяти приложения: для каждой вещи дерево интервалов бронирований
+ * в статусах WAITING и APPROVED и отдельное дерево только подтвержденных бронирований.
+ * Строится при запуске приложения и обновляется при создании, подтверждении и отклонении бронирования
+ * и удалении пользователя. Изменения вносятся сразу и отменяются, если транзакция не зафиксирована.
+ * Индекс ускоряет только чтение: календарь занятости и поиск свободных вещей. Он хранится в памяти одного экземпляра
+ * приложения и может временно расходиться с базой данных, поэтому пересечение при создании бронирования
+ * проверяется запросом к базе данных под блокировкой строки вещи.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailabilityIndex {
+
+    /**
+     * Статусы бронирований, занимающих вещь.
+     */
+    public static final Set<Status> BUSY_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BookingIntervalTree> busyTrees = new HashMap<>();
+    private final Map<Long, BookingIntervalTree> approvedTrees = new HashMap<>();
+
+    /**
+     * Проиндексированные периоды по идентификаторам бронирований. Время в сущности может быть точнее,
+     * чем сохраненное в базе данных, поэтому удаление выполняется по идентификатору.
+     */
+    private final Map<Long, BookingInterval> intervals = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BookingInterval> busyIntervals = bookingRepository.findIntervalsByStatusIn(BUSY_STATUSES);
+        lock.writeLock().lock();
+        try {
+            busyTrees.clear();
+            approvedTrees.clear();
+            intervals.clear();
+            busyIntervals.forEach(interval -> replace(interval.getBookingId(), interval));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс занятости вещей построен, проиндексировано {} бронирований", busyIntervals.size());
+    }
+
+    /**
+     * Проверка, что вещь не забронирована на период [start, end).
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  начало периода.
+     * @param end    окончание периода, не входит в период.
+     * @return true, если ни одно бронирование вещи в статусе WAITING или APPROVED не пересекается с периодом.
+     */
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        return !overlaps(busyTrees, itemId, start, end);
+    }
+
+    /**
+     * Проверка, что на период [start, end) нет подтвержденных бронирований вещи.
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  начало периода.
+     * @param end    окончание периода, не входит в период.
+     * @return true, если ни одно бронирование вещи в статусе APPROVED не пересекается с периодом.
+     */
+    public boolean isFreeOfApproved(long itemId, LocalDateTime start, LocalDateTime end) {
+        return !overlaps(approvedTrees, itemId, start, end);
+    }
+
+    /**
+     * Занятость вещи в окне [from, to).
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   начало окна.
+     * @param to     окончание окна, не входит в окно.
+     * @return объединенные периоды бронирований в статусах WAITING и APPROVED и свободные промежутки между ними.
+     */
+    public ItemAvailability getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> busyIntervals;
+        lock.readLock().lock();
+        try {
+            BookingIntervalTree tree = busyTrees.get(itemId);
+            busyIntervals = tree == null ? List.of() : tree.findOverlapping(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ItemAvailability.of(itemId, from, to, busyIntervals);
+    }
+
+    /**
+     * Добавление бронирования, занимающего вещь, или обновление его статуса.
+     *
+     * @param booking сохраненное бронирование в статусе WAITING или APPROVED.
+     */
+    public void add(Booking booking) {
+        update(booking.getId(), BookingInterval.of(booking));
+    }
+
+    /**
+     * Удаление бронирования, освободившего вещь.
+     *
+     * @param booking бронирование.
+     */
+    public void remove(Booking booking) {
+        update(booking.getId(), null);
+    }
+
+    /**
+     * Удаление бронирований, которые будут удалены вместе с пользователем:
+     * сделанных пользователем и бронирований его вещей.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    public void removeByUser(long userId) {
+        bookingRepository.findIntervalsByUserIdAndStatusIn(userId, BUSY_STATUSES)
+                .forEach(interval -> update(interval.getBookingId(), null));
+    }
+
+    private boolean overlaps(Map<Long, BookingIntervalTree> trees, long itemId, LocalDateTime start,
+                             LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            BookingIntervalTree tree = trees.get(itemId);
+            return tree != null && tree.overlaps(start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(long bookingId, @Nullable BookingInterval interval) {
+        BookingInterval previous;
+        lock.writeLock().lock();
+        try {
+            previous = replace(bookingId, interval);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(bookingId, previous);
+                    }
+                }
+            });
+        }
+    }
+
+    private void restore(long bookingId, @Nullable BookingInterval interval) {
+        lock.writeLock().lock();
+        try {
+            replace(bookingId, interval);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BookingInterval replace(long bookingId, @Nullable BookingInterval interval) {
+        BookingInterval previous = interval == null ? intervals.remove(bookingId) : intervals.put(bookingId, interval);
+        if (previous != null) {
+            removeFrom(busyTrees, previous);
+            if (previous.getStatus() == Status.APPROVED) {
+                removeFrom(approvedTrees, previous);
+            }
+        }
+        if (interval != null) {
+            busyTrees.computeIfAbsent(interval.getItemId(), itemId -> new BookingIntervalTree()).add(interval);
+            if (interval.getStatus() == Status.APPROVED) {
+                approvedTrees.computeIfAbsent(interval.getItemId(), itemId -> new BookingIntervalTree()).add(interval);
+            }
+        }
+        return previous;
+    }
+
+    private static void removeFrom(Map<Long, BookingIntervalTree> trees, BookingInterval interval) {
+        BookingIntervalTree tree = trees.get(interval.getItemId());
+        tree.remove(interval);
+        if (tree.size() == 0) {
+            trees.remove(interval.getItemId());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период и статус бронирования вещи [start, end) без загрузки сущности {@link Booking}.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingInterval {
+
+    long bookingId;
+    long itemId;
+    LocalDateTime start;
+    LocalDateTime end;
+    Status status;
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus());
+    }
+
+    /**
+     * @return true, если период пересекается с [start, end).
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return this.start.isBefore(end) && start.isBefore(this.end);
+    }
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Дерево интервалов бронирований одной вещи.
+ * Сбалансированное (AVL) дерево, упорядоченное по началу бронирования, в каждом узле хранится
+ * наибольшее окончание бронирований поддерева, поэтому проверка пересечения с периодом выполняется за O(log n).
+ * Не потокобезопасно.
+ */
+public class BookingIntervalTree {
+
+    private static final Comparator<BookingInterval> ORDER = Comparator.comparing(BookingInterval::getStart)
+            .thenComparingLong(BookingInterval::getBookingId);
+
+    private Node root;
+    private int size;
+
+    public void add(BookingInterval interval) {
+        root = insert(root, interval);
+    }
+
+    /**
+     * @return true, если бронирование было в дереве.
+     */
+    public boolean remove(BookingInterval interval) {
+        int previousSize = size;
+        root = delete(root, interval);
+        return size < previousSize;
+    }
+
+    /**
+     * @return true, если хотя бы одно бронирование пересекается с периодом [start, end).
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.interval.overlaps(start, end)) {
+                return true;
+            }
+            if (node.left != null && node.left.maxEnd.isAfter(start)) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return бронирования, пересекающиеся с периодом [start, end), в порядке начала.
+     */
+    public List<BookingInterval> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<BookingInterval> result = new ArrayList<>();
+        collectOverlapping(root, start, end, result);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Поддеревья, в которых все бронирования заканчиваются до начала периода, пропускаются,
+     * обход правых поддеревьев прекращается на первом бронировании, начинающемся после периода.
+     */
+    private static void collectOverlapping(Node node, LocalDateTime start, LocalDateTime end,
+                                           List<BookingInterval> result) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, result);
+        if (!node.interval.getStart().isBefore(end)) {
+            return;
+        }
+        if (node.interval.overlaps(start, end)) {
+            result.add(node.interval);
+        }
+        collectOverlapping(node.right, start, end, result);
+    }
+
+    private Node insert(Node node, BookingInterval interval) {
+        if (node == null) {
+            size++;
+            return new Node(interval);
+        }
+        int comparison = ORDER.compare(interval, node.interval);
+        if (comparison < 0) {
+            node.left = insert(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = insert(node.right, interval);
+        } else {
+            node.interval = interval;
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = ORDER.compare(interval, node.interval);
+        if (comparison < 0) {
+            node.left = delete(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            size++;
+            node.right = delete(node.right, successor.interval);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.interval.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        BookingInterval interval;
+        LocalDateTime maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+    }
+}
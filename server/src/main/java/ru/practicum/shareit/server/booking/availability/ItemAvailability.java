@@ -0,0 +1,92 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Занятость вещи в окне [from, to): объединенные периоды бронирований и свободные промежутки между ними.
+ * Периоды обрезаются границами окна.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemAvailability {
+
+    long itemId;
+    LocalDateTime from;
+    LocalDateTime to;
+    List<TimeSlot> busy;
+    List<TimeSlot> free;
+
+    /**
+     * @param itemId    идентификатор вещи.
+     * @param from      начало окна.
+     * @param to        окончание окна.
+     * @param intervals бронирования, пересекающиеся с окном, в порядке начала.
+     * @return занятость вещи.
+     */
+    public static ItemAvailability of(long itemId, LocalDateTime from, LocalDateTime to,
+                                      List<BookingInterval> intervals) {
+        List<TimeSlot> busy = new ArrayList<>();
+        LocalDateTime busyStart = null;
+        LocalDateTime busyEnd = null;
+        for (BookingInterval interval : intervals) {
+            LocalDateTime start = max(interval.getStart(), from);
+            LocalDateTime end = min(interval.getEnd(), to);
+            if (busyEnd != null && !start.isAfter(busyEnd)) {
+                busyEnd = max(busyEnd, end);
+                continue;
+            }
+            if (busyEnd != null) {
+                busy.add(new TimeSlot(busyStart, busyEnd));
+            }
+            busyStart = start;
+            busyEnd = end;
+        }
+        if (busyEnd != null) {
+            busy.add(new TimeSlot(busyStart, busyEnd));
+        }
+
+        List<TimeSlot> free = new ArrayList<>();
+        LocalDateTime freeStart = from;
+        for (TimeSlot slot : busy) {
+            if (freeStart.isBefore(slot.getStart())) {
+                free.add(new TimeSlot(freeStart, slot.getStart()));
+            }
+            freeStart = slot.getEnd();
+        }
+        if (freeStart.isBefore(to)) {
+            free.add(new TimeSlot(freeStart, to));
+        }
+        return new ItemAvailability(itemId, from, to, busy, free);
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    /**
+     * Период [start, end).
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static class TimeSlot {
+
+        LocalDateTime start;
+        LocalDateTime end;
+    }
+}
@@ -3,15 +3,19 @@ package ru.practicum.shareit.server.booking.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
 import ru.practicum.shareit.server.booking.dto.BookingResponse;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
+import ru.practicum.shareit.server.config.RequestConstants;
 
 import java.util.List;
 
 import static ru.practicum.shareit.server.config.RequestConstants.DEFAULT_PAGE_SIZE;
+import static ru.practicum.shareit.server.config.RequestConstants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
 
 /**
@@ -33,6 +37,18 @@ public interface BookingController {
     BookingResponse create(@RequestHeader(USER_ID_HEADER) long userId,
                            @RequestBody BookingCreateRequest bookingCreateRequest);
 
+    /**
+     * Пакетное создание бронирований. Создаются все бронирования пакета или ни одного.
+     *
+     * @param userId                идентификатор пользователя.
+     * @param bookingCreateRequests параметры для создания бронирований.
+     * @return созданные бронирования в порядке запроса.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Пакетное создание бронирований")
+    List<BookingResponse> createAll(@RequestHeader(USER_ID_HEADER) long userId,
+                                    @RequestBody List<BookingCreateRequest> bookingCreateRequests);
+
     /**
      * Подтверждение или отклонение бронирования
      *
@@ -52,46 +68,58 @@ public interface BookingController {
      *
      * @param userId    идентификатор пользователя.
      * @param bookingId идентификатор бронирования.
-     * @return найденное бронирование.
+     * @return найденное бронирование с ETag. При совпадении If-None-Match возвращается 304 без тела.
      */
     @GetMapping("/{bookingId}")
     @Operation(summary = "Получение бронирования по идентификатору")
-    BookingResponse getById(@RequestHeader(USER_ID_HEADER) long userId,
-                            @PathVariable long bookingId);
+    ResponseEntity<BookingResponse> getById(@RequestHeader(USER_ID_HEADER) long userId,
+                                            @PathVariable long bookingId);
 
     /**
      * Получение всех бронирований пользователя.
      *
      * @param userId      идентификатор пользователя.
      * @param stateFilter фильтр отбора.
-     * @param from        индекс первого элемента.
+     * @param from        индекс первого элемента, игнорируется при указании курсора.
      * @param size        количество элементов для отображения.
-     * @return найденные бронирования.
+     * @param cursor      курсор из заголовка {@value RequestConstants#NEXT_CURSOR_HEADER} предыдущей страницы.
+     * @return найденные бронирования и курсор следующей страницы в заголовке
+     * {@value RequestConstants#NEXT_CURSOR_HEADER}.
      */
     @GetMapping
     @Operation(summary = "Получение всех бронирований пользователя")
-    List<BookingResponse> getByBookerId(@RequestHeader(USER_ID_HEADER) long userId,
-                                        @RequestParam(value = "state", defaultValue = "ALL") StateFilter stateFilter,
-                                        @RequestParam(defaultValue = "0") long from,
-                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size);
+    ResponseEntity<List<BookingResponse>> getByBookerId(@RequestHeader(USER_ID_HEADER) long userId,
+                                                        @RequestParam(value = "state", defaultValue = "ALL")
+                                                        StateFilter stateFilter,
+                                                        @RequestParam(defaultValue = "0") long from,
+                                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                        @Parameter(description = "Курсор из заголовка " +
+                                                                NEXT_CURSOR_HEADER + " предыдущей страницы")
+                                                        @RequestParam(required = false) BookingCursor cursor);
 
     /**
      * Получение всех бронирований вещей владельца.
      *
      * @param userId      идентификатор пользователя.
      * @param stateFilter фильтр отбора.
-     * @param from        индекс первого элемента.
+     * @param from        индекс первого элемента, игнорируется при указании курсора.
      * @param size        количество элементов для отображения.
-     * @return найденные бронирования.
+     * @param cursor      курсор из заголовка {@value RequestConstants#NEXT_CURSOR_HEADER} предыдущей страницы.
+     * @return найденные бронирования и курсор следующей страницы в заголовке
+     * {@value RequestConstants#NEXT_CURSOR_HEADER}.
      */
     @GetMapping("/owner")
     @Operation(summary = "Получение всех бронирований вещей владельца")
-    List<BookingResponse> getByOwner(@RequestHeader(USER_ID_HEADER) long userId,
-                                     @Parameter(name = "фильтр отбора",
-                                             description = "Возможные значения " +
-                                                     "ALL, CURRENT, PAST, FUTURE, " +
-                                                     "WAITING, APPROVED, REJECTED")
-                                     @RequestParam(value = "state", defaultValue = "ALL") StateFilter stateFilter,
-                                     @RequestParam(defaultValue = "0") long from,
-                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size);
+    ResponseEntity<List<BookingResponse>> getByOwner(@RequestHeader(USER_ID_HEADER) long userId,
+                                                     @Parameter(name = "фильтр отбора",
+                                                             description = "Возможные значения " +
+                                                                     "ALL, CURRENT, PAST, FUTURE, " +
+                                                                     "WAITING, APPROVED, REJECTED")
+                                                     @RequestParam(value = "state", defaultValue = "ALL")
+                                                     StateFilter stateFilter,
+                                                     @RequestParam(defaultValue = "0") long from,
+                                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                     @Parameter(description = "Курсор из заголовка " +
+                                                             NEXT_CURSOR_HEADER + " предыдущей страницы")
+                                                     @RequestParam(required = false) BookingCursor cursor);
 }
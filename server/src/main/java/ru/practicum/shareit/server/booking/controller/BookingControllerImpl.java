@@ -1,16 +1,24 @@
 package ru.practicum.shareit.server.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.server.common.etag.EntityTag;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 import ru.practicum.shareit.server.booking.mapper.BookingConverter;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
 import ru.practicum.shareit.server.booking.dto.BookingResponse;
 import ru.practicum.shareit.server.booking.service.BookingService;
+import ru.practicum.shareit.server.item.entity.Comment;
+import ru.practicum.shareit.server.item.entity.Item;
 
 import java.util.List;
 
+import static ru.practicum.shareit.server.config.RequestConstants.NEXT_CURSOR_HEADER;
+
 /**
  * Имплементация контроллера для {@link Booking}.
  */
@@ -30,6 +38,15 @@ public class BookingControllerImpl implements BookingController {
                 bookingService.create(userId, bookingConverter.convertCreateRequestDto(bookingCreateRequest)));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BookingResponse> createAll(long userId, List<BookingCreateRequest> bookingCreateRequests) {
+        return bookingConverter.convert(
+                bookingService.createAll(userId, bookingConverter.convertCreateRequestDto(bookingCreateRequests)));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -42,23 +59,62 @@ public class BookingControllerImpl implements BookingController {
      * {@inheritDoc}
      */
     @Override
-    public BookingResponse getById(long userId, long bookingId) {
-        return bookingConverter.convert(bookingService.getById(userId, bookingId));
+    public ResponseEntity<BookingResponse> getById(long userId, long bookingId) {
+        Booking booking = bookingService.getById(userId, bookingId);
+        Item item = booking.getItem();
+        // Комментарии вещи с авторами входят в ответ и загружаются вместе с бронированием, поэтому учитываются в теге
+        // без дополнительных запросов.
+        String eTag = EntityTag.builder()
+                .add(booking)
+                .add(booking.getBooker())
+                .add(item)
+                .addAll(item.getComments(), Comment::getAuthor)
+                .build();
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(bookingConverter.convert(booking));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<BookingResponse> getByBookerId(long userId, StateFilter stateFilter, long from, int size) {
-        return bookingConverter.convert(bookingService.findByBookerId(userId, stateFilter, from, size));
+    public ResponseEntity<List<BookingResponse>> getByBookerId(long userId, StateFilter stateFilter, long from,
+                                                               int size, BookingCursor cursor) {
+        if (cursor == null) {
+            return toResponse(bookingService.findByBookerId(userId, stateFilter, from, size), size);
+        }
+        return toResponse(bookingService.findByBookerId(userId, stateFilter, cursor, size));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<BookingResponse> getByOwner(long userId, StateFilter stateFilter, long from, int size) {
-        return bookingConverter.convert(bookingService.findByItemOwner(userId, stateFilter, from, size));
+    public ResponseEntity<List<BookingResponse>> getByOwner(long userId, StateFilter stateFilter, long from,
+                                                            int size, BookingCursor cursor) {
+        if (cursor == null) {
+            return toResponse(bookingService.findByItemOwner(userId, stateFilter, from, size), size);
+        }
+        return toResponse(bookingService.findByItemOwner(userId, stateFilter, cursor, size));
+    }
+
+    /**
+     * Для постраничного запроса по смещению курсор выдается, если страница заполнена полностью.
+     */
+    private ResponseEntity<List<BookingResponse>> toResponse(List<Booking> bookings, int size) {
+        return toResponse(bookings, bookings.size() == size);
+    }
+
+    private ResponseEntity<List<BookingResponse>> toResponse(Slice<Booking> bookings) {
+        return toResponse(bookings.getContent(), bookings.hasNext());
+    }
+
+    private ResponseEntity<List<BookingResponse>> toResponse(List<Booking> bookings, boolean hasNext) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasNext && !bookings.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookingConverter.convert(bookings));
     }
 }
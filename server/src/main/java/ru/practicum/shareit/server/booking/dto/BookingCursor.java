@@ -0,0 +1,62 @@
+package ru.practicum.shareit.server.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.springframework.core.convert.converter.Converter;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.exception.BookingException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного получения {@link Booking} методом поиска по ключу (keyset pagination).
+ * Указывает на последнее бронирование предыдущей страницы в порядке (start desc, id desc).
+ * Клиенту передается в непрозрачном виде.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingCursor {
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime start;
+    long id;
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor parse(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                    Long.parseLong(decoded.substring(separatorIndex + 1)));
+        } catch (Exception ex) {
+            throw new BookingException("Некорректный курсор: %s", value);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static class StringToBookingCursorConverter implements Converter<String, BookingCursor> {
+
+        @Override
+        public BookingCursor convert(String source) {
+            return BookingCursor.parse(source);
+        }
+    }
+}
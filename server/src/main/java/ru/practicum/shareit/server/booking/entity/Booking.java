@@ -2,7 +2,7 @@ package ru.practicum.shareit.server.booking.entity;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
-import ru.practicum.shareit.server.common.entity.AbstractEntity;
+import ru.practicum.shareit.server.common.entity.AbstractSequenceEntity;
 import ru.practicum.shareit.server.item.entity.Item;
 import ru.practicum.shareit.server.user.entity.User;
 
@@ -17,14 +17,39 @@ import java.time.LocalDateTime;
 @ToString
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-public class Booking extends AbstractEntity {
+@NamedEntityGraph(name = Booking.WITH_ITEM_AND_BOOKER,
+        attributeNodes = {
+                @NamedAttributeNode("item"),
+                @NamedAttributeNode("booker")
+        })
+@NamedEntityGraph(name = Booking.FULL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode(value = "comments",
+                        subgraph = "comments")),
+                @NamedSubgraph(name = "comments", attributeNodes = @NamedAttributeNode("author"))
+        })
+public class Booking extends AbstractSequenceEntity {
+
+    /**
+     * Бронирование с вещью и арендатором для списков бронирований и проверки прав владельца вещи.
+     */
+    public static final String WITH_ITEM_AND_BOOKER = "Booking.withItemAndBooker";
+
+    /**
+     * Бронирование со всем, что входит в ответ с одним бронированием, включая комментарии к вещи.
+     */
+    public static final String FULL = "Booking.full";
 
     @ToString.Exclude
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User booker;
 
     @ToString.Exclude
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Item item;
 
     @Enumerated(EnumType.STRING)
@@ -20,4 +20,6 @@ public interface BookingConverter {
 
     @Mapping(source = "itemId", target = "item.id")
     Booking convertCreateRequestDto(BookingCreateRequest entityCreateRequestDto);
+
+    List<Booking> convertCreateRequestDto(List<BookingCreateRequest> entityCreateRequestDtos);
 }
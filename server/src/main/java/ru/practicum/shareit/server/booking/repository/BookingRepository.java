@@ -2,69 +2,216 @@ package ru.practicum.shareit.server.booking.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.booking.availability.BookingInterval;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    Page<Booking> findByBookerIdOrderByStartDesc(long bookerId, PageRequest pageRequest);
-
-    Page<Booking> findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(long bookerId,
+    /*
+     * Списки бронирований заданы запросами, а не производными методами: производный запрос с графом сущностей
+     * фильтрует по идентификатору присоединенного пользователя, а не по внешнему ключу бронирования или вещи,
+     * и H2 выбирает полный просмотр таблицы вместо индексов (booker_id, ...) и (owner_id, id).
+     * Бронирования владельца выбираются внутренними соединениями без графа сущностей: граф добавляет внешнее
+     * соединение с вещью, после которого H2 не может начать план с вещей владельца.
+     */
+    String OWNER_BOOKINGS = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId";
+    String KEYSET_AFTER_CURSOR = " and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) ";
+    String KEYSET_ORDER = " order by b.start desc, b.id desc";
+
+    @EntityGraph(Booking.FULL)
+    Optional<Booking> findFullById(long id);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId" + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdOrderByStartDesc(long bookerId, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.start <= :greaterTime " +
+            "and b.end >= :lessTime" + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(long bookerId,
                                                                                             LocalDateTime greaterTime,
                                                                                             LocalDateTime lessTime,
                                                                                             PageRequest pageRequest);
 
-    Page<Booking> findByBookerIdAndEndLessThanOrderByStartDesc(long bookerId, LocalDateTime currentTime,
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.end < :currentTime" + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAndEndLessThanOrderByStartDesc(long bookerId, LocalDateTime currentTime,
                                                                PageRequest pageRequest);
 
-    Page<Booking> findByBookerIdAndStartGreaterThanOrderByStartDesc(long bookerId, LocalDateTime currentTime,
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.start > :currentTime" + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAndStartGreaterThanOrderByStartDesc(long bookerId, LocalDateTime currentTime,
                                                                     PageRequest pageRequest);
 
-    List<Booking> findByBookerIdAndStartLessThanAndStatusIsOrderByStartDesc(long bookerId, LocalDateTime currentTime,
-                                                                            Status status);
-
-    Page<Booking> findByBookerIdAndStatusIsOrderByStartDesc(long bookerId, Status status,
+    /**
+     * Есть ли бронирование вещи в одном из статусов, пересекающееся с периодом [start, end).
+     *
+     * @param itemId   идентификатор вещи.
+     * @param statuses статусы бронирований.
+     * @param start    начало периода.
+     * @param end      окончание периода (не включительно).
+     * @return true, если найдено пересекающееся бронирование.
+     */
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses and b.start < :end and b.end > :start")
+    boolean existsOverlapping(long itemId, Collection<Status> statuses, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Периоды бронирований вещей в одном из статусов, пересекающиеся с периодом [start, end).
+     * Позволяет проверить пакет бронирований одним запросом до вставки первого из них.
+     *
+     * @param itemIds  идентификаторы вещей.
+     * @param statuses статусы бронирований.
+     * @param start    начало периода.
+     * @param end      окончание периода (не включительно).
+     * @return периоды пересекающихся бронирований.
+     */
+    @Query("select new ru.practicum.shareit.server.booking.availability.BookingInterval(b.id, b.item.id, " +
+            "b.start, b.end, b.status) from Booking b " +
+            "where b.item.id in :itemIds and b.status in :statuses and b.start < :end and b.end > :start")
+    List<BookingInterval> findIntervalsOverlapping(Collection<Long> itemIds, Collection<Status> statuses,
+                                                   LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Было ли у арендатора бронирование вещи в указанном статусе, начавшееся до указанного времени.
+     * Условия заданы по внешним ключам бронирования без соединения с пользователями и вещами,
+     * поэтому запрос читает только индекс (booker_id, item_id, status, start_time).
+     */
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.booker.id = :bookerId and b.item.id = :itemId and b.status = :status " +
+            "and b.start < :currentTime")
+    boolean existsByBookerIdAndItemIdAndStatusAndStartLessThan(long bookerId, long itemId, Status status,
+                                                                LocalDateTime currentTime);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.status = :status" + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAndStatusIsOrderByStartDesc(long bookerId, Status status,
                                                             PageRequest pageRequest);
 
-    Page<Booking> findByItemOwnerIdOrderByStartDesc(long bookerId,
+    @Query(OWNER_BOOKINGS + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdOrderByStartDesc(long ownerId,
                                                     PageRequest pageRequest);
 
-    Page<Booking> findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(long ownerId,
+    @Query(OWNER_BOOKINGS + " and b.start <= :greaterTime " +
+            "and b.end >= :lessTime" + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(long ownerId,
                                                                                                LocalDateTime greaterTime,
                                                                                                LocalDateTime lessTime,
                                                                                                PageRequest pageRequest);
 
-    Page<Booking> findByItemOwnerIdAndEndLessThanOrderByStartDesc(long ownerId, LocalDateTime currentTime,
+    @Query(OWNER_BOOKINGS + " and b.end < :currentTime" + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAndEndLessThanOrderByStartDesc(long ownerId, LocalDateTime currentTime,
                                                                   PageRequest pageRequest);
 
-    Page<Booking> findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(long ownerId, LocalDateTime currentTime,
+    @Query(OWNER_BOOKINGS + " and b.start > :currentTime" + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(long ownerId, LocalDateTime currentTime,
                                                                        PageRequest pageRequest);
 
-    Page<Booking> findByItemOwnerIdAndStatusIsOrderByStartDesc(long ownerId, Status status,
+    @Query(OWNER_BOOKINGS + " and b.status = :status" + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAndStatusIsOrderByStartDesc(long ownerId, Status status,
                                                                PageRequest pageRequest);
 
-    Page<Booking> findByItemId(long itemId, PageRequest pageRequest);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId" + KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAfterCursor(long bookerId, LocalDateTime cursorStart, long cursorId,
+                                             Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.start <= :currentTime " +
+            "and b.end >= :currentTime" + KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findCurrentByBookerIdAfterCursor(long bookerId, LocalDateTime currentTime,
+                                                    LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.end < :currentTime" +
+            KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findPastByBookerIdAfterCursor(long bookerId, LocalDateTime currentTime,
+                                                 LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.start > :currentTime" +
+            KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findFutureByBookerIdAfterCursor(long bookerId, LocalDateTime currentTime,
+                                                   LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("select b from Booking b where b.booker.id = :bookerId and b.status = :status" +
+            KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAndStatusAfterCursor(long bookerId, Status status,
+                                                      LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query(OWNER_BOOKINGS + KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAfterCursor(long ownerId, LocalDateTime cursorStart, long cursorId,
+                                                Pageable pageable);
+
+    @Query(OWNER_BOOKINGS + " and b.start <= :currentTime " +
+            "and b.end >= :currentTime" + KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findCurrentByItemOwnerIdAfterCursor(long ownerId, LocalDateTime currentTime,
+                                                       LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query(OWNER_BOOKINGS + " and b.end < :currentTime" +
+            KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findPastByItemOwnerIdAfterCursor(long ownerId, LocalDateTime currentTime,
+                                                    LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query(OWNER_BOOKINGS + " and b.start > :currentTime" +
+            KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findFutureByItemOwnerIdAfterCursor(long ownerId, LocalDateTime currentTime,
+                                                      LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query(OWNER_BOOKINGS + " and b.status = :status" +
+            KEYSET_AFTER_CURSOR + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAndStatusAfterCursor(long ownerId, Status status,
+                                                         LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
-    @Query(value = "select t1.* " +
-            "from (" +
-            "    select b.*, row_number() over(partition by item_id order by start_time desc) non_field_counter " +
-            "    from booking b" +
-            "    where b.item_id in :itemIds and b.start_time < :currentDateTime and b.status = :status" +
-            ") as t1 " +
-            "WHERE t1.non_field_counter = 1", nativeQuery = true)
-    List<Booking> findLastBookings(List<Long> itemIds, String status, LocalDateTime currentDateTime);
+    Page<Booking> findByItemId(long itemId, PageRequest pageRequest);
 
+    @Query("select new ru.practicum.shareit.server.booking.availability.BookingInterval(b.id, b.item.id, " +
+            "b.start, b.end, b.status) from Booking b where b.status in :statuses")
+    List<BookingInterval> findIntervalsByStatusIn(Collection<Status> statuses);
+
+    /**
+     * Периоды бронирований, сделанных пользователем, и бронирований вещей пользователя.
+     *
+     * @param userId   идентификатор пользователя.
+     * @param statuses статусы бронирований.
+     * @return периоды бронирований.
+     */
+    @Query("select new ru.practicum.shareit.server.booking.availability.BookingInterval(b.id, b.item.id, " +
+            "b.start, b.end, b.status) from Booking b " +
+            "where (b.booker.id = :userId or b.item.owner.id = :userId) and b.status in :statuses")
+    List<BookingInterval> findIntervalsByUserIdAndStatusIn(long userId, Collection<Status> statuses);
+
+    /**
+     * Последнее (начавшееся до указанного времени) и следующее (начинающееся не раньше) бронирования
+     * каждой вещи за один проход по бронированиям вещей.
+     *
+     * @param itemIds         идентификаторы вещей.
+     * @param status          статус бронирований.
+     * @param currentDateTime момент времени, относительно которого определяются бронирования.
+     * @return не более двух бронирований на вещь, последнее отличается началом раньше currentDateTime.
+     */
     @Query(value = "select t1.* " +
             "from (" +
-            "    select b.*, row_number() over(partition by item_id order by start_time asc) non_field_counter " +
+            "    select b.*, row_number() over(" +
+            "        partition by b.item_id, b.start_time < :currentDateTime " +
+            "        order by case when b.start_time < :currentDateTime then b.start_time end desc, " +
+            "            b.start_time asc) non_field_counter " +
             "    from booking b" +
-            "    where b.item_id in :itemIds and b.start_time >= :currentDateTime and b.status = :status" +
+            "    where b.item_id in :itemIds and b.status = :status" +
             ") as t1 " +
             "WHERE t1.non_field_counter = 1", nativeQuery = true)
-    List<Booking> findNextBookings(List<Long> itemIds, String status, LocalDateTime currentDateTime);
+    List<Booking> findLastAndNextBookings(List<Long> itemIds, String status, LocalDateTime currentDateTime);
 }
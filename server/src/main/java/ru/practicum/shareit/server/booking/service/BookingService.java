@@ -1,5 +1,7 @@
 package ru.practicum.shareit.server.booking.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 
@@ -11,9 +13,15 @@ public interface BookingService {
 
     List<Booking> findByBookerId(long userId, StateFilter stateFilter, long from, int size);
 
+    Slice<Booking> findByBookerId(long userId, StateFilter stateFilter, BookingCursor cursor, int size);
+
     List<Booking> findByItemOwner(long userId, StateFilter stateFilter, long from, int size);
 
+    Slice<Booking> findByItemOwner(long userId, StateFilter stateFilter, BookingCursor cursor, int size);
+
     Booking create(long userId, Booking booking);
 
+    List<Booking> createAll(long userId, List<Booking> bookings);
+
     Booking setApproved(long userId, long bookingId, boolean approve);
 }
@@ -1,11 +1,18 @@
 package ru.practicum.shareit.server.booking.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.booking.availability.BookingInterval;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
@@ -15,11 +22,22 @@ import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
 import ru.practicum.shareit.server.common.exception.ForbiddenException;
 import ru.practicum.shareit.server.item.entity.Item;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.timeline.BookingTimelineCache;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -27,14 +45,34 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    /**
+     * Дополнительная сортировка по id, делающая порядок (start desc, id desc) однозначным для курсора.
+     */
+    private static final Sort KEYSET_TIE_BREAKER = Sort.by(Sort.Direction.DESC, "id");
+
+    /**
+     * Таймер получения списков бронирований с тегами метода, фильтра и способа постраничного вывода.
+     */
+    private static final String LISTING_TIMER = "shareit.booking.listing";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final KnownUserCache knownUserCache;
     private final ItemRepository itemRepository;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Таймеры списков по методу, фильтру и способу постраничного вывода. Таймер регистрируется один раз
+     * при первом обращении, а не при каждом получении списка.
+     */
+    private final Map<String, Timer> listingTimers = new ConcurrentHashMap<>();
 
     @Override
     public Booking getById(long userId, long id) {
         log.debug("Получение бронирования по id {}", id);
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findFullById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Бронирование с id %d не найдено.", id));
 
         if (!booking.getBooker().getId().equals(userId) &&
@@ -50,40 +88,56 @@ public class BookingServiceImpl implements BookingService {
     public List<Booking> findByBookerId(long userId, StateFilter stateFilter, long from, int size) {
         log.debug("Получение списка бронирований по id автора бронирования {} и фильтру {}", userId, stateFilter);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id %d не найден.", userId));
+        return listingTimer("findByBookerId", stateFilter, "offset").record(() -> {
+            knownUserCache.requireExists(userId);
+
+            return findByBookerId(userId, stateFilter,
+                    PageRequest.of((int) (from / size), size, KEYSET_TIE_BREAKER)).getContent();
+        });
+    }
+
+    @Override
+    public Slice<Booking> findByBookerId(long userId, StateFilter stateFilter, BookingCursor cursor, int size) {
+        log.debug("Получение списка бронирований по id автора бронирования {}, фильтру {} и курсору {}",
+                userId, stateFilter, cursor);
+
+        return listingTimer("findByBookerId", stateFilter, "cursor")
+                .record(() -> findByBookerIdAfterCursor(userId, stateFilter, cursor, size));
+    }
+
+    private Slice<Booking> findByBookerIdAfterCursor(long userId, StateFilter stateFilter, BookingCursor cursor,
+                                                     int size) {
+        knownUserCache.requireExists(userId);
+
+        if (cursor == null) {
+            return findByBookerId(userId, stateFilter, PageRequest.of(0, size, KEYSET_TIE_BREAKER));
+        }
 
         LocalDateTime time = LocalDateTime.now();
-        PageRequest pageRequest = PageRequest.of((int) (from / size), size);
+        PageRequest pageRequest = PageRequest.of(0, size);
 
         switch (stateFilter) {
             case ALL:
-                return bookingRepository.findByBookerIdOrderByStartDesc(userId, pageRequest).getContent();
+                return bookingRepository.findByBookerIdAfterCursor(userId, cursor.getStart(), cursor.getId(),
+                        pageRequest);
             case CURRENT:
-                return bookingRepository
-                        .findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
-                                userId, time, time, pageRequest)
-                        .getContent();
+                return bookingRepository.findCurrentByBookerIdAfterCursor(userId, time, cursor.getStart(),
+                        cursor.getId(), pageRequest);
             case PAST:
-                return bookingRepository
-                        .findByBookerIdAndEndLessThanOrderByStartDesc(userId, time, pageRequest)
-                        .getContent();
+                return bookingRepository.findPastByBookerIdAfterCursor(userId, time, cursor.getStart(),
+                        cursor.getId(), pageRequest);
             case FUTURE:
-                return bookingRepository
-                        .findByBookerIdAndStartGreaterThanOrderByStartDesc(userId, time, pageRequest)
-                        .getContent();
+                return bookingRepository.findFutureByBookerIdAfterCursor(userId, time, cursor.getStart(),
+                        cursor.getId(), pageRequest);
             case REJECTED:
-                return bookingRepository
-                        .findByBookerIdAndStatusIsOrderByStartDesc(userId, Status.REJECTED, pageRequest)
-                        .getContent();
+                return bookingRepository.findByBookerIdAndStatusAfterCursor(userId, Status.REJECTED,
+                        cursor.getStart(), cursor.getId(), pageRequest);
             case APPROVED:
-                return bookingRepository
-                        .findByBookerIdAndStatusIsOrderByStartDesc(userId, Status.APPROVED, pageRequest)
-                        .getContent();
+                return bookingRepository.findByBookerIdAndStatusAfterCursor(userId, Status.APPROVED,
+                        cursor.getStart(), cursor.getId(), pageRequest);
             case WAITING:
-                return bookingRepository
-                        .findByBookerIdAndStatusIsOrderByStartDesc(userId, Status.WAITING, pageRequest)
-                        .getContent();
+                return bookingRepository.findByBookerIdAndStatusAfterCursor(userId, Status.WAITING,
+                        cursor.getStart(), cursor.getId(), pageRequest);
             default:
                 throw new NotImplementedException();
         }
@@ -93,40 +147,56 @@ public class BookingServiceImpl implements BookingService {
     public List<Booking> findByItemOwner(long userId, StateFilter stateFilter, long from, int size) {
         log.debug("Получение списка бронирований по id владельца вещи {} и фильтру {}", userId, stateFilter);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id %d не найден.", userId));
+        return listingTimer("findByItemOwner", stateFilter, "offset").record(() -> {
+            knownUserCache.requireExists(userId);
+
+            return findByItemOwner(userId, stateFilter,
+                    PageRequest.of((int) (from / size), size, KEYSET_TIE_BREAKER)).getContent();
+        });
+    }
+
+    @Override
+    public Slice<Booking> findByItemOwner(long userId, StateFilter stateFilter, BookingCursor cursor, int size) {
+        log.debug("Получение списка бронирований по id владельца вещи {}, фильтру {} и курсору {}",
+                userId, stateFilter, cursor);
+
+        return listingTimer("findByItemOwner", stateFilter, "cursor")
+                .record(() -> findByItemOwnerAfterCursor(userId, stateFilter, cursor, size));
+    }
+
+    private Slice<Booking> findByItemOwnerAfterCursor(long userId, StateFilter stateFilter, BookingCursor cursor,
+                                                      int size) {
+        knownUserCache.requireExists(userId);
+
+        if (cursor == null) {
+            return findByItemOwner(userId, stateFilter, PageRequest.of(0, size, KEYSET_TIE_BREAKER));
+        }
 
         LocalDateTime time = LocalDateTime.now();
-        PageRequest pageRequest = PageRequest.of((int) (from / size), size);
+        PageRequest pageRequest = PageRequest.of(0, size);
 
         switch (stateFilter) {
             case ALL:
-                return bookingRepository
-                        .findByItemOwnerIdOrderByStartDesc(userId, pageRequest).getContent();
+                return bookingRepository.findByItemOwnerIdAfterCursor(userId, cursor.getStart(), cursor.getId(),
+                        pageRequest);
             case CURRENT:
-                return bookingRepository
-                        .findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
-                                userId, time, time, pageRequest).getContent();
+                return bookingRepository.findCurrentByItemOwnerIdAfterCursor(userId, time, cursor.getStart(),
+                        cursor.getId(), pageRequest);
             case PAST:
-                return bookingRepository
-                        .findByItemOwnerIdAndEndLessThanOrderByStartDesc(userId, time, pageRequest)
-                        .getContent();
+                return bookingRepository.findPastByItemOwnerIdAfterCursor(userId, time, cursor.getStart(),
+                        cursor.getId(), pageRequest);
             case FUTURE:
-                return bookingRepository
-                        .findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(userId, time, pageRequest)
-                        .getContent();
+                return bookingRepository.findFutureByItemOwnerIdAfterCursor(userId, time, cursor.getStart(),
+                        cursor.getId(), pageRequest);
             case REJECTED:
-                return bookingRepository
-                        .findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, Status.REJECTED, pageRequest)
-                        .getContent();
+                return bookingRepository.findByItemOwnerIdAndStatusAfterCursor(userId, Status.REJECTED,
+                        cursor.getStart(), cursor.getId(), pageRequest);
             case APPROVED:
-                return bookingRepository
-                        .findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, Status.APPROVED, pageRequest)
-                        .getContent();
+                return bookingRepository.findByItemOwnerIdAndStatusAfterCursor(userId, Status.APPROVED,
+                        cursor.getStart(), cursor.getId(), pageRequest);
             case WAITING:
-                return bookingRepository
-                        .findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, Status.WAITING, pageRequest)
-                        .getContent();
+                return bookingRepository.findByItemOwnerIdAndStatusAfterCursor(userId, Status.WAITING,
+                        cursor.getStart(), cursor.getId(), pageRequest);
             default:
                 throw new NotImplementedException();
         }
@@ -141,26 +211,57 @@ public class BookingServiceImpl implements BookingService {
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Пользователь с id %d не найден.", userId));
 
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findForUpdateById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Вещь с id %d не найдена.", itemId));
 
-        if (!item.getAvailable()) {
-            throw new BookingException("Вещь %d не доступна для бронирования.", itemId);
-        }
+        Booking savedBooking = save(userId, booker, item, booking,
+                b -> bookingRepository.existsOverlapping(itemId, BookingAvailabilityIndex.BUSY_STATUSES,
+                        b.getStart(), b.getEnd()));
+        bookingTimelineCache.invalidate(itemId);
+        return savedBooking;
+    }
 
-        if (item.getOwner().getId().equals(userId)) {
-            throw new ForbiddenException("Бронирование своих вещей не разрешено.");
+    /**
+     * Бронирования проверяются по очереди, каждое следующее не должно пересекаться с уже принятыми,
+     * в том числе из этого же пакета. При ошибке в любом бронировании пакет не создается.
+     * Вставки выполняются пакетами JDBC при фиксации транзакции, поэтому пересечения с бронированиями
+     * в базе данных проверяются одним запросом по вещам пакета до первой вставки, а принятые бронирования пакета
+     * добавляются к найденным периодам.
+     */
+    @Transactional
+    @Override
+    public List<Booking> createAll(long userId, List<Booking> bookings) {
+        log.debug("Пакетное создание бронирований пользователем c id {}: {}", userId, bookings.size());
+        if (bookings.isEmpty()) {
+            throw new BookingException("Пакет бронирований не должен быть пустым.");
         }
 
-        if (!booking.getEnd().isAfter(booking.getStart())) {
-            throw new BookingException("Дата завершения бронирование должна быть позже даты начала.");
-        }
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id %d не найден.", userId));
 
-        booking.setBooker(booker);
-        booking.setItem(item);
-        booking.setStatus(Status.WAITING);
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllForUpdateByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<BookingInterval>> persistedIntervals = findPersistedIntervals(items.keySet(), bookings);
+
+        List<Booking> savedBookings = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            long itemId = booking.getItem().getId();
+            Item item = items.get(itemId);
+            if (item == null) {
+                throw new EntityNotFoundException("Вещь с id %d не найдена.", itemId);
+            }
+            List<BookingInterval> itemIntervals = persistedIntervals.computeIfAbsent(itemId, id -> new ArrayList<>());
+            Booking savedBooking = save(userId, booker, item, booking, b -> itemIntervals.stream()
+                    .anyMatch(interval -> interval.overlaps(b.getStart(), b.getEnd())));
+            itemIntervals.add(BookingInterval.of(savedBooking));
+            savedBookings.add(savedBooking);
+        }
 
-        return bookingRepository.save(booking);
+        itemIds.forEach(bookingTimelineCache::invalidate);
+        return savedBookings;
     }
 
     @Transactional
@@ -168,21 +269,146 @@ public class BookingServiceImpl implements BookingService {
     public Booking setApproved(long userId, long bookingId, boolean approve) {
         log.debug("Обновление статуса бронирования с id {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findFullById(bookingId)
                 .orElseThrow(() -> new EntityNotFoundException("Бронирование с id %d не найдено.", bookingId));
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id %d не найден.", userId));
+        knownUserCache.requireExists(userId);
 
         if (!booking.getItem().getOwner().getId().equals(userId)) {
             throw new ForbiddenException("Только владельцам вещи разрешено изменять статус бронирования.");
         }
 
+        // Изменение статуса упорядочивается с созданием бронирований вещи той же блокировкой строки вещи.
+        itemRepository.findForUpdateById(booking.getItem().getId());
+
         if (!booking.getStatus().equals(Status.WAITING)) {
             throw new BookingException("Только из состояние WAITING можно менять статус.");
         }
 
         booking.setStatus(approve ? Status.APPROVED : Status.REJECTED);
-        return bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        if (approve) {
+            bookingAvailabilityIndex.add(savedBooking);
+        } else {
+            bookingAvailabilityIndex.remove(savedBooking);
+        }
+        bookingTimelineCache.invalidate(booking.getItem().getId());
+        return savedBooking;
+    }
+
+    private Slice<Booking> findByBookerId(long userId, StateFilter stateFilter, PageRequest pageRequest) {
+        LocalDateTime time = LocalDateTime.now();
+
+        switch (stateFilter) {
+            case ALL:
+                return bookingRepository.findByBookerIdOrderByStartDesc(userId, pageRequest);
+            case CURRENT:
+                return bookingRepository
+                        .findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
+                                userId, time, time, pageRequest);
+            case PAST:
+                return bookingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(userId, time, pageRequest);
+            case FUTURE:
+                return bookingRepository.findByBookerIdAndStartGreaterThanOrderByStartDesc(userId, time, pageRequest);
+            case REJECTED:
+                return bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(userId, Status.REJECTED,
+                        pageRequest);
+            case APPROVED:
+                return bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(userId, Status.APPROVED,
+                        pageRequest);
+            case WAITING:
+                return bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(userId, Status.WAITING,
+                        pageRequest);
+            default:
+                throw new NotImplementedException();
+        }
+    }
+
+    private Slice<Booking> findByItemOwner(long userId, StateFilter stateFilter, PageRequest pageRequest) {
+        LocalDateTime time = LocalDateTime.now();
+
+        switch (stateFilter) {
+            case ALL:
+                return bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, pageRequest);
+            case CURRENT:
+                return bookingRepository
+                        .findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
+                                userId, time, time, pageRequest);
+            case PAST:
+                return bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(userId, time, pageRequest);
+            case FUTURE:
+                return bookingRepository.findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(userId, time,
+                        pageRequest);
+            case REJECTED:
+                return bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, Status.REJECTED,
+                        pageRequest);
+            case APPROVED:
+                return bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, Status.APPROVED,
+                        pageRequest);
+            case WAITING:
+                return bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, Status.WAITING,
+                        pageRequest);
+            default:
+                throw new NotImplementedException();
+        }
+    }
+
+    private Map<Long, List<BookingInterval>> findPersistedIntervals(Set<Long> itemIds, List<Booking> bookings) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        LocalDateTime start = bookings.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = bookings.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+        return bookingRepository.findIntervalsOverlapping(itemIds, BookingAvailabilityIndex.BUSY_STATUSES,
+                        start, end).stream()
+                .collect(Collectors.groupingBy(BookingInterval::getItemId));
+    }
+
+    private Timer listingTimer(String method, StateFilter stateFilter, String pagination) {
+        return listingTimers.computeIfAbsent(method + ':' + stateFilter + ':' + pagination,
+                key -> Timer.builder(LISTING_TIMER)
+                        .tag("method", method)
+                        .tag("state", stateFilter.name())
+                        .tag("pagination", pagination)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Проверка и сохранение бронирования вещи, строка которой заблокирована в текущей транзакции.
+     * Пересечение определяется только по базе данных под блокировкой вещи. Индекс занятости хранится в памяти
+     * одного экземпляра приложения и может отставать от базы данных: бронирование могли отклонить на другом экземпляре,
+     * а изменения индекса из незафиксированных транзакций вносятся до их отката. Поэтому при создании бронирования
+     * индекс только обновляется и не участвует в решении.
+     *
+     * @param overlapsPersisted проверка пересечения бронирования с бронированиями в базе данных.
+     */
+    private Booking save(long userId, User booker, Item item, Booking booking,
+                         Predicate<Booking> overlapsPersisted) {
+        long itemId = item.getId();
+
+        if (!item.getAvailable()) {
+            throw new BookingException("Вещь %d не доступна для бронирования.", itemId);
+        }
+
+        if (item.getOwner().getId().equals(userId)) {
+            throw new ForbiddenException("Бронирование своих вещей не разрешено.");
+        }
+
+        if (!booking.getEnd().isAfter(booking.getStart())) {
+            throw new BookingException("Дата завершения бронирование должна быть позже даты начала.");
+        }
+
+        if (overlapsPersisted.test(booking)) {
+            throw new BookingException("Вещь %d уже забронирована на пересекающийся период.", itemId);
+        }
+
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStatus(Status.WAITING);
+
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingAvailabilityIndex.add(savedBooking);
+        return savedBooking;
     }
 }
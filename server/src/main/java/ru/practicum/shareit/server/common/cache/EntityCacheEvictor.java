@@ -0,0 +1,50 @@
+package ru.practicum.shareit.server.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.item.entity.Comment;
+import ru.practicum.shareit.server.item.entity.Item;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Сброс кэша второго уровня для строк, которые база данных изменяет в обход Hibernate.
+ * Изменения сущностей через контекст персистентности Hibernate отражает в кэше сам.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    private static final String ITEM_COMMENTS_ROLE = Item.class.getName() + ".comments";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Сброс вещей и комментариев, которые база данных удаляет каскадно при удалении пользователя.
+     * Внутри транзакции выполняется также после ее завершения.
+     */
+    public void evictItemsAndComments() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        log.debug("Сброс кэша вещей и комментариев");
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(Comment.class);
+        cache.evictCollectionData(ITEM_COMMENTS_ROLE);
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник данных, направляющий транзакции только для чтения на реплики, а остальные обращения на основную базу.
+ * Реплики выбираются по кругу. Чтение пользователя, недавно зафиксировавшего изменения, выполняется
+ * из основной базы (см. {@link RecentWriters}), как и чтение внутри {@link RoutingContext#callOnPrimary}.
+ * Транзакция, получившая соединение реплики, отмечается в {@link RoutingContext}, чтобы прочитанное из реплики
+ * не сохранялось в кэши, а о выборе реплики сообщается слушателю.
+ * Признак транзакции только для чтения известен после ее начала, поэтому источник данных должен быть обернут
+ * в {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ * Пулы реплик принадлежат источнику данных и закрываются вместе с ним.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+
+    private final List<? extends DataSource> replicas;
+    private final int replicaCount;
+    private final RecentWriters recentWriters;
+    private final Runnable replicaReadListener;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                      RecentWriters recentWriters) {
+        this(primary, replicas, recentWriters, () -> {
+        });
+    }
+
+    /**
+     * @param replicaReadListener вызывается в транзакции при получении ею соединения реплики.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                      RecentWriters recentWriters, Runnable replicaReadListener) {
+        this.replicas = replicas;
+        this.replicaCount = replicas.size();
+        this.recentWriters = recentWriters;
+        this.replicaReadListener = replicaReadListener;
+
+        Map<Object, Object> dataSources = new HashMap<>();
+        dataSources.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            dataSources.put(REPLICA + i, replicas.get(i));
+        }
+        setTargetDataSources(dataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = RoutingContext.getUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.recordWrite(userId);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        if (replicaCount == 0 || RoutingContext.isPrimaryRequired()
+                || (userId != null && recentWriters.hasRecentWrite(userId))) {
+            return PRIMARY;
+        }
+
+        String replica = REPLICA + Math.floorMod(nextReplica.getAndIncrement(), replicaCount);
+        log.trace("Чтение из реплики {}", replica);
+        RoutingContext.markReplicaRead();
+        replicaReadListener.run();
+        return replica;
+    }
+
+    public List<? extends DataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.stream()
+                .filter(Closeable.class::isInstance)
+                .map(Closeable.class::cast)
+                .forEach(replica -> {
+                    try {
+                        replica.close();
+                    } catch (Exception e) {
+                        log.warn("Ошибка закрытия пула реплики", e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Пользователи, недавно изменявшие данные. Пока окно после записи не истекло,
+ * чтение таких пользователей выполняется из основной базы данных, а не из реплики,
+ * чтобы отставание реплики не скрывало от пользователя его собственные изменения.
+ */
+public class RecentWriters {
+
+    /**
+     * Количество записей, после которого при очередной записи удаляются истекшие.
+     */
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<Long, Long> writeTimes = new ConcurrentHashMap<>();
+
+    public RecentWriters(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * @param userId идентификатор пользователя, зафиксировавшего изменения.
+     */
+    public void recordWrite(long userId) {
+        long now = System.nanoTime();
+        if (writeTimes.size() > PURGE_THRESHOLD) {
+            writeTimes.values().removeIf(writeTime -> now - writeTime >= windowNanos);
+        }
+        writeTimes.put(userId, now);
+    }
+
+    /**
+     * @param userId идентификатор пользователя.
+     * @return true, если окно после последней записи пользователя не истекло.
+     */
+    public boolean hasRecentWrite(long userId) {
+        Long writeTime = writeTimes.get(userId);
+        return writeTime != null && System.nanoTime() - writeTime < windowNanos;
+    }
+}
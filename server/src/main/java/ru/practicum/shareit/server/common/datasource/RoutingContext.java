@@ -0,0 +1,78 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Состояние выбора источника данных для текущего потока: идентификатор пользователя, от имени которого
+ * выполняется запрос, требование читать из основной базы и признак транзакции, читающей из реплики.
+ */
+@UtilityClass
+public class RoutingContext {
+
+    private static final ThreadLocal<Long> USER_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    private static final String REPLICA_READ = RoutingContext.class.getName() + ".REPLICA_READ";
+
+    public static Long getUserId() {
+        return USER_ID.get();
+    }
+
+    public static void setUserId(Long userId) {
+        USER_ID.set(userId);
+    }
+
+    public static void clear() {
+        USER_ID.remove();
+    }
+
+    /**
+     * Выполнение действия, соединения которого берутся из основной базы даже в транзакции только для чтения.
+     * Соединение уже начатой транзакции не меняется, проверить его можно через {@link #isReplicaRead()}.
+     */
+    public static <T> T callOnPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Отметка текущей транзакции как читающей из реплики. Отметка снимается после завершения транзакции.
+     */
+    public static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_READ)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ);
+            }
+        });
+    }
+
+    /**
+     * @return true, если текущая транзакция читает из реплики. Прочитанное из реплики может отставать
+     * от основной базы и не должно сохраняться в кэши.
+     */
+    public static boolean isReplicaRead() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.server.common.datasource;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Заполнение {@link RoutingContext} идентификатором пользователя из заголовка запроса.
+ */
+public class RoutingContextInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId != null) {
+            try {
+                RoutingContext.setUserId(Long.parseLong(userId.trim()));
+            } catch (NumberFormatException ignored) {
+                // Некорректный заголовок отклоняется контроллером.
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RoutingContext.clear();
+    }
+}
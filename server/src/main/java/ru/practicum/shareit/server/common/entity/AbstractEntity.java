@@ -3,31 +3,42 @@ package ru.practicum.shareit.server.common.entity;
 import lombok.Getter;
 import lombok.Setter;
 
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
+import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import java.util.Objects;
 
-@Getter
-@Setter
+/**
+ * Сущность с идентификатором. Способ генерации идентификатора задается наследником.
+ */
 @MappedSuperclass
-public abstract class AbstractEntity {
+public abstract class AbstractEntity implements Versioned {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    /**
+     * Версия сущности для оптимистической блокировки, увеличивается при каждом изменении.
+     * Используется также для вычисления ETag ответов.
+     */
+    @Getter
+    @Setter
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Override
+    public abstract Long getId();
+
+    public abstract void setId(Long id);
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AbstractEntity that = (AbstractEntity) o;
-        return Objects.equals(id, that.id);
+        return Objects.equals(getId(), that.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Objects.hash(getId());
     }
 }
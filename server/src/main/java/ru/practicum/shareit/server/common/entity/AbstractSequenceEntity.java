@@ -0,0 +1,39 @@
+package ru.practicum.shareit.server.common.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+
+/**
+ * Сущность с идентификатором из последовательности своей таблицы.
+ * Идентификаторы выделяются блоками, вставки откладываются до сброса контекста и объединяются в пакеты.
+ */
+@Getter
+@Setter
+@MappedSuperclass
+public abstract class AbstractSequenceEntity extends AbstractEntity {
+
+    /**
+     * Количество идентификаторов, выделяемых одним обращением к последовательности.
+     * Должно совпадать с шагом последовательностей в схеме базы данных.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String ID_GENERATOR = "table_sequence";
+
+    @Id
+    @GeneratedValue(generator = ID_GENERATOR)
+    @GenericGenerator(name = ID_GENERATOR,
+            strategy = "ru.practicum.shareit.server.common.entity.TableSequenceIdGenerator",
+            parameters = {
+                    @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+                    @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+            })
+    private Long id;
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.server.common.entity;
+
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedNameParser;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Properties;
+
+/**
+ * Генератор идентификаторов из последовательности таблицы сущности с именем {@code <таблица>_seq}.
+ * Используется {@link AbstractSequenceEntity}.
+ */
+public class TableSequenceIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_SUFFIX = "_seq";
+
+    @Override
+    protected QualifiedName determineSequenceName(Properties params, Dialect dialect, JdbcEnvironment jdbcEnv,
+                                                  ServiceRegistry serviceRegistry) {
+        String table = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        return new QualifiedNameParser.NameParts(null, null,
+                jdbcEnv.getIdentifierHelper().toIdentifier(table + SEQUENCE_SUFFIX));
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.server.common.entity;
+
+/**
+ * Объект с идентификатором и версией, по которым вычисляется ETag ответа.
+ */
+public interface Versioned {
+
+    Long getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.server.common.etag;
+
+import org.hibernate.Hibernate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.server.common.entity.AbstractEntity;
+import ru.practicum.shareit.server.common.entity.Versioned;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Построитель строгого ETag ответа по версиям вошедших в него сущностей.
+ * Тег меняется при изменении любой сущности, а также при добавлении или удалении элементов коллекций,
+ * поэтому сериализация ответа для его вычисления не требуется.
+ */
+public final class EntityTag {
+
+    private static final Comparator<AbstractEntity> BY_ID =
+            Comparator.comparing(AbstractEntity::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final StringBuilder tokens = new StringBuilder();
+
+    private EntityTag() {
+    }
+
+    public static EntityTag builder() {
+        return new EntityTag();
+    }
+
+    /**
+     * Добавление сущности или ее снимка. Отсутствующая сущность также учитывается, чтобы различать ее появление.
+     */
+    public EntityTag add(@Nullable Versioned entity) {
+        if (entity == null) {
+            tokens.append("-;");
+        } else {
+            tokens.append(Hibernate.getClass(entity).getSimpleName())
+                    .append(':').append(entity.getId())
+                    .append(':').append(entity.getVersion())
+                    .append(';');
+        }
+        return this;
+    }
+
+    /**
+     * Добавление значений, описывающих состояние данных без их загрузки, например количества элементов коллекции
+     * и наибольшего идентификатора.
+     */
+    public EntityTag addValues(Object... values) {
+        for (Object value : values) {
+            tokens.append(value).append(';');
+        }
+        return this;
+    }
+
+    /**
+     * Добавление коллекции сущностей в порядке идентификаторов.
+     */
+    public EntityTag addAll(@Nullable Collection<? extends AbstractEntity> entities) {
+        return addAll(entities, entity -> null);
+    }
+
+    /**
+     * Добавление коллекции сущностей в порядке идентификаторов, каждая вместе со связанной с ней сущностью.
+     */
+    public <T extends AbstractEntity> EntityTag addAll(@Nullable Collection<T> entities,
+                                                       Function<? super T, ? extends AbstractEntity> related) {
+        if (entities == null) {
+            return add(null);
+        }
+        tokens.append('[');
+        entities.stream().sorted(BY_ID).forEach(entity -> {
+            add(entity);
+            AbstractEntity relatedEntity = related.apply(entity);
+            if (relatedEntity != null) {
+                add(relatedEntity);
+            }
+        });
+        tokens.append(']');
+        return this;
+    }
+
+    /**
+     * @return значение ETag в кавычках.
+     */
+    public String build() {
+        return '"' + DigestUtils.md5DigestAsHex(tokens.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
@@ -4,12 +4,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.server.booking.exception.BookingException;
+import ru.practicum.shareit.server.common.sqltrace.StatementBudgetExceededException;
 import ru.practicum.shareit.server.item.exception.ItemException;
 
 import javax.validation.ConstraintViolation;
@@ -54,6 +56,15 @@ public class RestExceptionHandler {
         return new RestException(message, ex.getCause(), HttpStatus.CONFLICT);
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
+    public RestException handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        String message = String.format("Сущность %s с id %s была изменена другим запросом, повторите операцию.",
+                ex.getPersistentClassName(), ex.getIdentifier());
+        log.info(message);
+        return new RestException(message, ex.getCause(), HttpStatus.CONFLICT);
+    }
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(value = EntityNotFoundException.class)
     public RestException handleNotFoundException(Exception ex) {
@@ -86,6 +97,14 @@ public class RestExceptionHandler {
         return new RestException(message, ex.getCause(), HttpStatus.BAD_REQUEST);
     }
 
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    @ExceptionHandler(value = StatementBudgetExceededException.class)
+    public RestException handleStatementBudgetExceededException(StatementBudgetExceededException ex) {
+        String message = ex.getMessage();
+        log.warn(message);
+        return new RestException(message, ex.getCause(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(value = ConversionFailedException.class)
     public RestException handeConversionFailedException(ConversionFailedException ex) {
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.server.common.mapper;
 
 import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.server.common.entity.AbstractEntity;
@@ -11,5 +12,6 @@ import ru.practicum.shareit.server.common.entity.AbstractEntity;
 public interface AbstractEntityCopier<T extends AbstractEntity> {
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
     void update(@MappingTarget T entity, T sourceEntity);
 }
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.server.common.sqltrace;
+
+import lombok.Getter;
+
+/**
+ * Статистика SQL запросов, выполненных при обработке одного HTTP запроса.
+ */
+@Getter
+public class RequestSqlTrace {
+
+    /**
+     * Метод контроллера, обрабатывающий запрос, в виде Класс.метод.
+     */
+    private final String handler;
+
+    private int statementCount;
+    private long rowCount;
+    private long elapsedMillis;
+
+    public RequestSqlTrace(String handler) {
+        this.handler = handler;
+    }
+
+    void addStatement(long elapsedMillis) {
+        statementCount++;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    void addRows(long rows) {
+        rowCount += rows;
+    }
+}
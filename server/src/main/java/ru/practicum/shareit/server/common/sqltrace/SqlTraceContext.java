@@ -0,0 +1,24 @@
+package ru.practicum.shareit.server.common.sqltrace;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Статистика SQL запросов текущего HTTP запроса.
+ */
+@UtilityClass
+public class SqlTraceContext {
+
+    private static final ThreadLocal<RequestSqlTrace> TRACE = new ThreadLocal<>();
+
+    public static RequestSqlTrace get() {
+        return TRACE.get();
+    }
+
+    public static void start(String handler) {
+        TRACE.set(new RequestSqlTrace(handler));
+    }
+
+    public static void clear() {
+        TRACE.remove();
+    }
+}
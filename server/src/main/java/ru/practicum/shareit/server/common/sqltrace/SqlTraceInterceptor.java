@@ -0,0 +1,70 @@
+package ru.practicum.shareit.server.common.sqltrace;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Подсчет SQL запросов на каждый HTTP запрос. Количество учитывается в метриках после завершения запроса,
+ * превышение допустимого количества журналируется. Завершение запроса исключением при превышении выполняет
+ * {@link SqlTraceListener} до выполнения лишнего SQL запроса, пока ответ еще не отправлен.
+ */
+@Slf4j
+public class SqlTraceInterceptor implements HandlerInterceptor {
+
+    /**
+     * Распределение количества SQL запросов на HTTP запрос с тегом метода контроллера.
+     */
+    public static final String STATEMENTS_PER_REQUEST = "shareit.sql.statements.per.request";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    /**
+     * @param statementBudget допустимое количество SQL запросов на HTTP запрос, 0 - без ограничения.
+     */
+    public SqlTraceInterceptor(MeterRegistry meterRegistry, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlTraceContext.start(handlerName(handler));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestSqlTrace trace = SqlTraceContext.get();
+        SqlTraceContext.clear();
+        if (trace == null) {
+            return;
+        }
+
+        DistributionSummary.builder(STATEMENTS_PER_REQUEST)
+                .tag("handler", trace.getHandler())
+                .register(meterRegistry)
+                .record(trace.getStatementCount());
+        log.debug("{} выполнил SQL запросов: {}, строк: {}, время: {} мс", trace.getHandler(),
+                trace.getStatementCount(), trace.getRowCount(), trace.getElapsedMillis());
+        if (statementBudget > 0 && trace.getStatementCount() > statementBudget) {
+            log.warn("Превышено допустимое количество SQL запросов: {} выполнил {} при допустимых {}",
+                    trace.getHandler(), trace.getStatementCount(), statementBudget);
+        }
+    }
+
+    private static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return SqlTraceListener.NO_HANDLER;
+    }
+}
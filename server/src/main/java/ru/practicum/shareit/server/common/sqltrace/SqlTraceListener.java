@@ -0,0 +1,145 @@
+package ru.practicum.shareit.server.common.sqltrace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Учет SQL запросов: время выполнения каждого запроса с привязкой к методу контроллера,
+ * количество прочитанных и измененных строк, журнал медленных запросов.
+ * Реестр метрик передается после создания источника данных, до этого время запросов в метриках не учитывается.
+ * <p>
+ * При включенном завершении исключением запрос, превышающий допустимое количество SQL запросов на HTTP запрос,
+ * не выполняется: {@link StatementBudgetExceededException} выбрасывается из метода контроллера до отправки ответа,
+ * что позволяет обнаруживать проблему N+1 в тестах.
+ */
+@Slf4j
+public class SqlTraceListener extends JdbcLifecycleEventListenerAdapter implements MeterBinder {
+
+    /**
+     * Таймер SQL запросов с тегами метода контроллера и вида запроса.
+     */
+    public static final String STATEMENT_TIMER = "shareit.sql.statements";
+
+    /**
+     * Метод контроллера для запросов, выполненных вне обработки HTTP запроса.
+     */
+    static final String NO_HANDLER = "none";
+
+    private final long slowThresholdMillis;
+    private final int statementBudget;
+    private final boolean failOnBudgetExceeded;
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * @param statementBudget      допустимое количество SQL запросов на HTTP запрос, 0 - без ограничения.
+     * @param failOnBudgetExceeded завершать HTTP запрос исключением при превышении.
+     */
+    public SqlTraceListener(Duration slowThreshold, int statementBudget, boolean failOnBudgetExceeded) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.statementBudget = statementBudget;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlTrace trace = SqlTraceContext.get();
+        if (!failOnBudgetExceeded || statementBudget <= 0 || trace == null
+                || trace.getStatementCount() < statementBudget) {
+            return;
+        }
+        throw new StatementBudgetExceededException(trace.getHandler(), trace.getStatementCount() + 1,
+                statementBudget);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlTrace trace = SqlTraceContext.get();
+        String handler = trace == null ? NO_HANDLER : trace.getHandler();
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        long elapsedMillis = execInfo.getElapsedTime();
+        long updatedRows = updatedRows(execInfo.getResult());
+
+        if (trace != null) {
+            trace.addStatement(elapsedMillis);
+            trace.addRows(updatedRows);
+        }
+
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            Timer.builder(STATEMENT_TIMER)
+                    .tag("handler", handler)
+                    .tag("operation", operation(sql))
+                    .register(registry)
+                    .record(elapsedMillis, TimeUnit.MILLISECONDS);
+        }
+
+        if (elapsedMillis >= slowThresholdMillis) {
+            log.warn("Медленный SQL запрос ({} мс, пакет {}, изменено строк {}) из {}: {}", elapsedMillis,
+                    execInfo.getBatchSize(), updatedRows, handler, sql);
+        } else {
+            log.trace("SQL запрос ({} мс, изменено строк {}) из {}: {}", elapsedMillis, updatedRows, handler, sql);
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        RequestSqlTrace trace = SqlTraceContext.get();
+        if (trace != null && Boolean.TRUE.equals(executionContext.getResult())) {
+            trace.addRows(1);
+        }
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer) {
+            return Math.max((Integer) result, 0);
+        }
+        if (result instanceof int[]) {
+            long rows = 0;
+            for (int count : (int[]) result) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        return 0;
+    }
+
+    private static String operation(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        switch (statement.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select":
+            case "with":
+                return "select";
+            case "insert":
+                return "insert";
+            case "update":
+                return "update";
+            case "delete":
+                return "delete";
+            default:
+                return "other";
+        }
+    }
+}
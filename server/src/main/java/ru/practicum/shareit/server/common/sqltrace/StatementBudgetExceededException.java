@@ -0,0 +1,12 @@
+package ru.practicum.shareit.server.common.sqltrace;
+
+/**
+ * Превышение допустимого количества SQL запросов на один HTTP запрос, как правило из-за проблемы N+1.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String handler, int statementCount, int statementBudget) {
+        super(String.format("%s выполнил %d SQL запросов при допустимых %d.", handler, statementCount,
+                statementBudget));
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.server.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.server.common.datasource.ReadWriteRoutingDataSource;
+import ru.practicum.shareit.server.common.datasource.RecentWriters;
+import ru.practicum.shareit.server.common.datasource.RoutingContextInterceptor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разделение обращений к базе данных: транзакции только для чтения выполняются на репликах,
+ * остальные обращения и миграции - на основной базе.
+ * Пулы реплик создаются с настройками основного пула и учетными данными основной базы.
+ * Прочитанное из реплики не сохраняется в кэш второго уровня.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${shareit.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${shareit.datasource.read-your-writes-window:5s}") Duration window,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(replicaUrls.get(i));
+            replica.setReadOnly(true);
+            replica.setPoolName("replica-" + i);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, new RecentWriters(window),
+                () -> disableCachePuts(entityManagerFactory));
+    }
+
+    /**
+     * Метрики пулов реплик. Пул основной базы является бином и регистрируется в метриках автоматически.
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReadWriteRoutingDataSource routingDataSource) {
+        return registry -> routingDataSource.getReplicas().stream()
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .forEach(replica -> replica.setMetricRegistry(registry));
+    }
+
+    /**
+     * Соединение выбирается при первом запросе к базе, когда признак транзакции только для чтения уже установлен.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Сущности и результаты запросов, прочитанные из реплики, могут отставать от основной базы, поэтому
+     * сессия транзакции, читающей из реплики, только читает кэш второго уровня, но не заполняет его.
+     * Фабрика сущностей получается при первом чтении из реплики, так как сама зависит от источника данных.
+     */
+    private static void disableCachePuts(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        EntityManager entityManager = factory == null ? null
+                : EntityManagerFactoryUtils.getTransactionalEntityManager(factory);
+        if (entityManager == null) {
+            return;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (session.isOpen()) {
+                    session.setCacheMode(previousCacheMode);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RoutingContextInterceptor());
+    }
+}
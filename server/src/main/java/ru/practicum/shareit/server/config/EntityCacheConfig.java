@@ -0,0 +1,72 @@
+package ru.practicum.shareit.server.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Регионы кэша второго уровня Hibernate в памяти процесса.
+ * Размер каждого региона ограничен, статистика регионов публикуется через JMX (javax.cache:type=CacheStatistics).
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String USER_REGION = "user";
+    public static final String ITEM_REGION = "item";
+    public static final String ITEM_COMMENTS_REGION = "item.comments";
+    public static final String COMMENT_REGION = "comment";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Отдельный менеджер кэшей на каждый контекст приложения, чтобы контексты не разделяли закэшированные сущности.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${shareit.entity-cache.user-size:10000}") long userSize,
+                                           @Value("${shareit.entity-cache.item-size:10000}") long itemSize,
+                                           @Value("${shareit.entity-cache.item-comments-size:10000}")
+                                           long itemCommentsSize,
+                                           @Value("${shareit.entity-cache.comment-size:50000}") long commentSize,
+                                           @Value("${shareit.entity-cache.query-size:1000}") long querySize) {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        Map.of(USER_REGION, userSize,
+                        ITEM_REGION, itemSize,
+                        ITEM_COMMENTS_REGION, itemCommentsSize,
+                        COMMENT_REGION, commentSize,
+                        QUERY_RESULTS_REGION, querySize)
+                .forEach((region, size) -> cacheManager.createCache(region, regionConfiguration(size)));
+
+        // Метки времени изменения таблиц не вытесняются, иначе закэшированные запросы могут вернуть устаревший результат.
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration(null));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(Long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        configuration.setStatisticsEnabled(true);
+        configuration.setManagementEnabled(true);
+        return configuration;
+    }
+}
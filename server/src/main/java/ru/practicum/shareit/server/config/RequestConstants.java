@@ -6,4 +6,5 @@ import lombok.experimental.UtilityClass;
 public class RequestConstants {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
     public static final String DEFAULT_PAGE_SIZE = "50";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 }
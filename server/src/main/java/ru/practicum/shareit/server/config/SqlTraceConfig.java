@@ -0,0 +1,67 @@
+package ru.practicum.shareit.server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.server.common.sqltrace.SqlTraceInterceptor;
+import ru.practicum.shareit.server.common.sqltrace.SqlTraceListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Трассировка SQL запросов через прокси над основным источником данных приложения.
+ * Оборачивается только бин dataSource, которым пользуется JPA, пулы соединений остаются доступны по своему типу.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-trace.enabled", havingValue = "true")
+public class SqlTraceConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public SqlTraceListener sqlTraceListener(@Value("${shareit.sql-trace.slow-threshold:200ms}")
+                                             Duration slowThreshold,
+                                             @Value("${shareit.sql-trace.statement-budget:0}")
+                                             int statementBudget,
+                                             @Value("${shareit.sql-trace.fail-on-budget-exceeded:false}")
+                                             boolean failOnBudgetExceeded) {
+        return new SqlTraceListener(slowThreshold, statementBudget, failOnBudgetExceeded);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlTraceDataSourcePostProcessor(ObjectProvider<SqlTraceListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(DATA_SOURCE_BEAN)
+                        .listener(listener.getObject())
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlTraceWebMvcConfigurer(MeterRegistry meterRegistry,
+                                                     @Value("${shareit.sql-trace.statement-budget:0}")
+                                                     int statementBudget) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new SqlTraceInterceptor(meterRegistry, statementBudget));
+            }
+        };
+    }
+}
@@ -3,7 +3,9 @@ package ru.practicum.shareit.server.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
+import ru.practicum.shareit.server.user.dto.UserCursor;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -11,5 +13,7 @@ public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new StateFilter.StringToStateFilterConverter());
+        registry.addConverter(new BookingCursor.StringToBookingCursorConverter());
+        registry.addConverter(new UserCursor.StringToUserCursorConverter());
     }
 }
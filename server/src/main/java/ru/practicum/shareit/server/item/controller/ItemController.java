@@ -2,10 +2,15 @@ package ru.practicum.shareit.server.item.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.item.dto.*;
 import ru.practicum.shareit.server.item.entity.Item;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.server.config.RequestConstants.DEFAULT_PAGE_SIZE;
@@ -37,11 +42,11 @@ public interface ItemController {
      *
      * @param userId идентификатор пользователя (не владельца).
      * @param id     идентификатор вещи.
-     * @return вещь.
+     * @return вещь с ETag. При совпадении If-None-Match возвращается 304 без тела.
      */
     @GetMapping("/{id}")
     @Operation(summary = "Получение вещи по идентификатору")
-    ItemResponse getById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long id);
+    ResponseEntity<ItemResponse> getById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable long id);
 
     /**
      * Создание вещи.
@@ -55,6 +60,30 @@ public interface ItemController {
     ItemResponse create(@RequestHeader(USER_ID_HEADER) long userId,
                         @RequestBody ItemCreateRequest itemCreateRequest);
 
+    /**
+     * Пакетное создание вещей. Создаются все вещи пакета или ни одной.
+     *
+     * @param userId             идентификатор пользователя.
+     * @param itemCreateRequests параметры вещей.
+     * @return созданные вещи в порядке запроса.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Пакетная публикация вещей")
+    List<ItemResponse> createAll(@RequestHeader(USER_ID_HEADER) long userId,
+                                 @RequestBody List<ItemCreateRequest> itemCreateRequests);
+
+    /**
+     * Импорт вещей из потока JSON-строк, по одной вещи в строке. Вещи сохраняются порциями,
+     * строки с ошибками пропускаются и перечисляются в ответе.
+     *
+     * @param userId идентификатор пользователя.
+     * @param body   строки с параметрами вещей.
+     * @return количество импортированных вещей и ошибки по номерам строк.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Импорт вещей из NDJSON")
+    ItemImportResponse importItems(@RequestHeader(USER_ID_HEADER) long userId, InputStream body);
+
     /**
      * Обновление вещи.
      *
@@ -74,14 +103,20 @@ public interface ItemController {
      *
      * @param userId идентификатор пользователя.
      * @param text   подстрока для регистронезависимого поиска.
+     * @param start  начало периода, на который вещь должна быть свободна (необязательно).
+     * @param end    окончание периода (не включительно), задается вместе с началом.
      * @param from   индекс первого элемента.
      * @param size   количество элементов для отображения.
-     * @return список найденных доступных вещей.
+     * @return список найденных доступных вещей без подтвержденных бронирований на период.
      */
     @GetMapping("/search")
     @Operation(summary = "Поиск доступных вещей по наименованию или описанию")
     List<ItemResponse> search(@RequestHeader(USER_ID_HEADER) long userId,
                               @RequestParam String text,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                              LocalDateTime start,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                              LocalDateTime end,
                               @RequestParam(defaultValue = "0") long from,
                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size);
 
@@ -98,4 +133,22 @@ public interface ItemController {
     CommentResponse addComment(@RequestHeader(USER_ID_HEADER) long userId,
                                @PathVariable long itemId,
                                @RequestBody CommentCreateRequest commentCreateRequest);
-}
\ No newline at end of file
+
+    /**
+     * Получение занятости вещи: объединенных периодов бронирований и свободных промежутков в окне.
+     *
+     * @param userId идентификатор пользователя.
+     * @param id     идентификатор вещи.
+     * @param from   начало окна.
+     * @param to     окончание окна (не включительно).
+     * @return занятость вещи в окне.
+     */
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Получение занятости вещи в окне")
+    ItemAvailabilityResponse getAvailability(@RequestHeader(USER_ID_HEADER) long userId,
+                                             @PathVariable long id,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                             LocalDateTime to);
+}
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.server.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.server.common.etag.EntityTag;
 import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.CommentSummary;
 import ru.practicum.shareit.server.item.service.ItemService;
 import ru.practicum.shareit.server.item.dto.*;
 import ru.practicum.shareit.server.item.mapper.CommentConverter;
+import ru.practicum.shareit.server.item.importer.ItemImporter;
 import ru.practicum.shareit.server.item.mapper.ItemConverter;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,6 +26,7 @@ public class ItemControllerImpl implements ItemController {
     private final ItemConverter itemConverter;
     private final CommentConverter commentConverter;
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
 
     /**
      * {@inheritDoc}
@@ -33,8 +40,21 @@ public class ItemControllerImpl implements ItemController {
      * {@inheritDoc}
      */
     @Override
-    public ItemResponse getById(long userId, long id) {
-        return itemConverter.convert(itemService.getById(userId, id), userId);
+    public ResponseEntity<ItemResponse> getById(long userId, long id) {
+        // Состояние комментариев читается до вещи: если они изменятся между запросами, тег окажется старше ответа
+        // и следующий условный запрос получит новый ответ.
+        CommentSummary comments = itemService.getCommentSummary(id);
+        Item item = itemService.getById(userId, id);
+        String eTag = EntityTag.builder()
+                .add(item)
+                .addValues(comments.getCount(), comments.getMaxId(), comments.getMaxCreated(),
+                        comments.getAuthorVersions())
+                .add(item.getLastBooking())
+                .add(item.getNextBooking())
+                .build();
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(itemConverter.convert(item, userId));
     }
 
     /**
@@ -47,6 +67,24 @@ public class ItemControllerImpl implements ItemController {
                 userId);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ItemResponse> createAll(long userId, List<ItemCreateRequest> itemCreateRequests) {
+        return itemConverter.convert(
+                itemService.createAll(userId, itemConverter.convertCreateRequestDto(itemCreateRequests)),
+                userId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ItemImportResponse importItems(long userId, InputStream body) {
+        return itemConverter.convert(itemImporter.importItems(userId, body));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -61,8 +99,9 @@ public class ItemControllerImpl implements ItemController {
      * {@inheritDoc}
      */
     @Override
-    public List<ItemResponse> search(long userId, String text, long from, int size) {
-        return itemConverter.convert(itemService.findAvailableBySubstring(text, from, size), userId);
+    public List<ItemResponse> search(long userId, String text, LocalDateTime start, LocalDateTime end, long from,
+                                     int size) {
+        return itemConverter.convert(itemService.findAvailableBySubstring(text, start, end, from, size), userId);
     }
 
     /**
@@ -73,4 +112,12 @@ public class ItemControllerImpl implements ItemController {
         return commentConverter.convert(
                 itemService.addComment(userId, itemId, commentConverter.convert(commentCreateRequest)));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ItemAvailabilityResponse getAvailability(long userId, long id, LocalDateTime from, LocalDateTime to) {
+        return itemConverter.convert(itemService.getAvailability(id, from, to));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.server.item.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.item.entity.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Параметры ответа для занятости {@link Item}.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Занятость вещи в окне")
+public class ItemAvailabilityResponse {
+
+    @Schema(description = "Идентификатор вещи", example = "1")
+    Long itemId;
+
+    @Schema(description = "Начало окна")
+    LocalDateTime from;
+
+    @Schema(description = "Окончание окна (не включительно)")
+    LocalDateTime to;
+
+    @Schema(description = "Объединенные периоды бронирований в статусах WAITING и APPROVED")
+    List<SlotView> busy;
+
+    @Schema(description = "Свободные промежутки")
+    List<SlotView> free;
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @Schema(description = "Период [start, end)")
+    public static class SlotView {
+
+        @Schema(description = "Начало периода")
+        LocalDateTime start;
+
+        @Schema(description = "Окончание периода (не включительно)")
+        LocalDateTime end;
+    }
+}
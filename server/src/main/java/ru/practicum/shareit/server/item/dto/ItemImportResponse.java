@@ -0,0 +1,42 @@
+package ru.practicum.shareit.server.item.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.item.entity.Item;
+
+import java.util.List;
+
+/**
+ * Параметры ответа для импорта {@link Item}.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Итог импорта вещей")
+public class ItemImportResponse {
+
+    @Schema(description = "Количество сохраненных вещей", example = "49998")
+    Long imported;
+
+    @Schema(description = "Количество отклоненных строк", example = "2")
+    Long failed;
+
+    @Schema(description = "Ошибки по строкам, список ограничен по размеру")
+    List<LineErrorView> errors;
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @Schema(description = "Ошибка в строке")
+    public static class LineErrorView {
+
+        @Schema(description = "Номер строки, начиная с 1", example = "17")
+        Long line;
+
+        @Schema(description = "Описание ошибки", example = "Наименование не может быть пустым.")
+        String message;
+    }
+}
@@ -5,11 +5,15 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
-import ru.practicum.shareit.server.common.entity.AbstractEntity;
+import ru.practicum.shareit.server.common.entity.AbstractSequenceEntity;
+import ru.practicum.shareit.server.config.EntityCacheConfig;
 import ru.practicum.shareit.server.user.entity.User;
 
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
 import java.time.LocalDateTime;
 
@@ -21,10 +25,11 @@ import java.time.LocalDateTime;
 @ToString
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-public class Comment extends AbstractEntity {
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.COMMENT_REGION)
+public class Comment extends AbstractSequenceEntity {
 
     @ToString.Exclude
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User author;
 
     @CreationTimestamp
@@ -33,6 +38,6 @@ public class Comment extends AbstractEntity {
     String text;
 
     @ToString.Exclude
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Item item;
 }
@@ -5,12 +5,19 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.FieldDefaults;
-import ru.practicum.shareit.server.booking.entity.Booking;
-import ru.practicum.shareit.server.common.entity.AbstractEntity;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.server.common.entity.AbstractSequenceEntity;
+import ru.practicum.shareit.server.config.EntityCacheConfig;
+import ru.practicum.shareit.server.item.timeline.TimelineBooking;
 import ru.practicum.shareit.server.user.entity.User;
 
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Transient;
 import java.util.Set;
@@ -23,10 +30,19 @@ import java.util.Set;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @ToString
 @Entity
-public class Item extends AbstractEntity {
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.ITEM_REGION)
+@NamedEntityGraph(name = Item.WITH_COMMENTS,
+        attributeNodes = @NamedAttributeNode(value = "comments", subgraph = "comments"),
+        subgraphs = @NamedSubgraph(name = "comments", attributeNodes = @NamedAttributeNode("author")))
+public class Item extends AbstractSequenceEntity {
+
+    /**
+     * Вещь с комментариями и их авторами для ответа с вещью.
+     */
+    public static final String WITH_COMMENTS = "Item.withComments";
 
     @ToString.Exclude
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User owner;
 
     String name;
@@ -37,11 +53,12 @@ public class Item extends AbstractEntity {
 
     @ToString.Exclude
     @OneToMany(mappedBy = "item")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.ITEM_COMMENTS_REGION)
     Set<Comment> comments;
 
     @Transient
-    Booking nextBooking;
+    TimelineBooking nextBooking;
 
     @Transient
-    Booking lastBooking;
+    TimelineBooking lastBooking;
 }
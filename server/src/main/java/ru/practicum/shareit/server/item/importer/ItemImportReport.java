@@ -0,0 +1,57 @@
+package ru.practicum.shareit.server.item.importer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог импорта вещей: количество сохраненных и отклоненных строк и ошибки по номерам строк.
+ * Хранится не больше заданного количества ошибок, остальные только подсчитываются.
+ */
+@Getter
+@ToString
+public class ItemImportReport {
+
+    @Getter(AccessLevel.NONE)
+    private final int maxErrors;
+
+    private long imported;
+    private long failed;
+    private final List<LineError> errors = new ArrayList<>();
+
+    public ItemImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new LineError(line, message));
+        }
+    }
+
+    /**
+     * Ошибка в строке импорта.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static class LineError {
+
+        /**
+         * Номер строки, начиная с 1.
+         */
+        long line;
+        String message;
+    }
+}
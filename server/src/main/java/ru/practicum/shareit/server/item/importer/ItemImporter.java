@@ -0,0 +1,163 @@
+package ru.practicum.shareit.server.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
+import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.mapper.ItemConverter;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт вещей из потока JSON-строк (NDJSON), по одному {@link ItemCreateRequest} в строке.
+ * Поток читается построчно, корректные строки сохраняются порциями, каждая в своей транзакции,
+ * поэтому в памяти находится не больше одной порции. Сохраненные порции не откатываются
+ * при ошибках в следующих строках.
+ */
+@Slf4j
+@Component
+public class ItemImporter {
+
+    private final ItemService itemService;
+    private final KnownUserCache knownUserCache;
+    private final ItemConverter itemConverter;
+    private final Validator validator;
+    private final ObjectReader itemReader;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ItemImporter(ItemService itemService,
+                        KnownUserCache knownUserCache,
+                        ItemConverter itemConverter,
+                        Validator validator,
+                        ObjectMapper objectMapper,
+                        @Value("${shareit.item-import.chunk-size:500}") int chunkSize,
+                        @Value("${shareit.item-import.max-errors:1000}") int maxErrors) {
+        this.itemService = itemService;
+        this.knownUserCache = knownUserCache;
+        this.itemConverter = itemConverter;
+        this.validator = validator;
+        this.itemReader = objectMapper.readerFor(ItemCreateRequest.class);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Импорт вещей пользователя.
+     *
+     * @param userId идентификатор владельца вещей.
+     * @param body   строки в кодировке UTF-8, пустые строки пропускаются.
+     * @return количество сохраненных вещей и ошибки по номерам строк.
+     */
+    public ItemImportReport importItems(long userId, InputStream body) {
+        log.debug("Импорт вещей пользователем {}", userId);
+        knownUserCache.requireExists(userId);
+
+        ItemImportReport report = new ItemImportReport(maxErrors);
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Item item = parse(line, lineNumber, report);
+                if (item != null) {
+                    chunk.add(item);
+                    chunkLines.add(lineNumber);
+                }
+
+                if (chunk.size() == chunkSize) {
+                    save(userId, chunk, chunkLines, report);
+                    chunk.clear();
+                    chunkLines.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!chunk.isEmpty()) {
+            save(userId, chunk, chunkLines, report);
+        }
+
+        log.info("Импорт вещей пользователем {} завершен: сохранено {}, отклонено {}", userId,
+                report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private Item parse(String line, long lineNumber, ItemImportReport report) {
+        ItemCreateRequest request;
+        try {
+            request = itemReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            report.addError(lineNumber, "Некорректный JSON: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<ItemCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            report.addError(lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" ")));
+            return null;
+        }
+        return itemConverter.convertCreateRequestDto(request);
+    }
+
+    /**
+     * Сохранение порции одной транзакцией. Если порция отклонена базой данных или ссылается
+     * на несуществующий запрос, вещи сохраняются по одной, чтобы отклонить только строки с ошибками.
+     */
+    private void save(long userId, List<Item> items, List<Long> lineNumbers, ItemImportReport report) {
+        try {
+            itemService.createAll(userId, items);
+            report.addImported(items.size());
+            return;
+        } catch (DataAccessException e) {
+            log.info("Порция из {} вещей не сохранена, сохранение по одной: {}", items.size(),
+                    e.getMostSpecificCause().getMessage());
+        } catch (EntityNotFoundException e) {
+            log.info("Порция из {} вещей не сохранена, сохранение по одной: {}", items.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            item.setId(null);
+            item.setVersion(null);
+            try {
+                itemService.create(userId, item);
+                report.addImported(1);
+            } catch (DataAccessException e) {
+                report.addError(lineNumbers.get(i), "Вещь не сохранена: " + e.getMostSpecificCause().getMessage());
+            } catch (EntityNotFoundException e) {
+                report.addError(lineNumbers.get(i), "Вещь не сохранена: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.server.item.mapper;
 
 import org.mapstruct.*;
-import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.availability.ItemAvailability;
 import ru.practicum.shareit.server.item.entity.Comment;
 import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.importer.ItemImportReport;
 import ru.practicum.shareit.server.item.dto.CommentResponse;
+import ru.practicum.shareit.server.item.dto.ItemAvailabilityResponse;
 import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
+import ru.practicum.shareit.server.item.dto.ItemImportResponse;
 import ru.practicum.shareit.server.item.dto.ItemResponse;
 import ru.practicum.shareit.server.item.dto.ItemUpdateRequest;
+import ru.practicum.shareit.server.item.timeline.TimelineBooking;
 
 import java.util.List;
 
@@ -25,15 +29,20 @@ public interface ItemConverter {
             conditionExpression = "java(entity.getOwner().getId().equals(requestUserid))")
     ItemResponse convert(Item entity, @Context long requestUserid);
 
-    @Mapping(source = "booker.id", target = "bookerId")
-    ItemResponse.BookingView convert(Booking booking);
+    ItemResponse.BookingView convert(TimelineBooking booking);
 
     @Mapping(source = "author.name", target = "authorName")
     CommentResponse convert(Comment entity);
 
     List<ItemResponse> convert(List<Item> entities, @Context long requestUserId);
 
+    ItemAvailabilityResponse convert(ItemAvailability availability);
+
+    ItemImportResponse convert(ItemImportReport report);
+
     Item convertCreateRequestDto(ItemCreateRequest entityCreateRequestDto);
 
+    List<Item> convertCreateRequestDto(List<ItemCreateRequest> entityCreateRequestDtos);
+
     Item convertUpdateRequestDto(ItemUpdateRequest entityUpdateRequestDto);
 }
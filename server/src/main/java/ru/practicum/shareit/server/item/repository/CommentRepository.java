@@ -1,7 +1,26 @@
 package ru.practicum.shareit.server.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.server.item.entity.Comment;
 
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * Сводное состояние комментариев вещи одним агрегирующим запросом.
+     * Результат запроса кэшируется до изменения комментариев или пользователей.
+     *
+     * @param itemId идентификатор вещи.
+     * @return состояние комментариев, для вещи без комментариев количество равно нулю.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new ru.practicum.shareit.server.item.repository.CommentSummary(count(c), max(c.id), " +
+            "max(c.created), coalesce(sum(a.version), 0L)) " +
+            "from Comment c join c.author a where c.item.id = :itemId")
+    CommentSummary getSummaryByItemId(long itemId);
 }
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.server.item.repository;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.item.entity.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сводное состояние {@link Comment} одной вещи для вычисления ETag без загрузки комментариев.
+ * Добавление или удаление комментария меняет их количество и наибольший идентификатор,
+ * изменение автора любого комментария меняет сумму версий авторов.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CommentSummary {
+
+    long count;
+    Long maxId;
+    LocalDateTime maxCreated;
+    long authorVersions;
+}
@@ -2,16 +2,121 @@ package ru.practicum.shareit.server.item.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.search.ItemSearchText;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static ru.practicum.shareit.server.user.repository.UserRepository.STREAM_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     Page<Item> getByOwnerIdOrderByIdAsc(long id, PageRequest pageRequest);
 
-    @Query("select i from Item i where i.available = true and length(:searchText) > 0 and" +
-            "(lower(i.name) like lower(concat('%', :searchText, '%')) or " +
-            "lower(i.description) like lower(concat('%', :searchText, '%')))")
-    Page<Item> findAvailableBySubstring(String searchText, PageRequest pageRequest);
-}
\ No newline at end of file
+    /**
+     * Загрузка вещи с комментариями. Результат запроса кэшируется до изменения вещей, комментариев или пользователей.
+     *
+     * @param id идентификатор вещи.
+     * @return вещь.
+     */
+    @EntityGraph(Item.WITH_COMMENTS)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<Item> findWithCommentsById(long id);
+
+    /**
+     * Загрузка вещи с блокировкой ее строки до конца транзакции.
+     * Упорядочивает одновременное создание бронирований одной вещи.
+     *
+     * @param id идентификатор вещи.
+     * @return вещь.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> findForUpdateById(long id);
+
+    /**
+     * Загрузка вещей с блокировкой их строк до конца транзакции.
+     * Строки блокируются в порядке идентификаторов, чтобы одновременные пакеты не блокировали друг друга.
+     *
+     * @param ids идентификаторы вещей.
+     * @return найденные вещи.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> findAllForUpdateByIdIn(Collection<Long> ids);
+
+    /**
+     * Загрузка вещей вместе с комментариями и авторами комментариев одним запросом.
+     *
+     * @param ids идентификаторы вещей.
+     * @return найденные вещи в произвольном порядке.
+     */
+    @EntityGraph(Item.WITH_COMMENTS)
+    @Query("select distinct i from Item i where i.id in :ids")
+    List<Item> findWithCommentsByIdIn(Collection<Long> ids);
+
+    /**
+     * Идентификаторы вещей пользователя, которые будут удалены вместе с ним.
+     *
+     * @param ownerId идентификатор владельца.
+     * @return идентификаторы вещей.
+     */
+    @Query("select i.id from Item i where i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(long ownerId);
+
+    /**
+     * Потоковое чтение наименований и описаний доступных вещей для построения поискового индекса.
+     * Поток должен читаться и закрываться внутри транзакции.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.server.item.search.ItemSearchText(i.id, i.name, i.description) " +
+            "from Item i where i.available = true")
+    Stream<ItemSearchText> streamAvailableSearchTexts();
+
+    /**
+     * Полнотекстовый поиск доступных вещей, только для PostgreSQL.
+     *
+     * @param query запрос в формате tsquery.
+     * @param from  индекс первого элемента.
+     * @param size  количество элементов.
+     * @return найденные вещи в порядке убывания релевантности.
+     */
+    @Query(value = "select i.* from item i " +
+            "where i.available = true and i.search_vector @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id " +
+            "limit :size offset :from", nativeQuery = true)
+    List<Item> findAvailableByFullText(String query, long from, int size);
+
+    /**
+     * Полнотекстовый поиск доступных вещей без подтвержденных бронирований на период, только для PostgreSQL.
+     * Пересечение с бронированиями проверяется антиобъединением по частичному индексу подтвержденных бронирований.
+     *
+     * @param query запрос в формате tsquery.
+     * @param start начало периода.
+     * @param end   окончание периода (не включительно).
+     * @param from  индекс первого элемента.
+     * @param size  количество элементов.
+     * @return найденные вещи в порядке убывания релевантности.
+     */
+    @Query(value = "select i.* from item i " +
+            "where i.available = true and i.search_vector @@ to_tsquery('simple', :query) " +
+            "and not exists (select 1 from booking b where b.item_id = i.id and b.status = 'APPROVED' " +
+            "    and b.start_time < :end and b.end_time > :start) " +
+            "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id " +
+            "limit :size offset :from", nativeQuery = true)
+    List<Item> findAvailableByFullTextAndFreePeriod(String query, LocalDateTime start, LocalDateTime end, long from,
+                                                    int size);
+}
@@ -0,0 +1,212 @@
+package ru.practicum.shareit.server.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Поиск по инвертированному индексу в памяти приложения для баз данных без полнотекстового поиска.
+ * Индекс строится при запуске приложения и обновляется при создании и изменении вещей и удалении их владельцев.
+ * Релевантность считается как сумма весов совпавших слов (слово наименования весит больше слова описания),
+ * умноженных на их обратную частоту среди вещей.
+ * Занятость вещей на период проверяется по {@link BookingAvailabilityIndex} до отбора страницы.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /**
+     * Построение индекса по потоку наименований и описаний доступных вещей без загрузки сущностей.
+     * Документы строятся до захвата блокировки, поэтому поиск не ждет чтения всех вещей.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, Map<String, Integer>> built = new HashMap<>();
+        try (Stream<ItemSearchText> texts = itemRepository.streamAvailableSearchTexts()) {
+            texts.forEach(text -> built.put(text.getItemId(), toDocument(text.getName(), text.getDescription())));
+        }
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            built.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс вещей построен, проиндексировано {} вещей", built.size());
+    }
+
+    @Override
+    public List<Item> search(String text, @Nullable LocalDateTime start, @Nullable LocalDateTime end, long from,
+                             int size) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> itemIds;
+        lock.readLock().lock();
+        try {
+            itemIds = rank(tokens).entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .filter(itemId -> start == null || end == null
+                            || bookingAvailabilityIndex.isFreeOfApproved(itemId, start, end))
+                    .skip(from)
+                    .limit(size)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        update(item.getId(), toDocument(item));
+    }
+
+    @Override
+    public void remove(long itemId) {
+        update(itemId, null);
+    }
+
+    @Override
+    public void removeByOwner(long ownerId) {
+        itemRepository.findIdsByOwnerId(ownerId).forEach(this::remove);
+    }
+
+    private void update(long itemId, @Nullable Map<String, Integer> document) {
+        Map<String, Integer> previous;
+        lock.writeLock().lock();
+        try {
+            previous = documents.get(itemId);
+            put(itemId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(itemId, previous);
+                    }
+                }
+            });
+        }
+    }
+
+    private void restore(long itemId, Map<String, Integer> document) {
+        lock.writeLock().lock();
+        try {
+            put(itemId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Каждое слово запроса должно совпасть как префикс хотя бы одного слова вещи.
+     */
+    private Map<Long, Double> rank(List<String> tokens) {
+        Map<Long, Double> scores = null;
+        for (String token : tokens) {
+            Map<Long, Double> tokenScores = new HashMap<>();
+            postings.subMap(token, true, token + Character.MAX_VALUE, true).values().forEach(posting -> {
+                double idf = Math.log(1.0 + (double) documents.size() / posting.size());
+                posting.forEach((itemId, weight) -> tokenScores.merge(itemId, weight * idf, Double::sum));
+            });
+
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((itemId, score) -> score + tokenScores.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private void put(long itemId, Map<String, Integer> document) {
+        Map<String, Integer> removed = document == null ? documents.remove(itemId) : documents.put(itemId, document);
+        if (removed != null) {
+            removed.keySet().forEach(token -> {
+                Map<Long, Integer> posting = postings.get(token);
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            });
+        }
+        if (document != null) {
+            document.forEach((token, weight) -> postings.computeIfAbsent(token, key -> new HashMap<>())
+                    .put(itemId, weight));
+        }
+    }
+
+    /**
+     * Недоступные вещи в индекс не попадают.
+     */
+    private static Map<String, Integer> toDocument(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return null;
+        }
+        return toDocument(item.getName(), item.getDescription());
+    }
+
+    private static Map<String, Integer> toDocument(String name, String description) {
+        Map<String, Integer> document = new HashMap<>();
+        SearchTokenizer.tokenize(name).forEach(token -> document.merge(token, NAME_WEIGHT, Integer::sum));
+        SearchTokenizer.tokenize(description)
+                .forEach(token -> document.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+        return document;
+    }
+}
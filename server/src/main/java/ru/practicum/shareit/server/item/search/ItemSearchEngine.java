@@ -0,0 +1,61 @@
+package ru.practicum.shareit.server.item.search;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.server.item.entity.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Поисковый движок по наименованию и описанию {@link Item}.
+ * Текст запроса разбивается на слова, каждое слово ищется как префикс слова вещи.
+ * Найденные доступные вещи упорядочиваются по релевантности.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Поиск доступных вещей.
+     *
+     * @param text текст запроса.
+     * @param from индекс первого элемента.
+     * @param size количество элементов для отображения.
+     * @return найденные вещи в порядке убывания релевантности.
+     */
+    default List<Item> search(String text, long from, int size) {
+        return search(text, null, null, from, size);
+    }
+
+    /**
+     * Поиск доступных вещей, свободных от подтвержденных бронирований на период [start, end).
+     * Если период не задан, занятость вещей не проверяется.
+     *
+     * @param text  текст запроса.
+     * @param start начало периода.
+     * @param end   окончание периода (не включительно).
+     * @param from  индекс первого элемента.
+     * @param size  количество элементов для отображения.
+     * @return найденные вещи в порядке убывания релевантности.
+     */
+    List<Item> search(String text, @Nullable LocalDateTime start, @Nullable LocalDateTime end, long from, int size);
+
+    /**
+     * Обновление поискового индекса после создания или изменения вещи.
+     *
+     * @param item сохраненная вещь.
+     */
+    void index(Item item);
+
+    /**
+     * Удаление вещи из поискового индекса.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    void remove(long itemId);
+
+    /**
+     * Удаление из поискового индекса вещей, которые будут удалены вместе с владельцем.
+     *
+     * @param ownerId идентификатор владельца.
+     */
+    void removeByOwner(long ownerId);
+}
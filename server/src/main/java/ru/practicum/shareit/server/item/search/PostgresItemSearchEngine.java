@@ -0,0 +1,58 @@
+package ru.practicum.shareit.server.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Полнотекстовый поиск средствами PostgreSQL по столбцу item.search_vector с GIN индексом.
+ * Столбец вычисляется базой данных, поэтому отдельная синхронизация индекса не требуется.
+ * Вещи с подтвержденными бронированиями на период исключаются антиобъединением с бронированиями.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, @Nullable LocalDateTime start, @Nullable LocalDateTime end, long from,
+                             int size) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        String query = tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        log.debug("Полнотекстовый поиск вещей по запросу \"{}\"", query);
+
+        if (start == null || end == null) {
+            return itemRepository.findAvailableByFullText(query, from, size);
+        }
+        return itemRepository.findAvailableByFullTextAndFreePeriod(query, start, end, from, size);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(long itemId) {
+    }
+
+    @Override
+    public void removeByOwner(long ownerId) {
+    }
+}
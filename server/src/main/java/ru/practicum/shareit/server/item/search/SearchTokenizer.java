@@ -0,0 +1,28 @@
+package ru.practicum.shareit.server.item.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Разбиение текста на слова для поиска. Совпадает с разбором конфигурации simple в PostgreSQL:
+ * слово состоит из букв и цифр и приводится к нижнему регистру.
+ */
+@UtilityClass
+public class SearchTokenizer {
+
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(DELIMITER.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.server.item.service;
 
+import ru.practicum.shareit.server.booking.availability.ItemAvailability;
 import ru.practicum.shareit.server.item.entity.Comment;
 import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.CommentSummary;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -11,11 +14,17 @@ public interface ItemService {
 
     Item getById(long userId, long id);
 
+    CommentSummary getCommentSummary(long itemId);
+
     Item create(long userId, Item item);
 
+    List<Item> createAll(long userId, List<Item> items);
+
     Item update(long userId, long itemId, Item item);
 
-    List<Item> findAvailableBySubstring(String text, long from, int size);
+    List<Item> findAvailableBySubstring(String text, LocalDateTime start, LocalDateTime end, long from, int size);
 
     Comment addComment(long userId, long itemId, Comment comment);
+
+    ItemAvailability getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -5,7 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.booking.availability.ItemAvailability;
 import ru.practicum.shareit.server.booking.entity.Status;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
 import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
@@ -15,13 +16,21 @@ import ru.practicum.shareit.server.item.entity.Item;
 import ru.practicum.shareit.server.item.exception.ItemException;
 import ru.practicum.shareit.server.item.mapper.ItemCopier;
 import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.repository.CommentSummary;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.item.timeline.BookingTimeline;
+import ru.practicum.shareit.server.item.timeline.BookingTimelineCache;
+import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,35 +42,23 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final ItemCopier itemCopier;
     private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
 
     @Override
     public List<Item> getByUserId(long userId, long from, int size) {
         log.debug("Получение списка вещей пользователя с id {}", userId);
         PageRequest pageRequest = PageRequest.of((int) (from / size), size);
-        List<Item> items = itemRepository.getByOwnerIdOrderByIdAsc(userId, pageRequest).getContent();
+        List<Item> items = withComments(itemRepository.getByOwnerIdOrderByIdAsc(userId, pageRequest).getContent());
 
-        LocalDateTime currentLocalDateTime = LocalDateTime.now();
+        Map<Long, BookingTimeline> timelines = bookingTimelineCache
+                .get(items.stream().map(Item::getId).collect(Collectors.toList()), LocalDateTime.now());
 
-        Map<Long, Booking> nextBookingMap = bookingRepository
-                .findNextBookings(items.stream().map(Item::getId).collect(Collectors.toList()),
-                        Status.APPROVED.name(),
-                        currentLocalDateTime)
-                .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-
-        Map<Long, Booking> lastBookingMap = bookingRepository
-                .findLastBookings(items.stream().map(Item::getId).collect(Collectors.toList()),
-                        Status.APPROVED.name(),
-                        currentLocalDateTime)
-                .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-
-        items.forEach(item -> {
-            item.setLastBooking(lastBookingMap.get(item.getId()));
-            item.setNextBooking(nextBookingMap.get(item.getId()));
-        });
+        items.forEach(item -> setBookings(item, timelines.get(item.getId())));
 
         return items;
     }
@@ -70,23 +67,21 @@ public class ItemServiceImpl implements ItemService {
     public Item getById(long userId, long id) {
         log.debug("Получение вещи по id {}", id);
 
-        Item item = itemRepository.findById(id)
+        Item item = itemRepository.findWithCommentsById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Вещь с id %d не найдена.", id));
 
         if (item.getOwner().getId().equals(userId)) {
-
-            LocalDateTime currentLocalDateTime = LocalDateTime.now();
-
-            bookingRepository.findNextBookings(List.of(item.getId()), Status.APPROVED.name(), currentLocalDateTime)
-                    .stream().findAny().ifPresent(item::setNextBooking);
-
-            bookingRepository.findLastBookings(List.of(item.getId()), Status.APPROVED.name(), currentLocalDateTime)
-                    .stream().findAny().ifPresent(item::setLastBooking);
+            setBookings(item, bookingTimelineCache.get(List.of(item.getId()), LocalDateTime.now()).get(item.getId()));
         }
 
         return item;
     }
 
+    @Override
+    public CommentSummary getCommentSummary(long itemId) {
+        return commentRepository.getSummaryByItemId(itemId);
+    }
+
     @Transactional
     @Override
     public Item create(long userId, Item item) {
@@ -94,26 +89,63 @@ public class ItemServiceImpl implements ItemService {
         User owner = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Пользователь с id %d не найден.", userId));
 
+        Long requestId = item.getRequestId();
+        if (requestId != null && !itemRequestRepository.existsById(requestId)) {
+            throw new EntityNotFoundException("Запрос с id %d не найден.", requestId);
+        }
+
         item.setOwner(owner);
-        return itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return savedItem;
+    }
+
+    @Transactional
+    @Override
+    public List<Item> createAll(long userId, List<Item> items) {
+        log.debug("Пакетное создание пользователем {} вещей: {}", userId, items.size());
+        if (items.isEmpty()) {
+            throw new ItemException("Пакет вещей не должен быть пустым.");
+        }
+
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id %d не найден.", userId));
+
+        requireRequestsExist(items);
+
+        items.forEach(item -> item.setOwner(owner));
+        List<Item> savedItems = itemRepository.saveAll(items);
+        savedItems.forEach(itemSearchEngine::index);
+        return savedItems;
     }
 
     @Transactional
     @Override
     public Item update(long userId, long itemId, Item item) {
         log.debug("Обновление пользователем {} вещи {}", userId, itemId);
-        Item savedItem = itemRepository.findById(itemId)
+        Item savedItem = itemRepository.findWithCommentsById(itemId)
                 .orElseThrow(() -> new EntityNotFoundException("Вещь с id %d не найдена.", itemId));
         validateUpdate(userId, itemId, savedItem, item);
         itemCopier.update(savedItem, item);
-        return itemRepository.save(savedItem);
+        savedItem = itemRepository.save(savedItem);
+        itemSearchEngine.index(savedItem);
+        return savedItem;
     }
 
     @Override
-    public List<Item> findAvailableBySubstring(String text, long from, int size) {
-        log.debug("Поиск доступных вещей по подстроке \"{}\"", text);
-        PageRequest pageRequest = PageRequest.of((int) (from / size), size);
-        return itemRepository.findAvailableBySubstring(text, pageRequest).getContent();
+    public List<Item> findAvailableBySubstring(String text, LocalDateTime start, LocalDateTime end, long from,
+                                               int size) {
+        log.debug("Поиск доступных вещей по тексту \"{}\", свободных с {} по {}", text, start, end);
+
+        if ((start == null) != (end == null)) {
+            throw new ItemException("Начало и окончание периода задаются вместе.");
+        }
+
+        if (start != null && !end.isAfter(start)) {
+            throw new ItemException("Окончание периода должно быть позже начала.");
+        }
+
+        return withComments(itemSearchEngine.search(text, start, end, from, size));
     }
 
     @Transactional
@@ -129,11 +161,10 @@ public class ItemServiceImpl implements ItemService {
 
         LocalDateTime time = LocalDateTime.now();
 
-        bookingRepository.findByBookerIdAndStartLessThanAndStatusIsOrderByStartDesc(userId, time, Status.APPROVED)
-                .stream()
-                .filter(booking -> booking.getItem().getId().equals(itemId))
-                .findAny()
-                .orElseThrow(() -> new ItemException("Оставить отзыв можно только по арендованным вещам."));
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(userId, itemId, Status.APPROVED,
+                time)) {
+            throw new ItemException("Оставить отзыв можно только по арендованным вещам.");
+        }
 
         comment.setAuthor(user);
         comment.setItem(item);
@@ -142,6 +173,62 @@ public class ItemServiceImpl implements ItemService {
         return comment;
     }
 
+    @Override
+    public ItemAvailability getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Получение занятости вещи с id {} с {} по {}", itemId, from, to);
+
+        if (!to.isAfter(from)) {
+            throw new ItemException("Окончание окна должно быть позже начала.");
+        }
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException("Вещь с id %d не найдена.", itemId);
+        }
+
+        return bookingAvailabilityIndex.getAvailability(itemId, from, to);
+    }
+
+    private static void setBookings(Item item, BookingTimeline timeline) {
+        if (timeline != null) {
+            item.setLastBooking(timeline.getLastBooking());
+            item.setNextBooking(timeline.getNextBooking());
+        }
+    }
+
+    /**
+     * Загрузка комментариев для всей страницы вещей одним запросом вместо отдельного запроса на каждую вещь.
+     * Порядок вещей сохраняется.
+     */
+    private List<Item> withComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Long, Item> loadedItems = itemRepository
+                .findWithCommentsByIdIn(items.stream().map(Item::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return items.stream()
+                .map(item -> loadedItems.getOrDefault(item.getId(), item))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Проверка существования запросов, на которые отвечают вещи пакета, одним запросом к базе данных.
+     */
+    private void requireRequestsExist(List<Item> items) {
+        Set<Long> requestIds = items.stream()
+                .map(Item::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (requestIds.isEmpty()) {
+            return;
+        }
+        requestIds.removeAll(itemRequestRepository.findIdsByIdIn(requestIds));
+        requestIds.stream().min(Long::compare).ifPresent(requestId -> {
+            throw new EntityNotFoundException("Запрос с id %d не найден.", requestId);
+        });
+    }
+
     private void validateUpdate(long userId, long itemId, Item savedItem, Item newItem) {
         log.debug("Валидация пользователем {} вещи {} при обновлении", userId, itemId);
         if (!savedItem.getOwner().getId().equals(userId)) {
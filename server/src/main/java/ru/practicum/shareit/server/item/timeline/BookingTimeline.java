@@ -0,0 +1,32 @@
+package ru.practicum.shareit.server.item.timeline;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import java.time.LocalDateTime;
+
+/**
+ * Последнее и ближайшее следующее подтвержденные бронирования вещи на момент вычисления.
+ * Остается актуальным, пока не наступило начало следующего бронирования.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingTimeline {
+
+    public static final BookingTimeline EMPTY = new BookingTimeline(null, null);
+
+    TimelineBooking lastBooking;
+    TimelineBooking nextBooking;
+
+    /**
+     * @param currentTime текущее время.
+     * @return true, если следующее бронирование еще не началось и временная шкала не устарела.
+     */
+    public boolean isActualAt(LocalDateTime currentTime) {
+        return nextBooking == null || currentTime.isBefore(nextBooking.getStart());
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.server.item.timeline;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.common.datasource.RoutingContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш {@link BookingTimeline} вещей с чтением из базы данных при промахе.
+ * Запись устаревает при наступлении начала следующего бронирования и сбрасывается
+ * после фиксации транзакции, изменившей бронирования вещи.
+ * Размер кэша ограничен, при переполнении вытесняются давно не использованные записи.
+ * В кэше хранятся неизменяемые снимки бронирований, а не сущности, прочитанные в одной из транзакций.
+ * Шкалы, прочитанные транзакцией из реплики, не кэшируются, так как реплика может отставать от основной базы.
+ * Количество попаданий и промахов и размер кэша публикуются в метриках.
+ */
+@Slf4j
+@Component
+public class BookingTimelineCache implements MeterBinder {
+
+    /**
+     * Счетчик обращений к кэшу с тегом результата hit или miss.
+     */
+    public static final String REQUESTS_COUNTER = "shareit.booking.timeline.cache";
+
+    /**
+     * Количество временных шкал в кэше.
+     */
+    public static final String SIZE_GAUGE = "shareit.booking.timeline.cache.size";
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, BookingTimeline> timelines;
+
+    /**
+     * Увеличивается при каждом сбросе, чтобы не сохранять в кэш значения, прочитанные до сброса.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public BookingTimelineCache(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-timeline.cache-size:10000}") int maxSize) {
+        this.bookingRepository = bookingRepository;
+        this.timelines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BookingTimeline> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(REQUESTS_COUNTER, hitCount, LongAdder::sum)
+                .description("Обращения к кэшу временных шкал бронирований")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(REQUESTS_COUNTER, missCount, LongAdder::sum)
+                .description("Обращения к кэшу временных шкал бронирований")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder(SIZE_GAUGE, this, BookingTimelineCache::getSize)
+                .description("Временные шкалы бронирований в кэше")
+                .register(registry);
+    }
+
+    /**
+     * Получение временных шкал бронирований вещей.
+     *
+     * @param itemIds     идентификаторы вещей.
+     * @param currentTime текущее время.
+     * @return временные шкалы по идентификаторам вещей, для каждой вещи из запроса.
+     */
+    public Map<Long, BookingTimeline> get(Collection<Long> itemIds, LocalDateTime currentTime) {
+        Map<Long, BookingTimeline> result = new HashMap<>();
+        List<Long> missedItemIds = new ArrayList<>();
+
+        synchronized (timelines) {
+            itemIds.forEach(itemId -> {
+                BookingTimeline timeline = timelines.get(itemId);
+                if (timeline != null && timeline.isActualAt(currentTime)) {
+                    result.put(itemId, timeline);
+                } else {
+                    missedItemIds.add(itemId);
+                }
+            });
+        }
+        hitCount.add(result.size());
+        missCount.add(missedItemIds.size());
+
+        if (!missedItemIds.isEmpty()) {
+            Map<Long, BookingTimeline> loaded = load(missedItemIds, currentTime);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * Сброс временной шкалы вещи. Внутри транзакции выполняется после ее фиксации.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    public void invalidate(long itemId) {
+        evict(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(itemId);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int getSize() {
+        synchronized (timelines) {
+            return timelines.size();
+        }
+    }
+
+    private Map<Long, BookingTimeline> load(List<Long> itemIds, LocalDateTime currentTime) {
+        log.debug("Загрузка бронирований для {} вещей", itemIds.size());
+        long loadGeneration = generation.get();
+
+        Map<Long, TimelineBooking> lastBookings = new HashMap<>();
+        Map<Long, TimelineBooking> nextBookings = new HashMap<>();
+        bookingRepository.findLastAndNextBookings(itemIds, Status.APPROVED.name(), currentTime)
+                .forEach(booking -> (booking.getStart().isBefore(currentTime) ? lastBookings : nextBookings)
+                        .put(booking.getItem().getId(), TimelineBooking.of(booking)));
+
+        Map<Long, BookingTimeline> loaded = itemIds.stream()
+                .collect(Collectors.toMap(itemId -> itemId, itemId -> toTimeline(lastBookings.get(itemId),
+                        nextBookings.get(itemId)), (first, second) -> first));
+
+        if (RoutingContext.isReplicaRead()) {
+            return loaded;
+        }
+        synchronized (timelines) {
+            if (generation.get() == loadGeneration) {
+                timelines.putAll(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private void evict(long itemId) {
+        synchronized (timelines) {
+            generation.incrementAndGet();
+            timelines.remove(itemId);
+        }
+    }
+
+    private static BookingTimeline toTimeline(TimelineBooking lastBooking, TimelineBooking nextBooking) {
+        if (lastBooking == null && nextBooking == null) {
+            return BookingTimeline.EMPTY;
+        }
+        return new BookingTimeline(lastBooking, nextBooking);
+    }
+}
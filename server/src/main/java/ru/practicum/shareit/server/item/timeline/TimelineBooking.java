@@ -0,0 +1,36 @@
+package ru.practicum.shareit.server.item.timeline;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.common.entity.Versioned;
+
+import java.time.LocalDateTime;
+
+/**
+ * Неизменяемый снимок бронирования для {@link BookingTimeline}.
+ * В отличие от сущности {@link Booking} не связан с контекстом персистентности и не содержит ленивых связей,
+ * поэтому может разделяться между запросами через кэш.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TimelineBooking implements Versioned {
+
+    Long id;
+    Long version;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public static TimelineBooking of(Booking booking) {
+        return new TimelineBooking(booking.getId(), booking.getVersion(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd());
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.server.request.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.server.request.dto.ItemRequestCreateRequest;
 import ru.practicum.shareit.server.request.dto.ItemRequestResponse;
@@ -60,10 +61,10 @@ public interface ItemRequestController {
      *
      * @param userId    идентификатор пользователя.
      * @param requestId идентификатор запроса.
-     * @return запрос вещи.
+     * @return запрос вещи с ETag. При совпадении If-None-Match возвращается 304 без тела.
      */
     @GetMapping("/{requestId}")
     @Operation(description = "Получение запроса по индентификатору")
-    ItemRequestResponse getByRequestId(@RequestHeader(USER_ID_HEADER) long userId,
-                                       @PathVariable long requestId);
+    ResponseEntity<ItemRequestResponse> getByRequestId(@RequestHeader(USER_ID_HEADER) long userId,
+                                                       @PathVariable long requestId);
 }
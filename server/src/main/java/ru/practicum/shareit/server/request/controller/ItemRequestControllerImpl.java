@@ -1,7 +1,9 @@
 package ru.practicum.shareit.server.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.server.common.etag.EntityTag;
 import ru.practicum.shareit.server.request.entity.ItemRequest;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
 import ru.practicum.shareit.server.request.mapper.ItemRequestConverter;
@@ -50,7 +52,14 @@ public class ItemRequestControllerImpl implements ItemRequestController {
      * {@inheritDoc}
      */
     @Override
-    public ItemRequestResponse getByRequestId(long userId, long requestId) {
-        return itemRequestConverter.convert(itemRequestService.getByRequestId(userId, requestId));
+    public ResponseEntity<ItemRequestResponse> getByRequestId(long userId, long requestId) {
+        ItemRequest itemRequest = itemRequestService.getByRequestId(userId, requestId);
+        String eTag = EntityTag.builder()
+                .add(itemRequest)
+                .addAll(itemRequest.getItems())
+                .build();
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(itemRequestConverter.convert(itemRequest));
     }
 }
@@ -6,12 +6,14 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 import org.hibernate.annotations.CreationTimestamp;
-import ru.practicum.shareit.server.common.entity.AbstractEntity;
+import ru.practicum.shareit.server.common.entity.AbstractSequenceEntity;
 import ru.practicum.shareit.server.item.entity.Item;
 import ru.practicum.shareit.server.user.entity.User;
 
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
@@ -26,7 +28,17 @@ import java.util.Set;
 @ToString
 @Table(name = "request")
 @FieldDefaults(level = AccessLevel.PRIVATE)
-public class ItemRequest extends AbstractEntity {
+@NamedEntityGraph(name = ItemRequest.WITH_ITEMS,
+        attributeNodes = {
+                @NamedAttributeNode("author"),
+                @NamedAttributeNode("items")
+        })
+public class ItemRequest extends AbstractSequenceEntity {
+
+    /**
+     * Запрос с автором и созданными по нему вещами для списков запросов.
+     */
+    public static final String WITH_ITEMS = "ItemRequest.withItems";
 
     @ToString.Exclude
     @ManyToOne
@@ -2,13 +2,43 @@ package ru.practicum.shareit.server.request.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.server.request.entity.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    @EntityGraph(ItemRequest.WITH_ITEMS)
+    @Query("select distinct r from ItemRequest r where r.author.id = :userId order by r.created desc")
     List<ItemRequest> findAllByAuthorIdOrderByCreatedDesc(long userId);
 
     Page<ItemRequest> findAllByAuthorIdNot(long authorId, PageRequest pageRequest);
+
+    /**
+     * Загрузка запросов вместе с авторами и созданными по ним вещами одним запросом.
+     *
+     * @param ids идентификаторы запросов.
+     * @return найденные запросы в произвольном порядке.
+     */
+    @EntityGraph(ItemRequest.WITH_ITEMS)
+    @Query("select distinct r from ItemRequest r where r.id in :ids")
+    List<ItemRequest> findWithItemsByIdIn(Collection<Long> ids);
+
+    /**
+     * Проверка существования запросов одним запросом к базе данных.
+     *
+     * @param ids идентификаторы запросов.
+     * @return идентификаторы существующих запросов.
+     */
+    @Query("select r.id from ItemRequest r where r.id in :ids")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(ItemRequest.WITH_ITEMS)
+    @Override
+    Optional<ItemRequest> findById(Long id);
 }
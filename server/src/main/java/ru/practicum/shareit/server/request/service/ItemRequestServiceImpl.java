@@ -9,10 +9,14 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
 import ru.practicum.shareit.server.request.entity.ItemRequest;
 import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -22,6 +26,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final KnownUserCache knownUserCache;
 
     @Transactional
     @Override
@@ -39,9 +44,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequest> getAllMyRequests(long userId) {
         log.debug("Получение запросов вещей пользователя с id {}", userId);
 
-        if (!userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("Пользователь с id %d не найден.", userId);
-        }
+        knownUserCache.requireExists(userId);
 
         return itemRequestRepository.findAllByAuthorIdOrderByCreatedDesc(userId);
     }
@@ -50,22 +53,29 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequest> getAllNotUserRequests(long userId, long from, int size) {
         log.debug("Получение запросов вещей других пользователей");
 
-        if (!userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("Пользователь с id %d не найден.", userId);
-        }
+        knownUserCache.requireExists(userId);
 
         PageRequest pageRequest = PageRequest.of((int) (from / size), size, Sort.by("created").descending());
 
-        return itemRequestRepository.findAllByAuthorIdNot(userId, pageRequest).getContent();
+        List<ItemRequest> itemRequests = itemRequestRepository.findAllByAuthorIdNot(userId, pageRequest).getContent();
+        if (itemRequests.isEmpty()) {
+            return itemRequests;
+        }
+
+        Map<Long, ItemRequest> loadedItemRequests = itemRequestRepository
+                .findWithItemsByIdIn(itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        return itemRequests.stream()
+                .map(itemRequest -> loadedItemRequests.getOrDefault(itemRequest.getId(), itemRequest))
+                .collect(Collectors.toList());
     }
 
     @Override
     public ItemRequest getByRequestId(long userId, long requestId) {
         log.debug("Получение запроса вещи по id {}", requestId);
 
-        if (!userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("Пользователь с id %d не найден.", userId);
-        }
+        knownUserCache.requireExists(userId);
 
         return itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new EntityNotFoundException("Запрос с id %d не найден.", requestId));
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.server.user.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.common.datasource.RoutingContext;
+import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэш существования пользователей для проверки заголовка с идентификатором пользователя без обращения к базе данных.
+ * Кэшируется как наличие, так и отсутствие пользователя, запись устаревает по истечении времени жизни
+ * и сбрасывается после фиксации транзакции, создавшей или удалившей пользователя.
+ * Время жизни ограничивает расхождение с изменениями, сделанными другими экземплярами сервера.
+ * Существование проверяется в основной базе данных: реплика может еще не содержать только что созданного
+ * пользователя. Если текущая транзакция уже читает из реплики, результат проверки не кэшируется.
+ * Размер кэша ограничен, при переполнении вытесняются давно не использованные записи.
+ */
+@Slf4j
+@Component
+public class KnownUserCache {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Entry> entries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    /**
+     * Увеличивается при каждом сбросе, чтобы не сохранять в кэш значения, прочитанные до сброса.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public KnownUserCache(UserRepository userRepository,
+                          @Value("${shareit.known-users.cache-size:100000}") int maxSize,
+                          @Value("${shareit.known-users.ttl:5m}") Duration ttl,
+                          @Value("${shareit.known-users.negative-ttl:10s}") Duration negativeTtl) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Проверка существования пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @throws EntityNotFoundException если пользователь не найден.
+     */
+    public void requireExists(long userId) {
+        if (!exists(userId)) {
+            throw new EntityNotFoundException("Пользователь с id %d не найден.", userId);
+        }
+    }
+
+    /**
+     * @param userId идентификатор пользователя.
+     * @return true, если пользователь существует.
+     */
+    public boolean exists(long userId) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt - now > 0) {
+                hitCount.increment();
+                return entry.exists;
+            }
+        }
+        missCount.increment();
+
+        log.debug("Проверка существования пользователя с id {}", userId);
+        long loadGeneration = generation.get();
+        boolean replicaRead = RoutingContext.isReplicaRead();
+        boolean exists = RoutingContext.callOnPrimary(() -> userRepository.existsById(userId));
+
+        synchronized (entries) {
+            if (!replicaRead && generation.get() == loadGeneration) {
+                entries.put(userId, new Entry(exists, now + (exists ? ttlNanos : negativeTtlNanos)));
+            }
+        }
+        return exists;
+    }
+
+    /**
+     * Сброс записи пользователя. Внутри транзакции выполняется также после ее завершения.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    public void invalidate(long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evict(long userId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    private static final class Entry {
+
+        private final boolean exists;
+        private final long expiresAt;
+
+        private Entry(boolean exists, long expiresAt) {
+            this.exists = exists;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
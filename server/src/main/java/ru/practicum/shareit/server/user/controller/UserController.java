@@ -1,15 +1,24 @@
 package ru.practicum.shareit.server.user.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.server.config.RequestConstants;
 import ru.practicum.shareit.server.user.dto.UserCreateRequest;
+import ru.practicum.shareit.server.user.dto.UserCursor;
 import ru.practicum.shareit.server.user.dto.UserResponse;
 import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 import ru.practicum.shareit.server.user.entity.User;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
+import static ru.practicum.shareit.server.config.RequestConstants.DEFAULT_PAGE_SIZE;
+import static ru.practicum.shareit.server.config.RequestConstants.NEXT_CURSOR_HEADER;
+
 /**
  * Контроллер для {@link User}.
  */
@@ -18,13 +27,32 @@ import java.util.List;
 public interface UserController {
 
     /**
-     * Получение всех пользователей.
+     * Получение пользователей в порядке возрастания идентификатора.
      *
-     * @return список пользователей.
+     * @param from   индекс первого элемента, игнорируется при указании курсора.
+     * @param size   количество элементов для отображения.
+     * @param cursor курсор из заголовка {@value RequestConstants#NEXT_CURSOR_HEADER} предыдущей страницы.
+     * @return найденные пользователи и курсор следующей страницы в заголовке
+     * {@value RequestConstants#NEXT_CURSOR_HEADER}.
      */
     @GetMapping
-    @Operation(summary = "Получение всех пользователей")
-    List<UserResponse> getAll();
+    @Operation(summary = "Получение пользователей")
+    ResponseEntity<List<UserResponse>> getAll(@RequestParam(defaultValue = "0") long from,
+                                              @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                              @Parameter(description = "Курсор из заголовка " +
+                                                      NEXT_CURSOR_HEADER + " предыдущей страницы")
+                                              @RequestParam(required = false) UserCursor cursor);
+
+    /**
+     * Выгрузка всех пользователей в формате NDJSON, по одному пользователю в строке.
+     * Пользователи записываются в ответ по мере чтения из базы данных.
+     *
+     * @param response ответ для записи пользователей.
+     * @throws IOException при ошибке записи ответа.
+     */
+    @GetMapping("/stream")
+    @Operation(summary = "Потоковая выгрузка всех пользователей")
+    void streamAll(@Parameter(hidden = true) HttpServletResponse response) throws IOException;
 
     /**
      * Получение пользователя по идентификатору.
@@ -1,16 +1,28 @@
 package ru.practicum.shareit.server.user.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.service.UserService;
 import ru.practicum.shareit.server.user.mapper.UserConverter;
 import ru.practicum.shareit.server.user.dto.UserCreateRequest;
+import ru.practicum.shareit.server.user.dto.UserCursor;
 import ru.practicum.shareit.server.user.dto.UserResponse;
 import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static ru.practicum.shareit.server.config.RequestConstants.NEXT_CURSOR_HEADER;
+
 /**
  * Имплементация контроллера для {@link User}.
  */
@@ -20,13 +32,33 @@ public class UserControllerImpl implements UserController {
 
     private final UserConverter userConverter;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResponseEntity<List<UserResponse>> getAll(long from, int size, UserCursor cursor) {
+        if (cursor == null) {
+            List<User> users = userService.getAll(from, size);
+            return toResponse(users, users.size() == size);
+        }
+        Slice<User> users = userService.getAll(cursor, size);
+        return toResponse(users.getContent(), users.hasNext());
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<UserResponse> getAll() {
-        return userConverter.convert(userService.getAll());
+    public void streamAll(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (SequenceWriter writer = objectMapper.writerFor(UserResponse.class)
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            userService.forEach(user -> write(writer, userConverter.convert(user)));
+        }
     }
 
     /**
@@ -62,4 +94,23 @@ public class UserControllerImpl implements UserController {
     public void delete(long id) {
         userService.delete(id);
     }
+
+    /**
+     * Для постраничного запроса по смещению курсор выдается, если страница заполнена полностью.
+     */
+    private ResponseEntity<List<UserResponse>> toResponse(List<User> users, boolean hasNext) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (hasNext && !users.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER, UserCursor.of(users.get(users.size() - 1)).encode());
+        }
+        return response.body(userConverter.convert(users));
+    }
+
+    private static void write(SequenceWriter writer, UserResponse user) {
+        try {
+            writer.write(user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
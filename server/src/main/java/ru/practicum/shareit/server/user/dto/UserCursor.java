@@ -0,0 +1,55 @@
+package ru.practicum.shareit.server.user.dto;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.springframework.core.convert.converter.Converter;
+import ru.practicum.shareit.server.user.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного получения {@link User} методом поиска по ключу (keyset pagination).
+ * Указывает на последнего пользователя предыдущей страницы в порядке возрастания id.
+ * Клиенту передается в непрозрачном виде.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserCursor {
+
+    long id;
+
+    public static UserCursor of(User user) {
+        return new UserCursor(user.getId());
+    }
+
+    public static UserCursor parse(String value) {
+        try {
+            return new UserCursor(Long.parseLong(
+                    new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор: %s", value), ex);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static class StringToUserCursorConverter implements Converter<String, UserCursor> {
+
+        @Override
+        public UserCursor convert(String source) {
+            return UserCursor.parse(source);
+        }
+    }
+}
@@ -1,11 +1,35 @@
 package ru.practicum.shareit.server.user.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.server.user.entity.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Количество строк, получаемых драйвером базы данных за одно обращение при потоковом чтении.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     Optional<User> getByEmail(String email);
+
+    List<User> findAllBy(Pageable pageable);
+
+    Slice<User> findByIdGreaterThan(long id, Pageable pageable);
+
+    /**
+     * Потоковое чтение всех пользователей в порядке возрастания id.
+     * Поток должен читаться и закрываться внутри транзакции.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<User> streamAllByOrderById();
 }
@@ -1,12 +1,24 @@
 package ru.practicum.shareit.server.user.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.server.user.dto.UserCursor;
 import ru.practicum.shareit.server.user.entity.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
-    List<User> getAll();
+    List<User> getAll(long from, int size);
+
+    Slice<User> getAll(UserCursor cursor, int size);
+
+    /**
+     * Обход всех пользователей в порядке возрастания id без загрузки всего списка в память.
+     *
+     * @param action действие для каждого пользователя, выполняется внутри транзакции чтения.
+     */
+    void forEach(Consumer<User> action);
 
     User getById(long id);
 
@@ -2,14 +2,25 @@ package ru.practicum.shareit.server.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.common.cache.EntityCacheEvictor;
 import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
+import ru.practicum.shareit.server.user.dto.UserCursor;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.mapper.UserCopier;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -17,13 +28,41 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
+    private static final Sort ID_ORDER = Sort.by("id");
+
     private final UserRepository userRepository;
     private final UserCopier userCopier;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+    private final ItemSearchEngine itemSearchEngine;
+    private final KnownUserCache knownUserCache;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<User> getAll(long from, int size) {
+        log.debug("Получение списка пользователей с {} по {}", from, size);
+        return userRepository.findAllBy(PageRequest.of((int) (from / size), size, ID_ORDER));
+    }
+
+    @Override
+    public Slice<User> getAll(UserCursor cursor, int size) {
+        log.debug("Получение списка пользователей по курсору {}", cursor);
+        return userRepository.findByIdGreaterThan(cursor.getId(), PageRequest.of(0, size, ID_ORDER));
+    }
 
+    /**
+     * Прочитанные пользователи отсоединяются от контекста персистентности,
+     * поэтому расход памяти не зависит от количества пользователей.
+     */
     @Override
-    public List<User> getAll() {
-        log.debug("Получение списка всех пользователей");
-        return userRepository.findAll();
+    public void forEach(Consumer<User> action) {
+        log.debug("Потоковое получение всех пользователей");
+        try (Stream<User> users = userRepository.streamAllByOrderById()) {
+            users.forEach(user -> {
+                action.accept(user);
+                entityManager.detach(user);
+            });
+        }
     }
 
     @Override
@@ -37,7 +76,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public User create(User user) {
         log.debug("Создание пользователя \"{}\"", user.getName());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        knownUserCache.invalidate(savedUser.getId());
+        return savedUser;
     }
 
     @Transactional
@@ -54,6 +95,10 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(long id) {
         log.debug("Удаление пользователя с id {}", id);
+        bookingAvailabilityIndex.removeByUser(id);
+        itemSearchEngine.removeByOwner(id);
         userRepository.deleteById(id);
+        knownUserCache.invalidate(id);
+        entityCacheEvictor.evictItemsAndComments();
     }
 }
\ No newline at end of file
@@ -1,23 +1,17 @@
-DROP TABLE IF EXISTS comment;
-DROP TABLE IF EXISTS booking;
-DROP TABLE IF EXISTS item;
-DROP TABLE IF EXISTS request;
-DROP TABLE IF EXISTS users;
-
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
     id      BIGINT NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name    VARCHAR(255) NOT NULL,
     email   VARCHAR(255) NOT NULL UNIQUE
 );
 
-CREATE TABLE IF NOT EXISTS request (
+CREATE TABLE request (
     id          BIGINT NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     created     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     description VARCHAR(1000) NOT NULL,
     author_id   BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS item (
+CREATE TABLE item (
     id          BIGINT NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     owner_id    BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     name        VARCHAR(255) NOT NULL,
@@ -26,7 +20,7 @@ CREATE TABLE IF NOT EXISTS item (
     request_id  BIGINT NULL REFERENCES request(id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS booking (
+CREATE TABLE booking (
     id          BIGINT NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     booker_id   BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     item_id     BIGINT NOT NULL REFERENCES item(id) ON DELETE CASCADE,
@@ -35,7 +29,7 @@ CREATE TABLE IF NOT EXISTS booking (
     status      VARCHAR(10) NOT NULL
 );
 
-CREATE TABLE IF NOT EXISTS comment (
+CREATE TABLE comment (
     id          BIGINT NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     created     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     text        VARCHAR(1000) NOT NULL,
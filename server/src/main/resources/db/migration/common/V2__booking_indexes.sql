@@ -0,0 +1,19 @@
+-- Бронирования автора: фильтры ALL, CURRENT, PAST, FUTURE с сортировкой start_time desc, id desc.
+CREATE INDEX booking_booker_start_idx ON booking (booker_id, start_time DESC, id DESC);
+
+-- Бронирования автора по статусу: фильтры WAITING, APPROVED, REJECTED, проверка права на комментарий.
+CREATE INDEX booking_booker_status_start_idx ON booking (booker_id, status, start_time DESC, id DESC);
+
+-- Бронирования вещей владельца: соединение item по owner_id и сортировка по start_time.
+CREATE INDEX booking_item_start_idx ON booking (item_id, start_time DESC, id DESC);
+
+-- Последнее и следующее бронирование вещи (окно по item_id среди бронирований со статусом).
+CREATE INDEX booking_item_status_start_idx ON booking (item_id, status, start_time);
+
+CREATE INDEX item_owner_idx ON item (owner_id, id);
+
+CREATE INDEX item_request_idx ON item (request_id);
+
+CREATE INDEX comment_item_idx ON comment (item_id);
+
+CREATE INDEX request_author_created_idx ON request (author_id, created DESC);
@@ -0,0 +1,2 @@
+-- Проверка права автора оставить отзыв: было ли подтвержденное бронирование вещи, начавшееся в прошлом.
+CREATE INDEX booking_booker_item_status_start_idx ON booking (booker_id, item_id, status, start_time);
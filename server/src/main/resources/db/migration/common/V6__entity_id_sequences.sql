@@ -0,0 +1,6 @@
+-- Последовательности идентификаторов сущностей. Шаг совпадает с размером блока идентификаторов,
+-- выделяемого приложением за одно обращение, что позволяет объединять вставки в пакеты.
+CREATE SEQUENCE request_seq INCREMENT BY 50;
+CREATE SEQUENCE item_seq INCREMENT BY 50;
+CREATE SEQUENCE booking_seq INCREMENT BY 50;
+CREATE SEQUENCE comment_seq INCREMENT BY 50;
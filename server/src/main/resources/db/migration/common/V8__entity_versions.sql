@@ -0,0 +1,6 @@
+-- Версии сущностей для оптимистической блокировки и вычисления ETag ответов.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE request ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE item ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE booking ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comment ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
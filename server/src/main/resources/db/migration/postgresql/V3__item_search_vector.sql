@@ -0,0 +1,7 @@
+-- Полнотекстовый поиск вещей: слова наименования весят больше слов описания.
+ALTER TABLE item ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX item_search_vector_idx ON item USING GIN (search_vector);
@@ -0,0 +1,4 @@
+-- Поиск вещей, свободных на период: антиобъединение с подтвержденными бронированиями вещи,
+-- пересекающимися с периодом, выполняется только по индексу.
+CREATE INDEX booking_approved_item_start_end_idx ON booking (item_id, start_time, end_time)
+    WHERE status = 'APPROVED';
@@ -0,0 +1,23 @@
+-- Перевод идентификаторов с identity на последовательности: последовательности продолжают
+-- существующие идентификаторы, значения по умолчанию берутся из них же, чтобы вставки в обход
+-- приложения не пересекались с выделенными им блоками.
+
+ALTER TABLE request ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE request ALTER COLUMN id SET DEFAULT nextval('request_seq');
+ALTER SEQUENCE request_seq OWNED BY request.id;
+SELECT setval('request_seq', COALESCE(MAX(id), 0) + 1, false) FROM request;
+
+ALTER TABLE item ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE item ALTER COLUMN id SET DEFAULT nextval('item_seq');
+ALTER SEQUENCE item_seq OWNED BY item.id;
+SELECT setval('item_seq', COALESCE(MAX(id), 0) + 1, false) FROM item;
+
+ALTER TABLE booking ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE booking ALTER COLUMN id SET DEFAULT nextval('booking_seq');
+ALTER SEQUENCE booking_seq OWNED BY booking.id;
+SELECT setval('booking_seq', COALESCE(MAX(id), 0) + 1, false) FROM booking;
+
+ALTER TABLE comment ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE comment ALTER COLUMN id SET DEFAULT nextval('comment_seq');
+ALTER SEQUENCE comment_seq OWNED BY comment.id;
+SELECT setval('comment_seq', COALESCE(MAX(id), 0) + 1, false) FROM comment;
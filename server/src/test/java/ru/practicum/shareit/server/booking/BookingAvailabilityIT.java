@@ -0,0 +1,166 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.exception.BookingException;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.booking.service.BookingService;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Проверка занятости вещей на зафиксированных транзакциях, поэтому тест работает с отдельной базой без отката.
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = "spring.datasource.name=booking-availability")
+@Import(ObjectGenerator.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingAvailabilityIT {
+
+    private static final int THREADS = 8;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+    private final ObjectGenerator objectGenerator;
+
+    @Test
+    void create_whenSamePeriodBookedConcurrently_thenOnlyOneBookingCreated() throws Exception {
+        Item item = createItem();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userService.create(objectGenerator.next(User.class)));
+        }
+
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Booking>> results = new ArrayList<>();
+        try {
+            for (User booker : bookers) {
+                Booking booking = newBooking(item, start, start.plusDays(2));
+                Callable<Booking> create = () -> {
+                    startSignal.await();
+                    return bookingService.create(booker.getId(), booking);
+                };
+                results.add(executor.submit(create));
+            }
+            startSignal.countDown();
+
+            int created = 0;
+            for (Future<Booking> result : results) {
+                try {
+                    result.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause(), instanceOf(BookingException.class));
+                }
+            }
+            assertThat(created, equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(bookingRepository.findByItemId(item.getId(), PageRequest.of(0, THREADS)).getTotalElements(),
+                equalTo(1L));
+    }
+
+    @Test
+    void rebuild_whenBookingsCommitted_thenPeriodsBusy() {
+        Item item = createItem();
+        User booker = userService.create(objectGenerator.next(User.class));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.create(booker.getId(), newBooking(item, start, start.plusDays(2)));
+
+        bookingAvailabilityIndex.rebuild();
+
+        assertThat(bookingAvailabilityIndex.isFree(item.getId(), start.plusDays(1), start.plusDays(3)),
+                equalTo(false));
+        assertThat(bookingAvailabilityIndex.isFree(item.getId(), start.plusDays(2), start.plusDays(3)),
+                equalTo(true));
+    }
+
+    @Test
+    void delete_whenBookerDeleted_thenPeriodFree() {
+        Item item = createItem();
+        User booker = userService.create(objectGenerator.next(User.class));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.create(booker.getId(), newBooking(item, start, start.plusDays(2)));
+
+        userService.delete(booker.getId());
+
+        assertThat(bookingAvailabilityIndex.isFree(item.getId(), start, start.plusDays(2)), equalTo(true));
+    }
+
+    @Test
+    void createAll_whenBatchValid_thenAllPeriodsBusy() {
+        Item item = createItem();
+        User booker = userService.create(objectGenerator.next(User.class));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        List<Booking> bookings = bookingService.createAll(booker.getId(), List.of(
+                newBooking(item, start, start.plusDays(1)),
+                newBooking(item, start.plusDays(1), start.plusDays(2))));
+
+        assertThat(bookings.size(), equalTo(2));
+        assertThat(bookingRepository.findByItemId(item.getId(), PageRequest.of(0, THREADS)).getTotalElements(),
+                equalTo(2L));
+        assertThat(bookingAvailabilityIndex.isFree(item.getId(), start, start.plusDays(2)), equalTo(false));
+    }
+
+    @Test
+    void createAll_whenBookingsOverlapWithinBatch_thenNoBookingCreated() {
+        Item item = createItem();
+        User booker = userService.create(objectGenerator.next(User.class));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> bookings = List.of(
+                newBooking(item, start, start.plusDays(2)),
+                newBooking(item, start.plusDays(1), start.plusDays(3)));
+
+        assertThrows(BookingException.class, () -> bookingService.createAll(booker.getId(), bookings));
+
+        assertThat(bookingRepository.findByItemId(item.getId(), PageRequest.of(0, THREADS)).getTotalElements(),
+                equalTo(0L));
+        assertThat(bookingAvailabilityIndex.isFree(item.getId(), start, start.plusDays(3)), equalTo(true));
+    }
+
+    private Item createItem() {
+        User owner = userService.create(objectGenerator.next(User.class));
+        return itemService.create(owner.getId(), objectGenerator.next(Item.class));
+    }
+
+    private Booking newBooking(Item item, LocalDateTime start, LocalDateTime end) {
+        Booking booking = objectGenerator.next(Booking.class);
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
@@ -9,10 +9,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.server.booking.controller.BookingControllerImpl;
 import ru.practicum.shareit.server.booking.dto.BookingCreateRequest;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 import ru.practicum.shareit.server.booking.exception.BookingException;
@@ -22,6 +26,7 @@ import ru.practicum.shareit.server.common.exception.ForbiddenException;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
 import ru.practicum.shareit.server.item.entity.Comment;
 import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.timeline.TimelineBooking;
 import ru.practicum.shareit.server.user.entity.User;
 
 import java.nio.charset.StandardCharsets;
@@ -33,6 +38,8 @@ import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -72,11 +79,11 @@ class BookingControllerImplIT {
 
         item.setId(1L);
         item.setComments(Set.of(comment));
-        item.setLastBooking(booking);
 
         booking.setId(1L);
         booking.setItem(item);
         booking.setBooker(booker);
+        item.setLastBooking(TimelineBooking.of(booking));
 
         comment.setId(1L);
         comment.setAuthor(booker);
@@ -119,6 +126,31 @@ class BookingControllerImplIT {
     }
 
 
+    @SneakyThrows
+    @Test
+    void createAll_whenValidRequests_thenBookingResponsesReturned() {
+        long userId = 1L;
+        bookingCreateRequest.setStart(currentDateTime.plusDays(1));
+        bookingCreateRequest.setEnd(currentDateTime.plusDays(2));
+        bookingCreateRequest.setItemId(1L);
+
+        when(bookingService.createAll(anyLong(), any()))
+                .thenReturn(List.of(booking));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(List.of(bookingCreateRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].item.id", is(item.getId()), Long.class));
+
+        verify(bookingService).createAll(eq(userId), argThat(bookings -> bookings.size() == 1 &&
+                bookings.get(0).getItem().getId().equals(1L)));
+    }
+
     @SneakyThrows
     @Test
     void create_whenMissingUserIdInHeader_thenBadRequestReturned() {
@@ -232,6 +264,27 @@ class BookingControllerImplIT {
         verify(bookingService).getById(userId, bookingId);
     }
 
+    @SneakyThrows
+    @Test
+    void getById_whenIfNoneMatchEqualsETag_thenNotModifiedReturned() {
+        long userId = 1L;
+        long bookingId = 1L;
+
+        when(bookingService.getById(userId, bookingId))
+                .thenReturn(booking);
+
+        String eTag = mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @SneakyThrows
     @Test
     void getById_whenMissingUserIdInHeader_thenBadRequestReturned() {
@@ -394,4 +447,90 @@ class BookingControllerImplIT {
 
         verify(bookingService, never()).findByItemOwner(anyLong(), any(), anyLong(), anyInt());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getByBookerId_whenPageIsFull_thenNextCursorReturned() {
+        long userId = 0L;
+        StateFilter stateFilter = StateFilter.ALL;
+        long from = 0;
+        int size = 1;
+
+        when(bookingService.findByBookerId(userId, stateFilter, from, size))
+                .thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", stateFilter.toString())
+                        .param("from", Long.toString(from))
+                        .param("size", Integer.toString(size))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(booking).encode()));
+    }
+
+    @SneakyThrows
+    @Test
+    void getByBookerId_whenCursorInParameter_thenSliceAfterCursorReturned() {
+        long userId = 0L;
+        StateFilter stateFilter = StateFilter.ALL;
+        int size = 1;
+        BookingCursor cursor = new BookingCursor(currentDateTime, 5L);
+
+        when(bookingService.findByBookerId(userId, stateFilter, cursor, size))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, size), false));
+
+        mockMvc.perform(get("/bookings")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", stateFilter.toString())
+                        .param("cursor", cursor.encode())
+                        .param("size", Integer.toString(size))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        verify(bookingService, never()).findByBookerId(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getByOwner_whenCursorInParameterAndHasNext_thenNextCursorReturned() {
+        long userId = 0L;
+        StateFilter stateFilter = StateFilter.WAITING;
+        int size = 1;
+        BookingCursor cursor = new BookingCursor(currentDateTime, 5L);
+
+        when(bookingService.findByItemOwner(userId, stateFilter, cursor, size))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, size), true));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("state", stateFilter.toString())
+                        .param("cursor", cursor.encode())
+                        .param("size", Integer.toString(size))
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(booking).encode()));
+    }
+
+    @SneakyThrows
+    @Test
+    void getByOwner_whenInvalidCursorInParameter_thenBadRequestReturned() {
+        long userId = 0L;
+
+        mockMvc.perform(get("/bookings/owner")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "RANDOM CURSOR")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", Matchers.containsString("Некорректный курсор")));
+
+        verify(bookingService, never()).findByItemOwner(anyLong(), any(), any(BookingCursor.class), anyInt());
+    }
+}
@@ -0,0 +1,211 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Проверка, что планы запросов к бронированиям используют индексы из миграций.
+ * Проверяются запросы, которые формируют методы {@link BookingRepository}: SQL запрос записывается при вызове метода
+ * и выполняется повторно с теми же параметрами под EXPLAIN.
+ * Встроенная H2 для внешнего ключа создает собственный индекс, поэтому проверяются запросы,
+ * в которых составной индекс покрывает больше условий, чем индекс внешнего ключа.
+ * Для бронирований владельца проверяется, что план начинается с вещей владельца по индексу owner_id:
+ * индекс (owner_id, id) и индекс внешнего ключа H2 для этого запроса равноценны.
+ * Оптимизатор H2 учитывает статистику только по зафиксированным данным, поэтому тест работает
+ * с отдельной базой без отката транзакций.
+ */
+@DataJpaTest(properties = "spring.datasource.name=booking-index")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingIndexIT {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2023, 3, 1, 0, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "id"));
+    private static final List<QueryInfo> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+
+    private long bookerId;
+    private long ownerId;
+    private long itemId;
+
+    @BeforeAll
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (name, email) " +
+                "SELECT 'user' || x, 'user' || x || '@mail.ru' FROM SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("INSERT INTO item (owner_id, name, description, available) " +
+                "SELECT (SELECT MIN(id) FROM users) + MOD(x, 50), 'name', 'description', true " +
+                "FROM SYSTEM_RANGE(1, 200)");
+        jdbcTemplate.update("INSERT INTO booking (booker_id, item_id, start_time, end_time, status) " +
+                "SELECT (SELECT MIN(id) FROM users) + MOD(x, 50), (SELECT MIN(id) FROM item) + MOD(x, 200), " +
+                "TIMESTAMP '2023-01-01 00:00:00' + x * INTERVAL '1' HOUR, " +
+                "TIMESTAMP '2023-01-01 00:00:00' + (x + 2) * INTERVAL '1' HOUR, " +
+                "CASE MOD(x, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END " +
+                "FROM SYSTEM_RANGE(1, 5000)");
+        jdbcTemplate.execute("ANALYZE");
+
+        bookerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        itemId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM item", Long.class);
+        ownerId = jdbcTemplate.queryForObject("SELECT owner_id FROM item WHERE id = ?", Long.class, itemId);
+    }
+
+    @Test
+    void migrations_whenApplied_thenIndexesCreated() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes", String.class);
+
+        assertThat(indexes, hasItems("booking_booker_start_idx", "booking_booker_status_start_idx",
+                "booking_item_start_idx", "booking_item_status_start_idx", "item_owner_idx", "item_request_idx",
+                "comment_item_idx", "request_author_created_idx", "booking_booker_item_status_start_idx"));
+    }
+
+    @Test
+    void findCurrentByBooker_whenExplained_thenBookerStartIndexUsed() {
+        String plan = explain(() -> bookingRepository
+                .findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(bookerId, TIME, TIME,
+                        PAGE));
+
+        assertThat(plan, containsString("BOOKING_BOOKER_START_IDX"));
+    }
+
+    @Test
+    void findFutureByBooker_whenExplained_thenBookerStartIndexUsed() {
+        String plan = explain(() -> bookingRepository.findByBookerIdAndStartGreaterThanOrderByStartDesc(bookerId,
+                TIME, PAGE));
+
+        assertThat(plan, containsString("BOOKING_BOOKER_START_IDX"));
+    }
+
+    @Test
+    void findByBookerAndStatus_whenExplained_thenBookerStatusStartIndexUsed() {
+        String plan = explain(() -> bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(bookerId,
+                Status.WAITING, PAGE));
+
+        assertThat(plan, containsString("BOOKING_BOOKER_STATUS_START_IDX"));
+    }
+
+    @Test
+    void findByBookerAndStatusAfterCursor_whenExplained_thenBookerStatusStartIndexUsed() {
+        String plan = explain(() -> bookingRepository.findByBookerIdAndStatusAfterCursor(bookerId, Status.WAITING,
+                TIME, Long.MAX_VALUE, PageRequest.of(0, 50)));
+
+        assertThat(plan, containsString("BOOKING_BOOKER_STATUS_START_IDX"));
+    }
+
+    @Test
+    void findByItemOwner_whenExplained_thenOwnerItemsReadByIndex() {
+        String plan = explain(() -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, PAGE));
+
+        assertThat(plan, containsString("OWNER_ID = ?1 */"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void findByItemOwnerAfterCursor_whenExplained_thenOwnerItemsReadByIndex() {
+        String plan = explain(() -> bookingRepository.findByItemOwnerIdAfterCursor(ownerId, TIME, Long.MAX_VALUE,
+                PageRequest.of(0, 50)));
+
+        assertThat(plan, containsString("OWNER_ID = ?1 */"));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    @Test
+    void findByItemOwnerAndStatus_whenExplained_thenOwnerItemsAndItemStatusStartIndexUsed() {
+        String plan = explain(() -> bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(ownerId,
+                Status.WAITING, PAGE));
+
+        assertThat(plan, containsString("OWNER_ID = ?1 */"));
+        assertThat(plan, not(containsString("tableScan")));
+        assertThat(plan, containsString("BOOKING_ITEM_STATUS_START_IDX"));
+    }
+
+    @Test
+    void findLastAndNextBookings_whenExplained_thenItemStatusStartIndexUsed() {
+        String plan = explain(() -> bookingRepository.findLastAndNextBookings(List.of(itemId, itemId + 1),
+                Status.APPROVED.name(), TIME));
+
+        assertThat(plan, containsString("BOOKING_ITEM_STATUS_START_IDX"));
+    }
+
+    @Test
+    void existsByBookerIdAndItemIdAndStatusAndStartLessThan_whenExplained_thenBookerItemStatusStartIndexUsed() {
+        String plan = explain(() -> bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(bookerId,
+                itemId, Status.APPROVED, TIME));
+
+        assertThat(plan, containsString("BOOKING_BOOKER_ITEM_STATUS_START_IDX"));
+    }
+
+    /**
+     * План запроса к бронированиям, который выполнил метод репозитория.
+     * Запрос выполняется повторно с теми же параметрами под EXPLAIN.
+     */
+    private String explain(Runnable repositoryCall) {
+        STATEMENTS.clear();
+        repositoryCall.run();
+        List<QueryInfo> bookingQueries = STATEMENTS.stream()
+                .filter(query -> query.getQuery().toLowerCase(Locale.ROOT).contains("from booking"))
+                .collect(Collectors.toList());
+        assertThat(bookingQueries, hasSize(1));
+
+        QueryInfo query = bookingQueries.get(0);
+        Object[] parameters = query.getParametersList().get(0).stream()
+                .sorted(Comparator.comparing(parameter -> (Integer) parameter.getArgs()[0]))
+                .map(parameter -> parameter.getArgs()[1])
+                .toArray();
+        return jdbcTemplate.queryForObject("EXPLAIN " + query.getQuery(), String.class, parameters);
+    }
+
+    /**
+     * Запись SQL запросов, выполненных через основной источник данных.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapturePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .afterQuery((execInfo, queries) -> STATEMENTS.addAll(queries))
+                            .build();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.server.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.booking.availability.BookingInterval;
+import ru.practicum.shareit.server.booking.availability.BookingIntervalTree;
+import ru.practicum.shareit.server.booking.entity.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+class BookingIntervalTreeTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 6, 1, 12, 0);
+
+    private BookingIntervalTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new BookingIntervalTree();
+    }
+
+    @Test
+    void overlaps_whenTreeEmpty_thenFalseReturned() {
+        assertThat(tree.overlaps(START, START.plusDays(1)), equalTo(false));
+    }
+
+    @Test
+    void overlaps_whenPeriodIntersectsBooking_thenTrueReturned() {
+        tree.add(interval(1L, 2, 4));
+
+        assertThat(tree.overlaps(at(1), at(3)), equalTo(true));
+        assertThat(tree.overlaps(at(3), at(5)), equalTo(true));
+        assertThat(tree.overlaps(at(1), at(5)), equalTo(true));
+        assertThat(tree.overlaps(at(2), at(4)), equalTo(true));
+    }
+
+    @Test
+    void overlaps_whenPeriodAdjoinsBooking_thenFalseReturned() {
+        tree.add(interval(1L, 2, 4));
+
+        assertThat(tree.overlaps(at(0), at(2)), equalTo(false));
+        assertThat(tree.overlaps(at(4), at(6)), equalTo(false));
+    }
+
+    @Test
+    void overlaps_whenLongBookingInLeftSubtree_thenTrueReturned() {
+        tree.add(interval(1L, 0, 100));
+        for (long id = 2; id < 10; id++) {
+            tree.add(interval(id, (int) id * 10, (int) id * 10 + 1));
+        }
+
+        assertThat(tree.overlaps(at(95), at(96)), equalTo(true));
+    }
+
+    @Test
+    void remove_whenBookingRemoved_thenPeriodFree() {
+        BookingInterval interval = interval(1L, 2, 4);
+        tree.add(interval);
+
+        assertThat(tree.remove(interval), equalTo(true));
+        assertThat(tree.remove(interval), equalTo(false));
+        assertThat(tree.overlaps(at(2), at(4)), equalTo(false));
+        assertThat(tree.size(), equalTo(0));
+    }
+
+    @Test
+    void overlaps_whenRandomBookingsAddedAndRemoved_thenSameAsFullScan() {
+        Random random = new Random(42);
+        List<BookingInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            int start = random.nextInt(1000);
+            BookingInterval interval = interval(id, start, start + 1 + random.nextInt(20));
+            intervals.add(interval);
+            tree.add(interval);
+        }
+        for (int i = 0; i < 200; i++) {
+            tree.remove(intervals.remove(random.nextInt(intervals.size())));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(1020);
+            LocalDateTime queryStart = at(start);
+            LocalDateTime queryEnd = at(start + 1 + random.nextInt(10));
+            boolean expected = intervals.stream().anyMatch(interval -> interval.overlaps(queryStart, queryEnd));
+
+            assertThat(tree.overlaps(queryStart, queryEnd), equalTo(expected));
+        }
+        assertThat(tree.size(), equalTo(intervals.size()));
+    }
+
+    @Test
+    void findOverlapping_whenBookingsInWindow_thenOverlappingReturnedInStartOrder() {
+        BookingInterval first = interval(1L, 0, 100);
+        BookingInterval second = interval(2L, 10, 12);
+        BookingInterval third = interval(3L, 20, 22);
+        BookingInterval fourth = interval(4L, 30, 32);
+        List.of(fourth, second, first, third).forEach(tree::add);
+
+        assertThat(tree.findOverlapping(at(11), at(21)), contains(first, second, third));
+        assertThat(tree.findOverlapping(at(100), at(200)), empty());
+    }
+
+    private static BookingInterval interval(long bookingId, int startHour, int endHour) {
+        return new BookingInterval(bookingId, 1L, at(startHour), at(endHour), Status.APPROVED);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return START.plusHours(hour);
+    }
+}
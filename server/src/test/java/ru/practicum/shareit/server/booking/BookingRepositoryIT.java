@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.Status;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
@@ -22,7 +24,9 @@ import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 
 @DataJpaTest
 @Import(ObjectGenerator.class)
@@ -135,14 +139,47 @@ class BookingRepositoryIT {
     }
 
     @Test
-    void findByBookerIdAndStartLessThanAndStatusIsOrderByStartDesc() {
-        LocalDateTime searchDateTime = THIRD_START_DATE.plusDays(1);
+    void existsByBookerIdAndItemIdAndStatusAndStartLessThan_whenApprovedBookingStartedBefore_thenTrueReturned() {
+        boolean exists = bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(booker.getId(),
+                item.getId(), Status.APPROVED, MIDDLE_DATE);
 
-        List<Booking> bookings = bookingRepository.findByBookerIdAndStartLessThanAndStatusIsOrderByStartDesc(booker.getId(),
-                searchDateTime,
-                Status.REJECTED);
+        assertThat(exists, is(true));
+    }
 
-        assertThat(bookings, hasSize(1));
+    @Test
+    void existsByBookerIdAndItemIdAndStatusAndStartLessThan_whenApprovedBookingStartsLater_thenFalseReturned() {
+        boolean exists = bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(booker.getId(),
+                item.getId(), Status.APPROVED, SECOND_START_DATE);
+
+        assertThat(exists, is(false));
+    }
+
+    @Test
+    void existsByBookerIdAndItemIdAndStatusAndStartLessThan_whenOtherBooker_thenFalseReturned() {
+        boolean exists = bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(owner.getId(),
+                item.getId(), Status.APPROVED, MIDDLE_DATE);
+
+        assertThat(exists, is(false));
+    }
+
+    @Test
+    void existsOverlapping_whenWaitingOrApprovedBookingOverlaps_thenTrueReturned() {
+        bookingRepository.flush();
+
+        boolean exists = bookingRepository.existsOverlapping(item.getId(), BookingAvailabilityIndex.BUSY_STATUSES,
+                MIDDLE_DATE, THIRD_START_DATE);
+
+        assertThat(exists, is(true));
+    }
+
+    @Test
+    void existsOverlapping_whenOnlyRejectedOrAdjacentBookings_thenFalseReturned() {
+        bookingRepository.flush();
+
+        boolean exists = bookingRepository.existsOverlapping(item.getId(), BookingAvailabilityIndex.BUSY_STATUSES,
+                SECOND_END_DATE, THIRD_END_DATE);
+
+        assertThat(exists, is(false));
     }
 
     @Test
@@ -216,43 +253,90 @@ class BookingRepositoryIT {
     }
 
     @Test
-    void findLastApprovedBookingForItems_whenAllLastBookingsApproved_thenReturnList() {
+    void findLastAndNextBookings_whenLastBookingsApproved_thenLatestPastBookingReturned() {
         booking1.setStatus(Status.APPROVED);
 
-        List<Booking> bookings = bookingRepository.findLastBookings(List.of(item.getId()), Status.APPROVED.name(),
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(item.getId()), Status.APPROVED.name(),
                 MIDDLE_DATE);
 
         assertThat(bookings, contains(booking2));
     }
 
     @Test
-    void findLastApprovedBookingForItems_whenNoneLastBookingsApproved_thenReturnEmptyList() {
+    void findLastAndNextBookings_whenNoneBookingsApproved_thenReturnEmptyList() {
         booking1.setStatus(Status.REJECTED);
         booking2.setStatus(Status.REJECTED);
 
-        List<Booking> bookings = bookingRepository.findLastBookings(List.of(item.getId()), Status.APPROVED.name(),
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(item.getId()), Status.APPROVED.name(),
                 MIDDLE_DATE);
 
         assertThat(bookings, hasSize(0));
     }
 
     @Test
-    void findNextApprovedBookingForItems_whenAllNextBookingsApproved_thenReturnList() {
+    void findLastAndNextBookings_whenPastAndFutureBookingsApproved_thenLastAndNextReturned() {
+        booking1.setStatus(Status.APPROVED);
+        booking2.setStatus(Status.APPROVED);
         booking3.setStatus(Status.APPROVED);
 
-        List<Booking> bookings = bookingRepository.findNextBookings(List.of(item.getId()), Status.APPROVED.name(),
-                MIDDLE_DATE);
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(item.getId()),
+                Status.APPROVED.name(), MIDDLE_DATE);
 
-        assertThat(bookings, contains(booking3));
+        assertThat(bookings, containsInAnyOrder(booking2, booking3));
     }
 
     @Test
-    void findNextApprovedBookingForItems_whenNoneNextBookingsApproved_thenReturnEmptyList() {
+    void findLastAndNextBookings_whenNextBookingNotApproved_thenOnlyLastReturned() {
+        booking2.setStatus(Status.APPROVED);
         booking3.setStatus(Status.WAITING);
 
-        List<Booking> bookings = bookingRepository.findNextBookings(List.of(item.getId()), Status.APPROVED.name(),
-                MIDDLE_DATE);
+        List<Booking> bookings = bookingRepository.findLastAndNextBookings(List.of(item.getId()),
+                Status.APPROVED.name(), MIDDLE_DATE);
+
+        assertThat(bookings, contains(booking2));
+    }
+
+    @Test
+    void findByBookerIdAfterCursor_whenCursorOnFirstPage_thenRestOfBookingsReturned() {
+        List<Booking> bookings = bookingRepository.findByBookerIdAfterCursor(booker.getId(),
+                booking3.getStart(), booking3.getId(), pageRequest).getContent();
+
+        assertThat(bookings, contains(booking2, booking1));
+    }
+
+    @Test
+    void findByBookerIdAfterCursor_whenStartEquals_thenOrderedById() {
+        booking1.setStart(SECOND_START_DATE);
+
+        Slice<Booking> bookings = bookingRepository.findByBookerIdAfterCursor(booker.getId(),
+                SECOND_START_DATE, booking2.getId(), PageRequest.of(0, 1));
+
+        assertThat(bookings.getContent(), contains(booking1));
+        assertThat(bookings.hasNext(), is(false));
+    }
+
+    @Test
+    void findPastByBookerIdAfterCursor_whenPageSizeLessThanRest_thenSliceHasNext() {
+        Slice<Booking> bookings = bookingRepository.findPastByBookerIdAfterCursor(booker.getId(),
+                THIRD_END_DATE.plusDays(1), booking3.getStart(), booking3.getId(), PageRequest.of(0, 1));
+
+        assertThat(bookings.getContent(), contains(booking2));
+        assertThat(bookings.hasNext(), is(true));
+    }
+
+    @Test
+    void findByItemOwnerIdAndStatusAfterCursor_whenExists_thenReturned() {
+        List<Booking> bookings = bookingRepository.findByItemOwnerIdAndStatusAfterCursor(owner.getId(),
+                Status.WAITING, booking2.getStart(), booking2.getId(), pageRequest).getContent();
+
+        assertThat(bookings, contains(booking1));
+    }
+
+    @Test
+    void findFutureByItemOwnerIdAfterCursor_whenCursorOnLastFutureBooking_thenEmptyListReturned() {
+        List<Booking> bookings = bookingRepository.findFutureByItemOwnerIdAfterCursor(owner.getId(),
+                MIDDLE_DATE, booking3.getStart(), booking3.getId(), pageRequest).getContent();
 
         assertThat(bookings, hasSize(0));
     }
-}
\ No newline at end of file
+}
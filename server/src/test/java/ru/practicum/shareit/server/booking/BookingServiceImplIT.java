@@ -9,11 +9,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.exception.BookingException;
 import ru.practicum.shareit.server.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.server.common.exception.ForbiddenException;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
@@ -22,7 +25,9 @@ import ru.practicum.shareit.server.item.service.ItemService;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,7 +43,10 @@ class BookingServiceImplIT {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingServiceImpl bookingService;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
     private final ObjectGenerator objectGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
 
     private Item item;
     private User owner;
@@ -51,7 +59,8 @@ class BookingServiceImplIT {
 
     @BeforeEach
     void setUp() {
-        currentDateTime = LocalDateTime.now();
+        // Время с точностью до секунды, как в запросах API: база данных округляет доли секунды.
+        currentDateTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
         owner = objectGenerator.next(User.class);
         booker = objectGenerator.next(User.class);
@@ -137,4 +146,63 @@ class BookingServiceImplIT {
         MatcherAssert.assertThat(foundBooking, Matchers.is(booking));
         MatcherAssert.assertThat(foundBooking.getStatus(), Matchers.is(Status.APPROVED));
     }
-}
\ No newline at end of file
+
+    @Test
+    void create_whenPeriodOverlapsWaitingBooking_thenBookingExceptionThrown() {
+        Booking overlappingBooking = copyOf(booking, currentDateTime.plusDays(2), currentDateTime.plusDays(4));
+
+        assertThrows(BookingException.class,
+                () -> bookingService.create(anotherUser.getId(), overlappingBooking));
+    }
+
+    @Test
+    void create_whenPeriodAdjoinsBooking_thenBookingCreated() {
+        Booking adjoiningBooking = copyOf(booking, booking.getEnd(), currentDateTime.plusDays(5));
+
+        Booking createdBooking = bookingService.create(anotherUser.getId(), adjoiningBooking);
+
+        MatcherAssert.assertThat(createdBooking.getStatus(), Matchers.is(Status.WAITING));
+    }
+
+    @Test
+    void create_whenOverlappingBookingRejected_thenBookingCreated() {
+        bookingService.setApproved(owner.getId(), booking.getId(), false);
+        Booking overlappingBooking = copyOf(booking, booking.getStart(), booking.getEnd());
+
+        Booking createdBooking = bookingService.create(anotherUser.getId(), overlappingBooking);
+
+        MatcherAssert.assertThat(createdBooking.getStatus(), Matchers.is(Status.WAITING));
+    }
+
+    @Test
+    void create_whenIndexStaleAfterRejectOnAnotherInstance_thenBookingCreated() {
+        // Отклонение на другом экземпляре приложения меняет только базу данных, индекс этого экземпляра устаревает.
+        entityManager.flush();
+        jdbcTemplate.update("update booking set status = 'REJECTED' where id = ?", booking.getId());
+        Booking overlappingBooking = copyOf(booking, booking.getStart(), booking.getEnd());
+
+        Booking createdBooking = bookingService.create(anotherUser.getId(), overlappingBooking);
+
+        MatcherAssert.assertThat(createdBooking.getStatus(), Matchers.is(Status.WAITING));
+    }
+
+    @Test
+    void setApproved_whenApproved_thenPeriodBusyForSearch() {
+        long itemId = item.getId();
+        MatcherAssert.assertThat(bookingAvailabilityIndex.isFreeOfApproved(itemId, booking.getStart(),
+                booking.getEnd()), Matchers.is(true));
+
+        bookingService.setApproved(owner.getId(), booking.getId(), true);
+
+        MatcherAssert.assertThat(bookingAvailabilityIndex.isFreeOfApproved(itemId, booking.getStart(),
+                booking.getEnd()), Matchers.is(false));
+    }
+
+    private Booking copyOf(Booking source, LocalDateTime start, LocalDateTime end) {
+        Booking copy = objectGenerator.next(Booking.class);
+        copy.setItem(source.getItem());
+        copy.setStart(start);
+        copy.setEnd(end);
+        return copy;
+    }
+}
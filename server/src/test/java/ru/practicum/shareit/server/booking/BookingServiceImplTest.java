@@ -1,14 +1,23 @@
 package ru.practicum.shareit.server.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.booking.availability.BookingInterval;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
 import ru.practicum.shareit.server.booking.entity.Booking;
 import ru.practicum.shareit.server.booking.entity.StateFilter;
 import ru.practicum.shareit.server.booking.entity.Status;
@@ -20,12 +29,15 @@ import ru.practicum.shareit.server.common.exception.ForbiddenException;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
 import ru.practicum.shareit.server.item.entity.Item;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.timeline.BookingTimelineCache;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -44,9 +56,21 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private KnownUserCache knownUserCache;
+
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
+
+    @Mock
+    private BookingAvailabilityIndex bookingAvailabilityIndex;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -79,38 +103,38 @@ class BookingServiceImplTest {
         long userId = 1L;
         long bookingId = 0L;
 
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getById(userId, bookingId));
 
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findFullById(bookingId);
     }
 
     @Test
     void getById_whenUserOwnerAndNotBooker_thenBookingReturned() {
         long userId = owner.getId();
         long bookingId = 1L;
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.of(booking));
 
         Booking actualBooking = bookingService.getById(userId, bookingId);
 
         assertThat(actualBooking, is(booking));
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findFullById(bookingId);
     }
 
     @Test
     void getById_whenUserBookerAndNotOwner_thenBookingReturned() {
         long userId = booker.getId();
         long bookingId = 1L;
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.of(booking));
 
         Booking actualBooking = bookingService.getById(userId, bookingId);
 
         assertThat(actualBooking, is(booking));
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findFullById(bookingId);
     }
 
     @Test
@@ -118,12 +142,12 @@ class BookingServiceImplTest {
         long userId = 100L;
         long bookingId = 0L;
 
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.of(booking));
 
         assertThrows(ForbiddenException.class, () -> bookingService.getById(userId, bookingId));
 
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findFullById(bookingId);
     }
 
     @Test
@@ -133,13 +157,27 @@ class BookingServiceImplTest {
         int size = 50;
         StateFilter stateFilter = StateFilter.ALL;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException("Пользователь с id %d не найден.", userId))
+                .when(knownUserCache).requireExists(userId);
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.findByBookerId(userId, stateFilter, from, size));
     }
 
+    @Test
+    void findByBookerId_whenCalledTwice_thenSameListingTimerRecordsBothCalls() {
+        when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any()))
+                .thenReturn(new PageImpl<>(List.of(booking)));
+
+        bookingService.findByBookerId(1L, StateFilter.ALL, 0, 50);
+        bookingService.findByBookerId(2L, StateFilter.ALL, 0, 50);
+
+        assertThat(meterRegistry.get("shareit.booking.listing").timers().size(), equalTo(1));
+        assertThat(meterRegistry.get("shareit.booking.listing")
+                .tags("method", "findByBookerId", "state", "ALL", "pagination", "offset")
+                .timer().count(), equalTo(2L));
+    }
+
     @Test
     void findByBookerId_whenStateAll_thanListOfBookingsReturned() {
         StateFilter stateFilter = StateFilter.ALL;
@@ -147,15 +185,13 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
 
         List<Booking> actualBookings = bookingService.findByBookerId(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByBookerIdOrderByStartDesc(anyLong(), any());
     }
 
@@ -166,8 +202,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
                 anyLong(), any(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -175,7 +209,7 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByBookerId(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
                 anyLong(), any(), any(), any());
     }
@@ -187,8 +221,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(
                 anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -196,7 +228,7 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByBookerId(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByBookerIdAndEndLessThanOrderByStartDesc(
                 anyLong(), any(), any());
     }
@@ -208,8 +240,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStartGreaterThanOrderByStartDesc(
                 anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -217,7 +247,7 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByBookerId(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByBookerIdAndStartGreaterThanOrderByStartDesc(
                 anyLong(), any(), any());
     }
@@ -229,8 +259,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(
                 anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -238,7 +266,7 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByBookerId(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByBookerIdAndStatusIsOrderByStartDesc(
                 anyLong(), any(), any());
     }
@@ -250,8 +278,8 @@ class BookingServiceImplTest {
         int size = 50;
         StateFilter stateFilter = StateFilter.ALL;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException("Пользователь с id %d не найден.", userId))
+                .when(knownUserCache).requireExists(userId);
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.findByItemOwner(userId, stateFilter, from, size));
@@ -264,15 +292,13 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByItemOwnerIdOrderByStartDesc(anyLong(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
 
         List<Booking> actualBookings = bookingService.findByItemOwner(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByItemOwnerIdOrderByStartDesc(anyLong(), any());
     }
 
@@ -283,8 +309,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
                 anyLong(), any(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -292,7 +316,7 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByItemOwner(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
                 anyLong(), any(), any(), any());
     }
@@ -304,8 +328,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(
                 anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -313,7 +335,7 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByItemOwner(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByItemOwnerIdAndEndLessThanOrderByStartDesc(
                 anyLong(), any(), any());
     }
@@ -325,8 +347,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(
                 anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -334,7 +354,7 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByItemOwner(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(
                 anyLong(), any(), any());
     }
@@ -346,8 +366,6 @@ class BookingServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(
                 anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(booking)));
@@ -355,11 +373,69 @@ class BookingServiceImplTest {
         List<Booking> actualBookings = bookingService.findByItemOwner(userId, stateFilter, from, size);
 
         assertThat(actualBookings, contains(booking));
-        verify(userRepository).findById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository).findByItemOwnerIdAndStatusIsOrderByStartDesc(
                 anyLong(), any(), any());
     }
 
+    @Test
+    void findByBookerId_whenCursorIsNull_thenFirstSliceReturned() {
+        long userId = 1L;
+        int size = 50;
+
+        when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> actualBookings = bookingService.findByBookerId(userId, StateFilter.ALL, null, size);
+
+        assertThat(actualBookings.getContent(), contains(booking));
+        verify(bookingRepository, never()).findByBookerIdAfterCursor(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void findByBookerId_whenCursorIsPresent_thenSliceAfterCursorReturned() {
+        long userId = 1L;
+        int size = 50;
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+
+        when(bookingRepository.findPastByBookerIdAfterCursor(eq(userId), any(), eq(cursor.getStart()),
+                eq(cursor.getId()), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> actualBookings = bookingService.findByBookerId(userId, StateFilter.PAST, cursor, size);
+
+        assertThat(actualBookings.getContent(), contains(booking));
+        verify(bookingRepository, never()).findByBookerIdAndEndLessThanOrderByStartDesc(anyLong(), any(), any());
+    }
+
+    @Test
+    void findByBookerId_whenCursorIsPresentAndBookerIdIsInvalid_thenEntityNotFoundExceptionThrown() {
+        long userId = 1L;
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+
+        doThrow(new EntityNotFoundException("Пользователь с id %d не найден.", userId))
+                .when(knownUserCache).requireExists(userId);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.findByBookerId(userId, StateFilter.ALL, cursor, 50));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StateFilter.class, names = {"REJECTED", "APPROVED", "WAITING"})
+    void findByItemOwner_whenCursorIsPresent_thenSliceAfterCursorReturned(StateFilter stateFilter) {
+        long userId = 1L;
+        int size = 50;
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now(), 10L);
+
+        when(bookingRepository.findByItemOwnerIdAndStatusAfterCursor(eq(userId),
+                eq(Status.valueOf(stateFilter.name())), eq(cursor.getStart()), eq(cursor.getId()), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        Slice<Booking> actualBookings = bookingService.findByItemOwner(userId, stateFilter, cursor, size);
+
+        assertThat(actualBookings.getContent(), contains(booking));
+    }
+
     @Test
     void create_whenUserIdIsInvalid_thanEntityNotFoundExceptionThrown() {
         long userId = 0L;
@@ -380,14 +456,14 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findForUpdateById(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.create(userId, booking));
 
         verify(userRepository).findById(userId);
-        verify(itemRepository).findById(anyLong());
+        verify(itemRepository).findForUpdateById(anyLong());
         verify(bookingRepository, never()).save(booking);
     }
 
@@ -398,14 +474,14 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId()))
+        when(itemRepository.findForUpdateById(item.getId()))
                 .thenReturn(Optional.of(item));
 
         assertThrows(BookingException.class,
                 () -> bookingService.create(userId, booking));
 
         verify(userRepository).findById(userId);
-        verify(itemRepository).findById(item.getId());
+        verify(itemRepository).findForUpdateById(item.getId());
         verify(bookingRepository, never()).save(booking);
     }
 
@@ -415,14 +491,14 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId()))
+        when(itemRepository.findForUpdateById(item.getId()))
                 .thenReturn(Optional.of(item));
 
         assertThrows(ForbiddenException.class,
                 () -> bookingService.create(userId, booking));
 
         verify(userRepository).findById(userId);
-        verify(itemRepository).findById(item.getId());
+        verify(itemRepository).findForUpdateById(item.getId());
         verify(bookingRepository, never()).save(booking);
     }
 
@@ -434,14 +510,14 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId()))
+        when(itemRepository.findForUpdateById(item.getId()))
                 .thenReturn(Optional.of(item));
 
         assertThrows(BookingException.class,
                 () -> bookingService.create(userId, booking));
 
         verify(userRepository).findById(userId);
-        verify(itemRepository).findById(item.getId());
+        verify(itemRepository).findForUpdateById(item.getId());
         verify(bookingRepository, never()).save(booking);
     }
 
@@ -453,14 +529,158 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId()))
+        when(itemRepository.findForUpdateById(item.getId()))
                 .thenReturn(Optional.of(item));
+        when(bookingRepository.save(booking))
+                .thenReturn(booking);
 
         bookingService.create(userId, booking);
 
         verify(userRepository).findById(userId);
-        verify(itemRepository).findById(item.getId());
+        verify(itemRepository).findForUpdateById(item.getId());
+        verify(bookingRepository).save(booking);
+        verify(bookingAvailabilityIndex).add(booking);
+        verify(bookingTimelineCache).invalidate(item.getId());
+    }
+
+    @Test
+    void create_whenPeriodOverlapsExistingBooking_thanBookingExceptionThrown() {
+        long userId = booker.getId();
+        booking.setStart(LocalDateTime.of(2022, 1, 1, 0, 0));
+        booking.setEnd(LocalDateTime.of(2023, 1, 1, 0, 0));
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findForUpdateById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(item.getId(), BookingAvailabilityIndex.BUSY_STATUSES,
+                booking.getStart(), booking.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(BookingException.class,
+                () -> bookingService.create(userId, booking));
+
+        verify(bookingRepository, never()).save(booking);
+        verify(bookingAvailabilityIndex, never()).add(any());
+    }
+
+    @Test
+    void create_whenDatabaseHasNoOverlappingBooking_thenIndexNotConsulted() {
+        long userId = booker.getId();
+        booking.setStart(LocalDateTime.of(2022, 1, 1, 0, 0));
+        booking.setEnd(LocalDateTime.of(2023, 1, 1, 0, 0));
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findForUpdateById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(item.getId(), BookingAvailabilityIndex.BUSY_STATUSES,
+                booking.getStart(), booking.getEnd()))
+                .thenReturn(false);
+        when(bookingRepository.save(booking))
+                .thenReturn(booking);
+
+        bookingService.create(userId, booking);
+
+        verify(bookingAvailabilityIndex, never()).isFree(anyLong(), any(), any());
         verify(bookingRepository).save(booking);
+        verify(bookingAvailabilityIndex).add(booking);
+    }
+
+    @Test
+    void createAll_whenAllValid_thenItemsLockedOnceAndBookingsSaved() {
+        long userId = booker.getId();
+        booking.setStart(LocalDateTime.of(2022, 1, 1, 0, 0));
+        booking.setEnd(LocalDateTime.of(2023, 1, 1, 0, 0));
+        Booking nextBooking = objectGenerator.next(Booking.class);
+        nextBooking.setId(2L);
+        nextBooking.setItem(item);
+        nextBooking.setStart(booking.getEnd());
+        nextBooking.setEnd(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findAllForUpdateByIdIn(Set.of(item.getId())))
+                .thenReturn(List.of(item));
+        when(bookingRepository.save(any(Booking.class)))
+                .then(invocation -> invocation.getArgument(0));
+
+        List<Booking> createdBookings = bookingService.createAll(userId, List.of(booking, nextBooking));
+
+        assertThat(createdBookings, contains(booking, nextBooking));
+        assertThat(nextBooking.getStatus(), equalTo(Status.WAITING));
+        verify(itemRepository).findAllForUpdateByIdIn(Set.of(item.getId()));
+        verify(bookingAvailabilityIndex).add(booking);
+        verify(bookingAvailabilityIndex).add(nextBooking);
+        verify(bookingTimelineCache).invalidate(item.getId());
+    }
+
+    @Test
+    void createAll_whenItemNotFound_thenEntityNotFoundExceptionThrown() {
+        long userId = booker.getId();
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findAllForUpdateByIdIn(Set.of(item.getId())))
+                .thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.createAll(userId, List.of(booking)));
+
+        verify(bookingRepository, never()).save(booking);
+        verify(bookingTimelineCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void createAll_whenBatchIsEmpty_thenBookingExceptionThrown() {
+        assertThrows(BookingException.class, () -> bookingService.createAll(booker.getId(), List.of()));
+
+        verify(userRepository, never()).findById(anyLong());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createAll_whenPeriodOverlaps_thenBookingExceptionThrown() {
+        long userId = booker.getId();
+        booking.setStart(LocalDateTime.of(2022, 1, 1, 0, 0));
+        booking.setEnd(LocalDateTime.of(2023, 1, 1, 0, 0));
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findAllForUpdateByIdIn(Set.of(item.getId())))
+                .thenReturn(List.of(item));
+        when(bookingRepository.findIntervalsOverlapping(Set.of(item.getId()), BookingAvailabilityIndex.BUSY_STATUSES,
+                booking.getStart(), booking.getEnd()))
+                .thenReturn(List.of(new BookingInterval(2L, item.getId(), booking.getStart(),
+                        booking.getStart().plusDays(1), Status.WAITING)));
+
+        assertThrows(BookingException.class,
+                () -> bookingService.createAll(userId, List.of(booking)));
+
+        verify(bookingRepository, never()).save(booking);
+    }
+
+    @Test
+    void createAll_whenBookingsOfBatchOverlap_thenBookingExceptionThrown() {
+        long userId = booker.getId();
+        booking.setStart(LocalDateTime.of(2022, 1, 1, 0, 0));
+        booking.setEnd(LocalDateTime.of(2023, 1, 1, 0, 0));
+        Booking overlappingBooking = objectGenerator.next(Booking.class);
+        overlappingBooking.setItem(item);
+        overlappingBooking.setStart(LocalDateTime.of(2022, 6, 1, 0, 0));
+        overlappingBooking.setEnd(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findAllForUpdateByIdIn(Set.of(item.getId())))
+                .thenReturn(List.of(item));
+        when(bookingRepository.save(booking))
+                .thenReturn(booking);
+
+        assertThrows(BookingException.class,
+                () -> bookingService.createAll(userId, List.of(booking, overlappingBooking)));
+
+        verify(bookingRepository, never()).save(overlappingBooking);
     }
 
     @Test
@@ -470,13 +690,13 @@ class BookingServiceImplTest {
         boolean approved = true;
         Status currentStatus = booking.getStatus();
 
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.setApproved(userId, bookingId, approved));
 
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findFullById(bookingId);
         verify(bookingRepository, never()).save(booking);
         assertThat(booking.getStatus(), equalTo(currentStatus));
     }
@@ -488,16 +708,16 @@ class BookingServiceImplTest {
         boolean approved = true;
         Status currentStatus = booking.getStatus();
 
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        doThrow(new EntityNotFoundException("Пользователь с id %d не найден.", userId))
+                .when(knownUserCache).requireExists(userId);
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.setApproved(userId, bookingId, approved));
 
-        verify(bookingRepository).findById(bookingId);
-        verify(userRepository).findById(userId);
+        verify(bookingRepository).findFullById(bookingId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository, never()).save(booking);
         assertThat(booking.getStatus(), equalTo(currentStatus));
     }
@@ -509,16 +729,14 @@ class BookingServiceImplTest {
         boolean approved = true;
         Status currentStatus = booking.getStatus();
 
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
 
         assertThrows(ForbiddenException.class,
                 () -> bookingService.setApproved(userId, bookingId, approved));
 
-        verify(bookingRepository).findById(bookingId);
-        verify(userRepository).findById(userId);
+        verify(bookingRepository).findFullById(bookingId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository, never()).save(booking);
         assertThat(booking.getStatus(), equalTo(currentStatus));
     }
@@ -531,16 +749,14 @@ class BookingServiceImplTest {
         booking.setStatus(Status.REJECTED);
         Status currentStatus = booking.getStatus();
 
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
 
         assertThrows(BookingException.class,
                 () -> bookingService.setApproved(userId, bookingId, approved));
 
-        verify(bookingRepository).findById(bookingId);
-        verify(userRepository).findById(userId);
+        verify(bookingRepository).findFullById(bookingId);
+        verify(knownUserCache).requireExists(userId);
         verify(bookingRepository, never()).save(booking);
         assertThat(booking.getStatus(), equalTo(currentStatus));
     }
@@ -552,18 +768,37 @@ class BookingServiceImplTest {
         boolean approved = true;
         booking.setStatus(Status.WAITING);
 
-        when(bookingRepository.findById(bookingId))
+        when(bookingRepository.findFullById(bookingId))
                 .thenReturn(Optional.of(booking));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(booker));
         when(bookingRepository.save(booking))
                 .thenReturn(booking);
 
         Booking changedBooking = bookingService.setApproved(userId, bookingId, approved);
 
-        verify(bookingRepository).findById(bookingId);
-        verify(userRepository).findById(userId);
-        verify(bookingRepository).save(booking);
+        InOrder inOrder = inOrder(itemRepository, bookingRepository);
+        verify(bookingRepository).findFullById(bookingId);
+        verify(knownUserCache).requireExists(userId);
+        inOrder.verify(itemRepository).findForUpdateById(booking.getItem().getId());
+        inOrder.verify(bookingRepository).save(booking);
+        verify(bookingTimelineCache).invalidate(booking.getItem().getId());
+        verify(bookingAvailabilityIndex).add(booking);
         assertThat(changedBooking.getStatus(), equalTo(Status.APPROVED));
     }
-}
\ No newline at end of file
+
+    @Test
+    void setApproved_whenRejected_thenBookingRemovedFromAvailabilityIndex() {
+        long bookingId = 1L;
+        long userId = owner.getId();
+        booking.setStatus(Status.WAITING);
+
+        when(bookingRepository.findFullById(bookingId))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.save(booking))
+                .thenReturn(booking);
+
+        Booking changedBooking = bookingService.setApproved(userId, bookingId, false);
+
+        verify(bookingAvailabilityIndex).remove(booking);
+        assertThat(changedBooking.getStatus(), equalTo(Status.REJECTED));
+    }
+}
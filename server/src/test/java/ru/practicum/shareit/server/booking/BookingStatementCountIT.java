@@ -0,0 +1,233 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.server.booking.dto.BookingCursor;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.helper.SequenceCallCounter;
+import ru.practicum.shareit.server.item.entity.Comment;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Количество SQL запросов на каждый метод сервиса бронирований, включая формирование ответа.
+ * Связи бронирования загружаются лениво, нужные для ответа загружаются графами сущностей.
+ * Существование пользователя из заголовка проверяется по кэшу, который прогревается заранее.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        SequenceCallCounter.PROPERTY})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(ObjectGenerator.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingStatementCountIT {
+
+    private static final int BOOKING_COUNT = 20;
+    private static final int PAGE_SIZE = 10;
+
+    private final MockMvc mockMvc;
+    private final ObjectGenerator objectGenerator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private final KnownUserCache knownUserCache;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(objectGenerator.next(User.class));
+        booker = userRepository.save(objectGenerator.next(User.class));
+        knownUserCache.requireExists(owner.getId());
+        knownUserCache.requireExists(booker.getId());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < 2; i++) {
+            item = objectGenerator.next(Item.class);
+            item.setAvailable(true);
+            item = itemService.create(owner.getId(), item);
+
+            for (int j = 0; j < 2; j++) {
+                Comment comment = objectGenerator.next(Comment.class);
+                comment.setAuthor(userRepository.save(objectGenerator.next(User.class)));
+                comment.setItem(item);
+                commentRepository.save(comment);
+            }
+
+            for (int j = 0; j < BOOKING_COUNT / 2; j++) {
+                bookings.add(saveBooking(item, Status.APPROVED, now.minusDays(j + 2), now.minusDays(j + 1)));
+            }
+        }
+    }
+
+    @Test
+    void getById_whenBookerRequests_thenOneStatementExecuted() {
+        long statements = countStatements(get("/bookings/{id}", bookings.get(0).getId())
+                .header(USER_ID_HEADER, booker.getId()));
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void setApproved_whenOwnerApproves_thenStatementCountFixed() {
+        Booking booking = saveBooking(item, Status.WAITING, LocalDateTime.now().plusDays(10),
+                LocalDateTime.now().plusDays(11));
+
+        long statements = countStatements(patch("/bookings/{id}", booking.getId())
+                .param("approved", "true")
+                .header(USER_ID_HEADER, owner.getId()));
+
+        assertThat(statements, equalTo(3L));
+    }
+
+    @Test
+    void create_whenItemAvailable_thenStatementCountFixed() {
+        LocalDateTime start = LocalDateTime.now().plusDays(20);
+
+        long statements = countStatements(post("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}", item.getId(),
+                        start, start.plusDays(1)))
+                .header(USER_ID_HEADER, booker.getId()));
+
+        assertThat(statements, equalTo(5L));
+    }
+
+    @Test
+    void createAll_whenBatchIsLarge_thenStatementCountFixed() {
+        int batchSize = 120;
+        LocalDateTime start = LocalDateTime.now().plusDays(100);
+        StringJoiner content = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < batchSize; i++) {
+            content.add(String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}", item.getId(),
+                    start.plusDays(i), start.plusDays(i).plusHours(1)));
+        }
+
+        long statements = countStatements(post("/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content.toString())
+                .header(USER_ID_HEADER, booker.getId()), batchSize);
+
+        assertThat(statements, equalTo(5L));
+    }
+
+    @Test
+    void findByBookerId_whenOffsetPage_thenStatementCountFixed() {
+        long statements = countStatements(get("/bookings")
+                .param("from", "0")
+                .param("size", Integer.toString(PAGE_SIZE))
+                .header(USER_ID_HEADER, booker.getId()), PAGE_SIZE);
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @Test
+    void findByBookerId_whenCursorPage_thenStatementCountFixed() {
+        long statements = countStatements(get("/bookings")
+                .param("cursor", BookingCursor.of(bookings.get(0)).encode())
+                .param("size", Integer.toString(PAGE_SIZE))
+                .header(USER_ID_HEADER, booker.getId()), PAGE_SIZE);
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @Test
+    void findByItemOwner_whenOffsetPage_thenStatementCountFixed() {
+        long statements = countStatements(get("/bookings/owner")
+                .param("state", "PAST")
+                .param("from", "0")
+                .param("size", Integer.toString(PAGE_SIZE))
+                .header(USER_ID_HEADER, owner.getId()), PAGE_SIZE);
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @Test
+    void findByItemOwner_whenCursorPage_thenStatementCountFixed() {
+        long statements = countStatements(get("/bookings/owner")
+                .param("state", "PAST")
+                .param("cursor", BookingCursor.of(bookings.get(0)).encode())
+                .param("size", Integer.toString(PAGE_SIZE))
+                .header(USER_ID_HEADER, owner.getId()), PAGE_SIZE);
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request) {
+        return countStatements(request, -1);
+    }
+
+    @SneakyThrows
+    private long countStatements(MockHttpServletRequestBuilder request, int expectedSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics.clear();
+        SequenceCallCounter.reset();
+
+        if (expectedSize < 0) {
+            mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.item.comments", hasSize(2)));
+        } else {
+            mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(expectedSize)))
+                    .andExpect(jsonPath("$[0].item.comments", hasSize(2)));
+        }
+
+        return statistics.getPrepareStatementCount() - SequenceCallCounter.count();
+    }
+
+    private Booking saveBooking(Item item, Status status, LocalDateTime start, LocalDateTime end) {
+        Booking booking = objectGenerator.next(Booking.class);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStatus(status);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.server.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.booking.availability.BookingInterval;
+import ru.practicum.shareit.server.booking.availability.ItemAvailability;
+import ru.practicum.shareit.server.booking.entity.Status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+class ItemAvailabilityTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 6, 1, 12, 0);
+
+    @Test
+    void of_whenNoBookings_thenWholeWindowFree() {
+        ItemAvailability availability = ItemAvailability.of(1L, at(0), at(10), List.of());
+
+        assertThat(availability.getBusy(), empty());
+        assertThat(slots(availability.getFree()), contains("0-10"));
+    }
+
+    @Test
+    void of_whenBookingsOverlapOrAdjoin_thenBusySlotsMerged() {
+        ItemAvailability availability = ItemAvailability.of(1L, at(0), at(20), List.of(
+                interval(1L, 2, 5), interval(2L, 3, 4), interval(3L, 5, 7), interval(4L, 10, 12)));
+
+        assertThat(slots(availability.getBusy()), contains("2-7", "10-12"));
+        assertThat(slots(availability.getFree()), contains("0-2", "7-10", "12-20"));
+    }
+
+    @Test
+    void of_whenBookingsCrossWindowBounds_thenBusySlotsClipped() {
+        ItemAvailability availability = ItemAvailability.of(1L, at(5), at(10), List.of(
+                interval(1L, 0, 6), interval(2L, 8, 15)));
+
+        assertThat(slots(availability.getBusy()), contains("5-6", "8-10"));
+        assertThat(slots(availability.getFree()), contains("6-8"));
+    }
+
+    @Test
+    void of_whenBookingCoversWindow_thenNoFreeSlots() {
+        ItemAvailability availability = ItemAvailability.of(1L, at(5), at(10), List.of(interval(1L, 0, 15)));
+
+        assertThat(slots(availability.getBusy()), contains("5-10"));
+        assertThat(availability.getFree(), empty());
+    }
+
+    private static List<String> slots(List<ItemAvailability.TimeSlot> slots) {
+        return slots.stream()
+                .map(slot -> hourOf(slot.getStart()) + "-" + hourOf(slot.getEnd()))
+                .collect(Collectors.toList());
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return Duration.between(START, time).toHours();
+    }
+
+    private static BookingInterval interval(long bookingId, int startHour, int endHour) {
+        return new BookingInterval(bookingId, 1L, at(startHour), at(endHour), Status.APPROVED);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return START.plusHours(hour);
+    }
+}
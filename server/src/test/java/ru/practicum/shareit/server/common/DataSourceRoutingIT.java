@@ -0,0 +1,122 @@
+package ru.practicum.shareit.server.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Маршрутизация запросов приложения между основной базой и пустой репликой.
+ * Реплика не получает изменений основной базы, поэтому чтение из нее не находит созданных данных.
+ */
+@SpringBootTest(properties = {
+        "shareit.datasource.routing.enabled=true",
+        "spring.datasource.url=" + DataSourceRoutingIT.PRIMARY_URL,
+        "shareit.datasource.replica-urls=" + DataSourceRoutingIT.REPLICA_URL,
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class DataSourceRoutingIT {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-it-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-it-replica;DB_CLOSE_DELAY=-1";
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenUserCreatedOnPrimary_thenNotFoundOnReplica() {
+        long userId = createUser("replica-miss@mail.ru");
+
+        mockMvc.perform(get("/users/{id}", userId))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenItemCreatedBySameUser_thenReadFromPrimary() {
+        long ownerId = createUser("owner@mail.ru");
+        long otherUserId = createUser("other@mail.ru");
+        long itemId = createItem(ownerId);
+
+        mockMvc.perform(get("/items/{id}", itemId)
+                        .header(USER_ID_HEADER, ownerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/{id}", itemId)
+                        .header(USER_ID_HEADER, otherUserId))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllMyRequests_whenUserJustCreated_thenUserExistenceCheckedOnPrimary() {
+        long userId = createUser("requests@mail.ru");
+
+        mockMvc.perform(get("/requests")
+                        .header(USER_ID_HEADER, userId))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    void replicaPoolMetrics_whenReplicaUsed_thenPoolGaugesRegistered() {
+        createUser("metrics@mail.ru");
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica-0").gauge(), notNullValue());
+    }
+
+    @SneakyThrows
+    private long createUser(String email) {
+        String response = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"name\": \"Пользователь\", \"email\": \"%s\"}", email)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    @SneakyThrows
+    private long createItem(long ownerId) {
+        String response = mockMvc.perform(post("/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}")
+                        .header(USER_ID_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
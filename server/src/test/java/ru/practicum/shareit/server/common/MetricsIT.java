@@ -0,0 +1,114 @@
+package ru.practicum.shareit.server.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.item.timeline.BookingTimelineCache;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Метрики сервера и их публикация в формате Prometheus.
+ * Порт управления совпадает с портом приложения, чтобы конечные точки Actuator были доступны через MockMvc.
+ */
+@SpringBootTest(properties = "management.server.port=")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@Import(ObjectGenerator.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class MetricsIT {
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final UserRepository userRepository;
+    private final ObjectGenerator objectGenerator;
+    private final ItemService itemService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(objectGenerator.next(User.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void findByItemOwner_whenStateRequested_thenTimerWithStateTagRecorded() {
+        mockMvc.perform(get("/bookings/owner")
+                        .param("state", "WAITING")
+                        .header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isOk());
+
+        Timer timer = meterRegistry.find("shareit.booking.listing")
+                .tags("method", "findByItemOwner", "state", "WAITING", "pagination", "offset")
+                .timer();
+
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), equalTo(1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenTimelineCachedForOwner_thenTimelineCacheHitAndMissCounted() {
+        Item item = objectGenerator.next(Item.class);
+        item.setAvailable(true);
+        item = itemService.create(user.getId(), item);
+        double hits = timelineCacheCount("hit");
+        double misses = timelineCacheCount("miss");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/items/{id}", item.getId())
+                            .header(USER_ID_HEADER, user.getId()))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(timelineCacheCount("miss"), equalTo(misses + 1));
+        assertThat(timelineCacheCount("hit"), equalTo(hits + 1));
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_booking_timeline_cache_total")))
+                .andExpect(content().string(containsString("shareit_booking_timeline_cache_size")));
+    }
+
+    @SneakyThrows
+    @Test
+    void prometheus_whenRequested_thenServerMetricsPublished() {
+        mockMvc.perform(get("/users/{id}", user.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_sessions_open_total")));
+    }
+
+    private double timelineCacheCount(String result) {
+        return meterRegistry.get(BookingTimelineCache.REQUESTS_COUNTER)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.server.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.common.datasource.ReadWriteRoutingDataSource;
+import ru.practicum.shareit.server.common.datasource.RecentWriters;
+import ru.practicum.shareit.server.common.datasource.RoutingContext;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Маршрутизация обращений между основной базой и репликой, роль которых выполняют две базы H2 в памяти.
+ * Каждая база хранит свое имя, поэтому по результату запроса видно, куда он был направлен.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String SELECT_NAME = "select name from data_source_name";
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+    private AtomicInteger replicaReads;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        setUp(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+        new JdbcTemplate(primary).execute("drop table data_source_name");
+        new JdbcTemplate(replica).execute("drop table data_source_name");
+    }
+
+    @Test
+    void getConnection_whenReadOnlyTransaction_thenReplicaUsed() {
+        assertThat(readTransaction.execute(status -> queryName()), equalTo("replica"));
+    }
+
+    @Test
+    void getConnection_whenReadOnlyTransaction_thenTransactionMarkedAsReplicaRead() {
+        assertThat(readTransaction.execute(status -> {
+            queryName();
+            return RoutingContext.isReplicaRead();
+        }), equalTo(true));
+
+        assertThat(RoutingContext.isReplicaRead(), equalTo(false));
+        assertThat(replicaReads.get(), equalTo(1));
+    }
+
+    @Test
+    void getConnection_whenPrimaryRequired_thenPrimaryUsedForReadOnlyTransaction() {
+        assertThat(RoutingContext.callOnPrimary(() -> readTransaction.execute(status -> queryName())),
+                equalTo("primary"));
+
+        assertThat(readTransaction.execute(status -> queryName()), equalTo("replica"));
+        assertThat(replicaReads.get(), equalTo(1));
+    }
+
+    @Test
+    void getConnection_whenWriteTransaction_thenPrimaryUsed() {
+        assertThat(writeTransaction.execute(status -> queryName()), equalTo("primary"));
+    }
+
+    @Test
+    void getConnection_whenNoTransaction_thenPrimaryUsed() {
+        assertThat(queryName(), equalTo("primary"));
+    }
+
+    @Test
+    void getConnection_whenUserWroteRecently_thenPrimaryUsedForUserReads() {
+        RoutingContext.setUserId(1L);
+        writeTransaction.execute(status -> queryName());
+
+        assertThat(readTransaction.execute(status -> queryName()), equalTo("primary"));
+
+        RoutingContext.setUserId(2L);
+        assertThat(readTransaction.execute(status -> queryName()), equalTo("replica"));
+    }
+
+    @Test
+    void getConnection_whenWriteRolledBack_thenReplicaUsedForUserReads() {
+        RoutingContext.setUserId(1L);
+        writeTransaction.executeWithoutResult(status -> {
+            queryName();
+            status.setRollbackOnly();
+        });
+
+        assertThat(readTransaction.execute(status -> queryName()), equalTo("replica"));
+    }
+
+    @Test
+    void getConnection_whenWindowExpired_thenReplicaUsedForUserReads() {
+        setUp(Duration.ZERO);
+        RoutingContext.setUserId(1L);
+        writeTransaction.execute(status -> queryName());
+
+        assertThat(readTransaction.execute(status -> queryName()), equalTo("replica"));
+    }
+
+    private void setUp(Duration window) {
+        replicaReads = new AtomicInteger();
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(replica),
+                new RecentWriters(window), replicaReads::incrementAndGet);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    private String queryName() {
+        return jdbcTemplate.queryForObject(SELECT_NAME, String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "test", "test");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table data_source_name (name varchar(16))");
+        jdbcTemplate.update("insert into data_source_name values (?)", name);
+        return dataSource;
+    }
+}
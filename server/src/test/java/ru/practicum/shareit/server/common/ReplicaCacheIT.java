@@ -0,0 +1,63 @@
+package ru.practicum.shareit.server.common;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.user.entity.User;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Кэш второго уровня при чтении из реплики: сущность, которая есть только в реплике, читается,
+ * но в кэш не попадает, так как реплика может отставать от основной базы.
+ */
+@SpringBootTest(properties = {
+        "shareit.datasource.routing.enabled=true",
+        "spring.datasource.url=" + ReplicaCacheIT.PRIMARY_URL,
+        "shareit.datasource.replica-urls=" + ReplicaCacheIT.REPLICA_URL})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReplicaCacheIT {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-cache-it-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-cache-it-replica;DB_CLOSE_DELAY=-1";
+
+    private static final long REPLICA_USER_ID = 1000L;
+
+    private final MockMvc mockMvc;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "test", "test"))
+                .update("insert into users (id, name, email) values (?, 'Реплика', 'replica@mail.ru')",
+                        REPLICA_USER_ID);
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenUserReadFromReplica_thenUserNotCached() {
+        mockMvc.perform(get("/users/{id}", REPLICA_USER_ID))
+                .andExpect(status().isOk());
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, REPLICA_USER_ID), equalTo(false));
+    }
+}
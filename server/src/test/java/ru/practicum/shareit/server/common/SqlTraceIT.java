@@ -0,0 +1,100 @@
+package ru.practicum.shareit.server.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.common.sqltrace.SqlTraceInterceptor;
+import ru.practicum.shareit.server.common.sqltrace.SqlTraceListener;
+import ru.practicum.shareit.server.common.sqltrace.StatementBudgetExceededException;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Учет SQL запросов по методам контроллеров и контроль их количества на HTTP запрос.
+ * Запросы фиксируются без отката, поэтому тест работает с отдельной базой.
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = {"spring.datasource.name=sql-trace", "shareit.sql-trace.statement-budget=1"})
+@AutoConfigureMockMvc
+@Import(ObjectGenerator.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SqlTraceIT {
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final ObjectGenerator objectGenerator;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+
+    @SneakyThrows
+    @Test
+    void create_whenUserCreated_thenStatementRecordedForHandler() {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Пользователь\", \"email\": \"sql-trace@mail.ru\"}"))
+                .andExpect(status().isOk());
+
+        Timer inserts = meterRegistry.find(SqlTraceListener.STATEMENT_TIMER)
+                .tags("handler", "UserControllerImpl.create", "operation", "insert")
+                .timer();
+        DistributionSummary statementsPerRequest = meterRegistry.find(SqlTraceInterceptor.STATEMENTS_PER_REQUEST)
+                .tag("handler", "UserControllerImpl.create")
+                .summary();
+
+        assertThat(inserts, notNullValue());
+        assertThat(inserts.count(), equalTo(1L));
+        assertThat(statementsPerRequest, notNullValue());
+        assertThat(statementsPerRequest.totalAmount(), equalTo(1.0));
+    }
+
+    @SneakyThrows
+    @Test
+    void create_whenStatementBudgetExceeded_thenRequestFailedBeforeResponseCommitted() {
+        User owner = userService.create(objectGenerator.next(User.class));
+        User booker = userService.create(objectGenerator.next(User.class));
+        Item item = objectGenerator.next(Item.class);
+        item.setAvailable(true);
+        item = itemService.create(owner.getId(), item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        String content = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}", item.getId(), start,
+                start.plusDays(1));
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content)
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isInternalServerError())
+                .andExpect(result -> assertThat(result.getResolvedException(),
+                        instanceOf(StatementBudgetExceededException.class)))
+                .andExpect(jsonPath("$.error", containsString("BookingControllerImpl.create")));
+
+        assertThat(bookingRepository.count(), equalTo(0L));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.server.helper;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Счетчик обращений Hibernate к последовательностям идентификаторов.
+ * Блок идентификаторов выделяется раз в несколько вставок, поэтому при подсчете запросов
+ * на один вызов такие обращения не учитываются.
+ */
+public class SequenceCallCounter implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+            "ru.practicum.shareit.server.helper.SequenceCallCounter";
+
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("nextval|next value for", Pattern.CASE_INSENSITIVE);
+    private static final LongAdder COUNT = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        if (SEQUENCE_CALL.matcher(sql).find()) {
+            COUNT.increment();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.reset();
+    }
+
+    public static long count() {
+        return COUNT.sum();
+    }
+}
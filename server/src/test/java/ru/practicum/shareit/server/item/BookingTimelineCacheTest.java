@@ -0,0 +1,152 @@
+package ru.practicum.shareit.server.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.timeline.BookingTimeline;
+import ru.practicum.shareit.server.item.timeline.BookingTimelineCache;
+import ru.practicum.shareit.server.item.timeline.TimelineBooking;
+import ru.practicum.shareit.server.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTimelineCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 6, 1, 12, 0);
+
+    private final ObjectGenerator objectGenerator = new ObjectGenerator();
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingTimelineCache bookingTimelineCache;
+
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+
+    @BeforeEach
+    void setUp() {
+        bookingTimelineCache = new BookingTimelineCache(bookingRepository, 2);
+
+        item = objectGenerator.next(Item.class);
+        item.setId(1L);
+
+        User booker = objectGenerator.next(User.class);
+        booker.setId(2L);
+
+        lastBooking = objectGenerator.next(Booking.class);
+        lastBooking.setId(1L);
+        lastBooking.setItem(item);
+        lastBooking.setBooker(booker);
+        lastBooking.setStart(NOW.minusDays(2));
+
+        nextBooking = objectGenerator.next(Booking.class);
+        nextBooking.setId(2L);
+        nextBooking.setItem(item);
+        nextBooking.setBooker(booker);
+        nextBooking.setStart(NOW.plusDays(1));
+    }
+
+    @Test
+    void get_whenCalledTwice_thenBookingsLoadedOnce() {
+        mockBookings(List.of(1L), List.of(lastBooking, nextBooking));
+
+        bookingTimelineCache.get(List.of(1L), NOW);
+        BookingTimeline timeline = bookingTimelineCache.get(List.of(1L), NOW.plusHours(1)).get(1L);
+
+        assertThat(timeline.getLastBooking(), equalTo(TimelineBooking.of(lastBooking)));
+        assertThat(timeline.getNextBooking(), equalTo(TimelineBooking.of(nextBooking)));
+        assertThat(bookingTimelineCache.getMissCount(), equalTo(1L));
+        assertThat(bookingTimelineCache.getHitCount(), equalTo(1L));
+        verify(bookingRepository, times(1)).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    void bindTo_whenCacheUsed_thenHitMissAndSizeMetersReported() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bookingTimelineCache.bindTo(registry);
+        mockBookings(List.of(1L), List.of(lastBooking, nextBooking));
+
+        bookingTimelineCache.get(List.of(1L), NOW);
+        bookingTimelineCache.get(List.of(1L), NOW);
+
+        assertThat(registry.get(BookingTimelineCache.REQUESTS_COUNTER).tag("result", "hit").functionCounter()
+                .count(), equalTo(1.0));
+        assertThat(registry.get(BookingTimelineCache.REQUESTS_COUNTER).tag("result", "miss").functionCounter()
+                .count(), equalTo(1.0));
+        assertThat(registry.get(BookingTimelineCache.SIZE_GAUGE).gauge().value(), equalTo(1.0));
+    }
+
+    @Test
+    void get_whenItemHasNoBookings_thenEmptyTimelineCached() {
+        mockBookings(List.of(1L), List.of());
+
+        bookingTimelineCache.get(List.of(1L), NOW);
+        BookingTimeline timeline = bookingTimelineCache.get(List.of(1L), NOW.plusYears(1)).get(1L);
+
+        assertThat(timeline.getLastBooking(), nullValue());
+        assertThat(timeline.getNextBooking(), nullValue());
+        assertThat(bookingTimelineCache.getHitCount(), equalTo(1L));
+        verify(bookingRepository, times(1)).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    void get_whenNextBookingStarted_thenTimelineReloaded() {
+        LocalDateTime afterNextStart = nextBooking.getStart().plusMinutes(1);
+        mockBookings(List.of(1L), List.of(lastBooking, nextBooking));
+
+        bookingTimelineCache.get(List.of(1L), NOW);
+        bookingTimelineCache.get(List.of(1L), afterNextStart);
+
+        assertThat(bookingTimelineCache.getMissCount(), equalTo(2L));
+        verify(bookingRepository).findLastAndNextBookings(List.of(1L), Status.APPROVED.name(), afterNextStart);
+    }
+
+    @Test
+    void invalidate_whenItemCached_thenTimelineReloaded() {
+        mockBookings(List.of(1L), List.of(lastBooking, nextBooking));
+
+        bookingTimelineCache.get(List.of(1L), NOW);
+        bookingTimelineCache.invalidate(1L);
+        bookingTimelineCache.get(List.of(1L), NOW);
+
+        assertThat(bookingTimelineCache.getMissCount(), equalTo(2L));
+        verify(bookingRepository, times(2)).findLastAndNextBookings(any(), any(), any());
+    }
+
+    @Test
+    void get_whenCacheIsFull_thenLeastRecentlyUsedEvicted() {
+        mockBookings(List.of(1L, 2L, 3L), List.of());
+
+        Map<Long, BookingTimeline> timelines = bookingTimelineCache.get(List.of(1L, 2L, 3L), NOW);
+
+        assertThat(timelines.size(), equalTo(3));
+        assertThat(bookingTimelineCache.getSize(), equalTo(2));
+    }
+
+    private void mockBookings(List<Long> itemIds, List<Booking> bookings) {
+        when(bookingRepository.findLastAndNextBookings(eq(itemIds), eq(Status.APPROVED.name()), any()))
+                .thenReturn(bookings);
+    }
+}
@@ -11,10 +11,14 @@ import ru.practicum.shareit.server.helper.ObjectGenerator;
 import ru.practicum.shareit.server.item.entity.Comment;
 import ru.practicum.shareit.server.item.entity.Item;
 import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.repository.CommentSummary;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -51,21 +55,45 @@ class CommentRepositoryIT {
 
     @Test
     void save_whenAuthorAndTextAndItemExists_thenCommentSaved() {
-        assertDoesNotThrow(() -> commentRepository.save(comment));
+        assertDoesNotThrow(() -> commentRepository.saveAndFlush(comment));
+    }
+
+    @Test
+    void getSummaryByItemId_whenNoComments_thenZeroCountReturned() {
+        CommentSummary summary = commentRepository.getSummaryByItemId(item.getId());
+
+        assertThat(summary.getCount(), equalTo(0L));
+        assertThat(summary.getMaxId(), nullValue());
+        assertThat(summary.getAuthorVersions(), equalTo(0L));
+    }
+
+    @Test
+    void getSummaryByItemId_whenAuthorChanged_thenAuthorVersionsChanged() {
+        commentRepository.saveAndFlush(comment);
+        CommentSummary before = commentRepository.getSummaryByItemId(item.getId());
+
+        author.setName(author.getName() + " Новый");
+        userRepository.saveAndFlush(author);
+        CommentSummary after = commentRepository.getSummaryByItemId(item.getId());
+
+        assertThat(before.getCount(), equalTo(1L));
+        assertThat(before.getMaxId(), equalTo(comment.getId()));
+        assertThat(after.getCount(), equalTo(1L));
+        assertThat(after.getAuthorVersions(), equalTo(before.getAuthorVersions() + 1));
     }
 
     @Test
     void save_whenAuthorIsNull_thenDataIntegrityViolationExceptionThrown() {
         comment.setAuthor(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> commentRepository.save(comment));
+        assertThrows(DataIntegrityViolationException.class, () -> commentRepository.saveAndFlush(comment));
     }
 
     @Test
     void save_whenTextIsNull_thenDataIntegrityViolationExceptionThrown() {
         comment.setText(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> commentRepository.save(comment));
+        assertThrows(DataIntegrityViolationException.class, () -> commentRepository.saveAndFlush(comment));
 
     }
 
@@ -73,6 +101,6 @@ class CommentRepositoryIT {
     void save_whenItemIsNull_thenDataIntegrityViolationExceptionThrown() {
         comment.setItem(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> commentRepository.save(comment));
+        assertThrows(DataIntegrityViolationException.class, () -> commentRepository.saveAndFlush(comment));
     }
 }
\ No newline at end of file
@@ -0,0 +1,324 @@
+package ru.practicum.shareit.server.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@Import({ObjectGenerator.class, InMemoryItemSearchEngine.class, BookingAvailabilityIndex.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class InMemoryItemSearchEngineIT {
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final InMemoryItemSearchEngine itemSearchEngine;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+    private final ObjectGenerator objectGenerator;
+
+    private User owner1;
+    private User owner2;
+
+    private Item item11;
+    private Item item12;
+    private Item item21;
+    private Item item22;
+
+    @BeforeEach
+    void setUp() {
+        owner1 = objectGenerator.next(User.class);
+        owner2 = objectGenerator.next(User.class);
+        userRepository.save(owner1);
+        userRepository.save(owner2);
+
+        item11 = objectGenerator.next(Item.class);
+        item12 = objectGenerator.next(Item.class);
+        item21 = objectGenerator.next(Item.class);
+        item22 = objectGenerator.next(Item.class);
+
+        item11.setOwner(owner1);
+        item12.setOwner(owner1);
+        item21.setOwner(owner2);
+        item22.setOwner(owner2);
+
+        itemSearchEngine.rebuild();
+    }
+
+    @Test
+    void search_whenTwoItemMatchCriteriaAndTwoAvailable_thenTwoItemReturned() {
+        String searchString = "дрель";
+        item11.setDescription("Аккумуляторная дрель");
+        item12.setDescription("Просто дрель");
+        item21.setDescription("Горный велосипед");
+        item22.setDescription("Газонокосилка");
+        item11.setAvailable(true);
+        item12.setAvailable(true);
+        item21.setAvailable(true);
+        item22.setAvailable(true);
+        save(item11);
+        save(item12);
+        save(item21);
+        save(item22);
+
+        List<Item> actualItems = itemSearchEngine.search(searchString, 0, 50);
+
+        assertThat(actualItems, containsInAnyOrder(item11, item12));
+    }
+
+    @Test
+    void search_whenTwoItemMatchCriteriaAndOnlyOneAvailable_thenOneItemReturned() {
+        String searchString = "дрель";
+        item11.setDescription("Аккумуляторная дрель");
+        item12.setDescription("Просто дрель");
+        item21.setDescription("Горный велосипед");
+        item22.setDescription("Газонокосилка");
+        item11.setAvailable(true);
+        item12.setAvailable(false);
+        item21.setAvailable(true);
+        item22.setAvailable(true);
+        save(item11);
+        save(item12);
+        save(item21);
+        save(item22);
+
+        List<Item> actualItems = itemSearchEngine.search(searchString, 0, 50);
+
+        assertThat(actualItems, containsInAnyOrder(item11));
+    }
+
+    @Test
+    void search_whenItemMatchCaseInsensitiveCriteriaAndAvailable_thenOneItemReturned() {
+        String searchString = "дРеЛь";
+        item11.setDescription("Аккумуляторная дрель");
+        item11.setAvailable(true);
+        save(item11);
+
+        List<Item> actualItems = itemSearchEngine.search(searchString, 0, 50);
+
+        assertThat(actualItems, containsInAnyOrder(item11));
+    }
+
+    @Test
+    void search_whenSearchStringIsNull_thenEmptyListReturned() {
+        String searchString = null;
+        item11.setDescription("Аккумуляторная дрель");
+        item11.setAvailable(true);
+        save(item11);
+
+        List<Item> actualItems = itemSearchEngine.search(searchString, 0, 50);
+
+        assertThat(actualItems, hasSize(0));
+    }
+
+    @Test
+    void search_whenTwoItemsMatchCriteriaInNameOrDescriptionAndAvailable_thenTwoItemReturned() {
+        String searchString = "дрель";
+        item11.setDescription("Аккумуляторная дрель");
+        item12.setName("Просто дрель");
+        item21.setDescription("Горный велосипед");
+        item22.setDescription("Газонокосилка");
+        item11.setAvailable(true);
+        item12.setAvailable(true);
+        item21.setAvailable(true);
+        item22.setAvailable(true);
+        save(item11);
+        save(item12);
+        save(item21);
+        save(item22);
+
+        List<Item> actualItems = itemSearchEngine.search(searchString, 0, 50);
+
+        assertThat(actualItems, containsInAnyOrder(item11, item12));
+    }
+
+    @Test
+    void search_whenSearchStringIsEmpty_thenEmptyListReturned() {
+        String searchString = "";
+        item11.setDescription("Аккумуляторная дрель");
+        item11.setAvailable(true);
+        save(item11);
+
+        List<Item> actualItems = itemSearchEngine.search(searchString, 0, 50);
+
+        assertThat(actualItems, hasSize(0));
+    }
+
+    @Test
+    void search_whenSearchStringIsPrefixOfWord_thenItemReturned() {
+        item11.setDescription("Аккумуляторная дрель");
+        save(item11);
+
+        List<Item> actualItems = itemSearchEngine.search("дрел", 0, 50);
+
+        assertThat(actualItems, contains(item11));
+    }
+
+    @Test
+    void search_whenSeveralWordsInSearchString_thenOnlyItemsMatchingAllWordsReturned() {
+        item11.setDescription("Аккумуляторная дрель");
+        item12.setDescription("Сетевая дрель");
+        save(item11);
+        save(item12);
+
+        List<Item> actualItems = itemSearchEngine.search("дрель аккумулятор", 0, 50);
+
+        assertThat(actualItems, contains(item11));
+    }
+
+    @Test
+    void search_whenWordMatchesNameAndDescription_thenNameMatchRankedFirst() {
+        item11.setName("Набор");
+        item11.setDescription("Отвертка и дрель");
+        item12.setName("Дрель");
+        item12.setDescription("Без аккумулятора");
+        save(item11);
+        save(item12);
+
+        List<Item> actualItems = itemSearchEngine.search("дрель", 0, 50);
+
+        assertThat(actualItems, contains(item12, item11));
+    }
+
+    @Test
+    void search_whenFromAndSizeSet_thenPageOfRankedItemsReturned() {
+        item11.setName("Дрель");
+        item12.setName("Дрель ударная");
+        item21.setName("Дрель угловая");
+        save(item11);
+        save(item12);
+        save(item21);
+
+        List<Item> actualItems = itemSearchEngine.search("дрель", 1, 1);
+
+        assertThat(actualItems, contains(item12));
+    }
+
+    @Test
+    void search_whenItemUpdatedToUnavailable_thenItemNotReturned() {
+        item11.setDescription("Аккумуляторная дрель");
+        save(item11);
+        item11.setAvailable(false);
+        save(item11);
+
+        List<Item> actualItems = itemSearchEngine.search("дрель", 0, 50);
+
+        assertThat(actualItems, hasSize(0));
+    }
+
+    @Test
+    void search_whenItemDescriptionUpdated_thenOldWordsNotMatched() {
+        item11.setDescription("Аккумуляторная дрель");
+        save(item11);
+        item11.setDescription("Горный велосипед");
+        save(item11);
+
+        assertThat(itemSearchEngine.search("дрель", 0, 50), hasSize(0));
+        assertThat(itemSearchEngine.search("велосипед", 0, 50), contains(item11));
+    }
+
+    @Test
+    void rebuild_whenItemsSavedWithoutIndexing_thenItemsFound() {
+        item11.setDescription("Аккумуляторная дрель");
+        itemRepository.save(item11);
+
+        itemSearchEngine.rebuild();
+
+        assertThat(itemSearchEngine.search("дрель", 0, 50), contains(item11));
+    }
+
+    @Test
+    void removeByOwner_whenOwnerItemsIndexed_thenOnlyOtherOwnerItemsFound() {
+        item11.setName("Дрель");
+        item12.setName("Дрель ударная");
+        item21.setName("Дрель угловая");
+        save(item11);
+        save(item12);
+        save(item21);
+
+        itemSearchEngine.removeByOwner(owner1.getId());
+
+        assertThat(itemSearchEngine.search("дрель", 0, 50), contains(item21));
+    }
+
+    @Test
+    void rebuild_whenItemUnavailable_thenItemNotIndexed() {
+        item11.setDescription("Аккумуляторная дрель");
+        item12.setDescription("Ударная дрель");
+        item12.setAvailable(false);
+        itemRepository.save(item11);
+        itemRepository.save(item12);
+
+        itemSearchEngine.rebuild();
+
+        assertThat(itemSearchEngine.search("дрель", 0, 50), contains(item11));
+    }
+
+    @Test
+    void search_whenPeriodSet_thenItemsWithApprovedBookingsOnPeriodExcluded() {
+        LocalDateTime start = LocalDateTime.of(2023, 6, 3, 0, 0);
+        item11.setName("Дрель");
+        item12.setName("Дрель ударная");
+        item21.setName("Дрель угловая");
+        save(item11);
+        save(item12);
+        save(item21);
+        saveBooking(item11, Status.APPROVED, start.minusDays(1), start.plusDays(1));
+        saveBooking(item12, Status.WAITING, start, start.plusDays(2));
+        saveBooking(item21, Status.APPROVED, start.plusDays(2), start.plusDays(3));
+        bookingAvailabilityIndex.rebuild();
+
+        List<Item> actualItems = itemSearchEngine.search("дрель", start, start.plusDays(2), 0, 50);
+
+        assertThat(actualItems, contains(item12, item21));
+    }
+
+    @Test
+    void search_whenPeriodAndPageSet_thenPageTakenAfterExclusion() {
+        LocalDateTime start = LocalDateTime.of(2023, 6, 3, 0, 0);
+        item11.setName("Дрель");
+        item12.setName("Дрель ударная");
+        item21.setName("Дрель угловая");
+        save(item11);
+        save(item12);
+        save(item21);
+        saveBooking(item11, Status.APPROVED, start, start.plusDays(1));
+        bookingAvailabilityIndex.rebuild();
+
+        List<Item> actualItems = itemSearchEngine.search("дрель", start, start.plusDays(1), 1, 1);
+
+        assertThat(actualItems, contains(item21));
+    }
+
+    private void save(Item item) {
+        itemSearchEngine.index(itemRepository.save(item));
+    }
+
+    private void saveBooking(Item item, Status status, LocalDateTime start, LocalDateTime end) {
+        Booking booking = objectGenerator.next(Booking.class);
+        booking.setItem(item);
+        booking.setBooker(item.getOwner().equals(owner1) ? owner2 : owner1);
+        booking.setStatus(status);
+        booking.setStart(start);
+        booking.setEnd(end);
+        bookingRepository.save(booking);
+    }
+}
@@ -8,9 +8,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.booking.availability.BookingInterval;
+import ru.practicum.shareit.server.booking.availability.ItemAvailability;
 import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
 import ru.practicum.shareit.server.item.controller.ItemControllerImpl;
 import ru.practicum.shareit.server.item.dto.CommentCreateRequest;
@@ -19,19 +23,27 @@ import ru.practicum.shareit.server.item.dto.ItemUpdateRequest;
 import ru.practicum.shareit.server.item.entity.Comment;
 import ru.practicum.shareit.server.item.entity.Item;
 import ru.practicum.shareit.server.item.exception.ItemException;
+import ru.practicum.shareit.server.item.importer.ItemImportReport;
+import ru.practicum.shareit.server.item.importer.ItemImporter;
 import ru.practicum.shareit.server.item.mapper.CommentConverter;
 import ru.practicum.shareit.server.item.mapper.ItemConverter;
+import ru.practicum.shareit.server.item.repository.CommentSummary;
 import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.item.timeline.TimelineBooking;
 import ru.practicum.shareit.server.user.entity.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,6 +58,9 @@ class ItemControllerImplIT {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImporter itemImporter;
+
     private ItemCreateRequest itemCreateRequest;
     private ItemUpdateRequest itemUpdateRequest;
     private CommentCreateRequest commentCreateRequest;
@@ -55,6 +70,7 @@ class ItemControllerImplIT {
     private Item item;
     private Comment comment;
     private Booking booking;
+    private CommentSummary commentSummary;
 
     @BeforeEach
     void setUp() {
@@ -77,8 +93,9 @@ class ItemControllerImplIT {
         comment.setAuthor(booker);
         booking.setId(1L);
         booking.setBooker(booker);
-        item.setLastBooking(booking);
+        item.setLastBooking(TimelineBooking.of(booking));
         item.setComments(Set.of(comment));
+        commentSummary = new CommentSummary(1, comment.getId(), comment.getCreated(), 0);
     }
 
     @SneakyThrows
@@ -133,6 +150,8 @@ class ItemControllerImplIT {
         long userId = owner.getId();
         long itemId = item.getId();
 
+        when(itemService.getCommentSummary(itemId))
+                .thenReturn(commentSummary);
         when(itemService.getById(userId, itemId))
                 .thenReturn(item);
 
@@ -150,6 +169,83 @@ class ItemControllerImplIT {
         verify(itemService).getById(userId, itemId);
     }
 
+    @SneakyThrows
+    @Test
+    void getById_whenIfNoneMatchEqualsETag_thenNotModifiedReturned() {
+        long userId = owner.getId();
+        long itemId = item.getId();
+
+        when(itemService.getCommentSummary(itemId))
+                .thenReturn(commentSummary);
+        when(itemService.getById(userId, itemId))
+                .thenReturn(item);
+
+        String eTag = mockMvc.perform(get("/items/{id}", itemId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{id}", itemId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenItemVersionChanged_thenOkReturnedForOldETag() {
+        long userId = owner.getId();
+        long itemId = item.getId();
+        item.setVersion(0L);
+
+        when(itemService.getCommentSummary(itemId))
+                .thenReturn(commentSummary);
+        when(itemService.getById(userId, itemId))
+                .thenReturn(item);
+
+        String eTag = mockMvc.perform(get("/items/{id}", itemId)
+                        .header("X-Sharer-User-Id", userId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        item.setVersion(1L);
+
+        mockMvc.perform(get("/items/{id}", itemId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.comments[0].authorName", equalTo(booker.getName())));
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenCommentAuthorChanged_thenOkReturnedForOldETag() {
+        long userId = owner.getId();
+        long itemId = item.getId();
+
+        when(itemService.getCommentSummary(itemId))
+                .thenReturn(commentSummary)
+                .thenReturn(new CommentSummary(1, comment.getId(), comment.getCreated(), 1));
+        when(itemService.getById(userId, itemId))
+                .thenReturn(item);
+
+        String eTag = mockMvc.perform(get("/items/{id}", itemId)
+                        .header("X-Sharer-User-Id", userId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{id}", itemId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
     @SneakyThrows
     @Test
     void getById_whenMissingUserIdInHeader_thenBadRequestReturned() {
@@ -158,6 +254,8 @@ class ItemControllerImplIT {
         String errorMessage =
                 "Required request header 'X-Sharer-User-Id' for method parameter type long is not present";
 
+        when(itemService.getCommentSummary(itemId))
+                .thenReturn(commentSummary);
         when(itemService.getById(userId, itemId))
                 .thenReturn(item);
 
@@ -269,7 +367,7 @@ class ItemControllerImplIT {
         int size = 50;
         String substring = "text";
 
-        when(itemService.findAvailableBySubstring(substring, from, size))
+        when(itemService.findAvailableBySubstring(substring, null, null, from, size))
                 .thenReturn(List.of(item));
 
         mockMvc.perform(get("/items/search")
@@ -286,7 +384,7 @@ class ItemControllerImplIT {
                 .andExpect(jsonPath("$[0].description", equalTo(item.getDescription())))
                 .andExpect(jsonPath("$[0].available", equalTo(item.getAvailable())));
 
-        verify(itemService).findAvailableBySubstring(substring, from, size);
+        verify(itemService).findAvailableBySubstring(substring, null, null, from, size);
     }
 
     @SneakyThrows
@@ -299,7 +397,7 @@ class ItemControllerImplIT {
         String errorMessage =
                 "Required request header 'X-Sharer-User-Id' for method parameter type long is not present";
 
-        when(itemService.findAvailableBySubstring(substring, from, size))
+        when(itemService.findAvailableBySubstring(substring, null, null, from, size))
                 .thenReturn(List.of(item));
 
         mockMvc.perform(get("/items/search")
@@ -312,7 +410,7 @@ class ItemControllerImplIT {
                 .andExpect(status().isBadRequest())
                 .andExpect(status().reason(containsString(errorMessage)));
 
-        verify(itemService, never()).findAvailableBySubstring(substring, from, size);
+        verify(itemService, never()).findAvailableBySubstring(substring, null, null, from, size);
     }
 
     @SneakyThrows
@@ -380,4 +478,82 @@ class ItemControllerImplIT {
 
         verify(itemService).addComment(anyLong(), anyLong(), any());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getAvailability_whenValidRequest_thenBusyAndFreeSlotsReturned() {
+        long userId = 1L;
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 12, 0);
+        LocalDateTime to = from.plusDays(3);
+        ItemAvailability availability = ItemAvailability.of(item.getId(), from, to,
+                List.of(new BookingInterval(1L, item.getId(), from.plusDays(1), from.plusDays(2),
+                        Status.APPROVED)));
+
+        when(itemService.getAvailability(item.getId(), from, to))
+                .thenReturn(availability);
+
+        mockMvc.perform(get("/items/{id}/availability", item.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "2023-06-01T12:00:00")
+                        .param("to", "2023-06-04T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", equalTo(item.getId()), Long.class))
+                .andExpect(jsonPath("$.busy.length()", equalTo(1)))
+                .andExpect(jsonPath("$.busy[0].start", equalTo("2023-06-02T12:00:00")))
+                .andExpect(jsonPath("$.busy[0].end", equalTo("2023-06-03T12:00:00")))
+                .andExpect(jsonPath("$.free.length()", equalTo(2)))
+                .andExpect(jsonPath("$.free[1].end", equalTo("2023-06-04T12:00:00")));
+    }
+
+    @SneakyThrows
+    @Test
+    void getAvailability_whenWindowIsEmpty_thenBadRequestReturned() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 12, 0);
+
+        when(itemService.getAvailability(item.getId(), from, from))
+                .thenThrow(new ItemException("Окончание окна должно быть позже начала."));
+
+        mockMvc.perform(get("/items/{id}/availability", item.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2023-06-01T12:00:00")
+                        .param("to", "2023-06-01T12:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_whenNdjsonBody_thenReportReturned() {
+        long userId = owner.getId();
+        String body = objectMapper.writeValueAsString(itemCreateRequest) + "\n{}\n";
+        ItemImportReport report = new ItemImportReport(10);
+        report.addImported(1);
+        report.addError(2, "Наименование не может быть пустым.");
+
+        when(itemImporter.importItems(eq(userId), any())).thenReturn(report);
+
+        mockMvc.perform(post("/items/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", equalTo(1L), Long.class))
+                .andExpect(jsonPath("$.failed", equalTo(1L), Long.class))
+                .andExpect(jsonPath("$.errors[0].line", equalTo(2L), Long.class))
+                .andExpect(jsonPath("$.errors[0].message", equalTo("Наименование не может быть пустым.")));
+    }
+
+    @SneakyThrows
+    @Test
+    void importItems_whenJsonContentType_thenUnsupportedMediaTypeReturned() {
+        mockMvc.perform(post("/items/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(itemImporter);
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.server.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.dto.ItemCreateRequest;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.importer.ItemImportReport;
+import ru.practicum.shareit.server.item.importer.ItemImporter;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Импорт фиксирует каждую порцию в отдельной транзакции, поэтому тест работает с отдельной базой без отката.
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = {"spring.datasource.name=item-import", "shareit.item-import.chunk-size=2",
+        "shareit.item-import.max-errors=2"})
+@Import(ObjectGenerator.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemImporterIT {
+
+    private final ObjectGenerator objectGenerator;
+    private final ObjectMapper objectMapper;
+    private final ItemImporter itemImporter;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(objectGenerator.next(User.class));
+    }
+
+    @Test
+    void importItems_whenAllLinesValid_thenItemsSavedInChunks() {
+        List<ItemCreateRequest> requests = List.of(request("дрель"), request("пила"), request("лестница"));
+
+        ItemImportReport report = itemImporter.importItems(owner.getId(), ndjson(requests));
+
+        assertThat(report.getImported(), equalTo(3L));
+        assertThat(report.getFailed(), equalTo(0L));
+        assertThat(report.getErrors(), empty());
+        assertThat(savedNames(), containsInAnyOrder("дрель", "пила", "лестница"));
+    }
+
+    @Test
+    void importItems_whenLinesInvalid_thenOnlyInvalidLinesRejected() {
+        ItemCreateRequest withoutName = request(null);
+        String body = line(request("дрель")) + "\n"
+                + "\n"
+                + "{не json\n"
+                + line(withoutName) + "\n"
+                + line(request("пила"));
+
+        ItemImportReport report = itemImporter.importItems(owner.getId(), stream(body));
+
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getFailed(), equalTo(2L));
+        assertThat(report.getErrors().get(0).getLine(), equalTo(3L));
+        assertThat(report.getErrors().get(0).getMessage(), startsWith("Некорректный JSON"));
+        assertThat(report.getErrors().get(1).getLine(), equalTo(4L));
+        assertThat(report.getErrors().get(1).getMessage(), equalTo("Наименование не может быть пустым."));
+        assertThat(savedNames(), containsInAnyOrder("дрель", "пила"));
+    }
+
+    @Test
+    void importItems_whenChunkRejectedByDatabase_thenOnlyFailedLineRejected() {
+        ItemCreateRequest withUnknownRequest = request("лестница");
+        withUnknownRequest.setRequestId(Long.MAX_VALUE);
+        List<ItemCreateRequest> requests = List.of(request("дрель"), withUnknownRequest, request("пила"));
+
+        ItemImportReport report = itemImporter.importItems(owner.getId(), ndjson(requests));
+
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getFailed(), equalTo(1L));
+        assertThat(report.getErrors().get(0).getLine(), equalTo(2L));
+        assertThat(report.getErrors().get(0).getMessage(), startsWith("Вещь не сохранена"));
+        assertThat(savedNames(), containsInAnyOrder("дрель", "пила"));
+    }
+
+    @Test
+    void importItems_whenErrorsExceedLimit_thenErrorsCountedButNotStored() {
+        String body = "1\n2\n3\n" + line(request("дрель"));
+
+        ItemImportReport report = itemImporter.importItems(owner.getId(), stream(body));
+
+        assertThat(report.getImported(), equalTo(1L));
+        assertThat(report.getFailed(), equalTo(3L));
+        assertThat(report.getErrors(), hasSize(2));
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
+        long unknownUserId = owner.getId() + 1;
+        InputStream body = ndjson(List.of(request("дрель")));
+
+        assertThrows(EntityNotFoundException.class, () -> itemImporter.importItems(unknownUserId, body));
+    }
+
+    private ItemCreateRequest request(String name) {
+        ItemCreateRequest request = objectGenerator.next(ItemCreateRequest.class);
+        request.setName(name);
+        request.setAvailable(true);
+        request.setRequestId(null);
+        return request;
+    }
+
+    private List<String> savedNames() {
+        return itemService.getByUserId(owner.getId(), 0, 100).stream()
+                .map(Item::getName)
+                .collect(Collectors.toList());
+    }
+
+    private InputStream ndjson(List<ItemCreateRequest> requests) {
+        return stream(requests.stream().map(this::line).collect(Collectors.joining("\n")));
+    }
+
+    @SneakyThrows
+    private String line(ItemCreateRequest request) {
+        return objectMapper.writeValueAsString(request);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.server.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.helper.SequenceCallCounter;
+import ru.practicum.shareit.server.item.entity.Comment;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Количество SQL запросов на получение списка вещей не зависит от размера страницы.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        SequenceCallCounter.PROPERTY})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(ObjectGenerator.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemListingStatementCountIT {
+
+    private static final int ITEM_COUNT = 30;
+    private static final long MAX_STATEMENTS = 8;
+
+    private final MockMvc mockMvc;
+    private final ObjectGenerator objectGenerator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+
+    private User owner;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(objectGenerator.next(User.class));
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item item = objectGenerator.next(Item.class);
+            item.setName("дрель " + i);
+            item.setAvailable(true);
+            item = itemService.create(owner.getId(), item);
+
+            for (int j = 0; j < 2; j++) {
+                Comment comment = objectGenerator.next(Comment.class);
+                comment.setAuthor(userRepository.save(objectGenerator.next(User.class)));
+                comment.setItem(item);
+                commentRepository.save(comment);
+            }
+
+            saveBooking(item, now.minusDays(2), now.minusDays(1));
+            saveBooking(item, now.plusDays(1), now.plusDays(2));
+        }
+    }
+
+    @Test
+    void getByUserId_whenPageSizeGrows_thenStatementCountNotChanged() {
+        long smallPageStatements = countStatements("/items?from=0&size=5", 5);
+        long largePageStatements = countStatements("/items?from=0&size=" + ITEM_COUNT, ITEM_COUNT);
+
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+        assertThat(largePageStatements, lessThanOrEqualTo(MAX_STATEMENTS));
+    }
+
+    @Test
+    void search_whenPageSizeGrows_thenStatementCountNotChanged() {
+        long smallPageStatements = countStatements("/items/search?text=дрель&from=0&size=5", 5);
+        long largePageStatements = countStatements("/items/search?text=дрель&from=0&size=" + ITEM_COUNT,
+                ITEM_COUNT);
+
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+        assertThat(largePageStatements, lessThanOrEqualTo(MAX_STATEMENTS));
+    }
+
+    @SneakyThrows
+    private long countStatements(String url, int expectedSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics.clear();
+
+        mockMvc.perform(get(url).header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(expectedSize)))
+                .andExpect(jsonPath("$[0].comments", hasSize(2)));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void saveBooking(Item item, LocalDateTime start, LocalDateTime end) {
+        Booking booking = objectGenerator.next(Booking.class);
+        booking.setBooker(userRepository.save(objectGenerator.next(User.class)));
+        booking.setItem(item);
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(start);
+        booking.setEnd(end);
+        bookingRepository.save(booking);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
 import ru.practicum.shareit.server.item.entity.Item;
@@ -19,6 +20,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 @Import(ObjectGenerator.class)
@@ -71,107 +73,26 @@ class ItemRepositoryIT {
     }
 
     @Test
-    void findAvailableBySubstring_whenTwoItemMatchCriteriaAndTwoAvailable_thenTwoItemReturned() {
-        String searchString = "дрель";
-        item11.setDescription("Аккумуляторная дрель");
-        item12.setDescription("Просто дрель");
-        item21.setDescription("Горный велосипед");
-        item22.setDescription("Газонокосилка");
-        item11.setAvailable(true);
-        item12.setAvailable(true);
-        item21.setAvailable(true);
-        item22.setAvailable(true);
-        itemRepository.save(item11);
-        itemRepository.save(item12);
-        itemRepository.save(item21);
-        itemRepository.save(item22);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAvailableBySubstring(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, containsInAnyOrder(item11, item12));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenTwoItemMatchCriteriaAndOnlyOneAvailable_thenOneItemReturned() {
-        String searchString = "дрель";
-        item11.setDescription("Аккумуляторная дрель");
-        item12.setDescription("Просто дрель");
-        item21.setDescription("Горный велосипед");
-        item22.setDescription("Газонокосилка");
-        item11.setAvailable(true);
-        item12.setAvailable(false);
-        item21.setAvailable(true);
-        item22.setAvailable(true);
-        itemRepository.save(item11);
-        itemRepository.save(item12);
-        itemRepository.save(item21);
-        itemRepository.save(item22);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAvailableBySubstring(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, containsInAnyOrder(item11));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenItemMatchCaseInsensitiveCriteriaAndAvailable_thenOneItemReturned() {
-        String searchString = "дРеЛь";
-        item11.setDescription("Аккумуляторная дрель");
-        item11.setAvailable(true);
-        itemRepository.save(item11);
-        PageRequest pageRequest = PageRequest.of(0, 50);
+    void save_whenItemChanged_thenVersionIncremented() {
+        itemRepository.saveAndFlush(item11);
+        long initialVersion = item11.getVersion();
 
-        List<Item> actualItems = itemRepository.findAvailableBySubstring(searchString, pageRequest).getContent();
+        item11.setName("new name");
+        testEntityManager.flush();
 
-        assertThat(actualItems, containsInAnyOrder(item11));
+        assertThat(item11.getVersion(), equalTo(initialVersion + 1));
     }
 
     @Test
-    void findAvailableBySubstring_whenSearchStringIsNull_thenEmptyListReturned() {
-        String searchString = null;
-        item11.setDescription("Аккумуляторная дрель");
-        item11.setAvailable(true);
-        itemRepository.save(item11);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAvailableBySubstring(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, hasSize(0));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenTwoItemsMatchCriteriaInNameOrDescriptionAndAvailable_thenTwoItemReturned() {
-        String searchString = "дрель";
-        item11.setDescription("Аккумуляторная дрель");
-        item12.setName("Просто дрель");
-        item21.setDescription("Горный велосипед");
-        item22.setDescription("Газонокосилка");
-        item11.setAvailable(true);
-        item12.setAvailable(true);
-        item21.setAvailable(true);
-        item22.setAvailable(true);
-        itemRepository.save(item11);
-        itemRepository.save(item12);
-        itemRepository.save(item21);
-        itemRepository.save(item22);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAvailableBySubstring(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, containsInAnyOrder(item11, item12));
-    }
-
-    @Test
-    void findAvailableBySubstring_whenSearchStringIsEmpty_thenEmptyListReturned() {
-        String searchString = "";
-        item11.setDescription("Аккумуляторная дрель");
-        item11.setAvailable(true);
-        itemRepository.save(item11);
-        PageRequest pageRequest = PageRequest.of(0, 50);
-
-        List<Item> actualItems = itemRepository.findAvailableBySubstring(searchString, pageRequest).getContent();
-
-        assertThat(actualItems, hasSize(0));
+    void save_whenVersionIsStale_thenOptimisticLockingFailureThrown() {
+        itemRepository.saveAndFlush(item11);
+        Item staleItem = new Item();
+        staleItem.setId(item11.getId());
+        staleItem.setVersion(item11.getVersion());
+        staleItem.setOwner(owner1);
+        item11.setName("new name");
+        testEntityManager.flush();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.saveAndFlush(staleItem));
     }
-}
\ No newline at end of file
+}
@@ -103,7 +103,7 @@ class ItemServiceImplIT {
         long from = 0;
         int size = 10;
 
-        List<Item> foundItems = itemService.findAvailableBySubstring(search, from, size);
+        List<Item> foundItems = itemService.findAvailableBySubstring(search, null, null, from, size);
 
         MatcherAssert.assertThat(foundItems, contains(item));
     }
@@ -114,7 +114,7 @@ class ItemServiceImplIT {
         long from = 0;
         int size = 10;
 
-        List<Item> foundItems = itemService.findAvailableBySubstring(search, from, size);
+        List<Item> foundItems = itemService.findAvailableBySubstring(search, null, null, from, size);
 
         MatcherAssert.assertThat(foundItems, contains(item));
     }
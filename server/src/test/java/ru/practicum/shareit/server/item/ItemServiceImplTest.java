@@ -9,7 +9,10 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.booking.availability.ItemAvailability;
 import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
 import ru.practicum.shareit.server.booking.repository.BookingRepository;
 import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
 import ru.practicum.shareit.server.common.exception.ForbiddenException;
@@ -20,13 +23,22 @@ import ru.practicum.shareit.server.item.exception.ItemException;
 import ru.practicum.shareit.server.item.mapper.ItemCopierImpl;
 import ru.practicum.shareit.server.item.repository.CommentRepository;
 import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
 import ru.practicum.shareit.server.item.service.ItemServiceImpl;
+import ru.practicum.shareit.server.item.timeline.BookingTimeline;
+import ru.practicum.shareit.server.item.timeline.BookingTimelineCache;
+import ru.practicum.shareit.server.item.timeline.TimelineBooking;
+import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -42,12 +54,24 @@ class ItemServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
     @Mock
     private BookingRepository bookingRepository;
 
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
+
+    @Mock
+    private BookingAvailabilityIndex bookingAvailabilityIndex;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -90,8 +114,8 @@ class ItemServiceImplTest {
         itemService.getByUserId(ownerId, from, size);
 
         verify(itemRepository).getByOwnerIdOrderByIdAsc(anyLong(), any());
-        verify(bookingRepository).findLastBookings(any(), any(), any());
-        verify(bookingRepository).findNextBookings(any(), any(), any());
+        verify(itemRepository).findWithCommentsByIdIn(List.of(itemId));
+        verify(bookingTimelineCache).get(eq(List.of(itemId)), any());
     }
 
     @Test
@@ -99,14 +123,13 @@ class ItemServiceImplTest {
         long itemId = item.getId();
         long userId = user.getId();
 
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findWithCommentsById(itemId))
                 .thenReturn(Optional.of(item));
 
         itemService.getById(userId, itemId);
 
-        verify(itemRepository).findById(itemId);
-        verify(bookingRepository, never()).findLastBookings(any(), any(), any());
-        verify(bookingRepository, never()).findNextBookings(any(), any(), any());
+        verify(itemRepository).findWithCommentsById(itemId);
+        verify(bookingTimelineCache, never()).get(any(), any());
     }
 
     @Test
@@ -114,19 +137,19 @@ class ItemServiceImplTest {
         long itemId = item.getId();
         long ownerId = owner.getId();
 
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findWithCommentsById(itemId))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findLastBookings(any(), any(), any()))
-                .thenReturn(List.of(booking));
-        when(bookingRepository.findNextBookings(any(), any(), any()))
-                .thenReturn(List.of(booking));
-
+        booking.setBooker(user);
+        TimelineBooking timelineBooking = TimelineBooking.of(booking);
+        when(bookingTimelineCache.get(eq(List.of(itemId)), any()))
+                .thenReturn(Map.of(itemId, new BookingTimeline(timelineBooking, timelineBooking)));
 
-        itemService.getById(ownerId, itemId);
+        Item actualItem = itemService.getById(ownerId, itemId);
 
-        verify(itemRepository).findById(itemId);
-        verify(bookingRepository).findLastBookings(any(), any(), any());
-        verify(bookingRepository).findNextBookings(any(), any(), any());
+        MatcherAssert.assertThat(actualItem.getLastBooking(), equalTo(timelineBooking));
+        MatcherAssert.assertThat(actualItem.getNextBooking(), equalTo(timelineBooking));
+        verify(itemRepository).findWithCommentsById(itemId);
+        verify(bookingTimelineCache).get(eq(List.of(itemId)), any());
     }
 
     @Test
@@ -134,12 +157,12 @@ class ItemServiceImplTest {
         long itemId = 0L;
         long userId = 1L;
 
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findWithCommentsById(itemId))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.getById(userId, itemId));
 
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findWithCommentsById(itemId);
     }
 
     @Test
@@ -156,6 +179,7 @@ class ItemServiceImplTest {
         MatcherAssert.assertThat(createdItem.getOwner(), equalTo(user));
         verify(userRepository).findById(userId);
         verify(itemRepository).save(item);
+        verify(itemSearchEngine).index(item);
     }
 
     @Test
@@ -171,6 +195,77 @@ class ItemServiceImplTest {
         verify(itemRepository, never()).save(item);
     }
 
+    @Test
+    void createAll_whenUserExists_thenItemsSavedAndIndexed() {
+        long userId = 1L;
+        Item nextItem = objectGenerator.next(Item.class);
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.saveAll(List.of(item, nextItem)))
+                .thenReturn(List.of(item, nextItem));
+
+        List<Item> createdItems = itemService.createAll(userId, List.of(item, nextItem));
+
+        MatcherAssert.assertThat(createdItems, contains(item, nextItem));
+        MatcherAssert.assertThat(nextItem.getOwner(), equalTo(user));
+        verify(itemSearchEngine).index(item);
+        verify(itemSearchEngine).index(nextItem);
+    }
+
+    @Test
+    void createAll_whenUserNotExists_thenEntityNotFoundExceptionThrown() {
+        long userId = 1L;
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.createAll(userId, List.of(item)));
+
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createAll_whenBatchIsEmpty_thenItemExceptionThrown() {
+        assertThrows(ItemException.class, () -> itemService.createAll(1L, List.of()));
+
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createAll_whenRequestNotExists_thenEntityNotFoundExceptionThrown() {
+        long userId = 1L;
+        Item nextItem = objectGenerator.next(Item.class);
+        item.setRequestId(10L);
+        nextItem.setRequestId(11L);
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(user));
+        when(itemRequestRepository.findIdsByIdIn(Set.of(10L, 11L)))
+                .thenReturn(List.of(10L));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> itemService.createAll(userId, List.of(item, nextItem)));
+
+        MatcherAssert.assertThat(exception.getMessage(), equalTo("Запрос с id 11 не найден."));
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void create_whenRequestNotExists_thenEntityNotFoundExceptionThrown() {
+        long userId = 1L;
+        item.setRequestId(10L);
+
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(user));
+        when(itemRequestRepository.existsById(10L))
+                .thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.create(userId, item));
+
+        verify(itemRepository, never()).save(any());
+    }
+
     @Test
     void update_whenItemExistsAndUserIsOwner_thenUpdatedItemReturned() {
         long userId = 1L;
@@ -184,7 +279,7 @@ class ItemServiceImplTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findWithCommentsById(itemId))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(item))
                 .thenReturn(item);
@@ -196,8 +291,9 @@ class ItemServiceImplTest {
         MatcherAssert.assertThat(item.getDescription(), equalTo(updateItem.getDescription()));
         MatcherAssert.assertThat(item.getAvailable(), equalTo(updateItem.getAvailable()));
         verify(userRepository).findById(userId);
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findWithCommentsById(itemId);
         verify(itemRepository, times(2)).save(item);
+        verify(itemSearchEngine, times(2)).index(item);
     }
 
     @Test
@@ -213,7 +309,7 @@ class ItemServiceImplTest {
 
         when(userRepository.findById(userId))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findWithCommentsById(itemId))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(item))
                 .thenReturn(item);
@@ -222,7 +318,7 @@ class ItemServiceImplTest {
 
         assertThrows(ForbiddenException.class, () -> itemService.update(userId, itemId, updateItem));
         verify(userRepository).findById(userId);
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findWithCommentsById(itemId);
         verify(itemRepository, times(1)).save(item);
     }
 
@@ -237,11 +333,11 @@ class ItemServiceImplTest {
         updateItem.setDescription("Updated description");
         updateItem.setAvailable(false);
 
-        when(itemRepository.findById(itemId))
+        when(itemRepository.findWithCommentsById(itemId))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.update(userId, itemId, updateItem));
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findWithCommentsById(itemId);
         verify(itemRepository, never()).save(item);
     }
 
@@ -251,12 +347,16 @@ class ItemServiceImplTest {
         long from = 0;
         int size = 10;
 
-        when(itemRepository.findAvailableBySubstring(anyString(), any()))
-                .thenReturn(new PageImpl<>(List.of(item)));
+        when(itemSearchEngine.search(text, null, null, from, size))
+                .thenReturn(List.of(item));
+        when(itemRepository.findWithCommentsByIdIn(List.of(item.getId())))
+                .thenReturn(List.of(item));
 
-        itemService.findAvailableBySubstring(text, from, size);
+        List<Item> actualItems = itemService.findAvailableBySubstring(text, null, null, from, size);
 
-        verify(itemRepository).findAvailableBySubstring(anyString(), any());
+        MatcherAssert.assertThat(actualItems, contains(item));
+        verify(itemSearchEngine).search(text, null, null, from, size);
+        verify(itemRepository).findWithCommentsByIdIn(List.of(item.getId()));
     }
 
     @Test
@@ -269,8 +369,9 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(user));
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findByBookerIdAndStartLessThanAndStatusIsOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(eq(userId), eq(itemId),
+                eq(Status.APPROVED), any()))
+                .thenReturn(true);
 
         itemService.addComment(userId, itemId, comment);
 
@@ -315,11 +416,66 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(user));
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findByBookerIdAndStartLessThanAndStatusIsOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of());
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartLessThan(eq(userId), eq(itemId),
+                eq(Status.APPROVED), any()))
+                .thenReturn(false);
 
         assertThrows(ItemException.class, () -> itemService.addComment(userId, itemId, comment));
         verify(commentRepository, never()).save(comment);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_whenWindowIsEmpty_thenItemExceptionThrown() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 12, 0);
+
+        assertThrows(ItemException.class, () -> itemService.getAvailability(1L, from, from));
+
+        verify(bookingAvailabilityIndex, never()).getAvailability(anyLong(), any(), any());
+    }
+
+    @Test
+    void getAvailability_whenItemNotFound_thenEntityNotFoundExceptionThrown() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 12, 0);
+
+        when(itemRepository.existsById(1L))
+                .thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.getAvailability(1L, from, from.plusDays(1)));
+
+        verify(bookingAvailabilityIndex, never()).getAvailability(anyLong(), any(), any());
+    }
+
+    @Test
+    void getAvailability_whenItemExists_thenAvailabilityFromIndexReturned() {
+        LocalDateTime from = LocalDateTime.of(2023, 6, 1, 12, 0);
+        ItemAvailability availability = ItemAvailability.of(1L, from, from.plusDays(1), List.of());
+
+        when(itemRepository.existsById(1L))
+                .thenReturn(true);
+        when(bookingAvailabilityIndex.getAvailability(1L, from, from.plusDays(1)))
+                .thenReturn(availability);
+
+        MatcherAssert.assertThat(itemService.getAvailability(1L, from, from.plusDays(1)), equalTo(availability));
+    }
+
+    @Test
+    void findAvailableBySubstring_whenOnlyStartSet_thenItemExceptionThrown() {
+        LocalDateTime start = LocalDateTime.of(2023, 6, 3, 0, 0);
+
+        assertThrows(ItemException.class,
+                () -> itemService.findAvailableBySubstring("search", start, null, 0, 10));
+
+        verify(itemSearchEngine, never()).search(any(), any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void findAvailableBySubstring_whenEndNotAfterStart_thenItemExceptionThrown() {
+        LocalDateTime start = LocalDateTime.of(2023, 6, 3, 0, 0);
+
+        assertThrows(ItemException.class,
+                () -> itemService.findAvailableBySubstring("search", start, start, 0, 10));
+
+        verify(itemSearchEngine, never()).search(any(), any(), any(), anyLong(), anyInt());
+    }
+}
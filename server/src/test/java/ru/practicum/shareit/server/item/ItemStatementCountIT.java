@@ -0,0 +1,220 @@
+package ru.practicum.shareit.server.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.server.booking.entity.Booking;
+import ru.practicum.shareit.server.booking.entity.Status;
+import ru.practicum.shareit.server.booking.repository.BookingRepository;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.helper.SequenceCallCounter;
+import ru.practicum.shareit.server.item.entity.Comment;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.CommentRepository;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.item.timeline.BookingTimelineCache;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Количество SQL запросов на каждый метод сервиса вещей, включая формирование ответа.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        SequenceCallCounter.PROPERTY})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(ObjectGenerator.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemStatementCountIT {
+
+    private final MockMvc mockMvc;
+    private final ObjectGenerator objectGenerator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingTimelineCache bookingTimelineCache;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(objectGenerator.next(User.class));
+        booker = userRepository.save(objectGenerator.next(User.class));
+        LocalDateTime now = LocalDateTime.now();
+
+        item = objectGenerator.next(Item.class);
+        item.setAvailable(true);
+        item = itemService.create(owner.getId(), item);
+
+        for (int i = 0; i < 2; i++) {
+            Comment comment = objectGenerator.next(Comment.class);
+            comment.setAuthor(userRepository.save(objectGenerator.next(User.class)));
+            comment.setItem(item);
+            commentRepository.save(comment);
+        }
+
+        saveBooking(now.minusDays(2), now.minusDays(1));
+        saveBooking(now.plusDays(1), now.plusDays(2));
+    }
+
+    @Test
+    void getById_whenOwnerRequests_thenCommentSummaryItemAndTimelineLoaded() {
+        bookingTimelineCache.invalidate(item.getId());
+
+        long statements = countStatements(get("/items/{id}", item.getId())
+                .header(USER_ID_HEADER, owner.getId()));
+
+        assertThat(statements, equalTo(3L));
+    }
+
+    @Test
+    void getById_whenNotOwnerRequests_thenCommentSummaryAndItemLoaded() {
+        long statements = countStatements(get("/items/{id}", item.getId())
+                .header(USER_ID_HEADER, booker.getId()));
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @SneakyThrows
+    @Test
+    void getById_whenItemCached_thenNoStatements() {
+        mockMvc.perform(get("/items/{id}", item.getId())
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/items/{id}", item.getId())
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(2)));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics.getQueryCacheHitCount(), equalTo(2L));
+    }
+
+    @Test
+    void update_whenOwnerUpdates_thenStatementCountFixed() {
+        long statements = countStatements(patch("/items/{id}", item.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\": \"Новое описание\"}")
+                .header(USER_ID_HEADER, owner.getId()));
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @SneakyThrows
+    @Test
+    void addComment_whenItemWasBooked_thenStatementCountFixed() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics.clear();
+        SequenceCallCounter.reset();
+
+        mockMvc.perform(post("/items/{id}/comment", item.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"Отличная вещь\"}")
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorName", equalTo(booker.getName())));
+
+        assertThat(statistics.getPrepareStatementCount() - SequenceCallCounter.count(), equalTo(4L));
+    }
+
+    @SneakyThrows
+    @Test
+    void create_whenUserExists_thenStatementCountFixed() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics.clear();
+        SequenceCallCounter.reset();
+
+        mockMvc.perform(post("/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Дрель\", \"description\": \"Ударная\", \"available\": true}")
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount() - SequenceCallCounter.count(), equalTo(2L));
+    }
+
+    @SneakyThrows
+    @Test
+    void createAll_whenBatchIsLarge_thenStatementCountFixed() {
+        int batchSize = 120;
+        StringJoiner content = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < batchSize; i++) {
+            content.add(String.format("{\"name\": \"Дрель %d\", \"description\": \"Ударная\", \"available\": true}",
+                    i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics.clear();
+        SequenceCallCounter.reset();
+
+        mockMvc.perform(post("/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content.toString())
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(batchSize)));
+
+        assertThat(statistics.getPrepareStatementCount() - SequenceCallCounter.count(), equalTo(2L));
+    }
+
+    @SneakyThrows
+    private long countStatements(MockHttpServletRequestBuilder request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics.clear();
+        SequenceCallCounter.reset();
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(2)));
+
+        return statistics.getPrepareStatementCount() - SequenceCallCounter.count();
+    }
+
+    private void saveBooking(LocalDateTime start, LocalDateTime end) {
+        Booking booking = objectGenerator.next(Booking.class);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(start);
+        booking.setEnd(end);
+        bookingRepository.save(booking);
+    }
+}
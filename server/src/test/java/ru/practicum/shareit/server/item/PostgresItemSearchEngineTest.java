@@ -0,0 +1,83 @@
+package ru.practicum.shareit.server.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.item.search.PostgresItemSearchEngine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresItemSearchEngineTest {
+
+    private final ObjectGenerator objectGenerator = new ObjectGenerator();
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private PostgresItemSearchEngine itemSearchEngine;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        item = objectGenerator.next(Item.class);
+        item.setId(1L);
+    }
+
+    @Test
+    void search_whenSeveralWordsInText_thenPrefixQueryForAllWordsExecuted() {
+        when(itemRepository.findAvailableByFullText("аккумуляторная:* & дрел:*", 10, 20))
+                .thenReturn(List.of(item));
+
+        List<Item> actualItems = itemSearchEngine.search(" Аккумуляторная, ДРЕЛ! ", 10, 20);
+
+        assertThat(actualItems, contains(item));
+    }
+
+    @Test
+    void search_whenTextHasNoWords_thenEmptyListReturnedWithoutQuery() {
+        List<Item> actualItems = itemSearchEngine.search(" & | :* ", 0, 20);
+
+        assertThat(actualItems, hasSize(0));
+        verify(itemRepository, never()).findAvailableByFullText(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void search_whenTextIsNull_thenEmptyListReturnedWithoutQuery() {
+        List<Item> actualItems = itemSearchEngine.search(null, 0, 20);
+
+        assertThat(actualItems, hasSize(0));
+        verify(itemRepository, never()).findAvailableByFullText(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void search_whenPeriodSet_thenAntiJoinQueryExecuted() {
+        LocalDateTime start = LocalDateTime.of(2023, 6, 3, 0, 0);
+        when(itemRepository.findAvailableByFullTextAndFreePeriod("дрел:*", start, start.plusDays(2), 0, 20))
+                .thenReturn(List.of(item));
+
+        List<Item> actualItems = itemSearchEngine.search("дрел", start, start.plusDays(2), 0, 20);
+
+        assertThat(actualItems, contains(item));
+        verify(itemRepository, never()).findAvailableByFullText(anyString(), anyLong(), anyInt());
+    }
+}
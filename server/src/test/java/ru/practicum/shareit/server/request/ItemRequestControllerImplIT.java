@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
@@ -30,6 +31,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -206,6 +208,27 @@ class ItemRequestControllerImplIT {
         verify(itemRequestService).getByRequestId(userId, itemRequestId);
     }
 
+    @SneakyThrows
+    @Test
+    void getByRequestId_whenIfNoneMatchEqualsETag_thenNotModifiedReturned() {
+        long userId = 1L;
+        long itemRequestId = 1L;
+
+        when(itemRequestService.getByRequestId(userId, itemRequestId))
+                .thenReturn(itemRequest);
+
+        String eTag = mockMvc.perform(get("/requests/{requestId}", itemRequestId)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/requests/{requestId}", itemRequestId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @SneakyThrows
     @Test
     void getByRequestId_whenMissingUserIdInHeader_thenBadRequestReturned() {
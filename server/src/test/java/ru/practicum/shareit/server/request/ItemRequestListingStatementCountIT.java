@@ -0,0 +1,116 @@
+package ru.practicum.shareit.server.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.helper.SequenceCallCounter;
+import ru.practicum.shareit.server.item.entity.Item;
+import ru.practicum.shareit.server.item.repository.ItemRepository;
+import ru.practicum.shareit.server.request.entity.ItemRequest;
+import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
+import ru.practicum.shareit.server.user.entity.User;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.server.config.RequestConstants.USER_ID_HEADER;
+
+/**
+ * Количество SQL запросов на получение списков запросов вещей не зависит от их количества.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        SequenceCallCounter.PROPERTY})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(ObjectGenerator.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemRequestListingStatementCountIT {
+
+    private static final int REQUEST_COUNT = 30;
+    private static final long MAX_STATEMENTS = 5;
+
+    private final MockMvc mockMvc;
+    private final ObjectGenerator objectGenerator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final KnownUserCache knownUserCache;
+
+    private User author;
+    private User otherUser;
+
+    @BeforeAll
+    void setUp() {
+        author = userRepository.save(objectGenerator.next(User.class));
+        otherUser = userRepository.save(objectGenerator.next(User.class));
+        // Проверка пользователя на горячем пути не обращается к базе данных, поэтому кэш прогревается заранее.
+        knownUserCache.requireExists(author.getId());
+        knownUserCache.requireExists(otherUser.getId());
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            ItemRequest itemRequest = objectGenerator.next(ItemRequest.class);
+            itemRequest.setAuthor(author);
+            itemRequest = itemRequestRepository.save(itemRequest);
+
+            for (int j = 0; j < 2; j++) {
+                Item item = objectGenerator.next(Item.class);
+                item.setOwner(userRepository.save(objectGenerator.next(User.class)));
+                item.setRequestId(itemRequest.getId());
+                itemRepository.save(item);
+            }
+        }
+    }
+
+    @Test
+    void getAllMyRequests_whenManyRequestsExist_thenStatementCountBounded() {
+        long statements = countStatements("/requests", author, REQUEST_COUNT);
+
+        assertThat(statements, lessThanOrEqualTo(MAX_STATEMENTS));
+    }
+
+    @Test
+    void getAllNotUserRequests_whenPageSizeGrows_thenStatementCountNotChanged() {
+        long smallPageStatements = countStatements("/requests/all?from=0&size=5", otherUser, 5);
+        long largePageStatements = countStatements("/requests/all?from=0&size=" + REQUEST_COUNT, otherUser,
+                REQUEST_COUNT);
+
+        assertThat(largePageStatements, equalTo(smallPageStatements));
+        assertThat(largePageStatements, lessThanOrEqualTo(MAX_STATEMENTS));
+    }
+
+    @SneakyThrows
+    private long countStatements(String url, User user, int expectedSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics.clear();
+
+        mockMvc.perform(get(url).header(USER_ID_HEADER, user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(expectedSize)))
+                .andExpect(jsonPath("$[0].items", hasSize(2)));
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -57,14 +57,14 @@ class ItemRequestRepositoryIT {
         itemRequest11.setAuthor(author1);
         itemRequest11.setDescription(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> itemRequestRepository.save(itemRequest11));
+        assertThrows(DataIntegrityViolationException.class, () -> itemRequestRepository.saveAndFlush(itemRequest11));
     }
 
     @Test
     void save_whenAuthorIsNull_thenDataIntegrityViolationExceptionThrown() {
         itemRequest11.setAuthor(null);
 
-        assertThrows(DataIntegrityViolationException.class, () -> itemRequestRepository.save(itemRequest11));
+        assertThrows(DataIntegrityViolationException.class, () -> itemRequestRepository.saveAndFlush(itemRequest11));
     }
 
     @Test
@@ -12,6 +12,7 @@ import ru.practicum.shareit.server.helper.ObjectGenerator;
 import ru.practicum.shareit.server.request.entity.ItemRequest;
 import ru.practicum.shareit.server.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.server.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 
@@ -32,6 +33,9 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private KnownUserCache knownUserCache;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -75,14 +79,12 @@ class ItemRequestServiceImplTest {
     void getAllMyRequests_whenUserExists_thenListOfItemRequestReturned() {
         long userId = 1L;
 
-        when(userRepository.existsById(userId))
-                .thenReturn(true);
         when(itemRequestRepository.findAllByAuthorIdOrderByCreatedDesc(userId))
                 .thenReturn(List.of(itemRequest));
 
         itemRequestService.getAllMyRequests(userId);
 
-        verify(userRepository).existsById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(itemRequestRepository).findAllByAuthorIdOrderByCreatedDesc(userId);
     }
 
@@ -90,12 +92,12 @@ class ItemRequestServiceImplTest {
     void getAllMyRequests_whenUserNotExists_thenEntityNotFoundExceptionThrown() {
         long userId = 1L;
 
-        when(userRepository.existsById(userId))
-                .thenReturn(false);
+        doThrow(new EntityNotFoundException("Пользователь с id %d не найден.", userId))
+                .when(knownUserCache).requireExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getAllMyRequests(userId));
 
-        verify(userRepository).existsById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(itemRequestRepository, never()).findAllByAuthorIdOrderByCreatedDesc(userId);
     }
 
@@ -104,16 +106,16 @@ class ItemRequestServiceImplTest {
         long userId = 1L;
         long from = 0;
         int size = 50;
+        itemRequest.setId(1L);
 
-        when(userRepository.existsById(userId))
-                .thenReturn(true);
         when(itemRequestRepository.findAllByAuthorIdNot(anyLong(), any()))
                 .thenReturn(new PageImpl<>(List.of(itemRequest)));
 
         itemRequestService.getAllNotUserRequests(userId, from, size);
 
-        verify(userRepository).existsById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(itemRequestRepository).findAllByAuthorIdNot(anyLong(), any());
+        verify(itemRequestRepository).findWithItemsByIdIn(List.of(itemRequest.getId()));
     }
 
     @Test
@@ -122,12 +124,12 @@ class ItemRequestServiceImplTest {
         long from = 0;
         int size = 50;
 
-        when(userRepository.existsById(userId))
-                .thenReturn(false);
+        doThrow(new EntityNotFoundException("Пользователь с id %d не найден.", userId))
+                .when(knownUserCache).requireExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getAllNotUserRequests(userId, from, size));
 
-        verify(userRepository).existsById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(itemRequestRepository, never()).findAllByAuthorIdNot(anyLong(), any());
     }
 
@@ -136,14 +138,12 @@ class ItemRequestServiceImplTest {
         long userId = 1L;
         long requestId = 1L;
 
-        when(userRepository.existsById(userId))
-                .thenReturn(true);
         when(itemRequestRepository.findById(requestId))
                 .thenReturn(Optional.of(itemRequest));
 
         itemRequestService.getByRequestId(userId, requestId);
 
-        verify(userRepository).existsById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(itemRequestRepository).findById(requestId);
     }
 
@@ -152,12 +152,12 @@ class ItemRequestServiceImplTest {
         long userId = 0L;
         long requestId = 1L;
 
-        when(userRepository.existsById(userId))
-                .thenReturn(false);
+        doThrow(new EntityNotFoundException("Пользователь с id %d не найден.", userId))
+                .when(knownUserCache).requireExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getByRequestId(userId, requestId));
 
-        verify(userRepository).existsById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(itemRequestRepository, never()).findById(requestId);
     }
 
@@ -166,14 +166,12 @@ class ItemRequestServiceImplTest {
         long userId = 1L;
         long requestId = 1L;
 
-        when(userRepository.existsById(userId))
-                .thenReturn(true);
         when(itemRequestRepository.findById(requestId))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getByRequestId(userId, requestId));
 
-        verify(userRepository).existsById(userId);
+        verify(knownUserCache).requireExists(userId);
         verify(itemRequestRepository).findById(requestId);
     }
 
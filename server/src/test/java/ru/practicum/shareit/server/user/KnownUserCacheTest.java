@@ -0,0 +1,134 @@
+package ru.practicum.shareit.server.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.common.datasource.RoutingContext;
+import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
+import ru.practicum.shareit.server.user.repository.UserRepository;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_ROLLED_BACK;
+
+@ExtendWith(MockitoExtension.class)
+class KnownUserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private KnownUserCache knownUserCache;
+
+    @BeforeEach
+    void setUp() {
+        knownUserCache = new KnownUserCache(userRepository, 2, Duration.ofMinutes(5), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void requireExists_whenCalledTwice_thenUserCheckedOnce() {
+        when(userRepository.existsById(1L))
+                .thenReturn(true);
+
+        knownUserCache.requireExists(1L);
+        knownUserCache.requireExists(1L);
+
+        assertThat(knownUserCache.getMissCount(), equalTo(1L));
+        assertThat(knownUserCache.getHitCount(), equalTo(1L));
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void requireExists_whenUserNotExists_thenNotFoundCachedAndExceptionThrown() {
+        when(userRepository.existsById(1L))
+                .thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> knownUserCache.requireExists(1L));
+        assertThrows(EntityNotFoundException.class, () -> knownUserCache.requireExists(1L));
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void exists_whenLoaded_thenUserCheckedOnPrimary() {
+        when(userRepository.existsById(1L))
+                .thenAnswer(invocation -> RoutingContext.isPrimaryRequired());
+
+        assertThat(knownUserCache.exists(1L), equalTo(true));
+        assertThat(RoutingContext.isPrimaryRequired(), equalTo(false));
+    }
+
+    @Test
+    void exists_whenTransactionReadsFromReplica_thenResultNotCached() {
+        when(userRepository.existsById(1L))
+                .thenReturn(false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            RoutingContext.markReplicaRead();
+
+            knownUserCache.exists(1L);
+            knownUserCache.exists(1L);
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(userRepository, times(2)).existsById(1L);
+        assertThat(knownUserCache.getSize(), equalTo(0));
+    }
+
+    @Test
+    void exists_whenTtlExpired_thenUserCheckedAgain() {
+        knownUserCache = new KnownUserCache(userRepository, 2, Duration.ZERO, Duration.ZERO);
+        when(userRepository.existsById(1L))
+                .thenReturn(true);
+
+        knownUserCache.exists(1L);
+        knownUserCache.exists(1L);
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void invalidate_whenNotFoundCached_thenUserCheckedAgain() {
+        when(userRepository.existsById(1L))
+                .thenReturn(false)
+                .thenReturn(true);
+
+        boolean existsBeforeCreate = knownUserCache.exists(1L);
+        knownUserCache.invalidate(1L);
+        boolean existsAfterCreate = knownUserCache.exists(1L);
+
+        assertThat(existsBeforeCreate, equalTo(false));
+        assertThat(existsAfterCreate, equalTo(true));
+    }
+
+    @Test
+    void exists_whenCacheIsFull_thenLeastRecentlyUsedEvicted() {
+        when(userRepository.existsById(1L))
+                .thenReturn(true);
+        when(userRepository.existsById(2L))
+                .thenReturn(true);
+        when(userRepository.existsById(3L))
+                .thenReturn(true);
+
+        knownUserCache.exists(1L);
+        knownUserCache.exists(2L);
+        knownUserCache.exists(3L);
+        knownUserCache.exists(1L);
+
+        assertThat(knownUserCache.getSize(), equalTo(2));
+        verify(userRepository, times(2)).existsById(1L);
+    }
+}
@@ -9,12 +9,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
 import ru.practicum.shareit.server.user.controller.UserControllerImpl;
 import ru.practicum.shareit.server.user.dto.UserCreateRequest;
+import ru.practicum.shareit.server.user.dto.UserCursor;
+import ru.practicum.shareit.server.user.dto.UserResponse;
 import ru.practicum.shareit.server.user.dto.UserUpdateRequest;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.mapper.UserConverter;
@@ -22,12 +26,16 @@ import ru.practicum.shareit.server.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -63,7 +71,7 @@ class UserControllerImplIT {
     @SneakyThrows
     @Test
     void getAll_whenUsersExist_thenListOfTwoUsersReturned() {
-        when(userService.getAll())
+        when(userService.getAll(0, 50))
                 .thenReturn(List.of(user1, user2));
 
         mockMvc.perform(get("/users")
@@ -78,9 +86,73 @@ class UserControllerImplIT {
                 .andExpect(jsonPath("$[1].id", is(user2.getId()), Long.class))
                 .andExpect(jsonPath("$[1].name", is(user2.getName())))
                 .andExpect(jsonPath("$[1].email", is(user2.getEmail()))
-                );
+                )
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
 
-        verify(userService).getAll();
+        verify(userService).getAll(0, 50);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAll_whenPageIsFull_thenNextCursorReturned() {
+        when(userService.getAll(0, 2))
+                .thenReturn(List.of(user1, user2));
+
+        mockMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", UserCursor.of(user2).encode()));
+    }
+
+    @SneakyThrows
+    @Test
+    void getAll_whenCursorPassed_thenUsersAfterCursorReturned() {
+        when(userService.getAll(new UserCursor(1L), 1))
+                .thenReturn(new SliceImpl<>(List.of(user2), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("size", "1")
+                        .param("cursor", UserCursor.of(user1).encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(user2.getId()), Long.class))
+                .andExpect(header().string("X-Next-Cursor", UserCursor.of(user2).encode()));
+    }
+
+    @SneakyThrows
+    @Test
+    void getAll_whenCursorInvalid_thenBadRequestReturned() {
+        mockMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("cursor", "не курсор"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @Test
+    void streamAll_whenUsersExist_thenUsersWrittenLineByLine() {
+        doAnswer(invocation -> {
+            Consumer<User> action = invocation.getArgument(0);
+            action.accept(user1);
+            action.accept(user2);
+            return null;
+        }).when(userService).forEach(any());
+
+        String body = mockMvc.perform(get("/users/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(objectMapper.readValue(lines[0], UserResponse.class).getId(), is(user1.getId()));
+        assertThat(objectMapper.readValue(lines[1], UserResponse.class).getEmail(), is(user2.getEmail()));
     }
 
     @SneakyThrows
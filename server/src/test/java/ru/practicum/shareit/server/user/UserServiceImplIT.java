@@ -11,10 +11,13 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.user.dto.UserCursor;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -46,14 +49,40 @@ class UserServiceImplIT {
         userService.create(user1);
         userService.create(user2);
 
-        List<User> actualUsers = userService.getAll();
+        List<User> actualUsers = userService.getAll(0, 10);
 
         assertThat(actualUsers, contains(user1, user2));
     }
 
+    @Test
+    void getAll_whenCursorPassed_thenNextPageReturned() {
+        userService.create(user1);
+        userService.create(user2);
+        User user3 = userService.create(objectGenerator.next(User.class));
+
+        Slice<User> firstPage = userService.getAll(new UserCursor(0), 2);
+        Slice<User> secondPage = userService.getAll(UserCursor.of(firstPage.getContent().get(1)), 2);
+
+        assertThat(firstPage.getContent(), contains(user1, user2));
+        assertThat(firstPage.hasNext(), is(true));
+        assertThat(secondPage.getContent(), contains(user3));
+        assertThat(secondPage.hasNext(), is(false));
+    }
+
+    @Test
+    void forEach_whenUsersExist_thenAllUsersVisitedInIdOrder() {
+        userService.create(user1);
+        userService.create(user2);
+        List<Long> visitedIds = new ArrayList<>();
+
+        userService.forEach(user -> visitedIds.add(user.getId()));
+
+        assertThat(visitedIds, contains(user1.getId(), user2.getId()));
+    }
+
     @Test
     void getAll_whenUsersNotExist_thenEmptyListReturned() {
-        List<User> actualUsers = userService.getAll();
+        List<User> actualUsers = userService.getAll(0, 10);
 
         assertThat(actualUsers, hasSize(0));
     }
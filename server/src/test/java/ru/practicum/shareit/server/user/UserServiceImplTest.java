@@ -8,15 +8,27 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.server.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.server.common.cache.EntityCacheEvictor;
 import ru.practicum.shareit.server.common.exception.EntityNotFoundException;
 import ru.practicum.shareit.server.helper.ObjectGenerator;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.user.cache.KnownUserCache;
+import ru.practicum.shareit.server.user.dto.UserCursor;
 import ru.practicum.shareit.server.user.entity.User;
 import ru.practicum.shareit.server.user.mapper.UserCopierImpl;
 import ru.practicum.shareit.server.user.repository.UserRepository;
 import ru.practicum.shareit.server.user.service.UserServiceImpl;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -30,6 +42,21 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingAvailabilityIndex bookingAvailabilityIndex;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private KnownUserCache knownUserCache;
+
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+
     @Spy
     private UserCopierImpl userCopier;
 
@@ -52,24 +79,46 @@ class UserServiceImplTest {
 
     @Test
     void getAll_whenUsersExist_thenNonEmptyListReturned() {
-        when(userRepository.findAll())
+        when(userRepository.findAllBy(PageRequest.of(1, 10, Sort.by("id"))))
                 .thenReturn(List.of(user1, user2));
 
-        List<User> actualUsers = userService.getAll();
+        List<User> actualUsers = userService.getAll(10, 10);
 
         assertThat(actualUsers, hasSize(2));
-        verify(userRepository).findAll();
+        verify(userRepository).findAllBy(PageRequest.of(1, 10, Sort.by("id")));
     }
 
     @Test
     void getAll_whenUsersNotExist_thenEmptyListReturned() {
-        when(userRepository.findAll())
+        when(userRepository.findAllBy(any()))
                 .thenReturn(List.of());
 
-        List<User> actualUsers = userService.getAll();
+        List<User> actualUsers = userService.getAll(0, 10);
 
         assertThat(actualUsers, hasSize(0));
-        verify(userRepository).findAll();
+    }
+
+    @Test
+    void getAll_whenCursorPassed_thenUsersAfterCursorReturned() {
+        when(userRepository.findByIdGreaterThan(1L, PageRequest.of(0, 1, Sort.by("id"))))
+                .thenReturn(new SliceImpl<>(List.of(user2)));
+
+        Slice<User> actualUsers = userService.getAll(new UserCursor(1L), 1);
+
+        assertThat(actualUsers.getContent(), contains(user2));
+    }
+
+    @Test
+    void forEach_whenUsersExist_thenEachUserPassedAndDetached() {
+        List<User> visitedUsers = new ArrayList<>();
+        when(userRepository.streamAllByOrderById())
+                .thenReturn(Stream.of(user1, user2));
+
+        userService.forEach(visitedUsers::add);
+
+        assertThat(visitedUsers, contains(user1, user2));
+        verify(entityManager).detach(user1);
+        verify(entityManager).detach(user2);
     }
 
     @Test
@@ -96,9 +145,16 @@ class UserServiceImplTest {
 
     @Test
     void create_whenProvidedNewUser_thenCreatedUserReturned() {
-        userService.create(user1);
+        user1.setId(1L);
+
+        when(userRepository.save(user1))
+                .thenReturn(user1);
+
+        User createdUser = userService.create(user1);
 
+        assertThat(createdUser, sameInstance(user1));
         verify(userRepository).save(user1);
+        verify(knownUserCache).invalidate(1L);
     }
 
     @Test
@@ -165,6 +221,11 @@ class UserServiceImplTest {
 
         userService.delete(userId);
 
-        verify(userRepository).deleteById(userId);
+        InOrder inOrder = inOrder(itemSearchEngine, userRepository);
+        verify(bookingAvailabilityIndex).removeByUser(userId);
+        inOrder.verify(itemSearchEngine).removeByOwner(userId);
+        inOrder.verify(userRepository).deleteById(userId);
+        verify(knownUserCache).invalidate(userId);
+        verify(entityCacheEvictor).evictItemsAndComments();
     }
 }
\ No newline at end of file